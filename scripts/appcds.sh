@@ -0,0 +1,89 @@
+#!/bin/sh
+# JetUML - A desktop application for fast UML diagramming.
+#
+# Copyright (C) 2025 by McGill University.
+#
+# See: https://github.com/prmr/JetUML
+#
+# This program is free software: you can redistribute it and/or modify
+# it under the terms of the GNU General Public License as published by
+# the Free Software Foundation, either version 3 of the License, or
+# (at your option) any later version.
+#
+# This program is distributed in the hope that it will be useful,
+# but WITHOUT ANY WARRANTY; without even the implied warranty of
+# MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+# GNU General Public License for more details.
+#
+# You should have received a copy of the GNU General Public License
+# along with this program.  If not, see http://www.gnu.org/licenses.
+
+# Creates a dynamic AppCDS archive for JetUML with a training run, and
+# compares the time of a training run with and without the archive.
+#
+# Usage:
+#   scripts/appcds.sh train ARCHIVE
+#   scripts/appcds.sh measure ARCHIVE [RUNS]
+#
+# Environment:
+#   JAVA         The java launcher of the runtime that will map the archive.
+#                An archive can only be used by the runtime that created it.
+#                Defaults to java.
+#   MODULE_PATH  The module path that contains JavaFX and JetUML. Leave it
+#                empty for a runtime image that contains these modules.
+
+JAVA=${JAVA:-java}
+MAIN=jetuml/org.jetuml.JetUML
+
+run_jetuml()
+{
+	if [ -n "$MODULE_PATH" ]; then
+		"$JAVA" "$@" -Djetuml.training=true -p "$MODULE_PATH" -m $MAIN
+	else
+		"$JAVA" "$@" -Djetuml.training=true -m $MAIN
+	fi
+}
+
+# Prints the average time of $RUNS training runs, in milliseconds.
+average_time()
+{
+	total=0
+	i=0
+	while [ $i -lt "$RUNS" ]; do
+		start=$(date +%s%N)
+		run_jetuml "$@" > /dev/null 2>&1 || { echo "Training run failed" >&2; exit 1; }
+		end=$(date +%s%N)
+		total=$((total + (end - start) / 1000000))
+		i=$((i + 1))
+	done
+	echo $((total / RUNS))
+}
+
+if [ $# -lt 2 ]; then
+	sed -n '/^# Usage/,/^$/p' "$0"
+	exit 1
+fi
+
+COMMAND=$1
+ARCHIVE=$2
+RUNS=${3:-5}
+
+case $COMMAND in
+	train)
+		rm -f "$ARCHIVE"
+		run_jetuml -XX:ArchiveClassesAtExit="$ARCHIVE" || exit 1
+		;;
+	measure)
+		if [ ! -f "$ARCHIVE" ]; then
+			echo "No archive at $ARCHIVE, run the train command first" >&2
+			exit 1
+		fi
+		run_jetuml -Xshare:auto > /dev/null 2>&1 # Warms up the file system cache
+		echo "Without archive: $(average_time) ms"
+		echo "With archive:    $(average_time -XX:SharedArchiveFile="$ARCHIVE") ms"
+		;;
+	*)
+		sed -n '/^# Usage/,/^$/p' "$0"
+		exit 1
+		;;
+esac
@@ -23,6 +23,7 @@ module jetuml {
 	requires javafx.swing;
 	requires java.desktop;
 	requires java.prefs;
+	requires jdk.jfr;
 	requires transitive javafx.graphics;
 	exports org.jetuml;
 }
\ No newline at end of file
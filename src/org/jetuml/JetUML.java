@@ -28,9 +28,9 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
+import org.jetuml.application.StartupProfile;
 import org.jetuml.application.UserPreferences;
 import org.jetuml.application.Version;
-import org.jetuml.diagram.Diagram;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.gui.DeserializationErrorAlert;
 import org.jetuml.gui.DialogStage;
@@ -43,6 +43,7 @@ import org.jetuml.persistence.PersistenceService;
 
 import javafx.application.Application;
 import javafx.application.HostServices;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
@@ -67,51 +68,38 @@ public final class JetUML extends Application
 		launch(pArgs);
 	}
 	
+	/*
+	 * Only the work needed to show the main window is done before it is shown.
+	 * The rest of the startup work is done after the first pulse that lays out
+	 * and renders the window. Run with -Djetuml.debug.startup=true to print the duration of 
+	 * each phase of the startup.
+	 */
 	@Override
 	public void start(Stage pStage) throws Exception 
 	{
+		StartupProfile profile = StartupProfile.create();
+		profile.endPhase("toolkit");
 		aHostServices = getHostServices();
 		setStageBoundaries(pStage);
 
 		pStage.setTitle(RESOURCES.getString("application.name"));
 		pStage.getIcons().add(new Image(RESOURCES.getString("application.icon")));
-
-		Optional<Diagram> diagramToOpen = Optional.empty();
-		Optional<File> fileToOpen = getFileToOpenIfPresent();
-		
-		/* For simplicity, the code below does not set up a stage just to serve
-		 * as a parent for the Alert dialog. The only consequence is that if
-		 * this dialog appears, a default "Java" icon will be shown in the OS
-		 * taskbar instead of the JetUML-branded icon. To show the JetUML
-		 * icon, the code needs to be extended to create an empty stage
-		 * and ensure the dialog shows up in the middle of the screen, before
-		 * exiting.
-		 */
-		try
-		{
-			if( fileToOpen.isPresent())
-			{
-				diagramToOpen = Optional.of(PersistenceService.read(fileToOpen.get()));
-			}
-		}
-		catch( IOException | DeserializationException exception )
-		{
-			Alert alert = new DeserializationErrorAlert(exception);
-			alert.showAndWait();
-			System.exit(0);
-		}
+		profile.endPhase("stage");
 		
 		DialogStage dialogStage = new DialogStage(pStage);
 		dialogStage.getScene().getStylesheets().add(getClass().getResource("JetUML.css").toExternalForm());
+		profile.endPhase("dialog stage");
 		
 		EditorFrame editor = new EditorFrame(pStage, dialogStage);
-		diagramToOpen.ifPresent(diagram -> editor.setOpenFileAsDiagram(fileToOpen.get(), diagram));
 		pStage.setScene(new Scene(editor));
+		profile.endPhase("editor");
 
 		NotificationService.instance().setMainStage(pStage);
 		
+		// Applied before showing the window so that it does not first appear in light mode
 		pStage.getScene().getStylesheets().add(getClass().getResource("JetUML.css").toExternalForm());
 		editor.booleanPreferenceChanged(UserPreferences.BooleanPreference.darkMode);
+		profile.endPhase("style");
 		
 		pStage.setOnCloseRequest(pWindowEvent -> 
 		{
@@ -119,10 +107,58 @@ public final class JetUML extends Application
 			((EditorFrame)((Stage)pWindowEvent.getSource()).getScene().getRoot()).exit();
 		});
 		pStage.show();
+		profile.endPhase("show");
 		
-		if(UserPreferences.instance().getBoolean(UserPreferences.BooleanPreference.showTips))
+		pStage.getScene().addPostLayoutPulseListener(new Runnable()
 		{
-			new TipDialog(dialogStage).show();
+			@Override
+			public void run()
+			{
+				pStage.getScene().removePostLayoutPulseListener(this);
+				// Rendering of the pulse completes before the runnable runs
+				Platform.runLater(() -> completeStartup(pStage, editor, dialogStage, profile));
+			}
+		});
+	}
+	
+	private void completeStartup(Stage pStage, EditorFrame pEditor, DialogStage pDialogStage, StartupProfile pProfile)
+	{
+		pProfile.endPhase("first pulse");
+		pEditor.loadRecentFiles();
+		pProfile.endPhase("recent files");
+		getFileToOpenIfPresent().ifPresent(file -> openFile(file, pStage, pEditor));
+		pProfile.endPhase("open file");
+		if( !TrainingRun.isRequested() )
+		{
+			pEditor.restoreRecoveredDiagrams();
+			pProfile.endPhase("recovery");
+			if(UserPreferences.instance().getBoolean(UserPreferences.BooleanPreference.showTips))
+			{
+				new TipDialog(pDialogStage).show();
+			}
+			pProfile.endPhase("tips");
+		}
+		if( pProfile.isEnabled() )
+		{
+			System.err.print(pProfile.report());
+		}
+		if( TrainingRun.isRequested() )
+		{
+			TrainingRun.run(pEditor);
+		}
+	}
+	
+	private static void openFile(File pFile, Stage pStage, EditorFrame pEditor)
+	{
+		try
+		{
+			pEditor.setOpenFileAsDiagram(pFile, PersistenceService.read(pFile));
+		}
+		catch( IOException | DeserializationException exception )
+		{
+			Alert alert = new DeserializationErrorAlert(exception);
+			alert.initOwner(pStage);
+			alert.showAndWait();
 		}
 	}
 	
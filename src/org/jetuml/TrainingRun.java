@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramElement;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.builder.DiagramBuilder;
+import org.jetuml.geom.Point;
+import org.jetuml.gui.EditorFrame;
+import org.jetuml.persistence.DeserializationException;
+import org.jetuml.persistence.PersistenceService;
+
+import javafx.application.Platform;
+
+/**
+ * A run of the application that goes through the work done in most sessions
+ * and then exits. Running it with -XX:ArchiveClassesAtExit creates a dynamic 
+ * class data sharing archive of the classes it loads, which later sessions can 
+ * map instead of loading the classes one by one. The run is requested by setting 
+ * the system property named by PROPERTY to true.
+ * 
+ * For each diagram type, the run creates a diagram with one node of each type 
+ * that does not require a parent, saves it to a temporary file, reads it back, 
+ * opens it in a new tab, and renders it.
+ */
+final class TrainingRun
+{
+	static final String PROPERTY = "jetuml.training";
+	
+	private static final int NODE_SPACING = 150;
+	
+	private TrainingRun() {}
+	
+	/**
+	 * @return True if the application is launched for a training run.
+	 */
+	static boolean isRequested()
+	{
+		return Boolean.getBoolean(PROPERTY);
+	}
+	
+	/**
+	 * Opens and renders a diagram of each type in pEditor, then exits the 
+	 * application. Exits with status 1 if a diagram cannot be saved or read.
+	 * 
+	 * @param pEditor The editor of the application.
+	 * @pre pEditor != null
+	 */
+	static void run(EditorFrame pEditor)
+	{
+		assert pEditor != null;
+		try
+		{
+			for( DiagramType diagramType : DiagramType.values() )
+			{
+				Diagram diagram = saveAndRead(createDiagram(diagramType));
+				pEditor.openDiagram(diagram).createImage();
+			}
+		}
+		catch( IOException | DeserializationException exception )
+		{
+			System.err.println("Training run failed: " + exception.getMessage());
+			System.exit(1);
+		}
+		// Lets the tabs be rendered once before exiting
+		Platform.runLater(() -> System.exit(0));
+	}
+	
+	private static Diagram createDiagram(DiagramType pDiagramType)
+	{
+		Diagram diagram = new Diagram(pDiagramType);
+		DiagramBuilder builder = DiagramType.newBuilderInstanceFor(diagram);
+		int x = 0;
+		for( DiagramElement prototype : pDiagramType.getPrototypes() )
+		{
+			if( prototype instanceof Node node && !node.requiresParent() )
+			{
+				builder.createAddNodeOperation(node.clone(), new Point(x, 0)).execute();
+				x += NODE_SPACING;
+			}
+		}
+		return diagram;
+	}
+	
+	private static Diagram saveAndRead(Diagram pDiagram) throws IOException, DeserializationException
+	{
+		File file = File.createTempFile("jetuml-training", pDiagram.getType().getFileExtension());
+		try
+		{
+			PersistenceService.save(pDiagram, file);
+			return PersistenceService.read(file);
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+}
@@ -21,11 +21,13 @@
 package org.jetuml.application;
 
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 import static java.util.stream.StreamSupport.stream;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -35,6 +37,7 @@ import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PositionIndex;
 import org.jetuml.diagram.nodes.PointNode;
 import org.jetuml.geom.Point;
 
@@ -53,6 +56,9 @@ import org.jetuml.geom.Point;
  * The list of elements stored into the clipboard is assumed to respect the non-redundancy 
  * constraint that no element whose deletion leads to the deletion of a node is selected with the node.
  * 
+ * Clones are matched with their original nodes through identity maps, so that copying 
+ * and pasting takes a time linear in the number of elements.
+ * 
  * The clipboard is a singleton. This is necessary to allow copying elements
  * between diagrams of the same type.
  * 
@@ -144,12 +150,43 @@ public final class Clipboard
 	 */
 	public boolean overlapsWithElementOf(Diagram pDiagram)
 	{
-		Set<Point> positions = aNodes.stream()
-				.map(Node::position)
-				.collect(toSet());
-		return pDiagram.allNodes().stream()
+		return overlapsAt(new PositionIndex(pDiagram), 0);
+	}
+	
+	/**
+	 * Finds the smallest shift, along the diagonal and in increments of pStep,
+	 * that makes the nodes in the clipboard not overlap with the nodes of a diagram. 
+	 * Nodes overlap if they have the same position. Because each shift that is 
+	 * rejected overlaps with at least one distinct position of the diagram, the 
+	 * search stops after at most pPositions.size() shifts.
+	 * 
+	 * @param pPositions The positions of the nodes of the target diagram.
+	 * @param pStep The increment of the shift.
+	 * @return The smallest multiple of pStep, possibly 0, by which the nodes in the
+	 *     clipboard can be translated along both axes without having the position
+	 *     of a node in the target diagram.
+	 * @pre pPositions != null && pStep > 0
+	 */
+	public int nonOverlappingShift(PositionIndex pPositions, int pStep)
+	{
+		assert pPositions != null && pStep > 0;
+		int shift = 0;
+		while( overlapsAt(pPositions, shift) )
+		{
+			shift += pStep;
+		}
+		return shift;
+	}
+	
+	/*
+	 * True if a node in the clipboard, translated by pShift along both axes,
+	 * has the position of a node in pPositions.
+	 */
+	private boolean overlapsAt(PositionIndex pPositions, int pShift)
+	{
+		return aNodes.stream()
 				.map(Node::position)
-				.anyMatch(positions::contains);
+				.anyMatch(position -> pPositions.contains(new Point(position.x() + pShift, position.y() + pShift)));
 	}
 	
 	/*
@@ -158,99 +195,81 @@ public final class Clipboard
 	 */
 	private List<Node> copyNodes(List<Edge> pEdges, Iterable<DiagramElement> pSelection)
 	{
+		Set<Node> clipboardNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		clipboardNodes.addAll(aNodes);
 		List<Node> result = new ArrayList<>();
+		Map<Node, Node> clones = new IdentityHashMap<>();
 		for( DiagramElement element : pSelection )
 		{
 			if( element instanceof Node node)
 			{
-				if( missingParent(node))
+				if( missingParent(node, clipboardNodes))
 				{
 					continue;
 				}
 				Node cloned = node.clone();
 				result.add(cloned);
-				reassignEdges(pEdges, node, cloned);
+				mapClones(node, cloned, clones);
 			}
 		}
+		reassignEdges(pEdges, clones);
 		return result;
 	}
 	
 	private void removeDanglingEdges()
 	{
-		List<Edge> toDelete = new ArrayList<>();
-		for( Edge edge : aEdges )
-		{
-			if( !recursivelyContains(edge.start()) || !recursivelyContains(edge.end()))
-			{
-				toDelete.add(edge);
-			}
-		}
-		for( Edge edge : toDelete )
-		{
-			aEdges.remove(edge);
-		}
+		Set<Node> containedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		aNodes.forEach(node -> addContainedNodes(node, containedNodes));
+		aEdges.removeIf(edge -> !containedNodes.contains(edge.start()) || !containedNodes.contains(edge.end()));
 	}
 	
-	private boolean recursivelyContains(Node pNode)
+	/*
+	 * Adds pNode and all its descendants to pNodes.
+	 */
+	private static void addContainedNodes(Node pNode, Set<Node> pNodes)
 	{
-		for( Node node : aNodes )
-		{
-			if( node == pNode )
-			{
-				return true;
-			}
-			else if( recursivelyContains(pNode, node.getChildren()) )
-			{
-				return true;
-			}
-		}
-		return false;
+		pNodes.add(pNode);
+		pNode.getChildren().forEach(child -> addContainedNodes(child, pNodes));
 	}
 	
-	private boolean recursivelyContains(Node pNode, List<Node> pNodes)
+	/*
+	 * Maps pOld and its descendants to pNew and its descendants, assuming the same
+	 * topology. A node cloned more than once remains mapped to its first clone.
+	 */
+	private static void mapClones(Node pOld, Node pNew, Map<Node, Node> pClones)
 	{
-		for( Node node : pNodes )
+		pClones.putIfAbsent(pOld, pNew);
+		List<Node> oldChildren = pOld.getChildren();
+		List<Node> newChildren = pNew.getChildren();
+		for( int i = 0; i < oldChildren.size(); i++ )
 		{
-			if( node == pNode )
-			{
-				return true;
-			}
-			else if( recursivelyContains(pNode, node.getChildren()) )
-			{
-				return true;
-			}
+			mapClones(oldChildren.get(i), newChildren.get(i), pClones);
 		}
-		return false;
 	}
 	
-	private void reassignEdges(List<Edge> pEdges, Node pOld, Node pNew)
+	/*
+	 * Connects the edges to the clones of their nodes, if they are cloned.
+	 */
+	private static void reassignEdges(List<Edge> pEdges, Map<Node, Node> pClones)
 	{
 		for( Edge edge : pEdges )
 		{
-			if( edge.start() == pOld )
-			{
-				edge.connect(pNew, edge.end());
-			}
-			if( edge.end() == pOld)
+			Node start = pClones.getOrDefault(edge.start(), edge.start());
+			Node end = pClones.getOrDefault(edge.end(), edge.end());
+			if( start != edge.start() || end != edge.end() )
 			{
-				edge.connect(edge.start(), pNew);
+				edge.connect(start, end);
 			}
 		}
-		List<Node> oldChildren = pOld.getChildren();
-		List<Node> newChildren = pNew.getChildren();
-		for( int i = 0; i < oldChildren.size(); i++ )
-		{
-			reassignEdges(pEdges, oldChildren.get(i), newChildren.get(i));
-		}
 	}
 	
 	/*
 	 * Returns true if pNode needs a parent that isn't in 
 	 * the clipboard.
 	 */
-	private boolean missingParent(Node pNode)
+	private static boolean missingParent(Node pNode, Set<Node> pClipboardNodes)
 	{
-		return pNode.requiresParent() && !aNodes.contains(pNode.getParent()) ;
+		return pNode.requiresParent() && !pClipboardNodes.contains(pNode.getParent()) ;
 	}
 	
 	/*
@@ -41,9 +41,11 @@ import javafx.stage.FileChooser.ExtensionFilter;
 public final class FileExtensions
 {
 	private static final String EXTENSION_JET = ".jet";
+	private static final String EXTENSION_COMPRESSED = EXTENSION_JET + ".gz";
 	
 	private static final ExtensionFilter FILTER_APPLICATION = 
-			new ExtensionFilter(RESOURCES.getString("application.file.name"), "*" + EXTENSION_JET);
+			new ExtensionFilter(RESOURCES.getString("application.file.name"), 
+					"*" + EXTENSION_JET, "*" + EXTENSION_COMPRESSED);
 	private static final ExtensionFilter FILTER_ALL = 
 			new ExtensionFilter(RESOURCES.getString("application.file.all"), "*.*");
 	
@@ -57,7 +59,8 @@ public final class FileExtensions
 		for( DiagramType diagramType : DiagramType.values() )
 		{
 			map.put(diagramType,  new ExtensionFilter(diagramType.getFileNameDescription(), 
-					"*" + diagramType.getFileExtension() + EXTENSION_JET));
+					"*" + diagramType.getFileExtension() + EXTENSION_JET,
+					"*" + diagramType.getFileExtension() + EXTENSION_COMPRESSED));
 		}
 		return map;
 	}
@@ -91,22 +94,37 @@ public final class FileExtensions
 		return aExtensionFilters.get(pDiagramType);
 	}
 	
+	/**
+	 * @param pFile The file to check.
+	 * @return True if the name of pFile has the extension of compressed diagram files.
+	 * @pre pFile != null
+	 */
+	public static boolean isCompressed(File pFile)
+	{
+		assert pFile != null;
+		return pFile.getName().endsWith(EXTENSION_COMPRESSED);
+	}
+	
 	/**
 	 * @param pFile The file to clip, if applicable.
 	 * @return A file with the same name as pFile, but with
-	 *     the application extension removed. If there is no application
+	 *     the application extension, compressed or not, removed. If there is no application
 	 *     extension to clip, the same file object is returned.
 	 * @pre pFile != null
 	 */
 	public static File clipApplicationExtension(File pFile)
 	{
 		assert pFile != null;
-		if( !pFile.getAbsolutePath().endsWith(EXTENSION_JET))
+		String path = pFile.getAbsolutePath();
+		if( path.endsWith(EXTENSION_COMPRESSED) )
+		{
+			return new File(path.substring(0, path.length() - EXTENSION_COMPRESSED.length()));
+		}
+		if( !path.endsWith(EXTENSION_JET))
 		{
 			return pFile;
 		}
-		return new File(pFile.getAbsolutePath()
-				.substring(0, pFile.getAbsolutePath().length() - EXTENSION_JET.length()));
+		return new File(path.substring(0, path.length() - EXTENSION_JET.length()));
 	}
 }
 	
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Manages the directory where diagrams with unsaved changes are written
+ * periodically, so that they can be recovered if the application terminates
+ * abnormally.
+ *
+ * Each running instance of the application writes to its own session directory,
+ * which it locks for as long as the session is open. When a session is closed
+ * normally, its directory is deleted. Any session directory that remains
+ * and is not locked was thus left behind by an instance that did not terminate
+ * normally, and the diagrams it contains can be recovered.
+ */
+public final class RecoveryStore
+{
+	private static final String SESSION_PREFIX = "session-";
+	private static final String LOCK_FILE = ".lock";
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+	private static final String EXTENSION_JET = ".jet";
+	private static final String KEPT_DIRECTORY = "unreadable";
+
+	private final Path aRoot;
+	private Path aSession;
+	private FileChannel aLockChannel;
+	private FileLock aLock;
+
+	/**
+	 * Creates a store rooted at pRoot. The directory does not need to exist.
+	 *
+	 * @param pRoot The directory that contains all session directories.
+	 * @pre pRoot != null
+	 */
+	public RecoveryStore(Path pRoot)
+	{
+		assert pRoot != null;
+		aRoot = pRoot;
+	}
+
+	/**
+	 * @return The default location of the recovery directory, in the user's home directory.
+	 */
+	public static Path defaultRoot()
+	{
+		return Path.of(System.getProperty("user.home"), ".jetuml", "recovery");
+	}
+
+	/**
+	 * Creates and locks a new session directory.
+	 *
+	 * @throws IOException If the session directory cannot be created or locked.
+	 * @pre !isOpen()
+	 */
+	public void open() throws IOException
+	{
+		assert !isOpen();
+		Files.createDirectories(aRoot);
+		aSession = Files.createTempDirectory(aRoot, SESSION_PREFIX);
+		aLockChannel = FileChannel.open(aSession.resolve(LOCK_FILE),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		aLock = aLockChannel.tryLock();
+		if( aLock == null )
+		{
+			aLockChannel.close();
+			throw new IOException("Cannot lock recovery session " + aSession);
+		}
+	}
+
+	/**
+	 * @return True if a session directory is open and can be written to.
+	 */
+	public boolean isOpen()
+	{
+		return aLock != null && aLock.isValid();
+	}
+
+	/**
+	 * Writes pContent to a file named pName in the session directory, replacing
+	 * any previous version of that file. The content is first written to a temporary
+	 * file, so that a failure during the write never leaves a truncated file behind.
+	 *
+	 * @param pName The name of the file, which should end with the diagram file extension.
+	 * @param pContent The text to write.
+	 * @throws IOException If the file cannot be written.
+	 * @pre isOpen()
+	 * @pre pName != null && pContent != null
+	 */
+	public void write(String pName, String pContent) throws IOException
+	{
+		assert isOpen() && pName != null && pContent != null;
+		Path target = aSession.resolve(pName);
+		Path temporary = aSession.resolve(pName + TEMPORARY_SUFFIX);
+		Files.writeString(temporary, pContent, StandardCharsets.UTF_8);
+		try
+		{
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(AtomicMoveNotSupportedException exception)
+		{
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Removes the file named pName from the session directory, if it exists.
+	 *
+	 * @param pName The name of the file to remove.
+	 * @throws IOException If the file exists but cannot be deleted.
+	 * @pre isOpen()
+	 * @pre pName != null
+	 */
+	public void delete(String pName) throws IOException
+	{
+		assert isOpen() && pName != null;
+		Files.deleteIfExists(aSession.resolve(pName));
+	}
+
+	/**
+	 * @return The diagram files left behind by sessions that were not closed normally,
+	 *     sorted by path. Never null.
+	 */
+	public List<File> findRecoverableFiles()
+	{
+		List<File> result = new ArrayList<>();
+		for( Path session : abandonedSessions() )
+		{
+			try( DirectoryStream<Path> files = Files.newDirectoryStream(session, "*" + EXTENSION_JET) )
+			{
+				files.forEach(file -> result.add(file.toFile()));
+			}
+			catch(IOException exception)
+			{
+				// An unreadable session cannot be recovered: skip it.
+			}
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * Moves pFile, a file left behind by a session that was not closed normally,
+	 * to a directory of the root that is not a session directory. The file is then
+	 * no longer offered for recovery, and is not deleted with its session.
+	 *
+	 * @param pFile The file to keep.
+	 * @return The new location of the file.
+	 * @throws IOException If the file cannot be moved.
+	 * @pre pFile != null && pFile.getParentFile() != null
+	 */
+	public File keep(File pFile) throws IOException
+	{
+		assert pFile != null && pFile.getParentFile() != null;
+		Path directory = Files.createDirectories(aRoot.resolve(KEPT_DIRECTORY));
+		Path target = directory.resolve(pFile.getParentFile().getName() + "-" + pFile.getName());
+		return Files.move(pFile.toPath(), target, StandardCopyOption.REPLACE_EXISTING).toFile();
+	}
+
+	/**
+	 * Deletes all the session directories left behind by sessions that
+	 * were not closed normally.
+	 */
+	public void discardAbandonedSessions()
+	{
+		abandonedSessions().forEach(RecoveryStore::deleteSession);
+	}
+
+	/**
+	 * Releases the lock on the session directory and deletes it, including
+	 * all files it contains. Does nothing if the store is not open.
+	 */
+	public void close()
+	{
+		if( !isOpen() )
+		{
+			return;
+		}
+		try
+		{
+			aLock.release();
+			aLockChannel.close();
+		}
+		catch(IOException exception)
+		{
+			// The lock is released when the channel is closed or the JVM exits.
+		}
+		deleteSession(aSession);
+		aLock = null;
+	}
+
+	/*
+	 * Returns all the session directories in the root, except the one
+	 * of this store, whose lock is not held.
+	 */
+	private List<Path> abandonedSessions()
+	{
+		List<Path> result = new ArrayList<>();
+		if( !Files.isDirectory(aRoot) )
+		{
+			return result;
+		}
+		try( DirectoryStream<Path> sessions = Files.newDirectoryStream(aRoot, SESSION_PREFIX + "*") )
+		{
+			for( Path session : sessions )
+			{
+				if( Files.isDirectory(session) && !session.equals(aSession) && !isLocked(session) )
+				{
+					result.add(session);
+				}
+			}
+		}
+		catch(IOException exception)
+		{
+			// If the root cannot be listed there is nothing to recover.
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	/*
+	 * A session is locked if another process, or another store in this process,
+	 * holds the lock on its lock file.
+	 */
+	private static boolean isLocked(Path pSession)
+	{
+		Path lockFile = pSession.resolve(LOCK_FILE);
+		if( !Files.exists(lockFile) )
+		{
+			return false;
+		}
+		try( FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE) )
+		{
+			FileLock lock = channel.tryLock();
+			if( lock == null )
+			{
+				return true;
+			}
+			lock.release();
+			return false;
+		}
+		catch(OverlappingFileLockException | IOException exception)
+		{
+			return true;
+		}
+	}
+
+	/*
+	 * Session directories are flat, so it is sufficient to delete their
+	 * files before deleting the directory itself.
+	 */
+	private static void deleteSession(Path pSession)
+	{
+		try( DirectoryStream<Path> files = Files.newDirectoryStream(pSession) )
+		{
+			for( Path file : files )
+			{
+				Files.deleteIfExists(file);
+			}
+			Files.deleteIfExists(pSession);
+		}
+		catch(IOException exception)
+		{
+			// Left-over files will be offered for recovery at the next startup.
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.application;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Records how long each phase of the startup of the application takes. 
+ * Phases are recorded only if the system property named by DEBUG_PROPERTY 
+ * is set to true, for example with -Djetuml.debug.startup=true. Otherwise, 
+ * recording a phase does nothing.
+ * 
+ * Each phase lasts from the end of the previous phase, or from the creation
+ * of the profile for the first phase, until the phase is ended. 
+ */
+public final class StartupProfile
+{
+	/**
+	 * The name of the system property that enables the profile.
+	 */
+	public static final String DEBUG_PROPERTY = "jetuml.debug.startup";
+	
+	private static final String LAUNCH_PHASE = "launch";
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+	
+	/**
+	 * A completed phase of the startup.
+	 * 
+	 * @param name The name of the phase.
+	 * @param duration The duration of the phase, in nanoseconds.
+	 */
+	public record Phase(String name, long duration) {}
+	
+	private final boolean aEnabled;
+	private final LongSupplier aClock;
+	private long aLastMark;
+	private final List<Phase> aPhases = new ArrayList<>();
+	
+	/**
+	 * @param pEnabled True if phases are recorded.
+	 * @param pClock The source of time, in nanoseconds.
+	 * @pre pClock != null
+	 */
+	StartupProfile(boolean pEnabled, LongSupplier pClock)
+	{
+		assert pClock != null;
+		aEnabled = pEnabled;
+		aClock = pClock;
+		aLastMark = pClock.getAsLong();
+	}
+	
+	/**
+	 * Creates a profile that is enabled by the debug property. If it is enabled,
+	 * its first phase is the launch of the process up to the creation of the profile, 
+	 * if the start time of the process is known. 
+	 * 
+	 * @return A new startup profile.
+	 */
+	public static StartupProfile create()
+	{
+		StartupProfile profile = new StartupProfile(Boolean.getBoolean(DEBUG_PROPERTY), System::nanoTime);
+		if( profile.aEnabled )
+		{
+			Optional<Instant> processStart = ProcessHandle.current().info().startInstant();
+			processStart.ifPresent(start -> 
+				profile.aPhases.add(new Phase(LAUNCH_PHASE, Duration.between(start, Instant.now()).toNanos())));
+		}
+		return profile;
+	}
+	
+	/**
+	 * @return True if this profile records phases.
+	 */
+	public boolean isEnabled()
+	{
+		return aEnabled;
+	}
+	
+	/**
+	 * Ends the current phase and starts the next one, if this profile is enabled.
+	 * 
+	 * @param pName The name of the phase that ends.
+	 * @pre pName != null
+	 */
+	public void endPhase(String pName)
+	{
+		assert pName != null;
+		if( !aEnabled )
+		{
+			return;
+		}
+		long now = aClock.getAsLong();
+		aPhases.add(new Phase(pName, now - aLastMark));
+		aLastMark = now;
+	}
+	
+	/**
+	 * @return The phases recorded so far, in the order in which they ended.
+	 */
+	public List<Phase> phases()
+	{
+		return Collections.unmodifiableList(aPhases);
+	}
+	
+	/**
+	 * @return A description of the phases recorded so far, one per line, 
+	 *     with the time at which each phase ended since the start of the first one.
+	 */
+	public String report()
+	{
+		StringBuilder result = new StringBuilder();
+		long total = 0;
+		for( Phase phase : aPhases )
+		{
+			total += phase.duration();
+			result.append(String.format("%-16s %8.1f ms %8.1f ms%n", phase.name(), 
+					phase.duration() / NANOS_PER_MILLI, total / NANOS_PER_MILLI));
+		}
+		return result.toString();
+	}
+}
@@ -44,7 +44,7 @@ public final class UserPreferences
 	public enum BooleanPreference
 	{	
 		showGrid(true), showToolHints(false), autoEditNode(false), verboseToolTips(false),
-		showTips(true), darkMode(false);
+		showTips(true), darkMode(false), incrementalSave(false), saveLayout(false), showPerformance(false);
 		
 		private boolean aDefault;
 		
@@ -20,22 +20,32 @@
  *******************************************************************************/
 package org.jetuml.diagram;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Base class for nodes and edges. Responsible for storing the single
- * Properties object used to describe the properties of this element.
- * There is only a single Properties object associated with a DiagramElement, 
- * used to represent the element's properties through its life-cycle.
+ * Base class for nodes and edges. Responsible for obtaining the 
+ * descriptors of the properties of this element. The descriptors are
+ * built the first time an instance of a given class is created, and 
+ * shared by all instances of that class, including clones. 
  */
 public abstract class AbstractDiagramElement implements DiagramElement
 {
-	private Properties aProperties;
+	private static final Map<Class<?>, PropertyDescriptors> DESCRIPTORS = new ConcurrentHashMap<>();
+	
+	private final PropertyDescriptors aDescriptors;
 	
 	/**
 	 * Initializes the properties for this object.
 	 */
 	protected AbstractDiagramElement()
 	{
-		buildProperties();
+		aDescriptors = DESCRIPTORS.computeIfAbsent(getClass(), type -> 
+		{
+			PropertyDescriptors descriptors = new PropertyDescriptors();
+			buildProperties(descriptors);
+			return descriptors;
+		});
 	}
 	
 	/* (non-Javadoc)
@@ -46,9 +56,7 @@ public abstract class AbstractDiagramElement implements DiagramElement
 	{
 		try
 		{
-			AbstractDiagramElement clone = (AbstractDiagramElement) super.clone();
-			clone.buildProperties();
-			return clone;
+			return (AbstractDiagramElement) super.clone();
 		}
 		catch(CloneNotSupportedException exception)
 		{
@@ -59,17 +67,21 @@ public abstract class AbstractDiagramElement implements DiagramElement
 	@Override
 	public final Properties properties()
 	{
-		return aProperties;
+		return new Properties(this, aDescriptors);
 	}
 	
 	/**
-	 * Builds the properties object associated with this object.
-	 * Must be outside the constructor because of cloning.
-	 * Subclasses should call super.buildProperties() before
+	 * Adds the descriptors of the properties of this class of elements
+	 * to pDescriptors. This method is called only once per class, so the 
+	 * getters and setters must only access the element they receive.
+	 * Subclasses should call super.buildProperties(pDescriptors) before
 	 * adding their own properties.
+	 * 
+	 * @param pDescriptors The descriptors of the properties of this class.
+	 * @pre pDescriptors != null
 	 */
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		aProperties = new Properties();
+		assert pDescriptors != null;
 	}
 }
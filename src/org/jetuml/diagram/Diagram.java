@@ -45,6 +45,8 @@ public final class Diagram implements DiagramData
 	private final ArrayList<Node> aRootNodes;
 	private final ArrayList<Edge> aEdges;
 	private final DiagramType aType;
+	private long aModificationCount;
+	private volatile EdgeIndex aEdgeIndex;
 
 	/**
 	 * Creates an empty diagram.
@@ -245,6 +247,53 @@ public final class Diagram implements DiagramData
 		return lReturn;
 	}
 	
+	/**
+	 * Returns the edges between pNode1 and pNode2, in either direction, in the order 
+	 * of the list of edges. The edges are found through an EdgeIndex, which is 
+	 * only built again after root nodes or edges are added or removed.
+	 * 
+	 * @param pNode1 One end of the edges.
+	 * @param pNode2 The other end of the edges, which can be pNode1 for self-edges.
+	 * @return An unmodifiable list of the edges that start at one of the nodes and end 
+	 *     at the other.
+	 * @pre pNode1 != null && pNode2 != null
+	 */
+	public List<Edge> edgesConnecting(Node pNode1, Node pNode2)
+	{
+		assert pNode1 != null && pNode2 != null;
+		return edgeIndex().edgesConnecting(pNode1, pNode2);
+	}
+	
+	/**
+	 * Returns the edges that start at pStart and end at pEnd, in the order 
+	 * of the list of edges. The edges are found through an EdgeIndex.
+	 * 
+	 * @param pStart The start node.
+	 * @param pEnd The end node.
+	 * @return An unmodifiable list of the edges from pStart to pEnd.
+	 * @pre pStart != null && pEnd != null
+	 */
+	public List<Edge> edgesFromTo(Node pStart, Node pEnd)
+	{
+		assert pStart != null && pEnd != null;
+		return edgeIndex().edgesFromTo(pStart, pEnd);
+	}
+	
+	/*
+	 * The index is replaced rather than updated, so that a reference 
+	 * obtained before a change keeps describing the diagram it was built for.
+	 */
+	private EdgeIndex edgeIndex()
+	{
+		EdgeIndex index = aEdgeIndex;
+		if( index == null || index.modificationCount() != aModificationCount )
+		{
+			index = new EdgeIndex(this);
+			aEdgeIndex = index;
+		}
+		return index;
+	}
+	
 	/**
 	 * Returns all the edges in the diagram of a type assignable to pType,
 	 * and that have pNode as end node.
@@ -274,6 +323,7 @@ public final class Diagram implements DiagramData
 	{
 		assert pNode != null;
 		aRootNodes.add(pNode);
+		aModificationCount++;
 	}
 
 	/**
@@ -287,6 +337,7 @@ public final class Diagram implements DiagramData
 	{
 		assert pNode != null && aRootNodes.contains(pNode);
 		aRootNodes.remove(pNode);
+		aModificationCount++;
 	}
 
 	/**
@@ -300,6 +351,7 @@ public final class Diagram implements DiagramData
 	{
 		assert pEdge != null && pEdge.start() != null && pEdge.end() != null;
 		aEdges.add(pEdge);
+		aModificationCount++;
 	}
 	
 	/**
@@ -313,6 +365,7 @@ public final class Diagram implements DiagramData
 	{
 		assert pEdge != null && pIndex >= 0 && pIndex <= aEdges.size();
 		aEdges.add(pIndex, pEdge);
+		aModificationCount++;
 	}
 
 
@@ -338,6 +391,17 @@ public final class Diagram implements DiagramData
 	{
 		assert pEdge != null && aEdges.contains(pEdge);
 		aEdges.remove(pEdge);
+		aModificationCount++;
+	}
+	
+	/**
+	 * @return The number of times a root node or an edge was added to or removed from 
+	 *     this diagram. Changes to the nodes themselves, including to their children, 
+	 *     change their modification stamp instead.
+	 */
+	public long modificationCount()
+	{
+		return aModificationCount;
 	}
 
 	/**
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import java.util.List;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * The state of a diagram at a given time, as far as it can be known without looking 
+ * at all its elements: the modification count of the diagram and the modification
+ * stamps of its root nodes. Indexes built from a diagram keep the version of the 
+ * diagram they were built from, to check whether they still describe it without 
+ * traversing it.
+ */
+@Immutable
+public final class DiagramVersion
+{
+	private final Diagram aDiagram;
+	private final long aModificationCount;
+	private final List<Node> aRoots;
+	private final long[] aRootStamps;
+	
+	/**
+	 * Records the current version of pDiagram.
+	 * 
+	 * @param pDiagram A diagram.
+	 * @pre pDiagram != null
+	 */
+	public DiagramVersion(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		aDiagram = pDiagram;
+		aModificationCount = pDiagram.modificationCount();
+		aRoots = List.copyOf(pDiagram.rootNodes());
+		aRootStamps = new long[aRoots.size()];
+		for( int index = 0; index < aRoots.size(); index++ )
+		{
+			aRootStamps[index] = aRoots.get(index).modificationStamp();
+		}
+	}
+	
+	/**
+	 * @param pDiagram A diagram.
+	 * @return True if this version was recorded from pDiagram, and no root node or edge
+	 *     was added to or removed from pDiagram since then, and no root node changed.
+	 * @pre pDiagram != null
+	 */
+	public boolean isCurrent(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		List<Node> roots = pDiagram.rootNodes();
+		if( pDiagram != aDiagram || pDiagram.modificationCount() != aModificationCount || 
+				roots.size() != aRoots.size() )
+		{
+			return false;
+		}
+		for( int index = 0; index < roots.size(); index++ )
+		{
+			if( roots.get(index) != aRoots.get(index) || 
+					roots.get(index).modificationStamp() != aRootStamps[index] )
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
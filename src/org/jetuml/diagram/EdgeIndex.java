@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the edges of a diagram, so that the edges related to a node
+ * or to a pair of nodes can be found without going through all the edges 
+ * of the diagram. The index describes the diagram as it was when the index 
+ * was built. It is built once per validation, and kept by the diagram to 
+ * answer queries until its edges change.
+ */
+public final class EdgeIndex
+{
+	private final Diagram aDiagram;
+	private final long aModificationCount;
+	private final List<Node> aNodes;
+	private final Map<Node, List<Edge>> aEdgesConnectedTo = new IdentityHashMap<>();
+	private final Map<Node, List<Edge>> aEdgesTo = new IdentityHashMap<>();
+	private final Map<Node, Map<Node, List<Edge>>> aEdgesFromTo = new IdentityHashMap<>();
+	private final Map<Node, Map<Node, List<Edge>>> aEdgesConnecting = new IdentityHashMap<>();
+	
+	/**
+	 * Indexes the edges of pDiagram.
+	 * 
+	 * @param pDiagram The diagram to index.
+	 * @pre pDiagram != null
+	 */
+	public EdgeIndex(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		aDiagram = pDiagram;
+		aModificationCount = pDiagram.modificationCount();
+		aNodes = pDiagram.allNodes();
+		for( Edge edge : pDiagram.edges() )
+		{
+			aEdgesConnectedTo.computeIfAbsent(edge.start(), key -> new ArrayList<>()).add(edge);
+			if( edge.end() != edge.start() )
+			{
+				aEdgesConnectedTo.computeIfAbsent(edge.end(), key -> new ArrayList<>()).add(edge);
+			}
+			aEdgesTo.computeIfAbsent(edge.end(), key -> new ArrayList<>()).add(edge);
+			add(aEdgesFromTo, edge.start(), edge.end(), edge);
+			add(aEdgesConnecting, edge.start(), edge.end(), edge);
+			if( edge.end() != edge.start() )
+			{
+				add(aEdgesConnecting, edge.end(), edge.start(), edge);
+			}
+		}
+	}
+	
+	private static void add(Map<Node, Map<Node, List<Edge>>> pIndex, Node pNode1, Node pNode2, Edge pEdge)
+	{
+		pIndex.computeIfAbsent(pNode1, key -> new IdentityHashMap<>())
+			.computeIfAbsent(pNode2, key -> new ArrayList<>()).add(pEdge);
+	}
+	
+	private static List<Edge> get(Map<Node, Map<Node, List<Edge>>> pIndex, Node pNode1, Node pNode2)
+	{
+		return Collections.unmodifiableList(pIndex.getOrDefault(pNode1, Map.of()).getOrDefault(pNode2, List.of()));
+	}
+	
+	/**
+	 * @return The indexed diagram.
+	 */
+	public Diagram diagram()
+	{
+		return aDiagram;
+	}
+	
+	/**
+	 * @return The modification count of the diagram when the index was built.
+	 */
+	long modificationCount()
+	{
+		return aModificationCount;
+	}
+	
+	/**
+	 * @return All the nodes in the diagram: both the root nodes and their children.
+	 */
+	public List<Node> nodes()
+	{
+		return aNodes;
+	}
+	
+	/**
+	 * @param pNode The node to test for.
+	 * @return All the edges connected to pNode, in the order of the edges of the diagram.
+	 * @pre pNode != null
+	 */
+	public List<Edge> edgesConnectedTo(Node pNode)
+	{
+		assert pNode != null;
+		return Collections.unmodifiableList(aEdgesConnectedTo.getOrDefault(pNode, List.of()));
+	}
+	
+	/**
+	 * @param pNode The desired end node.
+	 * @param pOfType The desired edge type. Use Edge.class to get edges of any type.
+	 * @return The edges of type pOfType (or a subtype) that have pNode as end node, 
+	 *     in the order of the edges of the diagram.
+	 * @pre pNode != null && pOfType != null
+	 */
+	public List<Edge> edgesTo(Node pNode, Class<? extends Edge> pOfType)
+	{
+		assert pNode != null && pOfType != null;
+		return aEdgesTo.getOrDefault(pNode, List.of()).stream()
+				.filter(pOfType::isInstance)
+				.toList();
+	}
+	
+	/**
+	 * @param pStart The start node.
+	 * @param pEnd The end node.
+	 * @return The edges of any type that start at pStart and end at pEnd, in the 
+	 *     order of the edges of the diagram.
+	 * @pre pStart != null && pEnd != null
+	 */
+	public List<Edge> edgesFromTo(Node pStart, Node pEnd)
+	{
+		assert pStart != null && pEnd != null;
+		return get(aEdgesFromTo, pStart, pEnd);
+	}
+	
+	/**
+	 * @param pNode1 One end of the edges.
+	 * @param pNode2 The other end of the edges, which can be pNode1 for self-edges.
+	 * @return The edges of any type that start at one of the nodes and end at 
+	 *     the other, in the order of the edges of the diagram.
+	 * @pre pNode1 != null && pNode2 != null
+	 */
+	public List<Edge> edgesConnecting(Node pNode1, Node pNode2)
+	{
+		assert pNode1 != null && pNode2 != null;
+		return get(aEdgesConnecting, pNode1, pNode2);
+	}
+}
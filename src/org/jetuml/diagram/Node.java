@@ -62,6 +62,16 @@ public interface Node extends DiagramElement
      * @param pDeltaY the amount to translate in the y-direction
 	 */
 	void translate(int pDeltaX, int pDeltaY);
+	
+	/**
+	 * Returns a number that changes whenever this node, or any of its descendants, 
+	 * changes in a way that can affect its bounds: when it is moved, when one of its
+	 * properties is set, or when a child is added or removed. Stamps are drawn from 
+	 * a single increasing sequence, so the stamp of a node never takes a value it had before.
+	 * 
+	 * @return The modification stamp of this node.
+	 */
+	long modificationStamp();
 
 	/**
 	 * @return A clone of the node.
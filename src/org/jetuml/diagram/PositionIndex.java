@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jetuml.geom.Point;
+
+/**
+ * An index of the positions of all the nodes of a diagram, including child nodes.
+ * The index records the version of the diagram it was built from, and is rebuilt 
+ * when it is queried after the diagram changed. Queries on a diagram that did not 
+ * change since the last query only look at its root nodes.
+ */
+public final class PositionIndex
+{
+	private final Diagram aDiagram;
+	private Optional<DiagramVersion> aVersion = Optional.empty();
+	private final Set<Point> aPositions = new HashSet<>();
+	
+	/**
+	 * Creates an index of the positions of the nodes of pDiagram.
+	 * 
+	 * @param pDiagram The diagram to index.
+	 * @pre pDiagram != null
+	 */
+	public PositionIndex(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		aDiagram = pDiagram;
+	}
+	
+	/**
+	 * @param pPosition A point.
+	 * @return True if a node of the diagram has position pPosition.
+	 * @pre pPosition != null
+	 */
+	public boolean contains(Point pPosition)
+	{
+		assert pPosition != null;
+		if( !isCurrent() )
+		{
+			rebuild();
+		}
+		return aPositions.contains(pPosition);
+	}
+	
+	/**
+	 * @return The number of distinct positions of the nodes of the diagram.
+	 */
+	public int size()
+	{
+		if( !isCurrent() )
+		{
+			rebuild();
+		}
+		return aPositions.size();
+	}
+	
+	private boolean isCurrent()
+	{
+		return aVersion.isPresent() && aVersion.get().isCurrent(aDiagram);
+	}
+	
+	private void rebuild()
+	{
+		aVersion = Optional.of(new DiagramVersion(aDiagram));
+		aPositions.clear();
+		aDiagram.allNodes().forEach(node -> aPositions.add(node.position()));
+	}
+}
@@ -20,82 +20,69 @@
  *******************************************************************************/
 package org.jetuml.diagram;
 
-import static java.util.stream.Collectors.toList;
-
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.NoSuchElementException;
 
 /**
- * A class to collect and manage the properties of a diagram element.
- * 
- * It is not possible to change a property once it's added to a Properties
- * object. Properties objects are intended to be constructed once, then queried only.
- * 
- * This class provides support for storing properties in a meaningful order. 
- * By default, this is the order of insertion. However, use of the method <code>addAt</code>
- * allows client code to insert a property at a specific index. Keeping properties in order
- * allows for uses such as displaying properties in a predictable order, for instance 
- * in GUI forms.
+ * A view of the properties of a diagram element, obtained by binding
+ * the property descriptors of its class to the element.
+ *
+ * Properties objects are lightweight and can be created whenever the properties of
+ * an element need to be queried. The properties are iterated in the order of
+ * the descriptors, which is the order in which they are displayed and saved.
  */
 public class Properties implements Iterable<Property>
 {
-	private final Map<PropertyName, Property> aProperties = new LinkedHashMap<>();
-	
+	private final DiagramElement aElement;
+	private final PropertyDescriptors aDescriptors;
+
 	/**
-	 * Adds a property to the end of the list.
-	 * 
-	 * @param pName The name of the property.
-	 * @param pGetter The getter for this property.
-	 * @param pSetter The setter for this property.
-	 * @pre pPropertyName != null && pGetter != null && pSetter != null && !containsKey(pName)
+	 * Creates a view of the properties of pElement.
+	 *
+	 * @param pElement The element whose properties are viewed.
+	 * @param pDescriptors The descriptors of the properties of the class of pElement.
+	 * @pre pElement != null && pDescriptors != null
 	 */
-	public void add(PropertyName pName, Supplier<Object> pGetter, Consumer<Object> pSetter)
+	public Properties(DiagramElement pElement, PropertyDescriptors pDescriptors)
 	{
-		assert pName != null && pGetter != null && pSetter != null && !aProperties.containsKey(pName);
-		aProperties.put(pName, new Property(pName, pGetter, pSetter));
+		assert pElement != null && pDescriptors != null;
+		aElement = pElement;
+		aDescriptors = pDescriptors;
 	}
-	
+
 	/**
 	 * @param pName The name of the property to get.
 	 * @return The property with pName.
-	 * @pre pName != null && containsKey(pName)
+	 * @pre pName != null && contains(pName)
 	 */
 	public Property get(PropertyName pName)
 	{
-		assert pName != null && aProperties.containsKey(pName);
-		return aProperties.get(pName);
-	}
-	
-	/**
-	 * Inserts a property at the specified 0-based index, shifting all other 
-	 * properties down by one. 
-	 * 
-	 * @param pName The name of the property.
-	 * @param pGetter The getter for this property.
-	 * @param pSetter The setter for this property.
-	 * @param pIndex Where to insert the property. Must be between 0 and size()-1, inclusive.
-	 * @pre pPropertyName != null && pGetter != null && pSetter != null && !containsKey(pName)
-	 * @pre pIndex >=0 && pIndex <= aProperties.size();
-	 */
-	public void addAt(PropertyName pName, Supplier<Object> pGetter, Consumer<Object> pSetter, int pIndex)
-	{
-		// Rebuilds the map in the proper iteration order
-		assert pName != null && pGetter != null && pSetter != null && !aProperties.containsKey(pName);
-		assert pIndex >=0 && pIndex <= aProperties.size();
-		List<Property> properties = aProperties.values().stream().collect(toList());
-		properties.add(pIndex, new Property(pName, pGetter, pSetter));
-		aProperties.clear();
-		properties.stream().forEach(property -> aProperties.put(property.name(), property));
+		assert pName != null && aDescriptors.contains(pName);
+		return aDescriptors.bind(aDescriptors.indexOf(pName), aElement);
 	}
 
 	@Override
 	public Iterator<Property> iterator()
 	{
-		return Collections.unmodifiableCollection(aProperties.values()).iterator();
+		return new Iterator<>()
+		{
+			private int aIndex = 0;
+
+			@Override
+			public boolean hasNext()
+			{
+				return aIndex < aDescriptors.size();
+			}
+
+			@Override
+			public Property next()
+			{
+				if( !hasNext() )
+				{
+					throw new NoSuchElementException();
+				}
+				return aDescriptors.bind(aIndex++, aElement);
+			}
+		};
 	}
 }
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The ordered list of the properties of a class of diagram elements. Each property
+ * is described by its name, a function to get its value from an element, and a function
+ * to set its value in an element.
+ *
+ * Descriptors are built once per class of diagram elements and shared by all
+ * instances of the class, which obtain their Properties by binding the descriptors
+ * to themselves. For this reason, the getters and setters must only access the
+ * element they receive as argument.
+ *
+ * As with Properties, the order of the descriptors is the order of insertion,
+ * unless the method <code>addAt</code> is used to insert a property at a specific index.
+ */
+public final class PropertyDescriptors
+{
+	private final List<Descriptor> aDescriptors = new ArrayList<>();
+
+	/*
+	 * The getter and setter of a property, for elements of any type
+	 * of the class the descriptors are built for.
+	 */
+	private record Descriptor(PropertyName name, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {}
+
+	/**
+	 * Adds a property to the end of the list.
+	 *
+	 * @param <E> The type of element that declares the property.
+	 * @param pName The name of the property.
+	 * @param pGetter Obtains the value of the property from an element.
+	 * @param pSetter Assigns a value to the property of an element.
+	 * @pre pName != null && pGetter != null && pSetter != null && !contains(pName)
+	 */
+	public <E extends DiagramElement> void add(PropertyName pName, Function<? super E, Object> pGetter,
+			BiConsumer<? super E, Object> pSetter)
+	{
+		addAt(pName, pGetter, pSetter, aDescriptors.size());
+	}
+
+	/**
+	 * Inserts a property at the specified 0-based index, shifting all other
+	 * properties down by one.
+	 *
+	 * @param <E> The type of element that declares the property.
+	 * @param pName The name of the property.
+	 * @param pGetter Obtains the value of the property from an element.
+	 * @param pSetter Assigns a value to the property of an element.
+	 * @param pIndex Where to insert the property. Must be between 0 and size(), inclusive.
+	 * @pre pName != null && pGetter != null && pSetter != null && !contains(pName)
+	 * @pre pIndex >= 0 && pIndex <= size()
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends DiagramElement> void addAt(PropertyName pName, Function<? super E, Object> pGetter,
+			BiConsumer<? super E, Object> pSetter, int pIndex)
+	{
+		assert pName != null && pGetter != null && pSetter != null && !contains(pName);
+		assert pIndex >= 0 && pIndex <= aDescriptors.size();
+		// The descriptors are only ever applied to instances of the class that declares them.
+		aDescriptors.add(pIndex, new Descriptor(pName, (Function<Object, Object>) pGetter,
+				(BiConsumer<Object, Object>) pSetter));
+	}
+
+	/**
+	 * @param pName The name of a property.
+	 * @return True if a property named pName was added.
+	 * @pre pName != null
+	 */
+	public boolean contains(PropertyName pName)
+	{
+		assert pName != null;
+		return indexOf(pName) >= 0;
+	}
+
+	/**
+	 * @return The number of properties.
+	 */
+	public int size()
+	{
+		return aDescriptors.size();
+	}
+
+	/*
+	 * Linear search: elements have at most a handful of properties.
+	 */
+	int indexOf(PropertyName pName)
+	{
+		for( int i = 0; i < aDescriptors.size(); i++ )
+		{
+			if( aDescriptors.get(i).name() == pName )
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * Returns the property at pIndex, bound to pElement.
+	 */
+	Property bind(int pIndex, DiagramElement pElement)
+	{
+		Descriptor descriptor = aDescriptors.get(pIndex);
+		return new Property(descriptor.name(), () -> descriptor.getter().apply(pElement),
+				pValue -> descriptor.setter().accept(pElement, pValue));
+	}
+}
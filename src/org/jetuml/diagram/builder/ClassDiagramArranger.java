@@ -0,0 +1,355 @@
+/****
+ * stub
+ ****/
+package org.jetuml.diagram.builder;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.GeneralizationEdge;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.diagram.nodes.PointNode;
+import org.jetuml.geom.Dimension;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+import org.jetuml.rendering.DiagramRenderer;
+
+/**
+ * Computes new positions for all the nodes of a class diagram. The nodes are
+ * arranged level by level: the root nodes of the diagram form one level, and
+ * the children of each package form another. At each level, every hierarchy of
+ * nodes connected by generalization edges is placed in layers, and the resulting
+ * blocks are then placed with a force-directed layout in which the other edges
+ * act as springs. An edge that connects nodes in different packages acts on the
+ * outermost packages that contain them at the level where they differ.
+ *
+ * The contents of the packages are arranged first, concurrently, so that the size
+ * of each package is known when the level that contains it is arranged. The
+ * bounds of all the nodes are computed beforehand, because rendering is not
+ * thread-safe. Point nodes are not arranged, but follow the note they are
+ * attached to.
+ */
+final class ClassDiagramArranger
+{
+	private final Diagram aDiagram;
+	private final Map<Node, Rectangle> aBounds = new IdentityHashMap<>();
+
+	/*
+	 * The position of the top-left corner of the bounds of every node in
+	 * a level and in the packages it contains, relative to the top-left
+	 * corner of the level.
+	 */
+	private record Arrangement(Dimension size, Map<Node, Point> positions) {}
+
+	/**
+	 * @param pRenderer The renderer of the diagram to arrange.
+	 * @pre pRenderer != null
+	 */
+	ClassDiagramArranger(DiagramRenderer pRenderer)
+	{
+		assert pRenderer != null;
+		aDiagram = pRenderer.diagram();
+		for( Node node : aDiagram.allNodes() )
+		{
+			aBounds.put(node, pRenderer.getBounds(node));
+		}
+	}
+
+	/**
+	 * @return An operation that moves all the nodes of the diagram to their
+	 *     arranged position, leaving the top-left corner of the root nodes in place.
+	 */
+	DiagramOperation createArrangeOperation()
+	{
+		List<Node> roots = units(aDiagram.rootNodes());
+		CompoundOperation result = new CompoundOperation();
+		if( roots.isEmpty() )
+		{
+			return result;
+		}
+		Rectangle current = aBounds.get(roots.get(0));
+		for( Node root : roots )
+		{
+			current = current.add(aBounds.get(root));
+		}
+		Arrangement arrangement = arrange(roots);
+		Map<Node, Point> deltas = new IdentityHashMap<>();
+		for( Node root : roots )
+		{
+			addMoves(root, current.origin(), arrangement.positions(), new Point(0, 0), deltas, result);
+		}
+		for( Edge edge : aDiagram.edges() )
+		{
+			if( edge.end() instanceof PointNode && deltas.containsKey(edge.start()) )
+			{
+				Point delta = deltas.get(edge.start());
+				result.add(DiagramBuilder.createMoveNodeOperation(edge.end(), delta.x(), delta.y()));
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Translating a package translates its children, so the move of
+	 * each node is relative to the move of its parent.
+	 */
+	private void addMoves(Node pNode, Point pOrigin, Map<Node, Point> pPositions, Point pParentDelta,
+			Map<Node, Point> pDeltas, CompoundOperation pOperation)
+	{
+		Point target = pPositions.get(pNode);
+		Rectangle bounds = aBounds.get(pNode);
+		Point delta = new Point(pOrigin.x() + target.x() - bounds.x(), pOrigin.y() + target.y() - bounds.y());
+		pDeltas.put(pNode, delta);
+		int dx = delta.x() - pParentDelta.x();
+		int dy = delta.y() - pParentDelta.y();
+		if( dx != 0 || dy != 0 )
+		{
+			pOperation.add(DiagramBuilder.createMoveNodeOperation(pNode, dx, dy));
+		}
+		for( Node child : units(pNode.getChildren()) )
+		{
+			addMoves(child, pOrigin, pPositions, delta, pDeltas, pOperation);
+		}
+	}
+
+	private static List<Node> units(List<Node> pNodes)
+	{
+		return pNodes.stream().filter(node -> !(node instanceof PointNode)).toList();
+	}
+
+	private static boolean hasChildren(Node pNode)
+	{
+		return pNode instanceof PackageNode && !pNode.getChildren().isEmpty();
+	}
+
+	/*
+	 * Arranges the nodes in pUnits, which all have the same parent,
+	 * after arranging the contents of the packages among them.
+	 */
+	private Arrangement arrange(List<Node> pUnits)
+	{
+		Map<Node, Arrangement> contents = pUnits.parallelStream()
+				.filter(ClassDiagramArranger::hasChildren)
+				.collect(Collectors.toMap(Function.identity(), this::arrangePackage, (first, second) -> first,
+						IdentityHashMap::new));
+		List<Dimension> sizes = new ArrayList<>();
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for( Node unit : pUnits )
+		{
+			indices.put(unit, indices.size());
+			sizes.add(contents.containsKey(unit) ? contents.get(unit).size() : dimension(aBounds.get(unit)));
+		}
+
+		List<Block> blocks = blocks(pUnits, indices, sizes);
+		List<Point> blockPositions = ForceDirectedPlacement.place(
+				blocks.stream().map(Block::size).toList(),
+				blocks.stream().map(block -> block.center(pUnits, aBounds)).toList(),
+				springs(pUnits, indices, blocks));
+
+		Map<Node, Point> positions = new IdentityHashMap<>();
+		int width = 0;
+		int height = 0;
+		for( int index = 0; index < blocks.size(); index++ )
+		{
+			Block block = blocks.get(index);
+			Point origin = blockPositions.get(index);
+			for( int member = 0; member < block.members().size(); member++ )
+			{
+				Node unit = pUnits.get(block.members().get(member));
+				Point position = new Point(origin.x() + block.positions().get(member).x(),
+						origin.y() + block.positions().get(member).y());
+				positions.put(unit, position);
+				if( contents.containsKey(unit) )
+				{
+					contents.get(unit).positions().forEach((node, point) ->
+						positions.put(node, new Point(position.x() + point.x(), position.y() + point.y())));
+				}
+				width = max(width, position.x() + sizes.get(block.members().get(member)).width());
+				height = max(height, position.y() + sizes.get(block.members().get(member)).height());
+			}
+		}
+		return new Arrangement(new Dimension(width, height), positions);
+	}
+
+	/*
+	 * The margins between the bounds of a package and the bounds of its
+	 * children are obtained from its current bounds. If the package is
+	 * wider or taller than its children require, its size is a minimum
+	 * that does not depend on them, which is kept.
+	 */
+	private Arrangement arrangePackage(Node pPackage)
+	{
+		List<Node> children = units(pPackage.getChildren());
+		Rectangle bounds = aBounds.get(pPackage);
+		Rectangle childrenBounds = aBounds.get(pPackage.getChildren().get(0));
+		for( Node child : pPackage.getChildren() )
+		{
+			childrenBounds = childrenBounds.add(aBounds.get(child));
+		}
+		int padding = childrenBounds.x() - bounds.x();
+		int top = childrenBounds.y() - bounds.y();
+		Arrangement contents = arrange(children);
+		int width = contents.size().width() + 2 * padding;
+		if( bounds.maxX() - childrenBounds.maxX() > padding )
+		{
+			width = max(width, bounds.width());
+		}
+		int height = contents.size().height() + top + padding;
+		if( bounds.maxY() - childrenBounds.maxY() > padding )
+		{
+			height = max(height, bounds.height());
+		}
+		Map<Node, Point> positions = new IdentityHashMap<>();
+		contents.positions().forEach((node, point) -> positions.put(node, new Point(point.x() + padding, point.y() + top)));
+		return new Arrangement(new Dimension(width, height), positions);
+	}
+
+	/*
+	 * The unit at the level of pUnits that is or contains pNode, or -1 if
+	 * there is none.
+	 */
+	private static int unitOf(Node pNode, Map<Node, Integer> pIndices)
+	{
+		Node node = pNode;
+		while( !pIndices.containsKey(node) && node.hasParent() )
+		{
+			node = node.getParent();
+		}
+		return pIndices.getOrDefault(node, -1);
+	}
+
+	/*
+	 * A group of units placed together. Member positions are relative
+	 * to the top-left corner of the block.
+	 */
+	private record Block(List<Integer> members, List<Point> positions, Dimension size)
+	{
+		Point center(List<Node> pUnits, Map<Node, Rectangle> pBounds)
+		{
+			Rectangle bounds = pBounds.get(pUnits.get(members.get(0)));
+			for( int member : members )
+			{
+				bounds = bounds.add(pBounds.get(pUnits.get(member)));
+			}
+			return bounds.center();
+		}
+	}
+
+	/*
+	 * Groups the units connected by generalization edges between them, and
+	 * places each group in layers, concurrently. Single units form their own block.
+	 */
+	private List<Block> blocks(List<Node> pUnits, Map<Node, Integer> pIndices, List<Dimension> pSizes)
+	{
+		int[] groups = new int[pUnits.size()];
+		for( int unit = 0; unit < groups.length; unit++ )
+		{
+			groups[unit] = unit;
+		}
+		List<int[]> hierarchy = new ArrayList<>();
+		for( Edge edge : aDiagram.edges() )
+		{
+			if( edge instanceof GeneralizationEdge && pIndices.containsKey(edge.start()) &&
+					pIndices.containsKey(edge.end()) && edge.start() != edge.end() )
+			{
+				int child = pIndices.get(edge.start());
+				int parent = pIndices.get(edge.end());
+				hierarchy.add(new int[] {child, parent});
+				groups[find(groups, child)] = find(groups, parent);
+			}
+		}
+		Map<Integer, List<Integer>> members = new LinkedHashMap<>();
+		for( int unit = 0; unit < groups.length; unit++ )
+		{
+			members.computeIfAbsent(find(groups, unit), key -> new ArrayList<>()).add(unit);
+		}
+		return members.values().parallelStream()
+				.map(group -> block(group, hierarchy, pUnits, pSizes))
+				.toList();
+	}
+
+	private static int find(int[] pGroups, int pUnit)
+	{
+		int unit = pUnit;
+		while( pGroups[unit] != unit )
+		{
+			pGroups[unit] = pGroups[pGroups[unit]];
+			unit = pGroups[unit];
+		}
+		return unit;
+	}
+
+	private Block block(List<Integer> pGroup, List<int[]> pHierarchy, List<Node> pUnits, List<Dimension> pSizes)
+	{
+		List<Dimension> sizes = pGroup.stream().map(pSizes::get).toList();
+		if( pGroup.size() == 1 )
+		{
+			return new Block(pGroup, List.of(new Point(0, 0)), sizes.get(0));
+		}
+		Map<Integer, Integer> local = new HashMap<>();
+		pGroup.forEach(unit -> local.put(unit, local.size()));
+		List<int[]> edges = new ArrayList<>();
+		for( int[] edge : pHierarchy )
+		{
+			if( local.containsKey(edge[0]) )
+			{
+				edges.add(new int[] {local.get(edge[0]), local.get(edge[1])});
+			}
+		}
+		List<Point> positions = LayeredPlacement.place(sizes,
+				pGroup.stream().map(unit -> aBounds.get(pUnits.get(unit)).center().x()).toList(), edges);
+		int width = 0;
+		int height = 0;
+		for( int member = 0; member < pGroup.size(); member++ )
+		{
+			width = max(width, positions.get(member).x() + sizes.get(member).width());
+			height = max(height, positions.get(member).y() + sizes.get(member).height());
+		}
+		return new Block(pGroup, positions, new Dimension(width, height));
+	}
+
+	/*
+	 * One spring for every edge that connects units in different blocks,
+	 * directly or through the nodes they contain.
+	 */
+	private List<ForceDirectedPlacement.Spring> springs(List<Node> pUnits, Map<Node, Integer> pIndices, List<Block> pBlocks)
+	{
+		int[] blockOf = new int[pUnits.size()];
+		for( int block = 0; block < pBlocks.size(); block++ )
+		{
+			for( int member : pBlocks.get(block).members() )
+			{
+				blockOf[member] = block;
+			}
+		}
+		List<ForceDirectedPlacement.Spring> result = new ArrayList<>();
+		for( Edge edge : aDiagram.edges() )
+		{
+			int start = unitOf(edge.start(), pIndices);
+			int end = unitOf(edge.end(), pIndices);
+			if( start >= 0 && end >= 0 && blockOf[start] != blockOf[end] )
+			{
+				result.add(new ForceDirectedPlacement.Spring(min(blockOf[start], blockOf[end]),
+						max(blockOf[start], blockOf[end])));
+			}
+		}
+		return result;
+	}
+
+	private static Dimension dimension(Rectangle pBounds)
+	{
+		return new Dimension(pBounds.width(), pBounds.height());
+	}
+}
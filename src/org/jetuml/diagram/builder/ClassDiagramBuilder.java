@@ -355,4 +355,17 @@ public class ClassDiagramBuilder extends DiagramBuilder
 					});	
 		}
 	}
+	
+	/**
+	 * Creates an operation that moves all the nodes of the diagram to new positions.
+	 * Class hierarchies are placed in layers, with supertypes above their subtypes, 
+	 * and nodes connected by other edges are placed close to each other, without 
+	 * overlapping. The children of packages are arranged within their package.
+	 * 
+	 * @return The requested operation.
+	 */
+	public DiagramOperation createArrangeOperation()
+	{
+		return new ClassDiagramArranger(aDiagramRenderer).createArrangeOperation();
+	}
 }
@@ -35,6 +35,7 @@ public class DiagramOperationProcessor
 	private final List<DiagramOperation> aExecutedOperations = new ArrayList<>();
 	private final List<DiagramOperation> aUndoneOperations = new ArrayList<>();
 	private Optional<DiagramOperation> aLastSavedOperation = Optional.empty();
+	private int aModificationCount = 0;
 	
 	/**
 	 * Executes pOperation and adds it to the list of executed
@@ -46,8 +47,12 @@ public class DiagramOperationProcessor
 	public void executeNewOperation(DiagramOperation pOperation)
 	{
 		assert pOperation != null;
+		OperationEvent event = new OperationEvent();
+		event.begin();
 		pOperation.execute();
+		event.commit(OperationEvent.EXECUTE, pOperation);
 		aExecutedOperations.add(pOperation);
+		aModificationCount++;
 	}
 	
 	/**
@@ -72,6 +77,16 @@ public class DiagramOperationProcessor
 		}
 	}
 	
+	/**
+	 * @return A number that changes every time an operation is executed, 
+	 *     stored, undone, or redone. Two equal values obtained at different
+	 *     times indicate that the diagram was not modified in between.
+	 */
+	public int modificationCount()
+	{
+		return aModificationCount;
+	}
+	
 	private DiagramOperation peek()
 	{
 		return aExecutedOperations.get(aExecutedOperations.size()-1);
@@ -100,6 +115,7 @@ public class DiagramOperationProcessor
 	{
 		assert pOperation != null;
 		aExecutedOperations.add(pOperation);
+		aModificationCount++;
 	}
 	
 	/**
@@ -111,8 +127,12 @@ public class DiagramOperationProcessor
 	{
 		assert canUndo();
 		DiagramOperation operation = aExecutedOperations.remove(aExecutedOperations.size() - 1);
+		OperationEvent event = new OperationEvent();
+		event.begin();
 		operation.undo();
+		event.commit(OperationEvent.UNDO, operation);
 		aUndoneOperations.add(operation);
+		aModificationCount++;
 	}
 	
 	/**
@@ -124,8 +144,12 @@ public class DiagramOperationProcessor
 	{
 		assert canRedo();
 		DiagramOperation operation = aUndoneOperations.remove(aUndoneOperations.size() - 1);
+		OperationEvent event = new OperationEvent();
+		event.begin();
 		operation.execute();
+		event.commit(OperationEvent.REDO, operation);
 		aExecutedOperations.add(operation);
+		aModificationCount++;
 	}
 
 	/**
@@ -0,0 +1,402 @@
+/****
+ * stub
+ ****/
+package org.jetuml.diagram.builder;
+
+import static java.lang.Math.hypot;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.jetuml.geom.Dimension;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+
+/**
+ * Computes the relative positions of rectangular bodies connected by springs,
+ * using the force-directed approach of Fruchterman and Reingold: every pair of
+ * bodies repels, the bodies connected by a spring attract, all bodies are
+ * pulled towards their center of mass to keep the layout compact, and the bodies
+ * move along the resulting forces by a distance that decreases at every
+ * iteration. The repulsive forces are approximated with a Barnes-Hut
+ * quadtree, and computed for all bodies in parallel. The bodies are then
+ * shifted, if necessary, so that none of them overlap.
+ *
+ * Bodies are identified by their index in the list of their dimensions.
+ * The result only depends on the input, and not on the number of threads
+ * used to compute it.
+ */
+final class ForceDirectedPlacement
+{
+	private static final int GAP = 40;
+	private static final int ITERATIONS = 150;
+	private static final int MIN_BODIES_FOR_CONCURRENT_FORCES = 64;
+	private static final double THETA = 0.8;
+	private static final double GRAVITY = 6;
+	private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+
+	/**
+	 * A spring between two bodies. Multiple springs between the same bodies
+	 * pull them together with more force.
+	 *
+	 * @param first The index of one body.
+	 * @param second The index of the other body.
+	 */
+	record Spring(int first, int second) {}
+
+	private final List<Dimension> aSizes;
+	private final double[] aRadius;
+	private final double[] aX;
+	private final double[] aY;
+
+	private ForceDirectedPlacement(List<Dimension> pSizes, List<Point> pCenters)
+	{
+		aSizes = pSizes;
+		aRadius = new double[pSizes.size()];
+		aX = new double[pSizes.size()];
+		aY = new double[pSizes.size()];
+		for( int body = 0; body < aRadius.length; body++ )
+		{
+			aRadius[body] = hypot(pSizes.get(body).width(), pSizes.get(body).height()) / 2 + GAP / 2.0;
+			aX[body] = pCenters.get(body).x();
+			aY[body] = pCenters.get(body).y();
+		}
+		spreadCoincidentBodies();
+	}
+
+	/**
+	 * Places the bodies so that connected bodies are close to each other
+	 * and no two bodies overlap.
+	 *
+	 * @param pSizes The dimension of each body.
+	 * @param pCenters The current center of each body, used as the starting
+	 *     point of the simulation. Bodies may share the same center.
+	 * @param pSprings The springs between bodies.
+	 * @return The position of the top-left corner of each body, relative to
+	 *     the top-left corner of the bounds of all the bodies.
+	 * @pre pSizes != null && pCenters != null && pSprings != null
+	 * @pre pSizes.size() == pCenters.size()
+	 */
+	static List<Point> place(List<Dimension> pSizes, List<Point> pCenters, List<Spring> pSprings)
+	{
+		assert pSizes != null && pCenters != null && pSprings != null;
+		assert pSizes.size() == pCenters.size();
+		ForceDirectedPlacement placement = new ForceDirectedPlacement(pSizes, pCenters);
+		if( pSizes.size() > 1 )
+		{
+			placement.simulate(pSprings);
+		}
+		return placement.removeOverlaps();
+	}
+
+	/*
+	 * Bodies that start at the same center as an earlier body, as happens
+	 * for nodes created at the origin, are placed along a spiral around it
+	 * so that the forces between them have a direction.
+	 */
+	private void spreadCoincidentBodies()
+	{
+		List<Integer> coincident = new ArrayList<>();
+		for( int body = 0; body < aX.length; body++ )
+		{
+			coincident.add(0);
+			for( int earlier = 0; earlier < body; earlier++ )
+			{
+				if( aX[earlier] == aX[body] && aY[earlier] == aY[body] )
+				{
+					int count = coincident.get(earlier) + 1;
+					coincident.set(earlier, count);
+					aX[body] += aRadius[body] * Math.sqrt(count) * Math.cos(count * GOLDEN_ANGLE);
+					aY[body] += aRadius[body] * Math.sqrt(count) * Math.sin(count * GOLDEN_ANGLE);
+					break;
+				}
+			}
+		}
+	}
+
+	private void simulate(List<Spring> pSprings)
+	{
+		double area = 0;
+		for( double radius : aRadius )
+		{
+			area += 4 * radius * radius;
+		}
+		double temperature = Math.sqrt(area) / 4;
+		double cooling = temperature / ITERATIONS;
+		double[] forceX = new double[aX.length];
+		double[] forceY = new double[aX.length];
+		for( int iteration = 0; iteration < ITERATIONS; iteration++ )
+		{
+			QuadTree tree = QuadTree.of(aX, aY, aRadius);
+			double centerX = tree.aCenterX;
+			double centerY = tree.aCenterY;
+			IntStream bodies = IntStream.range(0, aX.length);
+			if( aX.length >= MIN_BODIES_FOR_CONCURRENT_FORCES )
+			{
+				bodies = bodies.parallel();
+			}
+			bodies.forEach(body ->
+			{
+				double[] force = new double[2];
+				tree.repel(body, aX, aY, aRadius, force);
+				forceX[body] = force[0] + GRAVITY * (centerX - aX[body]);
+				forceY[body] = force[1] + GRAVITY * (centerY - aY[body]);
+			});
+			for( Spring spring : pSprings )
+			{
+				attract(spring.first(), spring.second(), forceX, forceY);
+			}
+			for( int body = 0; body < aX.length; body++ )
+			{
+				double length = hypot(forceX[body], forceY[body]);
+				if( length > 0 )
+				{
+					double step = min(length, temperature);
+					aX[body] += forceX[body] / length * step;
+					aY[body] += forceY[body] / length * step;
+				}
+			}
+			temperature -= cooling;
+		}
+	}
+
+	/*
+	 * The attraction grows with the square of the distance, relative to the
+	 * distance at which the two bodies would touch.
+	 */
+	private void attract(int pFirst, int pSecond, double[] pForceX, double[] pForceY)
+	{
+		double dx = aX[pSecond] - aX[pFirst];
+		double dy = aY[pSecond] - aY[pFirst];
+		double distance = hypot(dx, dy);
+		if( distance == 0 )
+		{
+			return;
+		}
+		double force = distance / (aRadius[pFirst] + aRadius[pSecond]);
+		pForceX[pFirst] += dx * force;
+		pForceY[pFirst] += dy * force;
+		pForceX[pSecond] -= dx * force;
+		pForceY[pSecond] -= dy * force;
+	}
+
+	/*
+	 * Places the bodies from top to bottom at the rounded position found by the
+	 * simulation, moving each body right or down, whichever is shorter, until it
+	 * is at least the gap away from all the bodies placed before it.
+	 */
+	private List<Point> removeOverlaps()
+	{
+		List<Integer> order = new ArrayList<>();
+		for( int body = 0; body < aX.length; body++ )
+		{
+			order.add(body);
+		}
+		order.sort(Comparator.<Integer>comparingDouble(body -> aY[body]).thenComparingDouble(body -> aX[body]));
+		List<Rectangle> placed = new ArrayList<>();
+		Rectangle[] result = new Rectangle[aX.length];
+		for( int body : order )
+		{
+			Dimension size = aSizes.get(body);
+			Rectangle bounds = new Rectangle((int) Math.round(aX[body] - size.width() / 2.0),
+					(int) Math.round(aY[body] - size.height() / 2.0), size.width(), size.height());
+			for( Rectangle obstacle = overlapped(bounds, placed); obstacle != null; obstacle = overlapped(bounds, placed) )
+			{
+				int right = obstacle.maxX() + GAP - bounds.x();
+				int down = obstacle.maxY() + GAP - bounds.y();
+				bounds = right <= down ? bounds.translated(right, 0) : bounds.translated(0, down);
+			}
+			placed.add(bounds);
+			result[body] = bounds;
+		}
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		for( Rectangle bounds : result )
+		{
+			minX = min(minX, bounds.x());
+			minY = min(minY, bounds.y());
+		}
+		List<Point> positions = new ArrayList<>();
+		for( Rectangle bounds : result )
+		{
+			positions.add(new Point(bounds.x() - minX, bounds.y() - minY));
+		}
+		return positions;
+	}
+
+	private static Rectangle overlapped(Rectangle pBounds, List<Rectangle> pPlaced)
+	{
+		for( Rectangle obstacle : pPlaced )
+		{
+			if( pBounds.x() < obstacle.maxX() + GAP && obstacle.x() < pBounds.maxX() + GAP &&
+					pBounds.y() < obstacle.maxY() + GAP && obstacle.y() < pBounds.maxY() + GAP )
+			{
+				return obstacle;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * A Barnes-Hut quadtree. Every cell stores the total mass of the bodies
+	 * it contains and their center of mass, where the mass of a body is its
+	 * radius. The force of a cell that is far enough from a body relative to
+	 * its size is approximated by the force of its center of mass.
+	 */
+	private static final class QuadTree
+	{
+		private static final int MAX_DEPTH = 24;
+
+		private final double aMinX;
+		private final double aMinY;
+		private final double aSize;
+		private final List<Integer> aBodies = new ArrayList<>();
+		private QuadTree[] aChildren;
+		private double aMass;
+		private double aCenterX;
+		private double aCenterY;
+
+		private QuadTree(double pMinX, double pMinY, double pSize)
+		{
+			aMinX = pMinX;
+			aMinY = pMinY;
+			aSize = pSize;
+		}
+
+		static QuadTree of(double[] pX, double[] pY, double[] pMass)
+		{
+			double minX = Double.MAX_VALUE;
+			double minY = Double.MAX_VALUE;
+			double maxX = -Double.MAX_VALUE;
+			double maxY = -Double.MAX_VALUE;
+			for( int body = 0; body < pX.length; body++ )
+			{
+				minX = min(minX, pX[body]);
+				minY = min(minY, pY[body]);
+				maxX = max(maxX, pX[body]);
+				maxY = max(maxY, pY[body]);
+			}
+			QuadTree root = new QuadTree(minX, minY, max(1, max(maxX - minX, maxY - minY)));
+			for( int body = 0; body < pX.length; body++ )
+			{
+				root.insert(body, pX, pY, pMass, 0);
+			}
+			root.aCenterX /= root.aMass;
+			root.aCenterY /= root.aMass;
+			root.finish();
+			return root;
+		}
+
+		/*
+		 * Accumulates the mass-weighted sum of the positions, which finish()
+		 * converts to centers of mass.
+		 */
+		private void insert(int pBody, double[] pX, double[] pY, double[] pMass, int pDepth)
+		{
+			aMass += pMass[pBody];
+			aCenterX += pX[pBody] * pMass[pBody];
+			aCenterY += pY[pBody] * pMass[pBody];
+			if( aChildren == null && (aBodies.isEmpty() || pDepth == MAX_DEPTH) )
+			{
+				aBodies.add(pBody);
+				return;
+			}
+			if( aChildren == null )
+			{
+				aChildren = new QuadTree[4];
+				for( int body : aBodies )
+				{
+					child(body, pX, pY).insert(body, pX, pY, pMass, pDepth + 1);
+				}
+				aBodies.clear();
+			}
+			child(pBody, pX, pY).insert(pBody, pX, pY, pMass, pDepth + 1);
+		}
+
+		private QuadTree child(int pBody, double[] pX, double[] pY)
+		{
+			double half = aSize / 2;
+			int column = pX[pBody] < aMinX + half ? 0 : 1;
+			int row = pY[pBody] < aMinY + half ? 0 : 1;
+			int index = row * 2 + column;
+			if( aChildren[index] == null )
+			{
+				aChildren[index] = new QuadTree(aMinX + column * half, aMinY + row * half, half);
+			}
+			return aChildren[index];
+		}
+
+		private void finish()
+		{
+			if( aChildren == null )
+			{
+				return;
+			}
+			for( QuadTree child : aChildren )
+			{
+				if( child != null )
+				{
+					child.aCenterX /= child.aMass;
+					child.aCenterY /= child.aMass;
+					child.finish();
+				}
+			}
+		}
+
+		/*
+		 * Adds to pForce the repulsion that the bodies in this cell exert on pBody,
+		 * which is inversely proportional to their distance.
+		 */
+		void repel(int pBody, double[] pX, double[] pY, double[] pMass, double[] pForce)
+		{
+			if( aChildren == null )
+			{
+				for( int other : aBodies )
+				{
+					if( other != pBody )
+					{
+						push(pBody, pX[other], pY[other], pMass[other], Integer.compare(pBody, other), pX, pY, pMass, pForce);
+					}
+				}
+				return;
+			}
+			double distance = hypot(aCenterX - pX[pBody], aCenterY - pY[pBody]);
+			if( distance > 0 && aSize / distance < THETA )
+			{
+				push(pBody, aCenterX, aCenterY, aMass, 0, pX, pY, pMass, pForce);
+				return;
+			}
+			for( QuadTree child : aChildren )
+			{
+				if( child != null )
+				{
+					child.repel(pBody, pX, pY, pMass, pForce);
+				}
+			}
+		}
+
+		/*
+		 * Bodies at the same position push each other horizontally, in the
+		 * direction given by pTieBreak.
+		 */
+		private static void push(int pBody, double pX, double pY, double pMass, int pTieBreak,
+				double[] pBodiesX, double[] pBodiesY, double[] pBodiesMass, double[] pForce)
+		{
+			double dx = pBodiesX[pBody] - pX;
+			double dy = pBodiesY[pBody] - pY;
+			double distance = hypot(dx, dy);
+			if( distance == 0 )
+			{
+				dx = pTieBreak;
+				distance = 1;
+			}
+			double force = 4 * pBodiesMass[pBody] * pMass / (distance * distance);
+			pForce[0] += dx * force;
+			pForce[1] += dy * force;
+		}
+	}
+}
@@ -0,0 +1,403 @@
+/****
+ * stub
+ ****/
+package org.jetuml.diagram.builder;
+
+import static java.lang.Math.max;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jetuml.geom.Dimension;
+import org.jetuml.geom.Point;
+
+/**
+ * Computes the relative positions of the nodes of a generalization hierarchy,
+ * following the layered approach of Sugiyama et al.: the hierarchy is made
+ * acyclic, every node is assigned to a layer so that all edges point from a
+ * layer to one above it, long edges are split with dummy nodes, the nodes
+ * in each layer are ordered to reduce the number of edge crossings, and nodes
+ * are then given coordinates that center them on their neighbors.
+ *
+ * Nodes are identified by their index in the list of their dimensions, and
+ * every edge goes from a child (subtype) to its parent (supertype).
+ * Supertypes are placed above their subtypes.
+ */
+final class LayeredPlacement
+{
+	private static final int HORIZONTAL_GAP = 30;
+	private static final int VERTICAL_GAP = 60;
+	private static final int DUMMY_WIDTH = 10;
+	private static final int ORDERING_SWEEPS = 8;
+	private static final int COORDINATE_SWEEPS = 3;
+
+	private final int aNumberOfNodes;
+	private final List<Integer> aWidths = new ArrayList<>();
+	private final List<Integer> aHeights = new ArrayList<>();
+	private final List<List<Integer>> aUp = new ArrayList<>();
+	private final List<List<Integer>> aDown = new ArrayList<>();
+	private final List<Integer> aLayerOf = new ArrayList<>();
+	private final List<Integer> aInitialX = new ArrayList<>();
+	private List<List<Integer>> aLayers = new ArrayList<>();
+
+	private LayeredPlacement(List<Dimension> pSizes, List<Integer> pInitialX)
+	{
+		aNumberOfNodes = pSizes.size();
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			addVertex(pSizes.get(node).width(), pSizes.get(node).height(), pInitialX.get(node));
+		}
+	}
+
+	/**
+	 * Places the nodes of a hierarchy in layers.
+	 *
+	 * @param pSizes The dimension of each node.
+	 * @param pInitialX The current x-coordinate of the center of each node, used to
+	 *     preserve the relative order of nodes where possible.
+	 * @param pEdges Pairs of indices {child, parent}.
+	 * @return The position of the top-left corner of each node, relative to
+	 *     the top-left corner of the bounds of the entire hierarchy.
+	 * @pre pSizes != null && pInitialX != null && pEdges != null
+	 * @pre pSizes.size() == pInitialX.size()
+	 */
+	static List<Point> place(List<Dimension> pSizes, List<Integer> pInitialX, List<int[]> pEdges)
+	{
+		assert pSizes != null && pInitialX != null && pEdges != null;
+		assert pSizes.size() == pInitialX.size();
+		LayeredPlacement placement = new LayeredPlacement(pSizes, pInitialX);
+		List<List<Integer>> parents = placement.acyclicParents(pEdges);
+		placement.assignLayers(parents);
+		placement.orderLayers();
+		return placement.coordinates();
+	}
+
+	private int addVertex(int pWidth, int pHeight, int pInitialX)
+	{
+		aWidths.add(pWidth);
+		aHeights.add(pHeight);
+		aInitialX.add(pInitialX);
+		aUp.add(new ArrayList<>());
+		aDown.add(new ArrayList<>());
+		aLayerOf.add(0);
+		return aWidths.size() - 1;
+	}
+
+	/*
+	 * Removes self-edges, duplicate edges, and the edges that close a cycle
+	 * in a depth-first traversal of the nodes in index order.
+	 */
+	private List<List<Integer>> acyclicParents(List<int[]> pEdges)
+	{
+		List<List<Integer>> candidates = new ArrayList<>();
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			candidates.add(new ArrayList<>());
+		}
+		for( int[] edge : pEdges )
+		{
+			if( edge[0] != edge[1] && !candidates.get(edge[0]).contains(edge[1]) )
+			{
+				candidates.get(edge[0]).add(edge[1]);
+			}
+		}
+		List<List<Integer>> parents = new ArrayList<>();
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			parents.add(new ArrayList<>());
+		}
+		int[] state = new int[aNumberOfNodes]; // 0: not visited, 1: on the stack, 2: done
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			visit(node, candidates, parents, state);
+		}
+		return parents;
+	}
+
+	private static void visit(int pNode, List<List<Integer>> pCandidates, List<List<Integer>> pParents, int[] pState)
+	{
+		if( pState[pNode] != 0 )
+		{
+			return;
+		}
+		pState[pNode] = 1;
+		for( int parent : pCandidates.get(pNode) )
+		{
+			if( pState[parent] != 1 )
+			{
+				pParents.get(pNode).add(parent);
+				visit(parent, pCandidates, pParents, pState);
+			}
+		}
+		pState[pNode] = 2;
+	}
+
+	/*
+	 * Assigns every node to the layer just below its lowest parent, then
+	 * moves the top-most supertypes down to just above their highest child,
+	 * and finally splits the edges that span more than one layer.
+	 */
+	private void assignLayers(List<List<Integer>> pParents)
+	{
+		int[] layers = new int[aNumberOfNodes];
+		boolean[] assigned = new boolean[aNumberOfNodes];
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			depth(node, pParents, layers, assigned);
+		}
+		List<List<Integer>> children = new ArrayList<>();
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			children.add(new ArrayList<>());
+		}
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			for( int parent : pParents.get(node) )
+			{
+				children.get(parent).add(node);
+			}
+		}
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			if( pParents.get(node).isEmpty() && !children.get(node).isEmpty() )
+			{
+				layers[node] = children.get(node).stream().mapToInt(child -> layers[child]).min().getAsInt() - 1;
+			}
+		}
+		int numberOfLayers = 0;
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			aLayerOf.set(node, layers[node]);
+			numberOfLayers = max(numberOfLayers, layers[node] + 1);
+		}
+		for( int layer = 0; layer < numberOfLayers; layer++ )
+		{
+			aLayers.add(new ArrayList<>());
+		}
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			aLayers.get(layers[node]).add(node);
+		}
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			for( int parent : pParents.get(node) )
+			{
+				link(node, parent);
+			}
+		}
+	}
+
+	private static int depth(int pNode, List<List<Integer>> pParents, int[] pLayers, boolean[] pAssigned)
+	{
+		if( !pAssigned[pNode] )
+		{
+			int layer = 0;
+			for( int parent : pParents.get(pNode) )
+			{
+				layer = max(layer, depth(parent, pParents, pLayers, pAssigned) + 1);
+			}
+			pLayers[pNode] = layer;
+			pAssigned[pNode] = true;
+		}
+		return pLayers[pNode];
+	}
+
+	/*
+	 * Connects pChild to pParent through a chain of dummy vertices, one
+	 * in each layer strictly between them.
+	 */
+	private void link(int pChild, int pParent)
+	{
+		int lower = pChild;
+		for( int layer = aLayerOf.get(pChild) - 1; layer > aLayerOf.get(pParent); layer-- )
+		{
+			int dummy = addVertex(DUMMY_WIDTH, 0, aInitialX.get(pChild));
+			aLayerOf.set(dummy, layer);
+			aLayers.get(layer).add(dummy);
+			aUp.get(lower).add(dummy);
+			aDown.get(dummy).add(lower);
+			lower = dummy;
+		}
+		aUp.get(lower).add(pParent);
+		aDown.get(pParent).add(lower);
+	}
+
+	/*
+	 * Orders each layer by the current position of its nodes, then
+	 * alternates downward and upward sweeps that sort each layer by the
+	 * barycenter of the positions of its neighbors in the previous layer,
+	 * keeping the ordering with the fewest crossings.
+	 */
+	private void orderLayers()
+	{
+		for( List<Integer> layer : aLayers )
+		{
+			layer.sort(Comparator.comparingInt(aInitialX::get));
+		}
+		List<List<Integer>> best = copy(aLayers);
+		int fewestCrossings = crossings();
+		for( int sweep = 0; sweep < ORDERING_SWEEPS && fewestCrossings > 0; sweep++ )
+		{
+			if( sweep % 2 == 0 )
+			{
+				for( int layer = 1; layer < aLayers.size(); layer++ )
+				{
+					sortByBarycenter(aLayers.get(layer), aLayers.get(layer - 1), aUp);
+				}
+			}
+			else
+			{
+				for( int layer = aLayers.size() - 2; layer >= 0; layer-- )
+				{
+					sortByBarycenter(aLayers.get(layer), aLayers.get(layer + 1), aDown);
+				}
+			}
+			int crossings = crossings();
+			if( crossings < fewestCrossings )
+			{
+				fewestCrossings = crossings;
+				best = copy(aLayers);
+			}
+		}
+		aLayers = best;
+	}
+
+	private static List<List<Integer>> copy(List<List<Integer>> pLayers)
+	{
+		List<List<Integer>> result = new ArrayList<>();
+		pLayers.forEach(layer -> result.add(new ArrayList<>(layer)));
+		return result;
+	}
+
+	/*
+	 * Sorts pLayer by the average position of the neighbors of its vertices
+	 * in pFixed. Vertices without neighbors keep their position. The sort
+	 * is stable, so ties keep their current order.
+	 */
+	private static void sortByBarycenter(List<Integer> pLayer, List<Integer> pFixed, List<List<Integer>> pNeighbors)
+	{
+		List<Double> keys = new ArrayList<>();
+		for( int index = 0; index < pLayer.size(); index++ )
+		{
+			List<Integer> neighbors = pNeighbors.get(pLayer.get(index));
+			if( neighbors.isEmpty() )
+			{
+				keys.add((double) index);
+			}
+			else
+			{
+				keys.add(neighbors.stream().mapToInt(pFixed::indexOf).average().getAsDouble());
+			}
+		}
+		List<Integer> indices = new ArrayList<>();
+		for( int index = 0; index < pLayer.size(); index++ )
+		{
+			indices.add(index);
+		}
+		indices.sort(Comparator.comparingDouble(keys::get));
+		List<Integer> sorted = new ArrayList<>();
+		indices.forEach(index -> sorted.add(pLayer.get(index)));
+		pLayer.clear();
+		pLayer.addAll(sorted);
+	}
+
+	/*
+	 * The number of pairs of edges that cross between adjacent layers.
+	 */
+	private int crossings()
+	{
+		int result = 0;
+		for( int layer = 1; layer < aLayers.size(); layer++ )
+		{
+			List<Integer> upper = aLayers.get(layer - 1);
+			List<int[]> edges = new ArrayList<>();
+			List<Integer> lower = aLayers.get(layer);
+			for( int index = 0; index < lower.size(); index++ )
+			{
+				for( int parent : aUp.get(lower.get(index)) )
+				{
+					edges.add(new int[] {index, upper.indexOf(parent)});
+				}
+			}
+			for( int first = 0; first < edges.size(); first++ )
+			{
+				for( int second = first + 1; second < edges.size(); second++ )
+				{
+					if( (long) (edges.get(first)[0] - edges.get(second)[0]) *
+							(edges.get(first)[1] - edges.get(second)[1]) < 0 )
+					{
+						result++;
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Packs every layer from left to right, then sweeps down and up the
+	 * layers, moving each vertex towards the average center of its
+	 * neighbors in the previous layer, without changing the order of
+	 * the vertices in the layer or bringing them closer than the gap.
+	 */
+	private List<Point> coordinates()
+	{
+		int[] x = new int[aWidths.size()];
+		for( List<Integer> layer : aLayers )
+		{
+			int next = 0;
+			for( int vertex : layer )
+			{
+				x[vertex] = next;
+				next += aWidths.get(vertex) + HORIZONTAL_GAP;
+			}
+		}
+		for( int sweep = 0; sweep < COORDINATE_SWEEPS; sweep++ )
+		{
+			for( int layer = 1; layer < aLayers.size(); layer++ )
+			{
+				alignOn(aLayers.get(layer), aUp, x);
+			}
+			for( int layer = aLayers.size() - 2; layer >= 0; layer-- )
+			{
+				alignOn(aLayers.get(layer), aDown, x);
+			}
+		}
+		int minX = Integer.MAX_VALUE;
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			minX = Math.min(minX, x[node]);
+		}
+		int[] layerY = new int[aLayers.size()];
+		for( int layer = 1; layer < aLayers.size(); layer++ )
+		{
+			int height = aLayers.get(layer - 1).stream().mapToInt(aHeights::get).max().orElse(0);
+			layerY[layer] = layerY[layer - 1] + height + VERTICAL_GAP;
+		}
+		List<Point> result = new ArrayList<>();
+		for( int node = 0; node < aNumberOfNodes; node++ )
+		{
+			result.add(new Point(x[node] - minX, layerY[aLayerOf.get(node)]));
+		}
+		return result;
+	}
+
+	private void alignOn(List<Integer> pLayer, List<List<Integer>> pNeighbors, int[] pX)
+	{
+		int next = Integer.MIN_VALUE;
+		for( int vertex : pLayer )
+		{
+			int desired = pX[vertex];
+			List<Integer> neighbors = pNeighbors.get(vertex);
+			if( !neighbors.isEmpty() )
+			{
+				double center = neighbors.stream().mapToDouble(neighbor -> pX[neighbor] + aWidths.get(neighbor) / 2.0)
+						.average().getAsDouble();
+				desired = (int) Math.round(center - aWidths.get(vertex) / 2.0);
+			}
+			pX[vertex] = next == Integer.MIN_VALUE ? desired : max(desired, next);
+			next = pX[vertex] + aWidths.get(vertex) + HORIZONTAL_GAP;
+		}
+	}
+}
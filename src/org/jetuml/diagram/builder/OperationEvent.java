@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.builder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the execution, undo, or redo of a 
+ * diagram operation by a DiagramOperationProcessor.
+ */
+@Name("org.jetuml.Operation")
+@Label("Diagram Operation")
+@Category({"JetUML", "Editing"})
+@Description("Execution, undo, or redo of a diagram operation")
+@StackTrace(false)
+final class OperationEvent extends Event
+{
+	static final String EXECUTE = "execute";
+	static final String UNDO = "undo";
+	static final String REDO = "redo";
+	
+	@Name("action")
+	@Label("Action")
+	private String aAction;
+	
+	@Name("operation")
+	@Label("Operation")
+	private String aOperation;
+	
+	/**
+	 * Ends this event and commits it for pOperation, if it is enabled 
+	 * and lasted longer than its threshold.
+	 * 
+	 * @param pAction One of EXECUTE, UNDO, or REDO.
+	 * @param pOperation The operation executed or undone.
+	 * @pre pAction != null && pOperation != null
+	 */
+	void commit(String pAction, DiagramOperation pOperation)
+	{
+		assert pAction != null && pOperation != null;
+		end();
+		if( shouldCommit() )
+		{
+			aAction = pAction;
+			aOperation = pOperation.getClass().getSimpleName();
+			commit();
+		}
+	}
+}
@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -69,9 +70,9 @@ public final class AggregationEdge extends ThreeLabelEdge
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.AGGREGATION_TYPE, () -> aType, pType -> aType = Type.valueOf((String) pType));
+		super.buildProperties(pDescriptors);
+		pDescriptors.<AggregationEdge>add(PropertyName.AGGREGATION_TYPE, element -> element.aType, (element, pType) -> element.aType = Type.valueOf((String) pType));
 	}
 }
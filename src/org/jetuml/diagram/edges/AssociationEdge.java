@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -53,10 +54,10 @@ public final class AssociationEdge extends ThreeLabelEdge
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.DIRECTIONALITY, () -> aDirectionality, 
-				pDirectionality -> aDirectionality = Directionality.valueOf((String)pDirectionality ));
+		super.buildProperties(pDescriptors);
+		pDescriptors.<AssociationEdge>add(PropertyName.DIRECTIONALITY, element -> element.aDirectionality, 
+				(element, pDirectionality) -> element.aDirectionality = Directionality.valueOf((String)pDirectionality ));
 	}
 }
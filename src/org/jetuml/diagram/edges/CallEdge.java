@@ -21,6 +21,7 @@
 
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 import org.jetuml.diagram.nodes.CallNode;
 
@@ -40,10 +41,10 @@ public class CallEdge extends SingleLabelEdge
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.SIGNAL, () -> aSignal, pSignal -> aSignal = (boolean) pSignal);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<CallEdge>add(PropertyName.SIGNAL, element -> element.aSignal, (element, pSignal) -> element.aSignal = (boolean) pSignal);
 	}
 	
 	/**
@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -58,10 +59,10 @@ public final class DependencyEdge extends SingleLabelEdge
 	}
 
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.DIRECTIONALITY, () -> aDirectionality,
-				directionality -> aDirectionality = Directionality.valueOf((String) directionality));
+		super.buildProperties(pDescriptors);
+		pDescriptors.<DependencyEdge>add(PropertyName.DIRECTIONALITY, element -> element.aDirectionality,
+				(element, directionality) -> element.aDirectionality = Directionality.valueOf((String) directionality));
 	}
 }
@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -70,9 +71,9 @@ public final class GeneralizationEdge extends AbstractEdge
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.GENERALIZATION_TYPE, () -> aType, pType -> aType = Type.valueOf((String) pType));
+		super.buildProperties(pDescriptors);
+		pDescriptors.<GeneralizationEdge>add(PropertyName.GENERALIZATION_TYPE, element -> element.aType, (element, pType) -> element.aType = Type.valueOf((String) pType));
 	}
 }
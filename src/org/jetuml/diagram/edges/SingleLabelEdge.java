@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -48,9 +49,9 @@ public abstract class SingleLabelEdge extends AbstractEdge
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.MIDDLE_LABEL, ()-> aLabelText, pLabel -> aLabelText = (String) pLabel );
+		super.buildProperties(pDescriptors);
+		pDescriptors.<SingleLabelEdge>add(PropertyName.MIDDLE_LABEL, element -> element.aLabelText, (element, pLabel) -> element.aLabelText = (String) pLabel );
 	}
 }
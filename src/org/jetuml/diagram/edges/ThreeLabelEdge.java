@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.edges;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -63,10 +64,10 @@ public abstract class ThreeLabelEdge extends SingleLabelEdge
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().addAt(PropertyName.START_LABEL, ()-> aStartLabel, pLabel -> aStartLabel = (String) pLabel, 0);
-		properties().add(PropertyName.END_LABEL, ()-> aEndLabel, pLabel -> aEndLabel = (String) pLabel);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<ThreeLabelEdge>addAt(PropertyName.START_LABEL, element -> element.aStartLabel, (element, pLabel) -> element.aStartLabel = (String) pLabel, 0);
+		pDescriptors.<ThreeLabelEdge>add(PropertyName.END_LABEL, element -> element.aEndLabel, (element, pLabel) -> element.aEndLabel = (String) pLabel);
 	}
 }
@@ -23,6 +23,7 @@ package org.jetuml.diagram.nodes;
 import static java.util.Collections.emptyList;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jetuml.diagram.AbstractDiagramElement;
 import org.jetuml.diagram.Node;
@@ -33,12 +34,39 @@ import org.jetuml.geom.Point;
  */
 public abstract class AbstractNode extends AbstractDiagramElement implements Node
 {
+	private static final AtomicLong STAMPS = new AtomicLong();
+	
 	private Point aPosition = new Point(0, 0);
+	private long aModificationStamp = STAMPS.incrementAndGet();
 	
 	@Override
 	public void translate(int pDeltaX, int pDeltaY)
 	{
 		aPosition = new Point( aPosition.x() + pDeltaX, aPosition.y() + pDeltaY );
+		markModified();
+	}
+	
+	@Override
+	public final long modificationStamp()
+	{
+		return aModificationStamp;
+	}
+	
+	/**
+	 * Assigns a new modification stamp to this node and all its ancestors. 
+	 * Must be called by any method that changes the node in a way that can 
+	 * affect its bounds.
+	 */
+	protected final void markModified()
+	{
+		long stamp = STAMPS.incrementAndGet();
+		aModificationStamp = stamp;
+		Node node = this;
+		while( node.hasParent() && node.getParent() instanceof AbstractNode parent )
+		{
+			parent.aModificationStamp = stamp;
+			node = parent;
+		}
 	}
 	
 	@Override
@@ -51,6 +79,7 @@ public abstract class AbstractNode extends AbstractDiagramElement implements Nod
 	public final void moveTo(Point pPoint)
 	{
 		aPosition = pPoint;
+		markModified();
 	}
 
 	@Override
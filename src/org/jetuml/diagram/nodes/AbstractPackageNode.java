@@ -45,12 +45,14 @@ public class AbstractPackageNode extends NamedNode
 	{
 		assert pNode instanceof PackageNode || pNode == null;
 		aContainer = Optional.of(pNode);
+		markModified();
 	}
 	
 	@Override
 	public void unlink()
 	{
 		assert hasParent();
+		markModified();
 		aContainer = Optional.empty();
 	}
 
@@ -24,6 +24,7 @@ package org.jetuml.diagram.nodes;
 import java.util.Optional;
 
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -53,6 +54,7 @@ public class CallNode extends AbstractNode
 	public void setOpenBottom(boolean pNewValue)
 	{ 
 		aOpenBottom = pNewValue; 
+		markModified();
 	}
 
 	@Override
@@ -63,10 +65,10 @@ public class CallNode extends AbstractNode
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.OPEN_BOTTOM, () -> aOpenBottom, pOpen -> aOpenBottom = (boolean) pOpen);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<CallNode>add(PropertyName.OPEN_BOTTOM, element -> element.aOpenBottom, (element, pOpen) -> element.setOpenBottom((boolean) pOpen));
 	}
 	
 	/**
@@ -92,12 +94,14 @@ public class CallNode extends AbstractNode
 		assert pNode != null;
 		assert pNode instanceof ImplicitParameterNode;
 		aImplicitParameter = Optional.of((ImplicitParameterNode) pNode);
+		markModified();
 	}
 	
 	@Override
 	public void unlink()
 	{
 		assert hasParent();
+		markModified();
 		aImplicitParameter = Optional.empty();
 	}
 
@@ -21,6 +21,7 @@
 
 package org.jetuml.diagram.nodes;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -48,6 +49,7 @@ public final class ClassNode extends TypeNode
 	{
 		assert pNewValue != null;
 		aAttributes = pNewValue;
+		markModified();
 	}
 
 	/**
@@ -61,9 +63,9 @@ public final class ClassNode extends TypeNode
 	}
 
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().addAt(PropertyName.ATTRIBUTES, () -> aAttributes, pAttributes -> aAttributes = (String)pAttributes, 1);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<ClassNode>addAt(PropertyName.ATTRIBUTES, element -> element.aAttributes, (element, pAttributes) -> element.setAttributes((String)pAttributes), 1);
 	}
 }
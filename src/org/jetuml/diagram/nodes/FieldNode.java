@@ -24,6 +24,7 @@ package org.jetuml.diagram.nodes;
 import java.util.Optional;
 
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -49,6 +50,7 @@ public final class FieldNode extends NamedNode
 	public void setValue(String pNewValue)
 	{
 		aValue = pNewValue;
+		markModified();
 	}
 
 	/**
@@ -71,13 +73,15 @@ public final class FieldNode extends NamedNode
 	public void link(Node pNode)
 	{
 		assert pNode != null && pNode instanceof ObjectNode;
-		aObject = Optional.of((ObjectNode) pNode);		
+		aObject = Optional.of((ObjectNode) pNode);
+		markModified();
 	}
 	
 	@Override
 	public void unlink()
 	{
 		assert hasParent();
+		markModified();
 		aObject = Optional.empty();
 	}
 	
@@ -88,10 +92,10 @@ public final class FieldNode extends NamedNode
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.VALUE, () -> aValue, pValue -> aValue = (String) pValue);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<FieldNode>add(PropertyName.VALUE, element -> element.aValue, (element, pValue) -> element.setValue((String) pValue));
 	}
 
 	@Override
@@ -21,6 +21,7 @@
 
 package org.jetuml.diagram.nodes;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -37,6 +38,7 @@ public abstract class NamedNode extends AbstractNode
 	public void setName(String pName)
 	{
 		aName = pName;
+		markModified();
 	}
 
 	/**
@@ -49,9 +51,9 @@ public abstract class NamedNode extends AbstractNode
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.NAME, () -> aName, pName -> aName = (String)pName);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<NamedNode>add(PropertyName.NAME, element -> element.aName, (element, pName) -> element.setName((String)pName));
 	}
 }
@@ -21,6 +21,7 @@
 
 package org.jetuml.diagram.nodes;
 
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -39,6 +40,7 @@ public final class PackageDescriptionNode extends AbstractPackageNode
 	{
 		assert pContents != null;
 		aContents = pContents;
+		markModified();
 	}
 	
 	/**
@@ -57,9 +59,9 @@ public final class PackageDescriptionNode extends AbstractPackageNode
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.CONTENTS, () -> aContents, pContents -> aContents = (String)pContents);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<PackageDescriptionNode>add(PropertyName.CONTENTS, element -> element.aContents, (element, pContents) -> element.setContents((String)pContents));
 	}
 }
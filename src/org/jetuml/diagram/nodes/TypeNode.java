@@ -24,6 +24,7 @@ package org.jetuml.diagram.nodes;
 import java.util.Optional;
 
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -44,6 +45,7 @@ public abstract class TypeNode extends NamedNode
 	{
 		assert pMethods != null;
 		aMethods = pMethods;
+		markModified();
 	}
 	
 	/**
@@ -77,12 +79,14 @@ public abstract class TypeNode extends NamedNode
 	{
 		assert pNode instanceof PackageNode && pNode != null;
 		aContainer = Optional.of(pNode);
+		markModified();
 	}
 	
 	@Override
 	public void unlink()
 	{
 		assert hasParent();
+		markModified();
 		aContainer = Optional.empty();
 	}
 	
@@ -93,10 +97,10 @@ public abstract class TypeNode extends NamedNode
 	}
 	
 	@Override
-	protected void buildProperties()
+	protected void buildProperties(PropertyDescriptors pDescriptors)
 	{
-		super.buildProperties();
-		properties().add(PropertyName.METHODS, () -> aMethods, pMethods -> aMethods = (String)pMethods);
+		super.buildProperties(pDescriptors);
+		pDescriptors.<TypeNode>add(PropertyName.METHODS, element -> element.aMethods, (element, pMethods) -> element.setMethods((String)pMethods));
 	}
 	
 	@Override
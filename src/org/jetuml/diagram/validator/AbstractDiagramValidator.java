@@ -20,13 +20,18 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.jetuml.annotations.TemplateMethod;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.edges.NoteEdge;
 import org.jetuml.diagram.nodes.NoteNode;
@@ -44,6 +49,7 @@ abstract class AbstractDiagramValidator implements DiagramValidator
 	private static final String DESCRIPTOR_INVALID_ELEMENTS = "StructureInvalidElements";
 	private static final String DESCRIPTOR_INVALID_POINTS = "StructureInvalidPoints";
 	private static final String DESCRIPTOR_INVALID_NODES = "StructureInvalidNodes";
+	private static final int MIN_EDGES_FOR_CONCURRENT_VALIDATION = 2048;
 
 	
 	private static final Set<Class<? extends Node>> UNIVERSAL_NODES_TYPES = 
@@ -90,11 +96,66 @@ abstract class AbstractDiagramValidator implements DiagramValidator
 
 	@Override
 	public final Optional<Violation> validate()
+	{
+		ValidationEvent event = new ValidationEvent();
+		event.begin();
+		EdgeIndex index = new EdgeIndex(aDiagram);
+		Optional<Violation> violation = validateStructure(index)
+				.or(() -> validateSemantics(aDiagram.edges(), index));
+		event.commit(aDiagram, false, violation);
+		return violation;
+	}
+	
+	@Override
+	public final Optional<Violation> validateChanges(List<Edge> pEdgesBefore)
+	{
+		assert pEdgesBefore != null;
+		ValidationEvent event = new ValidationEvent();
+		event.begin();
+		EdgeIndex index = new EdgeIndex(aDiagram);
+		Optional<Violation> violation = validateStructure(index)
+				.or(() -> validateSemantics(changedEdges(pEdgesBefore), index));
+		event.commit(aDiagram, true, violation);
+		return violation;
+	}
+	
+	private Optional<Violation> validateStructure(EdgeIndex pIndex)
 	{
 		return validateElementTypes()
-				.or(this::validatePointNodes)
-				.or(this::validateDiagramNodes)
-				.or(this::validateSemantics);
+				.or(() -> validatePointNodes(pIndex))
+				.or(() -> validateDiagramNodes(pIndex));
+	}
+	
+	/*
+	 * The edges added since pEdgesBefore, and the edges connected to a node of an 
+	 * edge added or removed since then, in the order of the edges of the diagram.
+	 */
+	private List<Edge> changedEdges(List<Edge> pEdgesBefore)
+	{
+		Set<Edge> before = Collections.newSetFromMap(new IdentityHashMap<>());
+		before.addAll(pEdgesBefore);
+		Set<Edge> after = Collections.newSetFromMap(new IdentityHashMap<>());
+		after.addAll(aDiagram.edges());
+		Set<Node> changedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for( Edge edge : aDiagram.edges() )
+		{
+			if( !before.contains(edge) )
+			{
+				changedNodes.add(edge.start());
+				changedNodes.add(edge.end());
+			}
+		}
+		for( Edge edge : pEdgesBefore )
+		{
+			if( !after.contains(edge) )
+			{
+				changedNodes.add(edge.start());
+				changedNodes.add(edge.end());
+			}
+		}
+		return aDiagram.edges().stream()
+				.filter(edge -> changedNodes.contains(edge.start()) || changedNodes.contains(edge.end()))
+				.toList();
 	}
 	
 	private Optional<Violation> validateElementTypes()
@@ -109,9 +170,9 @@ abstract class AbstractDiagramValidator implements DiagramValidator
 		}
 	}
 	
-	private Optional<Violation> validatePointNodes()
+	private Optional<Violation> validatePointNodes(EdgeIndex pIndex)
 	{
-		if( hasValidPointNodes() )
+		if( hasValidPointNodes(pIndex) )
 		{
 			return Optional.empty();
 		}
@@ -121,9 +182,9 @@ abstract class AbstractDiagramValidator implements DiagramValidator
 		}
 	}
 	
-	private Optional<Violation> validateDiagramNodes()
+	private Optional<Violation> validateDiagramNodes(EdgeIndex pIndex)
 	{
-		if( hasValidDiagramNodes() )
+		if( hasValidDiagramNodes(pIndex) )
 		{
 			return Optional.empty();
 		}
@@ -133,20 +194,30 @@ abstract class AbstractDiagramValidator implements DiagramValidator
 		}
 	}
 	
-	private Optional<Violation> validateSemantics()
+	/*
+	 * The constraints only read the index, so that large sets of edges are validated
+	 * concurrently. Because findFirst respects the order of the edges, the violation
+	 * reported is the one of the first invalid edge, as when edges are validated in order.
+	 */
+	private Optional<Violation> validateSemantics(List<Edge> pEdges, EdgeIndex pIndex)
 	{
-		return aDiagram.edges().stream()
-				.map(edge -> validateAllConstraintsFor(edge))
+		Stream<Edge> edges = pEdges.stream();
+		if( pEdges.size() >= MIN_EDGES_FOR_CONCURRENT_VALIDATION )
+		{
+			edges = edges.parallel();
+		}
+		return edges
+				.map(edge -> validateAllConstraintsFor(edge, pIndex))
 				.filter(Optional::isPresent)
 				.map(Optional::get)
 				.findFirst();
 	}
 	
-	private Optional<Violation> validateAllConstraintsFor(Edge pEdge)
+	private Optional<Violation> validateAllConstraintsFor(Edge pEdge, EdgeIndex pIndex)
 	{
 		// We retrieve the first constraint that is not satisfied (if it exists)
 		return aConstraints.stream()
-				.filter(constraint -> !constraint.satisfied(pEdge, aDiagram))
+				.filter(constraint -> !constraint.satisfied(pEdge, pIndex))
 				.findFirst()
 				.map(constraint -> Violation.newSemanticViolation(constraint));
 	}
@@ -160,26 +231,29 @@ abstract class AbstractDiagramValidator implements DiagramValidator
 	}
 
 	@TemplateMethod
-	private boolean hasValidNodes()
+	private boolean hasValidNodes(EdgeIndex pIndex)
 	{
-		return hasValidPointNodes() && hasValidDiagramNodes();
+		return hasValidPointNodes(pIndex) && hasValidDiagramNodes(pIndex);
 	}
 	
 	/**
 	 * @return Point nodes must be connected to an edge
 	 */
-	private boolean hasValidPointNodes()
+	private boolean hasValidPointNodes(EdgeIndex pIndex)
 	{
 		return diagram().rootNodes().stream()
 			.filter(PointNode.class::isInstance)
-			.allMatch(node -> diagram().edgesConnectedTo(node).iterator().hasNext());
+			.allMatch(node -> !pIndex.edgesConnectedTo(node).isEmpty());
 	}
 	
 	/**
 	 * Step method in the template method design pattern to allow 
 	 * processing diagram-specific node validation.
+	 * 
+	 * @param pIndex The index of the edges of the diagram.
+	 * @return True if the nodes are valid for the type of diagram.
 	 */
-	protected boolean hasValidDiagramNodes()
+	protected boolean hasValidDiagramNodes(EdgeIndex pIndex)
 	{
 		return true;
 	}
@@ -20,8 +20,11 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.jetuml.diagram.Edge;
+
 /**
  * A type that allows to check the Diagram's semantic validity.
  */
@@ -45,4 +48,18 @@ public interface DiagramValidator
 	 * describes the problem if not.
 	 */
 	Optional<Violation> validate();
+	
+	/**
+	 * Checks a diagram that was valid before an operation changed it. The 
+	 * structural rules are checked for the entire diagram, but the semantic rules
+	 * are only checked for the edges that the operation added and the edges 
+	 * connected to a node of an edge it added or removed, which are the only 
+	 * ones whose validity the operation can change. 
+	 * 
+	 * @param pEdgesBefore The edges of the diagram before the operation.
+	 * @return Optional.empty if the diagram is correct, or a Violation that 
+	 * describes the problem if not.
+	 * @pre pEdgesBefore != null
+	 */
+	Optional<Violation> validateChanges(List<Edge> pEdgesBefore);
 }
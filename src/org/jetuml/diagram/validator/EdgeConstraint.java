@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 
 /**
  * Constraint on how an edge is connected to nodes in a diagram.
@@ -32,10 +32,10 @@ public interface EdgeConstraint
 	 * Determines if a constraint is satisfied.
 	 * 
 	 * @param pEdge The edge being validated.
-	 * @param pDiagram The diagram containing the edge.
+	 * @param pIndex The index of the edges of the diagram containing the edge.
 	 * @return True if the edge is satisfied.
-	 * @pre pEdge != null && pDiagram != null && pDiagram.contains(pEdge)
+	 * @pre pEdge != null && pIndex != null && pIndex.diagram().contains(pEdge)
 	 * @pre pEdge.start() != null && pEdge.end() != null;
 	 */
-	boolean satisfied(Edge pEdge, Diagram pDiagram);
+	boolean satisfied(Edge pEdge, EdgeIndex pIndex);
 }
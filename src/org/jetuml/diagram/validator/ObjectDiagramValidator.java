@@ -25,6 +25,7 @@ import java.util.Set;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.edges.ObjectCollaborationEdge;
 import org.jetuml.diagram.edges.ObjectReferenceEdge;
@@ -72,7 +73,7 @@ public class ObjectDiagramValidator extends AbstractDiagramValidator
 	 * All root nodes must not be FieldNode.
 	 */
 	@Override
-	protected boolean hasValidDiagramNodes()
+	protected boolean hasValidDiagramNodes(EdgeIndex pIndex)
 	{
 		return diagram().rootNodes().stream().noneMatch(node -> node instanceof FieldNode);
 	}
@@ -26,6 +26,7 @@ import java.util.Set;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.edges.CallEdge;
 import org.jetuml.diagram.edges.ConstructorEdge;
@@ -75,20 +76,20 @@ public class SequenceDiagramValidator extends AbstractDiagramValidator
 	 * Root nodes contain no call nodes.
 	 */
 	@Override
-	protected boolean hasValidDiagramNodes()
+	protected boolean hasValidDiagramNodes(EdgeIndex pIndex)
 	{
 		return diagram().rootNodes().stream()
-				.allMatch(node -> node.getClass() != CallNode.class) && maxOneRoot();
+				.allMatch(node -> node.getClass() != CallNode.class) && maxOneRoot(pIndex);
 	}
 	
 	/*
 	 * There can be at most one call node without a caller
 	 */
-	private boolean maxOneRoot()
+	private static boolean maxOneRoot(EdgeIndex pIndex)
 	{
-		return diagram().allNodes().stream()							// Nodes
+		return pIndex.nodes().stream()									// Nodes
 				.filter(CallNode.class::isInstance)						// Call nodes
-				.map(node -> diagram().edgesTo(node, CallEdge.class))	// Lists of callers to call nodes
+				.map(node -> pIndex.edgesTo(node, CallEdge.class))		// Lists of callers to call nodes
 				.mapToInt(List::size)									// Size of such lists
 				.filter(nbOfCalleers -> nbOfCalleers == 0)				// Number of cases call nodes with no callers
 				.count() <= 1;
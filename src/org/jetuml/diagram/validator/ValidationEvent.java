@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.validator;
+
+import java.util.Optional;
+
+import org.jetuml.diagram.Diagram;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the validation of a diagram.
+ */
+@Name("org.jetuml.Validation")
+@Label("Validate Diagram")
+@Category({"JetUML", "Validation"})
+@Description("Validation of a diagram, or of the changes to a diagram")
+@StackTrace(false)
+final class ValidationEvent extends Event
+{
+	@Name("diagramType")
+	@Label("Diagram Type")
+	private String aDiagramType;
+	
+	@Name("changesOnly")
+	@Label("Changes Only")
+	@Description("Whether only the edges that changed were checked against the semantic constraints")
+	private boolean aChangesOnly;
+	
+	@Name("edges")
+	@Label("Edges")
+	private int aEdges;
+	
+	@Name("violation")
+	@Label("Violation")
+	private String aViolation;
+	
+	/**
+	 * Ends this event and commits it with its outcome, if it is enabled 
+	 * and lasted longer than its threshold.
+	 * 
+	 * @param pDiagram The diagram validated.
+	 * @param pChangesOnly True if only the edges that changed were checked.
+	 * @param pViolation The violation found, if any.
+	 * @pre pDiagram != null && pViolation != null
+	 */
+	void commit(Diagram pDiagram, boolean pChangesOnly, Optional<Violation> pViolation)
+	{
+		assert pDiagram != null && pViolation != null;
+		end();
+		if( shouldCommit() )
+		{
+			aDiagramType = pDiagram.getType().name();
+			aChangesOnly = pChangesOnly;
+			aEdges = pDiagram.edges().size();
+			aViolation = pViolation.map(Violation::description).orElse(null);
+			commit();
+		}
+	}
+}
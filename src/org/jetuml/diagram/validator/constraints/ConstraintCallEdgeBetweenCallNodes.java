@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.CallEdge;
 import org.jetuml.diagram.nodes.CallNode;
 import org.jetuml.diagram.validator.EdgeConstraint;
@@ -33,7 +33,7 @@ import org.jetuml.diagram.validator.EdgeConstraint;
 public final class ConstraintCallEdgeBetweenCallNodes implements EdgeConstraint
 {
 	@Override
-	public boolean satisfied(Edge pEdge, Diagram pDiagram)
+	public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
 	{
 		return !(pEdge instanceof CallEdge && 
 				(pEdge.start().getClass() != CallNode.class || 
@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.validator.EdgeConstraint;
 
 /**
@@ -41,21 +41,21 @@ public final class ConstraintMaxNumberOfEdgesOfGivenTypeBetweenNodes implements
     }
 
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
-        return numberOfEdges(pEdge, pDiagram) <= aMaxNumberOfEdges;
+        return numberOfEdges(pEdge, pIndex) <= aMaxNumberOfEdges;
     }
 
     /*
      * Returns the number of edges of type pType between pStart and pEnd
      */
-    private static int numberOfEdges(Edge pEdge, Diagram pDiagram)
+    private static int numberOfEdges(Edge pEdge, EdgeIndex pIndex)
     {
-        assert pEdge != null && pDiagram != null;
+        assert pEdge != null && pIndex != null;
         int result = 0;
-        for( Edge edge : pDiagram.edges() )
+        for( Edge edge : pIndex.edgesFromTo(pEdge.start(), pEdge.end()) )
         {
-            if( edge.getClass() == pEdge.getClass() && edge.start() == pEdge.start() && edge.end() == pEdge.end() )
+            if( edge.getClass() == pEdge.getClass() )
             {
                 result++;
             }
@@ -20,12 +20,11 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.CallEdge;
 import org.jetuml.diagram.nodes.CallNode;
 import org.jetuml.diagram.validator.EdgeConstraint;
-import java.util.List;
 
 /**
  * There can be at most one caller to a call node.
@@ -33,12 +32,10 @@ import java.util.List;
 public final class ConstraintMaxOneCaller implements EdgeConstraint
 {
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
-        return pDiagram.allNodes().stream()								// Nodes
-                .filter(CallNode.class::isInstance)						// Call nodes
-                .map(node -> pDiagram.edgesTo(node, CallEdge.class))	// Lists of callers to call nodes
-                .mapToInt(List::size)									// Size of such lists
-                .allMatch(size -> size <= 1);
+        // Only the call edges to a call node can give it more than one caller
+        return !(pEdge instanceof CallEdge && pEdge.end() instanceof CallNode) ||
+                pIndex.edgesTo(pEdge.end(), CallEdge.class).size() <= 1;
     }
 }
@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.AggregationEdge;
 import org.jetuml.diagram.edges.AssociationEdge;
 import org.jetuml.diagram.validator.EdgeConstraint;
@@ -33,12 +33,19 @@ import org.jetuml.diagram.validator.EdgeConstraint;
 public final class ConstraintNoCombinedAssociationAggregation implements EdgeConstraint
 {
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
-        return pDiagram.edges().stream()
+        // Irrespective of direction
+        long count = pIndex.edgesFromTo(pEdge.start(), pEdge.end()).stream()
                 .filter(ConstraintNoCombinedAssociationAggregation::isAssociationOrAggregation)
-                .filter(edge -> isBetweenSameNodes(edge, pEdge))
-                .count() <= 1;
+                .count();
+        if( pEdge.start() != pEdge.end() )
+        {
+            count += pIndex.edgesFromTo(pEdge.end(), pEdge.start()).stream()
+                    .filter(ConstraintNoCombinedAssociationAggregation::isAssociationOrAggregation)
+                    .count();
+        }
+        return count <= 1;
     }
 
     /*
@@ -48,13 +55,4 @@ public final class ConstraintNoCombinedAssociationAggregation implements EdgeCon
     {
         return pEdge.getClass() == AssociationEdge.class || pEdge.getClass() == AggregationEdge.class;
     }
-
-    /*
-     * Irrespective of direction
-     */
-    private static boolean isBetweenSameNodes(Edge pEdge1, Edge pEdge2)
-    {
-        return pEdge1.start() == pEdge2.start() && pEdge1.end() == pEdge2.end() ||
-                pEdge1.start() == pEdge2.end() && pEdge1.end() == pEdge2.start();
-    }
 }
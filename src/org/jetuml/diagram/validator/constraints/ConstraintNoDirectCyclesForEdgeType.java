@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.validator.EdgeConstraint;
 
 /**
@@ -42,7 +42,7 @@ public final class ConstraintNoDirectCyclesForEdgeType implements EdgeConstraint
     }
 
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
         if( pEdge.getClass() != aEdgeType || pEdge.start() == pEdge.end() )
         {
@@ -50,9 +50,9 @@ public final class ConstraintNoDirectCyclesForEdgeType implements EdgeConstraint
         }
 
         int sameDirectionCount = 0;
-        for( Edge edge : pDiagram.edgesConnectedTo(pEdge.start()) )
+        for( Edge edge : pIndex.edgesFromTo(pEdge.end(), pEdge.start()) )
         {
-            if( edge.getClass() == aEdgeType && edge.end() == pEdge.start() && edge.start() == pEdge.end() )
+            if( edge.getClass() == aEdgeType )
             {
                 sameDirectionCount += 1;
             }
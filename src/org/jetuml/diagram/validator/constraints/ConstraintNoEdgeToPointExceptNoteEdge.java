@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.NoteEdge;
 import org.jetuml.diagram.nodes.PointNode;
 import org.jetuml.diagram.validator.EdgeConstraint;
@@ -32,7 +32,7 @@ import org.jetuml.diagram.validator.EdgeConstraint;
 public final class ConstraintNoEdgeToPointExceptNoteEdge implements EdgeConstraint
 {
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
         return !(pEdge.getClass() != NoteEdge.class &&
                 (pEdge.start().getClass() == PointNode.class || pEdge.end().getClass() == PointNode.class));
@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.validator.EdgeConstraint;
 
 /**
@@ -40,7 +40,7 @@ public final class ConstraintNoSelfEdgeForEdgeType implements EdgeConstraint
     }
 
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
         return !(pEdge.getClass() == aEdgeType && pEdge.start() == pEdge.end());
     }
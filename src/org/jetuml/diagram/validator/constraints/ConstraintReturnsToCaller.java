@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.CallEdge;
 import org.jetuml.diagram.edges.ReturnEdge;
 import org.jetuml.diagram.validator.EdgeConstraint;
@@ -34,13 +34,13 @@ import java.util.List;
 public final class ConstraintReturnsToCaller implements EdgeConstraint
 {
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
         if( pEdge.getClass() != ReturnEdge.class )
         {
             return true;
         }
-        List<Edge> calls = pDiagram.edgesTo(pEdge.start(), CallEdge.class);
+        List<Edge> calls = pIndex.edgesTo(pEdge.start(), CallEdge.class);
         if(calls.size() != 1)
         {
             return false;
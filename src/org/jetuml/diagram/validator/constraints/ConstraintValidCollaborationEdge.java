@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.ObjectCollaborationEdge;
 import org.jetuml.diagram.nodes.ObjectNode;
 import org.jetuml.diagram.validator.EdgeConstraint;
@@ -32,7 +32,7 @@ import org.jetuml.diagram.validator.EdgeConstraint;
 public final class ConstraintValidCollaborationEdge implements EdgeConstraint
 {
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
         return !(pEdge.getClass() == ObjectCollaborationEdge.class &&
                 (pEdge.start().getClass() != ObjectNode.class || pEdge.end().getClass() != ObjectNode.class));
@@ -20,8 +20,8 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator.constraints;
 
-import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.ObjectReferenceEdge;
 import org.jetuml.diagram.nodes.FieldNode;
 import org.jetuml.diagram.nodes.ObjectNode;
@@ -33,7 +33,7 @@ import org.jetuml.diagram.validator.EdgeConstraint;
 public final class ConstraintValidReferenceEdge implements EdgeConstraint
 {
     @Override
-    public boolean satisfied(Edge pEdge, Diagram pDiagram)
+    public boolean satisfied(Edge pEdge, EdgeIndex pIndex)
     {
         return !(pEdge.getClass() == ObjectReferenceEdge.class &&
                 (pEdge.start().getClass() != FieldNode.class || pEdge.end().getClass() != ObjectNode.class));
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.min;
+import static java.lang.Math.sin;
+import static java.lang.Math.toRadians;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A circular arc. As for JavaFX arcs, angles are in degrees, measured
+ * counter-clockwise as seen on the screen from the direction of the X-axis.
+ *
+ * @param center The center of the circle. center != null
+ * @param radius The radius of the circle. radius >= 0
+ * @param startAngle The angle of the start point of the arc.
+ * @param length The angular extent of the arc. Negative values extend the arc clockwise.
+ */
+@Immutable
+public record Arc(Point center, int radius, int startAngle, int length) implements Curve
+{
+	private static final int DEGREES_90 = 90;
+	private static final int DEGREES_360 = 360;
+	private static final double[] SINES = { 0, 1, 0, -1 };
+
+	private double x(double pAngle, double pRadius)
+	{
+		return center.x() + pRadius * cosine(pAngle);
+	}
+
+	private double y(double pAngle, double pRadius)
+	{
+		return center.y() - pRadius * sine(pAngle);
+	}
+
+	/*
+	 * Exact for multiples of 90 degrees, so that arcs drawn around integer
+	 * points have integer bounds.
+	 */
+	private static double cosine(double pAngle)
+	{
+		return sine(pAngle + DEGREES_90);
+	}
+
+	private static double sine(double pAngle)
+	{
+		if( pAngle % DEGREES_90 == 0 )
+		{
+			return SINES[Math.floorMod((int) (pAngle / DEGREES_90), SINES.length)];
+		}
+		return sin(toRadians(pAngle));
+	}
+
+	/*
+	 * The angle where the arc starts if it is traversed counter-clockwise.
+	 */
+	private int lowAngle()
+	{
+		return length >= 0 ? startAngle : startAngle + length;
+	}
+
+	/*
+	 * True if pAngle is within the angular extent of the arc.
+	 */
+	private boolean spans(double pAngle)
+	{
+		double offset = ((pAngle - lowAngle()) % DEGREES_360 + DEGREES_360) % DEGREES_360;
+		return offset <= abs(length) || abs(length) >= DEGREES_360;
+	}
+
+	@Override
+	public double distance(Point pPoint)
+	{
+		assert pPoint != null;
+		double dx = pPoint.x() - center.x();
+		double dy = center.y() - pPoint.y();
+		double toCenter = Math.hypot(dx, dy);
+		if( toCenter == 0 )
+		{
+			return radius;
+		}
+		if( spans(Math.toDegrees(Math.atan2(dy, dx))) )
+		{
+			return abs(toCenter - radius);
+		}
+		return min(Math.hypot(pPoint.x() - x(startAngle, radius), pPoint.y() - y(startAngle, radius)),
+				Math.hypot(pPoint.x() - x(startAngle + length, radius), pPoint.y() - y(startAngle + length, radius)));
+	}
+
+	/**
+	 * @param pPoint The point to test.
+	 * @return True if pPoint is inside the region bounded by the arc and by the 
+	 *     chord between its end points, which is the region filled by a JavaFX 
+	 *     open arc.
+	 * @pre pPoint != null
+	 */
+	public boolean encloses(Point pPoint)
+	{
+		assert pPoint != null;
+		if( Math.hypot(pPoint.x() - center.x(), pPoint.y() - center.y()) > radius )
+		{
+			return false;
+		}
+		if( abs(length) >= DEGREES_360 )
+		{
+			return true;
+		}
+		double middleAngle = startAngle + length / 2.0;
+		return sideOfChord(pPoint.x(), pPoint.y()) * sideOfChord(x(middleAngle, radius), y(middleAngle, radius)) >= 0;
+	}
+	
+	/*
+	 * Positive on one side of the chord between the end points of the arc, 
+	 * negative on the other side, and zero on the chord.
+	 */
+	private double sideOfChord(double pX, double pY)
+	{
+		double startX = x(startAngle, radius);
+		double startY = y(startAngle, radius);
+		double endX = x(startAngle + length, radius);
+		double endY = y(startAngle + length, radius);
+		return (endX - startX) * (pY - startY) - (endY - startY) * (pX - startX);
+	}
+
+	@Override
+	public Extent extent()
+	{
+		return extent(0);
+	}
+
+	/*
+	 * The extent of the arc with radius offset by pOffset, which
+	 * includes its points at the four cardinal angles within its extent.
+	 */
+	private Extent extent(double pOffset)
+	{
+		double lastAngle = startAngle + length;
+		Extent result = Extent.of(x(startAngle, radius + pOffset), y(startAngle, radius + pOffset))
+				.add(x(lastAngle, radius + pOffset), y(lastAngle, radius + pOffset));
+		for( int angle = 0; angle < DEGREES_360; angle += DEGREES_90 )
+		{
+			if( spans(angle) )
+			{
+				result = result.add(x(angle, radius + pOffset), y(angle, radius + pOffset));
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * The stroke is the area between the arcs of radius minus and plus half
+	 * the width, and the square caps that extend the arc along its tangents.
+	 */
+	@Override
+	public Extent strokeExtent(double pWidth)
+	{
+		assert pWidth >= 0;
+		double half = pWidth / 2;
+		Extent result = extent(half).add(extent(-half));
+		int direction = length >= 0 ? 1 : -1;
+		result = addCap(result, startAngle, -direction, half);
+		return addCap(result, startAngle + length, direction, half);
+	}
+
+	/*
+	 * Adds the corners of the cap at pAngle, which extends the arc in the
+	 * direction of increasing angles if pDirection is 1, decreasing otherwise.
+	 */
+	private Extent addCap(Extent pExtent, double pAngle, int pDirection, double pHalfWidth)
+	{
+		// Tangent to the arc on the screen, in the direction of increasing angles
+		double tangentX = -sine(pAngle) * pDirection * pHalfWidth;
+		double tangentY = -cosine(pAngle) * pDirection * pHalfWidth;
+		Extent result = pExtent;
+		for( double offset : new double[] { -pHalfWidth, pHalfWidth } )
+		{
+			result = result.add(x(pAngle, radius + offset) + tangentX, y(pAngle, radius + offset) + tangentY);
+		}
+		return result;
+	}
+}
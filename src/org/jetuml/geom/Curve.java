@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+/**
+ * A curve in 2-dimensional real space whose control points have integer
+ * coordinates. Curves support the geometric queries needed to hit-test and
+ * lay out the diagram elements that are drawn along them, without creating
+ * any GUI objects.
+ */
+public interface Curve
+{
+	/**
+	 * @param pPoint The point to test.
+	 * @return The shortest distance between pPoint and any point of the curve.
+	 * @pre pPoint != null
+	 */
+	double distance(Point pPoint);
+
+	/**
+	 * @return The smallest extent that contains all the points of the curve.
+	 */
+	Extent extent();
+
+	/**
+	 * Computes the bounds of the area covered by this curve when it is stroked
+	 * with a line of pWidth, with square caps at both ends and, for curves made
+	 * of multiple segments, mitered joins with a miter limit of 10.
+	 * These are the default stroke attributes of JavaFX shapes.
+	 *
+	 * @param pWidth The width of the stroke.
+	 * @return The smallest extent that contains the stroked curve.
+	 * @pre pWidth >= 0
+	 */
+	Extent strokeExtent(double pWidth);
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * The axis-aligned bounds of a shape in 2-dimensional real space. Extents
+ * are used to compute the exact bounds of curves before they are converted
+ * to integer rectangles.
+ *
+ * @param minX The smallest X-coordinate.
+ * @param minY The smallest Y-coordinate.
+ * @param maxX The largest X-coordinate. maxX >= minX
+ * @param maxY The largest Y-coordinate. maxY >= minY
+ */
+@Immutable
+public record Extent(double minX, double minY, double maxX, double maxY)
+{
+	private static final double TOLERANCE = 1e-9;
+
+	/**
+	 * @param pX The X-coordinate of a point.
+	 * @param pY The Y-coordinate of a point.
+	 * @return The extent of the single point (pX, pY).
+	 */
+	public static Extent of(double pX, double pY)
+	{
+		return new Extent(pX, pY, pX, pY);
+	}
+
+	/**
+	 * @return The width of the extent.
+	 */
+	public double width()
+	{
+		return maxX - minX;
+	}
+
+	/**
+	 * @return The height of the extent.
+	 */
+	public double height()
+	{
+		return maxY - minY;
+	}
+
+	/**
+	 * @param pX The X-coordinate of a point.
+	 * @param pY The Y-coordinate of a point.
+	 * @return The smallest extent that includes this extent and point (pX, pY).
+	 */
+	public Extent add(double pX, double pY)
+	{
+		return new Extent(min(minX, pX), min(minY, pY), max(maxX, pX), max(maxY, pY));
+	}
+
+	/**
+	 * @param pExtent The extent to add.
+	 * @return The smallest extent that includes both this extent and pExtent.
+	 * @pre pExtent != null
+	 */
+	public Extent add(Extent pExtent)
+	{
+		assert pExtent != null;
+		return new Extent(min(minX, pExtent.minX), min(minY, pExtent.minY),
+				max(maxX, pExtent.maxX), max(maxY, pExtent.maxY));
+	}
+
+	/**
+	 * @param pMargin The distance to add on each side.
+	 * @return This extent grown by pMargin in all four directions.
+	 * @pre pMargin >= 0
+	 */
+	public Extent padded(double pMargin)
+	{
+		assert pMargin >= 0;
+		return new Extent(minX - pMargin, minY - pMargin, maxX + pMargin, maxY + pMargin);
+	}
+
+	/**
+	 * Converts this extent to a rectangle by truncating its origin and
+	 * its dimensions towards zero, as done for the bounds of JavaFX nodes.
+	 * Values that only differ from an integer by a rounding error are
+	 * considered to be that integer.
+	 *
+	 * @return A rectangle that approximates this extent.
+	 */
+	public Rectangle toRectangle()
+	{
+		return new Rectangle(truncate(minX), truncate(minY), truncate(width()), truncate(height()));
+	}
+
+	private static int truncate(double pValue)
+	{
+		long rounded = Math.round(pValue);
+		if( Math.abs(pValue - rounded) < TOLERANCE )
+		{
+			return (int) rounded;
+		}
+		return (int) pValue;
+	}
+}
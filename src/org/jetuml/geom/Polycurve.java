@@ -0,0 +1,525 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.acos;
+import static java.lang.Math.cbrt;
+import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A curve made of a sequence of connected segments, each of which is either a
+ * straight line or a quadratic Bezier curve. A polycurve is built by starting
+ * from a point and adding segments, in the same way as a JavaFX Path is built
+ * with MoveTo, LineTo, and QuadCurveTo elements. Adding a segment returns a
+ * new polycurve.
+ */
+@Immutable
+public final class Polycurve implements Curve
+{
+	private static final double MITER_LIMIT = 10;
+	private static final double EPSILON = 1e-12;
+
+	private final Point aStart;
+	private final List<Segment> aSegments;
+
+	/**
+	 * A segment of a polycurve, which starts at the end of the previous segment
+	 * or at the start of the polycurve.
+	 *
+	 * @param control The control point of a quadratic curve, or null for a straight line.
+	 * @param end The end point of the segment. end != null
+	 */
+	@Immutable
+	public record Segment(Point control, Point end)
+	{
+		/**
+		 * @return True if this segment is a quadratic curve, false if it is a straight line.
+		 */
+		public boolean isQuadratic()
+		{
+			return control != null;
+		}
+	}
+
+	/**
+	 * Creates a polycurve that consists only of pStart.
+	 *
+	 * @param pStart The start point of the polycurve.
+	 * @pre pStart != null
+	 */
+	public Polycurve(Point pStart)
+	{
+		this(pStart, List.of());
+	}
+
+	private Polycurve(Point pStart, List<Segment> pSegments)
+	{
+		assert pStart != null;
+		aStart = pStart;
+		aSegments = pSegments;
+	}
+
+	/**
+	 * @param pPoints The points to connect with straight lines, in order.
+	 * @return A polycurve that connects all the points in pPoints.
+	 * @pre pPoints != null && !pPoints.isEmpty()
+	 */
+	public static Polycurve polyline(List<Point> pPoints)
+	{
+		assert pPoints != null && !pPoints.isEmpty();
+		List<Segment> segments = new ArrayList<>(pPoints.size() - 1);
+		for( Point point : pPoints.subList(1, pPoints.size()) )
+		{
+			segments.add(new Segment(null, point));
+		}
+		return new Polycurve(pPoints.get(0), Collections.unmodifiableList(segments));
+	}
+
+	/**
+	 * @param pEnd The end of the new segment.
+	 * @return A polycurve that extends this one with a straight line to pEnd.
+	 * @pre pEnd != null
+	 */
+	public Polycurve lineTo(Point pEnd)
+	{
+		assert pEnd != null;
+		return extendedWith(new Segment(null, pEnd));
+	}
+
+	/**
+	 * @param pControl The control point of the new segment.
+	 * @param pEnd The end of the new segment.
+	 * @return A polycurve that extends this one with a quadratic curve to pEnd.
+	 * @pre pControl != null && pEnd != null
+	 */
+	public Polycurve quadTo(Point pControl, Point pEnd)
+	{
+		assert pControl != null && pEnd != null;
+		return extendedWith(new Segment(pControl, pEnd));
+	}
+
+	private Polycurve extendedWith(Segment pSegment)
+	{
+		List<Segment> segments = new ArrayList<>(aSegments);
+		segments.add(pSegment);
+		return new Polycurve(aStart, Collections.unmodifiableList(segments));
+	}
+
+	/**
+	 * @return The first point of the polycurve.
+	 */
+	public Point start()
+	{
+		return aStart;
+	}
+
+	/**
+	 * @return The last point of the polycurve.
+	 */
+	public Point end()
+	{
+		if( aSegments.isEmpty() )
+		{
+			return aStart;
+		}
+		return aSegments.get(aSegments.size() - 1).end();
+	}
+
+	/**
+	 * @return The segments of the polycurve, in order.
+	 */
+	public List<Segment> segments()
+	{
+		return aSegments;
+	}
+
+	@Override
+	public double distance(Point pPoint)
+	{
+		assert pPoint != null;
+		double result = aStart.distance(pPoint);
+		Point from = aStart;
+		for( Segment segment : aSegments )
+		{
+			if( segment.isQuadratic() )
+			{
+				result = min(result, quadraticDistance(from, segment.control(), segment.end(), pPoint));
+			}
+			else
+			{
+				result = min(result, lineDistance(from, segment.end(), pPoint));
+			}
+			from = segment.end();
+		}
+		return result;
+	}
+
+	@Override
+	public Extent extent()
+	{
+		Extent result = Extent.of(aStart.x(), aStart.y());
+		Point from = aStart;
+		for( Segment segment : aSegments )
+		{
+			result = result.add(segment.end().x(), segment.end().y());
+			if( segment.isQuadratic() )
+			{
+				for( double t : extrema(from, segment) )
+				{
+					result = result.add(quadraticX(from, segment, t), quadraticY(from, segment, t));
+				}
+			}
+			from = segment.end();
+		}
+		return result;
+	}
+
+	/*
+	 * The outline of a stroked curve is made of the curve offset by half the width
+	 * on each side, of the caps, and of the joins. The extreme points of the offset
+	 * of a segment are either at its ends, or at the extreme points of the segment
+	 * itself, where the offset is parallel to an axis.
+	 */
+	@Override
+	public Extent strokeExtent(double pWidth)
+	{
+		assert pWidth >= 0;
+		double half = pWidth / 2;
+		Extent result = extent();
+		if( aSegments.isEmpty() )
+		{
+			return result.padded(half);
+		}
+		Vector previous = null;
+		Point from = aStart;
+		for( Segment segment : aSegments )
+		{
+			Vector start = startDirection(from, segment);
+			Vector end = endDirection(from, segment);
+			result = addOffsets(result, from, start, half);
+			result = addOffsets(result, segment.end(), end, half);
+			if( segment.isQuadratic() )
+			{
+				result = addOffsetExtrema(result, from, segment, half);
+			}
+			if( previous == null )
+			{
+				result = addCap(result, from, start.negated(), half);
+			}
+			else
+			{
+				result = addJoin(result, from, previous, start, half);
+			}
+			previous = end;
+			from = segment.end();
+		}
+		return addCap(result, from, previous, half);
+	}
+
+	/*
+	 * As in JavaFX, segments of length zero are stroked as if they were
+	 * oriented along the X-axis.
+	 */
+	private static Vector startDirection(Point pFrom, Segment pSegment)
+	{
+		Vector result = null;
+		if( pSegment.isQuadratic() )
+		{
+			result = Vector.between(pFrom, pSegment.control());
+		}
+		if( result == null )
+		{
+			result = Vector.between(pFrom, pSegment.end());
+		}
+		if( result == null )
+		{
+			result = Vector.X_AXIS;
+		}
+		return result;
+	}
+
+	private static Vector endDirection(Point pFrom, Segment pSegment)
+	{
+		Vector result = null;
+		if( pSegment.isQuadratic() )
+		{
+			result = Vector.between(pSegment.control(), pSegment.end());
+		}
+		if( result == null )
+		{
+			result = Vector.between(pFrom, pSegment.end());
+		}
+		if( result == null )
+		{
+			result = Vector.X_AXIS;
+		}
+		return result;
+	}
+
+	private static Extent addOffsets(Extent pExtent, Point pPoint, Vector pDirection, double pHalfWidth)
+	{
+		Vector normal = pDirection.normal();
+		return pExtent.add(pPoint.x() + normal.x * pHalfWidth, pPoint.y() + normal.y * pHalfWidth)
+				.add(pPoint.x() - normal.x * pHalfWidth, pPoint.y() - normal.y * pHalfWidth);
+	}
+
+	/*
+	 * A square cap extends the stroke by half its width beyond pPoint, in pDirection.
+	 */
+	private static Extent addCap(Extent pExtent, Point pPoint, Vector pDirection, double pHalfWidth)
+	{
+		double x = pPoint.x() + pDirection.x * pHalfWidth;
+		double y = pPoint.y() + pDirection.y * pHalfWidth;
+		Vector normal = pDirection.normal();
+		return pExtent.add(x + normal.x * pHalfWidth, y + normal.y * pHalfWidth)
+				.add(x - normal.x * pHalfWidth, y - normal.y * pHalfWidth);
+	}
+
+	/*
+	 * The tip of a miter join is on the outer side of the turn, at a distance of
+	 * pHalfWidth / cos(angle/2) from pPoint. Beyond the miter limit the join is
+	 * beveled, and the bevel is within the offsets of the two segments.
+	 */
+	private static Extent addJoin(Extent pExtent, Point pPoint, Vector pIn, Vector pOut, double pHalfWidth)
+	{
+		Vector normalIn = pIn.normal();
+		Vector normalOut = pOut.normal();
+		if( pOut.dot(normalIn) > 0 )
+		{
+			normalIn = normalIn.negated();
+			normalOut = normalOut.negated();
+		}
+		double cosine = 1 + normalIn.dot(normalOut);
+		if( cosine < EPSILON || sqrt(2 / cosine) > MITER_LIMIT )
+		{
+			return pExtent;
+		}
+		double scale = pHalfWidth / cosine;
+		return pExtent.add(pPoint.x() + (normalIn.x + normalOut.x) * scale,
+				pPoint.y() + (normalIn.y + normalOut.y) * scale);
+	}
+
+	/*
+	 * Where a quadratic segment reaches an extreme X-coordinate, its offset
+	 * is horizontal, and likewise for the Y-coordinate.
+	 */
+	private static Extent addOffsetExtrema(Extent pExtent, Point pFrom, Segment pSegment, double pHalfWidth)
+	{
+		Extent result = pExtent;
+		double t = extremum(pFrom.x(), pSegment.control().x(), pSegment.end().x());
+		if( t > 0 )
+		{
+			double x = quadraticX(pFrom, pSegment, t);
+			double y = quadraticY(pFrom, pSegment, t);
+			result = result.add(x - pHalfWidth, y).add(x + pHalfWidth, y);
+		}
+		t = extremum(pFrom.y(), pSegment.control().y(), pSegment.end().y());
+		if( t > 0 )
+		{
+			double x = quadraticX(pFrom, pSegment, t);
+			double y = quadraticY(pFrom, pSegment, t);
+			result = result.add(x, y - pHalfWidth).add(x, y + pHalfWidth);
+		}
+		return result;
+	}
+
+	private static double[] extrema(Point pFrom, Segment pSegment)
+	{
+		return new double[] { extremum(pFrom.x(), pSegment.control().x(), pSegment.end().x()),
+				extremum(pFrom.y(), pSegment.control().y(), pSegment.end().y()) };
+	}
+
+	/*
+	 * Returns the parameter strictly between 0 and 1 where the quadratic function with
+	 * control values pStart, pControl, and pEnd has a zero derivative, or 0 if there is none.
+	 * Returning 0 is harmless for callers, since the start is already accounted for.
+	 */
+	private static double extremum(int pStart, int pControl, int pEnd)
+	{
+		int denominator = pStart - 2 * pControl + pEnd;
+		if( denominator == 0 )
+		{
+			return 0;
+		}
+		double t = (pStart - pControl) / (double) denominator;
+		if( t <= 0 || t >= 1 )
+		{
+			return 0;
+		}
+		return t;
+	}
+
+	private static double quadratic(int pStart, int pControl, int pEnd, double pT)
+	{
+		double complement = 1 - pT;
+		return complement * complement * pStart + 2 * complement * pT * pControl + pT * pT * pEnd;
+	}
+
+	private static double quadraticX(Point pFrom, Segment pSegment, double pT)
+	{
+		return quadratic(pFrom.x(), pSegment.control().x(), pSegment.end().x(), pT);
+	}
+
+	private static double quadraticY(Point pFrom, Segment pSegment, double pT)
+	{
+		return quadratic(pFrom.y(), pSegment.control().y(), pSegment.end().y(), pT);
+	}
+
+	private static double lineDistance(Point pStart, Point pEnd, Point pPoint)
+	{
+		double dx = pEnd.x() - pStart.x();
+		double dy = pEnd.y() - pStart.y();
+		double lengthSquared = dx * dx + dy * dy;
+		if( lengthSquared == 0 )
+		{
+			return pStart.distance(pPoint);
+		}
+		double t = ((pPoint.x() - pStart.x()) * dx + (pPoint.y() - pStart.y()) * dy) / lengthSquared;
+		t = max(0, min(1, t));
+		return Math.hypot(pStart.x() + t * dx - pPoint.x(), pStart.y() + t * dy - pPoint.y());
+	}
+
+	/*
+	 * The closest point of the curve B(t) = A t^2 + B t + C (with C relative to pPoint)
+	 * is either an end point or a point where (B(t) - pPoint) . B'(t) = 0, which is
+	 * a cubic equation in t.
+	 */
+	private static double quadraticDistance(Point pStart, Point pControl, Point pEnd, Point pPoint)
+	{
+		double ax = pStart.x() - 2 * pControl.x() + pEnd.x();
+		double ay = pStart.y() - 2 * pControl.y() + pEnd.y();
+		double bx = 2 * (pControl.x() - pStart.x());
+		double by = 2 * (pControl.y() - pStart.y());
+		double cx = pStart.x() - pPoint.x();
+		double cy = pStart.y() - pPoint.y();
+		double result = min(pStart.distance(pPoint), pEnd.distance(pPoint));
+		for( double root : cubicRoots(2 * (ax * ax + ay * ay), 3 * (ax * bx + ay * by),
+				bx * bx + by * by + 2 * (ax * cx + ay * cy), bx * cx + by * cy) )
+		{
+			double t = max(0, min(1, root));
+			result = min(result, Math.hypot(ax * t * t + bx * t + cx, ay * t * t + by * t + cy));
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the real roots of pA t^3 + pB t^2 + pC t + pD, falling back to lower
+	 * degrees when the leading coefficients are zero.
+	 */
+	private static double[] cubicRoots(double pA, double pB, double pC, double pD)
+	{
+		double scale = max(max(abs(pA), abs(pB)), max(abs(pC), abs(pD)));
+		if( scale == 0 )
+		{
+			return new double[0];
+		}
+		if( abs(pA) <= EPSILON * scale )
+		{
+			return quadraticRoots(pB, pC, pD, scale);
+		}
+		double b = pB / pA;
+		double c = pC / pA;
+		double d = pD / pA;
+		double p = c - b * b / 3;
+		double q = 2 * b * b * b / 27 - b * c / 3 + d;
+		double discriminant = q * q / 4 + p * p * p / 27;
+		double shift = -b / 3;
+		if( discriminant > 0 )
+		{
+			double root = sqrt(discriminant);
+			return new double[] { cbrt(-q / 2 + root) + cbrt(-q / 2 - root) + shift };
+		}
+		if( p == 0 )
+		{
+			return new double[] { shift };
+		}
+		double radius = sqrt(-p / 3);
+		double angle = acos(max(-1, min(1, 3 * q / (2 * p * radius)))) / 3;
+		double third = 2 * Math.PI / 3;
+		return new double[] { 2 * radius * cos(angle) + shift, 2 * radius * cos(angle - third) + shift,
+				2 * radius * cos(angle - 2 * third) + shift };
+	}
+
+	private static double[] quadraticRoots(double pA, double pB, double pC, double pScale)
+	{
+		if( abs(pA) <= EPSILON * pScale )
+		{
+			if( abs(pB) <= EPSILON * pScale )
+			{
+				return new double[0];
+			}
+			return new double[] { -pC / pB };
+		}
+		double discriminant = pB * pB - 4 * pA * pC;
+		if( discriminant < 0 )
+		{
+			return new double[0];
+		}
+		double root = sqrt(discriminant);
+		return new double[] { (-pB + root) / (2 * pA), (-pB - root) / (2 * pA) };
+	}
+
+	/*
+	 * A unit vector.
+	 */
+	private record Vector(double x, double y)
+	{
+		static final Vector X_AXIS = new Vector(1, 0);
+
+		/* Returns null if pFrom and pTo are the same point. */
+		static Vector between(Point pFrom, Point pTo)
+		{
+			double dx = pTo.x() - pFrom.x();
+			double dy = pTo.y() - pFrom.y();
+			double length = Math.hypot(dx, dy);
+			if( length == 0 )
+			{
+				return null;
+			}
+			return new Vector(dx / length, dy / length);
+		}
+
+		Vector normal()
+		{
+			return new Vector(-y, x);
+		}
+
+		Vector negated()
+		{
+			return new Vector(-x, -y);
+		}
+
+		double dot(Vector pVector)
+		{
+			return x * pVector.x + y * pVector.y;
+		}
+	}
+}
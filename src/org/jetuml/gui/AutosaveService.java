@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jetuml.application.RecoveryStore;
+import org.jetuml.persistence.JsonEncoder;
+import org.jetuml.persistence.json.JsonObject;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+/**
+ * Periodically writes a copy of the diagrams that have unsaved changes to a
+ * recovery store, so that they can be restored if the application terminates
+ * abnormally.
+ *
+ * To avoid disrupting the user interface, the only work done on the JavaFX
+ * application thread is to take a snapshot of a diagram, in the form of its
+ * JSON encoding. Converting the snapshot to text and writing it to disk is done
+ * on a background thread. At most one diagram is snapshot per period, and the
+ * time until the next snapshot grows with the time the last snapshot took, so
+ * that autosaving never takes more than a small fraction of the time of the
+ * application thread.
+ */
+public final class AutosaveService
+{
+	private static final Duration PERIOD = Duration.seconds(10);
+	/* The minimum ratio between the time until the next snapshot and the
+	 * time it took to take the last snapshot. */
+	private static final int BACKOFF_FACTOR = 100;
+	private static final String FILE_NAME_PREFIX = "diagram";
+	private static final String EXTENSION_JET = ".jet";
+
+	private final RecoveryStore aStore;
+	private final Supplier<List<DiagramTab>> aDiagramTabs;
+	private final Map<DiagramTab, Snapshot> aSnapshots = new IdentityHashMap<>();
+	private final ExecutorService aWriter = Executors.newSingleThreadExecutor(runnable ->
+	{
+		Thread thread = new Thread(runnable, "JetUML Autosave");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Timeline aTimeline = new Timeline(new KeyFrame(PERIOD, event -> autosave()));
+	private int aNextFileNumber = 1;
+	private long aNextSnapshotTime = 0;
+
+	/*
+	 * The name of the recovery file for a diagram tab, and the modification count
+	 * of its diagram when it was last snapshot.
+	 */
+	private static final class Snapshot
+	{
+		private final String aFileName;
+		private int aModificationCount = -1;
+
+		Snapshot(String pFileName)
+		{
+			aFileName = pFileName;
+		}
+	}
+
+	/**
+	 * Creates an autosave service that will monitor the tabs supplied by pDiagramTabs.
+	 *
+	 * @param pStore The store in which to write the diagrams.
+	 * @param pDiagramTabs Supplies the diagram tabs currently open.
+	 * @pre pStore != null && pDiagramTabs != null
+	 */
+	public AutosaveService(RecoveryStore pStore, Supplier<List<DiagramTab>> pDiagramTabs)
+	{
+		assert pStore != null && pDiagramTabs != null;
+		aStore = pStore;
+		aDiagramTabs = pDiagramTabs;
+		aTimeline.setCycleCount(Animation.INDEFINITE);
+	}
+
+	/**
+	 * Opens a new recovery session and starts saving diagrams periodically.
+	 * If the recovery session cannot be opened, autosaving is disabled.
+	 */
+	public void start()
+	{
+		try
+		{
+			aStore.open();
+			aTimeline.play();
+		}
+		catch(IOException exception)
+		{
+			// Autosaving is a best-effort service: the application remains usable without it.
+		}
+	}
+
+	/**
+	 * @return The diagram files left behind by a previous session that did not
+	 *     terminate normally. Never null.
+	 */
+	public List<File> findRecoverableFiles()
+	{
+		return aStore.findRecoverableFiles();
+	}
+
+	/**
+	 * Moves pFile, a file left behind by a previous session that could not be 
+	 * restored, so that it is not deleted with the other files.
+	 * 
+	 * @param pFile One of the files returned by findRecoverableFiles.
+	 * @return The new location of the file.
+	 * @throws IOException If the file cannot be moved.
+	 * @pre pFile != null
+	 */
+	public File keepRecoverableFile(File pFile) throws IOException
+	{
+		assert pFile != null;
+		return aStore.keep(pFile);
+	}
+
+	/**
+	 * Deletes the files left behind by previous sessions. This should be called
+	 * once the user has decided whether to restore them.
+	 */
+	public void discardRecoverableFiles()
+	{
+		aStore.discardAbandonedSessions();
+	}
+
+	/**
+	 * Stops autosaving, waits briefly for any pending write to complete, then
+	 * deletes the recovery session. This should only be called when the
+	 * application terminates normally.
+	 */
+	public void stop()
+	{
+		aTimeline.stop();
+		aWriter.shutdown();
+		try
+		{
+			aWriter.awaitTermination(2, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+		aStore.close();
+	}
+
+	/*
+	 * Forgets the diagrams that no longer need to be recovered, then snapshots
+	 * at most one of the diagrams that changed since its last snapshot.
+	 */
+	private void autosave()
+	{
+		List<DiagramTab> tabs = aDiagramTabs.get();
+		discardSnapshotsNotNeeded(tabs);
+		if( System.currentTimeMillis() < aNextSnapshotTime )
+		{
+			return;
+		}
+		for( DiagramTab tab : tabs )
+		{
+			if( tab.hasUnsavedChanges() )
+			{
+				Snapshot snapshot = aSnapshots.computeIfAbsent(tab,
+						key -> new Snapshot(FILE_NAME_PREFIX + aNextFileNumber++ +
+								key.getDiagram().getFileExtension() + EXTENSION_JET));
+				if( snapshot.aModificationCount != tab.modificationCount() )
+				{
+					snapshot(tab, snapshot);
+					return;
+				}
+			}
+		}
+	}
+
+	private void snapshot(DiagramTab pTab, Snapshot pSnapshot)
+	{
+		long start = System.currentTimeMillis();
+		JsonObject encoding = JsonEncoder.encode(pTab.getDiagram());
+		pSnapshot.aModificationCount = pTab.modificationCount();
+		long end = System.currentTimeMillis();
+		aNextSnapshotTime = end + (end - start) * BACKOFF_FACTOR;
+		String fileName = pSnapshot.aFileName;
+		aWriter.execute(() ->
+		{
+			try
+			{
+				aStore.write(fileName, encoding.toString());
+			}
+			catch(IOException exception)
+			{
+				// The diagram will be written again at its next modification.
+			}
+		});
+	}
+
+	/*
+	 * Deletes the recovery file of the diagrams that were closed, saved,
+	 * or returned to their saved state. Deletions are queued after any pending
+	 * write, so that a pending write cannot recreate a deleted file.
+	 */
+	private void discardSnapshotsNotNeeded(List<DiagramTab> pTabs)
+	{
+		Iterator<Map.Entry<DiagramTab, Snapshot>> iterator = aSnapshots.entrySet().iterator();
+		while( iterator.hasNext() )
+		{
+			Map.Entry<DiagramTab, Snapshot> entry = iterator.next();
+			if( !pTabs.contains(entry.getKey()) || !entry.getKey().hasUnsavedChanges() )
+			{
+				// The entries of an IdentityHashMap cannot be read once removed
+				String fileName = entry.getValue().aFileName;
+				iterator.remove();
+				aWriter.execute(() ->
+				{
+					try
+					{
+						aStore.delete(fileName);
+					}
+					catch(IOException exception)
+					{
+						// At worst, an obsolete diagram will be offered for recovery.
+					}
+				});
+			}
+		}
+	}
+}
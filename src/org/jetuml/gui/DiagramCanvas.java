@@ -41,6 +41,7 @@ import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PositionIndex;
 import org.jetuml.diagram.builder.ClassDiagramBuilder;
 import org.jetuml.diagram.builder.CompoundOperation;
 import org.jetuml.diagram.builder.DiagramBuilder;
@@ -57,6 +58,8 @@ import org.jetuml.geom.Point;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.rendering.AccessoriesRenderer;
 import org.jetuml.rendering.GraphicsRenderingContext;
+import org.jetuml.rendering.LayoutHints;
+import org.jetuml.rendering.PerformanceStatistics;
 import org.jetuml.rendering.RenderingContext;
 import org.jetuml.rendering.SvgRenderingContext;
 
@@ -88,6 +91,11 @@ StringPreferenceChangeHandler
 	private MouseDraggedGestureHandler aHandler;
 	private final RenderingContext aRenderingContext;
 	private final AccessoriesRenderer aAccessoriesRenderer;
+	private final PerformanceStatistics aPerformanceStatistics = new PerformanceStatistics();
+	private final Canvas aPerformanceOverlay = new Canvas();
+	private final AccessoriesRenderer aPerformanceRenderer = 
+			new AccessoriesRenderer(new GraphicsRenderingContext(aPerformanceOverlay.getGraphicsContext2D()));
+	private final PositionIndex aPositionIndex;
 	
 	private enum DragMode 
 	{ DRAG_NONE, DRAG_MOVE, DRAG_RUBBERBAND, DRAG_LASSO }
@@ -116,13 +124,17 @@ StringPreferenceChangeHandler
 		aToolBar = pToolBar;
 		aDiagramBuilder = pDiagramBuilder;
 		aDiagramValidator = pDiagramValidator;
+		aPositionIndex = new PositionIndex(aDiagramBuilder.diagram());
 		aMoveTracker = new MoveTracker(aDiagramBuilder.renderer()::getBounds);
 		Dimension dimension = getDiagramCanvasWidth();
 		setWidth(dimension.width());
 		setHeight(dimension.height());
 		aDiagramBuilder.setCanvasDimension(new Dimension(width(), height()));
+		aDiagramBuilder.renderer().enableBackgroundLayout(this::paintPanel);
 		aRenderingContext = new GraphicsRenderingContext(getGraphicsContext2D());
 		aAccessoriesRenderer = new AccessoriesRenderer(aRenderingContext);
+		aPerformanceOverlay.widthProperty().addListener((pObservable, pOldValue, pNewValue) -> redrawPerformanceOverlay());
+		aPerformanceOverlay.heightProperty().addListener((pObservable, pOldValue, pNewValue) -> redrawPerformanceOverlay());
 		aHandler = pHandler;
 		setOnMousePressed(this::mousePressed);
 		setOnMouseReleased(this::mouseReleased);
@@ -173,6 +185,23 @@ StringPreferenceChangeHandler
 		return aProcessor.hasUnsavedOperations();
 	}
 	
+	/**
+	 * @return A number that changes every time the diagram controlled
+	 *     by this controller is modified.
+	 */
+	public int modificationCount()
+	{
+		return aProcessor.modificationCount();
+	}
+	
+	/**
+	 * @return The layout of the diagram, as computed by the last rendering pass.
+	 */
+	public LayoutHints getLayoutHints()
+	{
+		return aDiagramBuilder.renderer().getLayoutHints();
+	}
+	
 	/**
 	 * Pastes the content of the clip board into the graph managed by this panel.
 	 */
@@ -183,9 +212,10 @@ StringPreferenceChangeHandler
 			return;
 		}
 		Iterable<DiagramElement> newElements = Clipboard.instance().getElements();
-		if(Clipboard.instance().overlapsWithElementOf(aDiagramBuilder.diagram()))
+		int shift = Clipboard.instance().nonOverlappingShift(aPositionIndex, GRID_SIZE);
+		if( shift > 0 )
 		{
-			shiftElements(newElements, GRID_SIZE);
+			shiftElements(newElements, shift);
 		}
 		aProcessor.executeNewOperation(aDiagramBuilder.createAddElementsOperation(newElements));
 		List<DiagramElement> newElementList = new ArrayList<>();
@@ -252,6 +282,9 @@ StringPreferenceChangeHandler
 	 */
 	public void paintPanel()
 	{
+		PaintEvent event = new PaintEvent();
+		event.begin();
+		long start = System.nanoTime();
 		Rectangle area = new Rectangle(0, 0, width(), height());
 		aRenderingContext.drawRectangle(area, ColorScheme.get().background(), 
 				ColorScheme.get().background(), Optional.empty());
@@ -265,6 +298,43 @@ StringPreferenceChangeHandler
 		drawHandlesOnSelectedNodes();
 		aRubberband.ifPresent( rubberband -> aAccessoriesRenderer.drawRubberband(rubberband));
 		aLasso.ifPresent( lasso -> aAccessoriesRenderer.drawLasso(lasso));
+		paintPerformanceOverlay(System.nanoTime() - start);
+		event.commit(diagram());
+	}
+	
+	/**
+	 * @return The canvas on which the performance of this canvas is shown. It does not 
+	 *     scroll or zoom with this canvas, so it should be placed over the visible part 
+	 *     of this canvas.
+	 */
+	public Canvas performanceOverlay()
+	{
+		return aPerformanceOverlay;
+	}
+	
+	private void paintPerformanceOverlay(long pPaintDuration)
+	{
+		boolean showPerformance = UserPreferences.instance().getBoolean(BooleanPreference.showPerformance);
+		aPerformanceOverlay.setVisible(showPerformance);
+		if( showPerformance )
+		{
+			aPerformanceStatistics.record(pPaintDuration, aDiagramBuilder.renderer().layoutDuration(),
+					diagram().allNodes().size(), diagram().edges().size());
+			redrawPerformanceOverlay();
+		}
+	}
+	
+	/*
+	 * Also called when the overlay is resized, which happens without painting this canvas.
+	 */
+	private void redrawPerformanceOverlay()
+	{
+		aPerformanceOverlay.getGraphicsContext2D().clearRect(0, 0, 
+				aPerformanceOverlay.getWidth(), aPerformanceOverlay.getHeight());
+		if( aPerformanceOverlay.isVisible() && aPerformanceStatistics.passes() > 0 )
+		{
+			aPerformanceRenderer.drawPerformance(aPerformanceStatistics);
+		}
 	}
 	
 	private void drawHandlesOnSelectedEdges()
@@ -379,11 +449,25 @@ StringPreferenceChangeHandler
 		selectedNodes.forEach(node -> diagram().placeOnTop(node));
 		paintPanel();
 	}
+	
+	/**
+	 * On a class diagram, moves all the nodes to positions computed automatically.
+	 */
+	public void arrange()
+	{
+		if(diagram().getType() != DiagramType.CLASS)
+		{
+			return;
+		}
+		aProcessor.executeNewOperation(((ClassDiagramBuilder)aDiagramBuilder).createArrangeOperation());
+		paintPanel();
+	}
 
 	@Override
 	public void booleanPreferenceChanged(BooleanPreference pPreference)
 	{
-		if( pPreference == BooleanPreference.showGrid || pPreference == BooleanPreference.darkMode )
+		if( pPreference == BooleanPreference.showGrid || pPreference == BooleanPreference.darkMode ||
+				pPreference == BooleanPreference.showPerformance )
 		{
 			paintPanel();
 		}
@@ -571,8 +655,9 @@ StringPreferenceChangeHandler
 		assert aToolBar.getCreationPrototype().isPresent();
 		Node newNode = ((Node) aToolBar.getCreationPrototype().get()).clone();
 		Point point = GridUtils.snapped(getMousePoint(pEvent));
+		List<Edge> edges = List.copyOf(diagram().edges());
 		aProcessor.executeNewOperation(aDiagramBuilder.createAddNodeOperation(newNode, new Point(point.x(), point.y())));
-		Optional<Violation> violation = aDiagramValidator.validate();
+		Optional<Violation> violation = aDiagramValidator.validateChanges(edges);
 		
 		if(violation.isEmpty())
 		{
@@ -689,8 +774,9 @@ StringPreferenceChangeHandler
 		Edge newEdge = ((Edge) aToolBar.getCreationPrototype().get()).clone();
 		if(pMousePoint.distance(aMouseDownPoint) > CONNECT_THRESHOLD )
 		{
+			List<Edge> edges = List.copyOf(diagram().edges());
 			aProcessor.executeNewOperation(aDiagramBuilder.createAddEdgeOperation(newEdge, aMouseDownPoint, pMousePoint));
-			Optional<Violation> violation = aDiagramValidator.validate();
+			Optional<Violation> violation = aDiagramValidator.validateChanges(edges);
 			
 			if( violation.isPresent() )
 			{
@@ -25,20 +25,26 @@ import static java.lang.Math.min;
 import static org.jetuml.application.ApplicationResources.RESOURCES;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
 
 import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.BooleanPreference;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.builder.DiagramBuilder;
 import org.jetuml.diagram.validator.DiagramValidator;
 import org.jetuml.geom.Direction;
 import org.jetuml.geom.Rectangle;
+import org.jetuml.persistence.DiagramJournal;
+import org.jetuml.persistence.PersistenceService;
+import org.jetuml.rendering.LayoutHints;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.geometry.Bounds;
 import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tab;
 import javafx.scene.image.Image;
@@ -58,15 +64,29 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 	private final DoubleProperty aZoom;
 	private DiagramCanvas aDiagramCanvas;
 	private Optional<File> aFile = Optional.empty(); // The file associated with this diagram
+	private Optional<DiagramJournal> aJournal = Optional.empty(); // Created on demand for aFile
+	private boolean aRecovered = false; // The diagram was restored from an autosave and never saved since
 	
 	/**
      * Constructs a diagram tab initialized with pDiagram.
      * @param pDiagram The initial diagram
 	 */
 	public DiagramTab(Diagram pDiagram)
+	{
+		this(pDiagram, Optional.empty());
+	}
+	
+	/**
+     * Constructs a diagram tab initialized with pDiagram, whose first 
+     * rendering uses pLayoutHints instead of computing the layout, if present.
+     * @param pDiagram The initial diagram
+     * @param pLayoutHints The layout hints saved with pDiagram, if available
+	 */
+	public DiagramTab(Diagram pDiagram, Optional<LayoutHints> pLayoutHints)
 	{
 		DiagramValidator validator = DiagramType.newValidatorInstanceFor(pDiagram);
 		DiagramBuilder builder = DiagramType.newBuilderInstanceFor(pDiagram);
+		pLayoutHints.ifPresent(builder.renderer()::useLayoutHints);
 		DiagramTabToolBar sideBar = new DiagramTabToolBar(builder.renderer());
 		aDiagramCanvas = new DiagramCanvas(builder, sideBar, validator, this);
 		
@@ -106,7 +126,17 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 
 		scroll.setFitToWidth(true);
 		scroll.setFitToHeight(true);
-		layout.setCenter(scroll);
+		
+		// The performance overlay stays in the top left corner of the visible part 
+		// of the diagram, whatever the scrolling and zoom. It does not take part in
+		// the layout and lets the mouse events through to the canvas.
+		Canvas overlay = aDiagramCanvas.performanceOverlay();
+		overlay.setManaged(false);
+		overlay.setMouseTransparent(true);
+		StackPane center = new StackPane(scroll, overlay);
+		overlay.widthProperty().bind(center.widthProperty());
+		overlay.heightProperty().bind(center.heightProperty());
+		layout.setCenter(center);
 		
 		setTitle();
 		setContent(layout);
@@ -208,6 +238,14 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 		aDiagramCanvas.selectAll();
 	}
 	
+	/**
+	 * Arranges the nodes of the diagram, if it is a class diagram.
+	 */
+	public void arrange()
+	{
+		aDiagramCanvas.arrange();
+	}
+	
 	/**
 	 * Zooms in the diagram.
 	 */
@@ -255,16 +293,44 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 	 */
 	public void diagramSaved()
 	{
+		aRecovered = false;
 		aDiagramCanvas.diagramSaved();
 	}
 	
+	/**
+	 * Notify the tab that its diagram was restored from an autosave, 
+	 * and should thus be considered as having unsaved changes until it
+	 * is saved.
+	 */
+	public void diagramRecovered()
+	{
+		aRecovered = true;
+	}
+	
 	/**
 	 * @return True if the diagram in this tab
 	 *     has unsaved changes.
 	 */
 	public boolean hasUnsavedChanges()
 	{
-		return aDiagramCanvas.hasUnsavedChanges();
+		return aRecovered || aDiagramCanvas.hasUnsavedChanges();
+	}
+	
+	/**
+	 * @return A number that changes every time the diagram in this
+	 *     tab is modified.
+	 */
+	public int modificationCount()
+	{
+		return aDiagramCanvas.modificationCount();
+	}
+	
+	/**
+	 * @return The layout of the diagram, as computed by the last rendering pass.
+	 */
+	public LayoutHints getLayoutHints()
+	{
+		return aDiagramCanvas.getLayoutHints();
 	}
 
 	/**
@@ -284,8 +350,62 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 	{
 		assert pFile != null;
 		aFile = Optional.of(pFile);
+		aJournal = Optional.empty();
 		setTitle();
 	}
+	
+	/**
+	 * Saves the complete diagram in pFile, with its layout if the user chose 
+	 * to store it. Because the journal of the file of this tab no longer describes 
+	 * what the file contains, the next incremental save will be complete.
+	 * 
+	 * @param pFile The file in which to save the diagram.
+	 * @throws IOException If there is a problem writing the file.
+	 * @pre pFile != null
+	 */
+	public void save(File pFile) throws IOException
+	{
+		assert pFile != null;
+		aJournal = Optional.empty();
+		if( UserPreferences.instance().getBoolean(BooleanPreference.saveLayout) )
+		{
+			PersistenceService.save(getDiagram(), getLayoutHints(), pFile);
+		}
+		else
+		{
+			PersistenceService.save(getDiagram(), pFile);
+		}
+	}
+	
+	/**
+	 * Saves the diagram in its file, with its layout if the user chose to store it.
+	 * If the user chose to save incrementally, only the changes since the last save
+	 * are appended to the journal of the file.
+	 * 
+	 * @throws IOException If there is a problem writing the files.
+	 * @pre getFile().isPresent()
+	 */
+	public void save() throws IOException
+	{
+		assert aFile.isPresent();
+		if( !UserPreferences.instance().getBoolean(BooleanPreference.incrementalSave) )
+		{
+			save(aFile.get());
+			return;
+		}
+		if( aJournal.isEmpty() )
+		{
+			aJournal = Optional.of(new DiagramJournal(aFile.get()));
+		}
+		if( UserPreferences.instance().getBoolean(BooleanPreference.saveLayout) )
+		{
+			aJournal.get().save(getDiagram(), getLayoutHints());
+		}
+		else
+		{
+			aJournal.get().save(getDiagram());
+		}
+	}
 
 	@Override
 	public void interactionTo(Rectangle pBounds, Direction pDirection)
@@ -322,12 +442,12 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 	 */
 	private ScrollPane scrollPane()
 	{
-		return (ScrollPane)((BorderPane)getContent()).getCenter();
+		return (ScrollPane)((StackPane)((BorderPane)getContent()).getCenter()).getChildren().get(0);
 	}
 	
 	private ViewportProjection getViewportProjection()
 	{
-		ScrollPane scrollPane = (ScrollPane)((BorderPane)getContent()).getCenter();
+		ScrollPane scrollPane = scrollPane();
 		Bounds bounds = scrollPane.getViewportBounds();
 		// Because, when the scrollbars are not displayed, the Scrollpane will increase
 		// the viewport size beyond the canvas size, it's necessary to max out the dimensions
@@ -28,21 +28,14 @@ import java.util.Optional;
 import org.jetuml.application.UserPreferences;
 import org.jetuml.application.UserPreferences.BooleanPreference;
 import org.jetuml.application.UserPreferences.BooleanPreferenceChangeHandler;
-import org.jetuml.application.UserPreferences.IntegerPreference;
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.Prototypes;
-import org.jetuml.geom.Rectangle;
-import org.jetuml.rendering.AccessoriesRenderer;
 import org.jetuml.rendering.DiagramRenderer;
-import org.jetuml.rendering.GraphicsRenderingContext;
-import org.jetuml.rendering.nodes.AbstractNodeRenderer;
 
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Parent;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonBase;
 import javafx.scene.control.ContextMenu;
@@ -88,36 +81,23 @@ public class DiagramTabToolBar extends ToolBar implements BooleanPreferenceChang
 	// of eliminating the current selection.
 	private void installSelectionTool(ToggleGroup pToggleGroup)
 	{
-		SelectableToolButton selectionButton = new SelectableToolButton(createSelectionIcon(), 
+		SelectableToolButton selectionButton = new SelectableToolButton(ToolIcons.instance().selectionIcon(), 
 				RESOURCES.getString("toolbar.select.tooltip"), pToggleGroup);
-		add(selectionButton, createSelectionIcon(), RESOURCES.getString("toolbar.select.tooltip"));
+		add(selectionButton, ToolIcons.instance().selectionIcon(), RESOURCES.getString("toolbar.select.tooltip"));
 		UserPreferences.instance().addBooleanPreferenceChangeHandler(selectionButton);
 	}
 	
-	private static Canvas createSelectionIcon()
-	{
-		int offset = AbstractNodeRenderer.OFFSET + 3;
-		Canvas canvas = new Canvas(AbstractNodeRenderer.BUTTON_SIZE, AbstractNodeRenderer.BUTTON_SIZE);
-		GraphicsContext graphics = canvas.getGraphicsContext2D();
-		new AccessoriesRenderer(new GraphicsRenderingContext(graphics)).drawHandles(new Rectangle(offset, offset, 
-				AbstractNodeRenderer.BUTTON_SIZE - (offset*2), AbstractNodeRenderer.BUTTON_SIZE-(offset*2) ));
-		return canvas;
-	}
-	
 	private void installDiagramElementTools(DiagramRenderer pDiagramRenderer, ToggleGroup pToggleGroup)
 	{
-		final int oldFontSize = UserPreferences.instance().getInteger(IntegerPreference.fontSize);
-		UserPreferences.instance().setInteger(IntegerPreference.fontSize, UserPreferences.DEFAULT_FONT_SIZE);
 		for( DiagramElement element : pDiagramRenderer.diagram().getPrototypes() )
 		{
-			SelectableToolButton button = new SelectableToolButton(pDiagramRenderer.createIcon(element),
+			SelectableToolButton button = new SelectableToolButton(ToolIcons.instance().icon(pDiagramRenderer, element),
 					Prototypes.instance().tooltip(element, 
 							UserPreferences.instance().getBoolean(BooleanPreference.verboseToolTips)), 
 					pToggleGroup, element);
 			UserPreferences.instance().addBooleanPreferenceChangeHandler(button);
-			add(button, pDiagramRenderer.createIcon(element), Prototypes.instance().tooltip(element, false));
+			add(button, ToolIcons.instance().icon(pDiagramRenderer, element), Prototypes.instance().tooltip(element, false));
 		}
-		UserPreferences.instance().setInteger(IntegerPreference.fontSize, oldFontSize);
 	}
 	
 	private void installCopyToClipboard()
@@ -160,7 +140,7 @@ public class DiagramTabToolBar extends ToolBar implements BooleanPreferenceChang
 	 * @param pButton The button to add.
 	 * @param pText The text for the menu
 	 */
-	private void add(ButtonBase pButton, Canvas pIcon, String pText)
+	private void add(ButtonBase pButton, Node pIcon, String pText)
 	{
 		assert pButton != null;
 		getItems().add( pButton );
@@ -280,8 +260,8 @@ public class DiagramTabToolBar extends ToolBar implements BooleanPreferenceChang
 			if( toolBarItems.get(i) instanceof SelectableToolButton toolButton && 
 					toolButton.getPrototype().isPresent() )
 			{
-				button.setGraphic(aDiagramRenderer.createIcon(toolButton.getPrototype().get()));
-				contextMenuItems.get(i).setGraphic(aDiagramRenderer.createIcon(toolButton.getPrototype().get()));
+				button.setGraphic(ToolIcons.instance().icon(aDiagramRenderer, toolButton.getPrototype().get()));
+				contextMenuItems.get(i).setGraphic(ToolIcons.instance().icon(aDiagramRenderer, toolButton.getPrototype().get()));
 			}
 		}
 	}
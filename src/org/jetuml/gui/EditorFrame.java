@@ -37,6 +37,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.prefs.Preferences;
 import java.util.stream.Stream;
 
@@ -45,6 +46,7 @@ import javax.imageio.ImageIO;
 import org.jetuml.JetUML;
 import org.jetuml.application.FileExtensions;
 import org.jetuml.application.RecentFilesQueue;
+import org.jetuml.application.RecoveryStore;
 import org.jetuml.application.UserPreferences;
 import org.jetuml.application.UserPreferences.BooleanPreference;
 import org.jetuml.application.UserPreferences.BooleanPreferenceChangeHandler;
@@ -53,6 +55,7 @@ import org.jetuml.diagram.DiagramType;
 import org.jetuml.gui.tips.TipDialog;
 import org.jetuml.persistence.DeserializationException;
 import org.jetuml.persistence.PersistenceService;
+import org.jetuml.rendering.LayoutHints;
 
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.control.Alert;
@@ -90,7 +93,10 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 	private final String aDarkModeCSSPath = getClass().getResource("DarkMode.css").toExternalForm();
 	private RecentFilesQueue aRecentFiles = new RecentFilesQueue();
 	private Menu aRecentFilesMenu;
+	private MenuItem aArrangeMenuItem;
 	private WelcomeTab aWelcomeTab;
+	private final AutosaveService aAutosaveService = 
+			new AutosaveService(new RecoveryStore(RecoveryStore.defaultRoot()), this::diagramTabs);
 
 	/**
 	 * Constructs a blank frame with a desktop pane but no diagram window.
@@ -102,7 +108,6 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 	{
 		aMainStage = pMainStage;
 		aDialogStage = pDialogStage;
-		aRecentFiles.deserialize(Preferences.userNodeForPackage(JetUML.class).get("recent", "").trim());
 
 		MenuBar menuBar = new MenuBar();
 		setTop(menuBar);
@@ -123,6 +128,7 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 		showWelcomeTabIfNecessary();
 		
 		UserPreferences.instance().addBooleanPreferenceChangeHandler(this);
+		aAutosaveService.start();
 		
 		setOnKeyPressed(e -> 
 		{
@@ -165,6 +171,8 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 	 * 
 	 * This method assumes that any sub-menu beyond the second level (sub-menus of
 	 * top menus) will NOT be diagram-specific.
+	 * 
+	 * The arrange item is only enabled if the selected tab shows a class diagram.
 	 */
 	private void setMenuVisibility()
 	{
@@ -172,6 +180,9 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 				.flatMap(menu -> Stream.concat(Stream.of(menu), menu.getItems().stream())) // All menus and immediate sub-menus
 				.filter( item -> Boolean.TRUE.equals(item.getUserData())) // Retain only diagram-relevant menu items
 				.forEach( item -> item.setDisable(isWelcomeTabShowing()));
+			Tab selected = ((TabPane) getCenter()).getSelectionModel().getSelectedItem();
+			aArrangeMenuItem.setDisable(!(selected instanceof DiagramTab tab && 
+					tab.getDiagram().getType() == DiagramType.CLASS));
 	}
 	
 	// Returns the new menu
@@ -207,10 +218,12 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 	private void createEditMenu(MenuBar pMenuBar) 
 	{
 		MenuFactory factory = new MenuFactory(RESOURCES);
+		aArrangeMenuItem = factory.createMenuItem("edit.arrange", true, pEvent -> getSelectedDiagramTab().arrange());
 		pMenuBar.getMenus().add(factory.createMenu("edit", true, 
 				factory.createMenuItem("edit.undo", true, pEvent -> getSelectedDiagramTab().undo()),
 				factory.createMenuItem("edit.redo", true, pEvent -> getSelectedDiagramTab().redo()),
 				factory.createMenuItem("edit.selectall", true, pEvent -> getSelectedDiagramTab().selectAll()),
+				aArrangeMenuItem,
 				factory.createMenuItem("edit.properties", true, pEvent -> getSelectedDiagramTab().editSelected()),
 				factory.createMenuItem("edit.cut", true, pEvent -> getSelectedDiagramTab().cut()),
 				factory.createMenuItem("edit.paste", true, pEvent -> getSelectedDiagramTab().paste()),
@@ -247,6 +260,21 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 						UserPreferences.instance().getBoolean(BooleanPreference.darkMode),
 						event -> UserPreferences.instance().setBoolean(BooleanPreference.darkMode, 
 								((CheckMenuItem) event.getSource()).isSelected())),
+				
+				factory.createCheckMenuItem("view.incremental_save", false, 
+						UserPreferences.instance().getBoolean(BooleanPreference.incrementalSave),
+						event -> UserPreferences.instance().setBoolean(BooleanPreference.incrementalSave, 
+								((CheckMenuItem) event.getSource()).isSelected())),
+				
+				factory.createCheckMenuItem("view.save_layout", false, 
+						UserPreferences.instance().getBoolean(BooleanPreference.saveLayout),
+						event -> UserPreferences.instance().setBoolean(BooleanPreference.saveLayout, 
+								((CheckMenuItem) event.getSource()).isSelected())),
+				
+				factory.createCheckMenuItem("view.show_performance", false, 
+						UserPreferences.instance().getBoolean(BooleanPreference.showPerformance),
+						event -> UserPreferences.instance().setBoolean(BooleanPreference.showPerformance, 
+								((CheckMenuItem) event.getSource()).isSelected())),
 		
 				factory.createMenuItem("view.diagram_size", false, event -> new DiagramSizeDialog(aDialogStage).show()),
 				factory.createMenuItem("view.font", false, event -> new FontDialog(aDialogStage).show()),
@@ -304,8 +332,9 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 		
 		try 
 		{
-			Diagram diagram = PersistenceService.read(pFile);
-			setOpenFileAsDiagram(pFile, diagram);
+			List<LayoutHints> layoutHints = new ArrayList<>();
+			Diagram diagram = PersistenceService.read(pFile, layoutHints::add);
+			setOpenFileAsDiagram(pFile, new DiagramTab(diagram, layoutHints.stream().findFirst()));
 		}
 		catch(IOException | DeserializationException exception) 
 		{
@@ -315,6 +344,24 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 		}
 	}
 	
+	/**
+	 * Loads the list of recent files saved by the previous session and shows it 
+	 * in the recent files menu. Loading checks that each file still exists, so it
+	 * is not done when the frame is created. Files opened before loading 
+	 * remain at the top of the list.
+	 */
+	public void loadRecentFiles()
+	{
+		List<File> openedFiles = new ArrayList<>();
+		aRecentFiles.forEach(openedFiles::add);
+		aRecentFiles.deserialize(Preferences.userNodeForPackage(JetUML.class).get("recent", "").trim());
+		for( int i = openedFiles.size() - 1; i >= 0; i-- )
+		{
+			aRecentFiles.add(openedFiles.get(i).getPath());
+		}
+		buildRecentFilesMenu();
+	}
+	
 	/**
 	 * Given a valid file and the diagram loaded from this file,
 	 * opens a new tab in the editor with this combination.
@@ -324,10 +371,111 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 	 */
 	public void setOpenFileAsDiagram(File pFile, Diagram pDiagram)
 	{
-		DiagramTab frame = new DiagramTab(pDiagram);
-		frame.setFile(pFile.getAbsoluteFile());
+		setOpenFileAsDiagram(pFile, new DiagramTab(pDiagram));
+	}
+	
+	/**
+	 * Opens pDiagram in a new tab that is not associated with any file, 
+	 * and selects the tab.
+	 * 
+	 * @param pDiagram The diagram to open.
+	 * @return The new tab.
+	 * @pre pDiagram != null
+	 */
+	public DiagramTab openDiagram(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		DiagramTab tab = new DiagramTab(pDiagram);
+		insertGraphFrameIntoTabbedPane(tab);
+		return tab;
+	}
+	
+	private void setOpenFileAsDiagram(File pFile, DiagramTab pTab)
+	{
+		pTab.setFile(pFile.getAbsoluteFile());
 		addRecentFile(pFile.getPath());
-		insertGraphFrameIntoTabbedPane(frame);
+		insertGraphFrameIntoTabbedPane(pTab);
+	}
+	
+	/**
+	 * If diagrams with unsaved changes were left behind by a previous 
+	 * session that did not terminate normally, asks the user whether to 
+	 * restore them, and opens them in new tabs if so. The recovered 
+	 * diagrams are not associated with any file.
+	 */
+	public void restoreRecoveredDiagrams()
+	{
+		List<File> files = aAutosaveService.findRecoverableFiles();
+		if( files.isEmpty() )
+		{
+			return;
+		}
+		Alert alert = new Alert(AlertType.CONFIRMATION, 
+				MessageFormat.format(RESOURCES.getString("dialog.recover.ok"), new Object[] { Integer.valueOf(files.size()) }),
+				ButtonType.YES, 
+				ButtonType.NO);
+		alert.initOwner(aMainStage);
+		alert.setTitle(RESOURCES.getString("dialog.recover.title"));
+		alert.setHeaderText(RESOURCES.getString("dialog.recover.title"));
+		alert.showAndWait();
+		
+		boolean discard = true;
+		if( alert.getResult() == ButtonType.YES )
+		{
+			List<File> unreadable = new ArrayList<>();
+			for( File file : files )
+			{
+				try
+				{
+					DiagramTab tab = new DiagramTab(PersistenceService.read(file));
+					tab.diagramRecovered();
+					insertGraphFrameIntoTabbedPane(tab);
+				}
+				catch(IOException | DeserializationException exception)
+				{
+					unreadable.add(file);
+				}
+			}
+			if( !unreadable.isEmpty() )
+			{
+				discard = keepUnreadableFiles(unreadable);
+			}
+		}
+		if( discard )
+		{
+			aAutosaveService.discardRecoverableFiles();
+		}
+	}
+	
+	/*
+	 * Moves the recovered files that could not be read away from the files that
+	 * are about to be discarded, and tells the user where they are. Returns false 
+	 * if a file could not be moved, in which case no file should be discarded.
+	 */
+	private boolean keepUnreadableFiles(List<File> pFiles)
+	{
+		boolean moved = true;
+		StringJoiner paths = new StringJoiner("\n");
+		for( File file : pFiles )
+		{
+			try
+			{
+				paths.add(aAutosaveService.keepRecoverableFile(file).getPath());
+			}
+			catch(IOException exception)
+			{
+				moved = false;
+				paths.add(file.getPath());
+			}
+		}
+		Alert alert = new Alert(AlertType.ERROR, 
+				MessageFormat.format(RESOURCES.getString("dialog.recover.failed"), 
+						new Object[] { Integer.valueOf(pFiles.size()), paths.toString() }),
+				ButtonType.OK);
+		alert.initOwner(aMainStage);
+		alert.setTitle(RESOURCES.getString("dialog.recover.title"));
+		alert.showAndWait();
+		return moved;
 	}
 	
 	private List<NamedHandler> getOpenFileHandlers()
@@ -491,7 +639,7 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 		}
 		try 
 		{
-			PersistenceService.save(diagramTab.getDiagram(), file.get());
+			diagramTab.save();
 			diagramTab.diagramSaved();
 		} 
 		catch(IOException exception) 
@@ -527,7 +675,7 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 			File result = fileChooser.showSaveDialog(aMainStage);
 			if( result != null )
 			{
-				PersistenceService.save(diagram, result);
+				diagramTab.save(result);
 				addRecentFile(result.getAbsolutePath());
 				diagramTab.setFile(result);
 				diagramTab.setText(diagramTab.getFile().get().getName());
@@ -687,12 +835,14 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 			if(alert.getResult() == ButtonType.YES) 
 			{
 				Preferences.userNodeForPackage(JetUML.class).put("recent", aRecentFiles.serialize());
+				aAutosaveService.stop();
 				System.exit(0);
 			}
 		}
 		else 
 		{
 			Preferences.userNodeForPackage(JetUML.class).put("recent", aRecentFiles.serialize());
+			aAutosaveService.stop();
 			System.exit(0);
 		}
 	}		
@@ -712,6 +862,14 @@ public class EditorFrame extends BorderPane implements BooleanPreferenceChangeHa
 		return ((TabPane) getCenter()).getTabs();
 	}
 	
+	private List<DiagramTab> diagramTabs()
+	{
+		return tabs().stream()
+				.filter(DiagramTab.class::isInstance)
+				.map(DiagramTab.class::cast)
+				.toList();
+	}
+	
 	private TabPane tabPane()
 	{
 		return (TabPane) getCenter();
@@ -29,7 +29,7 @@ import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.Prototypes;
 
 import javafx.geometry.Pos;
-import javafx.scene.canvas.Canvas;
+import javafx.scene.Node;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.control.Tooltip;
@@ -53,7 +53,7 @@ public class SelectableToolButton extends ToggleButton implements BooleanPrefere
 	 * @param pToggleGroup The toggle group this button is part of.
 	 * @pre pImage != null && pToolTip != null && pToggleGroup != null.
 	 */
-	public SelectableToolButton(Canvas pIcon, String pToolTip, ToggleGroup pToggleGroup)
+	public SelectableToolButton(Node pIcon, String pToolTip, ToggleGroup pToggleGroup)
 	{
 		assert pIcon != null && pToolTip != null && pToggleGroup != null;
 		setStyle(BUTTON_STYLE_CSS);
@@ -76,7 +76,7 @@ public class SelectableToolButton extends ToggleButton implements BooleanPrefere
 	 * @param pPrototype The object prototype for the creation.
 	 * @pre pImage != null && pToolTip != null && pToggleGroup != null.
 	 */
-	public SelectableToolButton(Canvas pIcon, String pToolTip, ToggleGroup pToggleGroup, DiagramElement pPrototype)
+	public SelectableToolButton(Node pIcon, String pToolTip, ToggleGroup pToggleGroup, DiagramElement pPrototype)
 	{
 		this(pIcon, pToolTip, pToggleGroup);
 		aPrototype = Optional.of(pPrototype);
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetuml.annotations.Singleton;
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.StringPreference;
+import org.jetuml.diagram.DiagramElement;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.geom.Rectangle;
+import org.jetuml.rendering.AccessoriesRenderer;
+import org.jetuml.rendering.DiagramRenderer;
+import org.jetuml.rendering.GraphicsRenderingContext;
+import org.jetuml.rendering.StringRenderer;
+import org.jetuml.rendering.nodes.AbstractNodeRenderer;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+
+/**
+ * Singleton object that renders the icons of the tools of the diagram tool bars.
+ * Each icon is rendered once into an image that all the tool bars share, 
+ * for each combination of diagram type, prototype, color scheme, and font. 
+ * Icons are always rendered with the default font size. The images are 
+ * discarded when the color scheme or the font changes.
+ * 
+ * Images can only be taken from a canvas on the JavaFX application thread. 
+ * Icons requested from any other thread are rendered on a new canvas every time.
+ */
+@Singleton
+public final class ToolIcons
+{
+	private static final ToolIcons INSTANCE = new ToolIcons();
+	
+	/*
+	 * Prototypes are shared by all the diagrams, so they are compared by identity.
+	 */
+	private record IconKey(DiagramType diagramType, DiagramElement prototype, ColorScheme colorScheme, String fontName) {}
+	
+	private final Map<IconKey, Image> aIcons = new HashMap<>();
+	private Optional<Image> aSelectionIcon = Optional.empty();
+	private ColorScheme aColorScheme = ColorScheme.get();
+	private String aFontName = fontName();
+	
+	private ToolIcons() {}
+	
+	/**
+	 * @return The ToolIcons singleton instance.
+	 */
+	public static ToolIcons instance()
+	{
+		return INSTANCE;
+	}
+	
+	/**
+	 * @param pRenderer The renderer of the diagram of the tool bar.
+	 * @param pPrototype The prototype of the tool, which is one of the prototypes of the diagram.
+	 * @return A new graphic node that shows the icon of the tool for pPrototype.
+	 * @pre pRenderer != null && pPrototype != null
+	 */
+	public Node icon(DiagramRenderer pRenderer, DiagramElement pPrototype)
+	{
+		assert pRenderer != null && pPrototype != null;
+		if( !Platform.isFxApplicationThread() )
+		{
+			return render(pRenderer, pPrototype);
+		}
+		discardIfStale();
+		IconKey key = new IconKey(pRenderer.diagram().getType(), pPrototype, aColorScheme, aFontName);
+		return new ImageView(aIcons.computeIfAbsent(key, unused -> snapshot(render(pRenderer, pPrototype))));
+	}
+	
+	/**
+	 * @return A new graphic node that shows the icon of the selection tool.
+	 */
+	public Node selectionIcon()
+	{
+		if( !Platform.isFxApplicationThread() )
+		{
+			return renderSelectionIcon();
+		}
+		if( aSelectionIcon.isEmpty() )
+		{
+			aSelectionIcon = Optional.of(snapshot(renderSelectionIcon()));
+		}
+		return new ImageView(aSelectionIcon.get());
+	}
+	
+	/*
+	 * The icons of the prototypes depend on the color scheme and font that 
+	 * are in effect when they are rendered.
+	 */
+	private void discardIfStale()
+	{
+		ColorScheme colorScheme = ColorScheme.get();
+		String fontName = fontName();
+		if( colorScheme != aColorScheme || !fontName.equals(aFontName) )
+		{
+			aIcons.clear();
+			aColorScheme = colorScheme;
+			aFontName = fontName;
+		}
+	}
+	
+	private static String fontName()
+	{
+		return UserPreferences.instance().getString(StringPreference.fontName);
+	}
+	
+	private static Canvas render(DiagramRenderer pRenderer, DiagramElement pPrototype)
+	{
+		return StringRenderer.withFontSize(UserPreferences.DEFAULT_FONT_SIZE, () -> pRenderer.createIcon(pPrototype));
+	}
+	
+	private static Canvas renderSelectionIcon()
+	{
+		int offset = AbstractNodeRenderer.OFFSET + 3;
+		Canvas canvas = new Canvas(AbstractNodeRenderer.BUTTON_SIZE, AbstractNodeRenderer.BUTTON_SIZE);
+		new AccessoriesRenderer(new GraphicsRenderingContext(canvas.getGraphicsContext2D())).drawHandles(
+				new Rectangle(offset, offset, AbstractNodeRenderer.BUTTON_SIZE - (offset*2), 
+						AbstractNodeRenderer.BUTTON_SIZE-(offset*2) ));
+		return canvas;
+	}
+	
+	private static Image snapshot(Canvas pCanvas)
+	{
+		SnapshotParameters parameters = new SnapshotParameters();
+		parameters.setFill(Color.TRANSPARENT);
+		return pCanvas.snapshot(parameters, null);
+	}
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui.tips;
+
+import static org.jetuml.application.ApplicationResources.RESOURCES;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+
+import org.jetuml.persistence.json.JsonParser;
+
+/**
+ * Script to compile the tip files into the tip bundle that the application loads.
+ * The bundle has one line per tip, in the order of the tip ids, with the JSON 
+ * encoding of the tip without whitespace. It must be generated again whenever 
+ * a tip file changes. The unit tests check that the bundle matches the tip files.
+ */
+public final class TipBundleGenerator
+{
+	private static final int NUMBER_OF_TIPS = Integer.parseInt(RESOURCES.getString("tips.quantity"));
+	private static final Path PATH_TIPS = Path.of("tipdata" + RESOURCES.getString("tips.jsons.directory"));
+	private static final Path PATH_OUTPUT = Path.of("tipdata" + RESOURCES.getString("tips.bundle"));
+	
+	private TipBundleGenerator() {}
+	
+	/**
+	 * Use without arguments, from the root of the repository.
+	 * 
+	 * @param pArgs Not used.
+	 */
+	public static void main(String[] pArgs) throws IOException
+	{
+		StringJoiner bundle = new StringJoiner("\n", "", "\n");
+		for (int tipNumber = 1; tipNumber <= NUMBER_OF_TIPS; tipNumber++)
+		{
+			String tip = Files.readString(PATH_TIPS.resolve("tip-%d.json".formatted(tipNumber)), StandardCharsets.UTF_8);
+			bundle.add(JsonParser.parse(tip).toString());
+		}
+		Files.write(PATH_OUTPUT, bundle.toString().getBytes(StandardCharsets.UTF_8));
+		System.out.println("Tip bundle generated with %d tips.".formatted(NUMBER_OF_TIPS));
+	}
+}
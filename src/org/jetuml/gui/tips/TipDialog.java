@@ -22,8 +22,7 @@ package org.jetuml.gui.tips;
 
 import static org.jetuml.application.ApplicationResources.RESOURCES;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.net.URL;
 import java.util.List;
 
 import org.jetuml.application.UserPreferences;
@@ -299,6 +298,10 @@ public class TipDialog
 	}
 	
 	/**
+	 * The image is loaded in the background, so that the tip can be shown before 
+	 * its images are loaded. The image view is scaled down once the image is loaded
+	 * if the image is too wide for the dialog.
+	 * 
 	 * @return ImageView of the Image whose name is stored in the image TipElement
 	 * @pre pTipElement != null
 	 * @pre pTipElement.getMedia().equals(Media.IMAGE)
@@ -310,24 +313,36 @@ public class TipDialog
 		
 		String imageName = pTipElement.getContent();
 		String tipImagesDir = RESOURCES.getString("tips.images.directory");
-		try(InputStream inputStream = TipDialog.class.getResourceAsStream(tipImagesDir + "/" + imageName))
+		URL imageUrl = TipDialog.class.getResource(tipImagesDir + "/" + imageName);
+		// The unit tests check that all tip images can be loaded properly.
+		assert imageUrl != null;
+		Image image = new Image(imageUrl.toExternalForm(), true);
+		ImageView imageNode = new ImageView(image);
+		if( image.getProgress() == 1 )
+		{
+			fitToDialog(imageNode);
+		}
+		else
 		{
-			Image image = new Image(inputStream);
-			ImageView imageNode = new ImageView(image);
-			if(imageNode.getImage().getWidth() > WINDOW_PREF_WIDTH - 2 * PADDING - 4 * DEFAULT_NODE_SPACING)
+			image.progressProperty().addListener((pObservable, pOldValue, pNewValue) -> 
 			{
-				imageNode.setPreserveRatio(true);
-				imageNode.setFitWidth(WINDOW_PREF_WIDTH - 2 * PADDING - 4 * DEFAULT_NODE_SPACING);
-				// two times the padding because of the VBox padding, and a bit extra to make up for
-				// other default spacing added between nodes
-			}
-			return imageNode;
+				if( pNewValue.doubleValue() == 1 )
+				{
+					fitToDialog(imageNode);
+				}
+			});
 		}
-		catch( IOException e )
+		return imageNode;
+	}
+	
+	private static void fitToDialog(ImageView pImageNode)
+	{
+		if(pImageNode.getImage().getWidth() > WINDOW_PREF_WIDTH - 2 * PADDING - 4 * DEFAULT_NODE_SPACING)
 		{
-			// The unit tests check that all tip images can be loaded properly.
-			assert false;
-			return null;
+			pImageNode.setPreserveRatio(true);
+			pImageNode.setFitWidth(WINDOW_PREF_WIDTH - 2 * PADDING - 4 * DEFAULT_NODE_SPACING);
+			// two times the padding because of the VBox padding, and a bit extra to make up for
+			// other default spacing added between nodes
 		}
 	}
 	
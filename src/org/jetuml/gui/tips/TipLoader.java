@@ -32,16 +32,46 @@ import org.jetuml.persistence.json.JsonObject;
 import org.jetuml.persistence.json.JsonParser;
 
 /**
- * Class that statically loads the tips.
+ * Class that statically loads the tips. The tips are read from the tip bundle
+ * generated by TipBundleGenerator, which has the encoding of each tip on its own line. 
+ * The bundle is read once, when the first tip is loaded, and each tip is 
+ * decoded the first time it is loaded. 
  */
 final class TipLoader
 {
 	public static final int NUM_TIPS = Integer.parseInt(RESOURCES.getString("tips.quantity"));
 
 	private static final int BYTES_IN_KILOBYTE = 1024;
-	private static final String TIP_FILE_PATH_FORMAT = RESOURCES.getString("tips.jsons.directory") + "/tip-%d.json";
+	private static final Tip[] TIPS = new Tip[NUM_TIPS];
 
 	private TipLoader() {}
+	
+	/*
+	 * Holds the encoding of each tip, indexed by tip id - 1. Reads the bundle 
+	 * when the class is initialized, which is the first time the encodings are used.
+	 */
+	private static final class Bundle
+	{
+		private static final String[] ENCODED_TIPS = readBundle();
+		
+		private static String[] readBundle()
+		{
+			// Running the unit tests ensures that the bundle can be correctly
+			// loaded in the tool.
+			try (InputStream bundleInputStream = TipLoader.class
+					.getResourceAsStream(RESOURCES.getString("tips.bundle")))
+			{
+				String[] result = inputStreamToString(bundleInputStream).split("\\r?\\n");
+				assert result.length == NUM_TIPS;
+				return result;
+			}
+			catch (IOException e)
+			{
+				assert false;
+				return new String[0];
+			}
+		}
+	}
 
 	/**
 	 * Returns the tip associated with the given tip id.
@@ -51,25 +81,14 @@ final class TipLoader
 	 * 
 	 * @pre pId >= 1 && pId <= NUM_TIPS
 	 */
-	public static Tip loadTip(int pId)
+	public static synchronized Tip loadTip(int pId)
 	{
 		assert pId >= 1 && pId <= NUM_TIPS;
-
-		// Running the unit tests ensures that all resources can be correctly
-		// loaded
-		// in the tool.
-		try (InputStream tipsInputStream = TipLoader.class
-				.getResourceAsStream(String.format(TIP_FILE_PATH_FORMAT, pId)))
+		if( TIPS[pId - 1] == null )
 		{
-			JsonObject jsonObject = JsonParser.parse(inputStreamToString(tipsInputStream));
-			Tip tip = new Tip(pId, jsonObject);
-			return tip;
-		}
-		catch (IOException e)
-		{
-			assert false;
-			return null;
+			TIPS[pId - 1] = new Tip(pId, JsonParser.parse(Bundle.ENCODED_TIPS[pId - 1]));
 		}
+		return TIPS[pId - 1];
 	}
 
 	private static String inputStreamToString(InputStream pStream) throws IOException
@@ -0,0 +1,371 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetuml.persistence.DeserializationException.Category;
+import org.jetuml.persistence.json.JsonArray;
+import org.jetuml.persistence.json.JsonObject;
+
+/**
+ * Converts the JSON encoding of a diagram to and from a compact binary form.
+ * The conversion is lossless for any JsonObject, so a diagram can be decoded
+ * from its binary form with the same JsonDecoder used for its JSON text.
+ *
+ * The binary form consists of:
+ * * The four bytes of MAGIC
+ * * The format version, as a varint
+ * * A string table: the number of strings, then each string
+ * * The root object
+ *
+ * The string table holds all property names, and all string values that occur
+ * more than once, such as node types. Each occurrence of these strings is written
+ * as its index in the table. Integers, including coordinates and ids, are written
+ * as zig-zag varints, so small values of either sign take a single byte. Strings
+ * are written as their length in bytes followed by their UTF-8 encoding.
+ */
+public final class BinaryFormat
+{
+	/**
+	 * The bytes at the beginning of any diagram in binary form. They cannot
+	 * occur at the beginning of a JSON text.
+	 */
+	private static final byte[] MAGIC = { 'J', 'E', 'T', 0 };
+	
+	/**
+	 * The number of bytes needed to recognize a diagram in binary form.
+	 */
+	public static final int HEADER_SIZE = MAGIC.length;
+	private static final int VERSION = 1;
+
+	private static final int TAG_OBJECT = 0;
+	private static final int TAG_ARRAY = 1;
+	private static final int TAG_STRING = 2;
+	private static final int TAG_STRING_REFERENCE = 3;
+	private static final int TAG_INTEGER = 4;
+	private static final int TAG_TRUE = 5;
+	private static final int TAG_FALSE = 6;
+
+	private BinaryFormat() {}
+
+	/**
+	 * @param pBytes Some bytes.
+	 * @return True if pBytes start like a diagram in binary form.
+	 * @pre pBytes != null
+	 */
+	public static boolean isBinary(byte[] pBytes)
+	{
+		assert pBytes != null;
+		return pBytes.length >= MAGIC.length &&
+				Arrays.equals(pBytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+	}
+
+	/**
+	 * @param pObject The object to convert.
+	 * @return The binary form of pObject.
+	 * @pre pObject != null
+	 */
+	public static byte[] toBinary(JsonObject pObject)
+	{
+		assert pObject != null;
+		Writer writer = new Writer(pObject);
+		writer.aOutput.write(MAGIC, 0, MAGIC.length);
+		writer.writeVarint(VERSION);
+		writer.writeVarint(writer.aTable.size());
+		writer.aTable.forEach(writer::writeString);
+		writer.writeObject(pObject);
+		return writer.aOutput.toByteArray();
+	}
+
+	/**
+	 * @param pBytes The binary form of a JsonObject.
+	 * @return The object that pBytes represents.
+	 * @throws DeserializationException If pBytes is not a well-formed binary form,
+	 *     or was created by a newer version of the format.
+	 * @pre pBytes != null
+	 */
+	public static JsonObject toJson(byte[] pBytes)
+	{
+		assert pBytes != null;
+		if( !isBinary(pBytes) )
+		{
+			throw new DeserializationException(Category.SYNTACTIC, "Missing binary format header");
+		}
+		Reader reader = new Reader(pBytes);
+		int version = reader.readVarint();
+		if( version != VERSION )
+		{
+			throw new DeserializationException(Category.SYNTACTIC, "Unsupported binary format version " + version);
+		}
+		int size = reader.readCount();
+		for( int i = 0; i < size; i++ )
+		{
+			reader.aTable.add(reader.readString());
+		}
+		if( reader.readTag() != TAG_OBJECT )
+		{
+			throw new DeserializationException(Category.SYNTACTIC, "Root value is not an object");
+		}
+		JsonObject result = reader.readObject();
+		if( reader.aPosition != pBytes.length )
+		{
+			throw new DeserializationException(Category.SYNTACTIC, "Unexpected data after root object");
+		}
+		return result;
+	}
+
+	/*
+	 * Writes an object, after building the string table from all its strings.
+	 */
+	private static final class Writer
+	{
+		private final ByteArrayOutputStream aOutput = new ByteArrayOutputStream();
+		private final List<String> aTable = new ArrayList<>();
+		private final Map<String, Integer> aIndices = new HashMap<>();
+
+		Writer(JsonObject pObject)
+		{
+			Map<String, Integer> occurrences = new HashMap<>();
+			countStrings(pObject, occurrences);
+			occurrences.forEach((string, count) ->
+			{
+				if( count > 1 )
+				{
+					aIndices.put(string, aTable.size());
+					aTable.add(string);
+				}
+			});
+		}
+
+		/* Property names are counted twice so that they are always in the table. */
+		private static void countStrings(Object pValue, Map<String, Integer> pOccurrences)
+		{
+			if( pValue instanceof JsonObject object )
+			{
+				for( String name : object.properties() )
+				{
+					pOccurrences.merge(name, 2, Integer::sum);
+					countStrings(object.get(name), pOccurrences);
+				}
+			}
+			else if( pValue instanceof JsonArray array )
+			{
+				array.forEach(element -> countStrings(element, pOccurrences));
+			}
+			else if( pValue instanceof String string )
+			{
+				pOccurrences.merge(string, 1, Integer::sum);
+			}
+		}
+
+		void writeObject(JsonObject pObject)
+		{
+			writeVarint(TAG_OBJECT);
+			writeVarint(pObject.numberOfProperties());
+			for( String name : pObject.properties() )
+			{
+				writeVarint(aIndices.get(name));
+				writeValue(pObject.get(name));
+			}
+		}
+
+		private void writeValue(Object pValue)
+		{
+			if( pValue instanceof JsonObject object )
+			{
+				writeObject(object);
+			}
+			else if( pValue instanceof JsonArray array )
+			{
+				writeVarint(TAG_ARRAY);
+				writeVarint(array.size());
+				array.forEach(this::writeValue);
+			}
+			else if( pValue instanceof String string )
+			{
+				Integer index = aIndices.get(string);
+				if( index == null )
+				{
+					writeVarint(TAG_STRING);
+					writeString(string);
+				}
+				else
+				{
+					writeVarint(TAG_STRING_REFERENCE);
+					writeVarint(index);
+				}
+			}
+			else if( pValue instanceof Integer integer )
+			{
+				writeVarint(TAG_INTEGER);
+				writeVarint((integer << 1) ^ (integer >> 31));
+			}
+			else
+			{
+				assert pValue instanceof Boolean;
+				writeVarint((Boolean) pValue ? TAG_TRUE : TAG_FALSE);
+			}
+		}
+
+		void writeString(String pString)
+		{
+			byte[] bytes = pString.getBytes(StandardCharsets.UTF_8);
+			writeVarint(bytes.length);
+			aOutput.write(bytes, 0, bytes.length);
+		}
+
+		/* Writes the seven low-order bits first, with the high bit set on all bytes but the last. */
+		void writeVarint(int pValue)
+		{
+			int value = pValue;
+			while( (value & ~0x7F) != 0 )
+			{
+				aOutput.write((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			aOutput.write(value);
+		}
+	}
+
+	/*
+	 * Reads values from a binary form, checking that every length and
+	 * index is within bounds.
+	 */
+	private static final class Reader
+	{
+		private static final int MAXIMUM_VARINT_BYTES = 5;
+
+		private final byte[] aBytes;
+		private final List<String> aTable = new ArrayList<>();
+		private int aPosition = MAGIC.length;
+
+		Reader(byte[] pBytes)
+		{
+			aBytes = pBytes;
+		}
+
+		JsonObject readObject()
+		{
+			JsonObject object = new JsonObject();
+			int size = readCount();
+			for( int i = 0; i < size; i++ )
+			{
+				String name = readTableString();
+				object.put(name, readValue());
+			}
+			return object;
+		}
+
+		private Object readValue()
+		{
+			int tag = readTag();
+			switch( tag )
+			{
+			case TAG_OBJECT:
+				return readObject();
+			case TAG_ARRAY:
+				int size = readCount();
+				JsonArray array = new JsonArray();
+				for( int i = 0; i < size; i++ )
+				{
+					array.add(readValue());
+				}
+				return array;
+			case TAG_STRING:
+				return readString();
+			case TAG_STRING_REFERENCE:
+				return readTableString();
+			case TAG_INTEGER:
+				int value = readVarint();
+				return (value >>> 1) ^ -(value & 1);
+			case TAG_TRUE:
+				return true;
+			case TAG_FALSE:
+				return false;
+			default:
+				throw new DeserializationException(Category.SYNTACTIC, "Invalid value tag " + tag);
+			}
+		}
+
+		int readTag()
+		{
+			return readVarint();
+		}
+
+		String readString()
+		{
+			int length = readCount();
+			String result = new String(aBytes, aPosition, length, StandardCharsets.UTF_8);
+			aPosition += length;
+			return result;
+		}
+
+		private String readTableString()
+		{
+			int index = readVarint();
+			if( index < 0 || index >= aTable.size() )
+			{
+				throw new DeserializationException(Category.SYNTACTIC, "Invalid string table index " + index);
+			}
+			return aTable.get(index);
+		}
+
+		/*
+		 * Reads a number of bytes or elements, which cannot exceed the number of bytes
+		 * remaining, since every element takes at least one byte.
+		 */
+		int readCount()
+		{
+			int count = readVarint();
+			if( count < 0 || count > aBytes.length - aPosition )
+			{
+				throw new DeserializationException(Category.SYNTACTIC, "Invalid length " + count);
+			}
+			return count;
+		}
+
+		int readVarint()
+		{
+			int result = 0;
+			for( int i = 0; i < MAXIMUM_VARINT_BYTES; i++ )
+			{
+				if( aPosition >= aBytes.length )
+				{
+					throw new DeserializationException(Category.SYNTACTIC, "Unexpected end of data");
+				}
+				int next = aBytes[aPosition++];
+				result |= (next & 0x7F) << (7 * i);
+				if( (next & 0x80) == 0 )
+				{
+					return result;
+				}
+			}
+			throw new DeserializationException(Category.SYNTACTIC, "Invalid varint");
+		}
+	}
+}
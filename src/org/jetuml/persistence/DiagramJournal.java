@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.persistence.DeserializationException.Category;
+import org.jetuml.persistence.json.JsonArray;
+import org.jetuml.persistence.json.JsonException;
+import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonParser;
+import org.jetuml.rendering.LayoutHints;
+
+/**
+ * Saves a diagram incrementally, by appending to a journal file stored next to
+ * the diagram file only the encoding of the nodes and edges that changed since the
+ * last save. When the journal becomes large compared to the encoding of the diagram,
+ * the next save rewrites the complete diagram file and deletes the journal. The
+ * encoding is used rather than the diagram file because a compressed file is much
+ * smaller than the uncompressed journal.
+ *
+ * The journal is a text file with one JSON object per line. Each object records
+ * the number of nodes and edges in the diagram after the save, and the encoding
+ * of each node and edge that changed, indexed by its position in the "nodes" and
+ * "edges" arrays of the diagram file. Because nodes are identified by their position,
+ * adding or removing a node can change the encoding of the nodes that follow it.
+ * If the diagram is saved with its layout, the record also includes the layout cache,
+ * which replaces the one of the diagram file. A layout cache that no longer corresponds
+ * to the diagram is ignored when the diagram is read.
+ *
+ * Objects of this class keep the encoding of the last version saved,
+ * and should be used for a single file.
+ */
+public final class DiagramJournal
+{
+	/**
+	 * The extension appended to the name of a diagram file to obtain the name of its journal.
+	 */
+	public static final String EXTENSION = ".journal";
+
+	private static final String PROPERTY_NODES = "nodes";
+	private static final String PROPERTY_EDGES = "edges";
+	private static final String PROPERTY_NODE_COUNT = "nodeCount";
+	private static final String PROPERTY_EDGE_COUNT = "edgeCount";
+
+	/* The journal is compacted when its size exceeds the size of the diagram encoding divided by this value. */
+	private static final int COMPACTION_RATIO = 2;
+
+	private final File aFile;
+	private final File aJournal;
+	private List<String> aNodes = new ArrayList<>();
+	private List<String> aEdges = new ArrayList<>();
+	private boolean aSynchronized = false;
+
+	/**
+	 * Creates a journal for pFile. Until a first save, the content of
+	 * the file is unknown to the journal, so the first save will be complete.
+	 *
+	 * @param pFile The diagram file.
+	 * @pre pFile != null
+	 */
+	public DiagramJournal(File pFile)
+	{
+		assert pFile != null;
+		aFile = pFile;
+		aJournal = journalFor(pFile);
+	}
+
+	/**
+	 * @param pFile A diagram file.
+	 * @return The journal file that corresponds to pFile. The file may not exist.
+	 * @pre pFile != null
+	 */
+	public static File journalFor(File pFile)
+	{
+		assert pFile != null;
+		return new File(pFile.getPath() + EXTENSION);
+	}
+
+	/**
+	 * Saves pDiagram, either by appending the changes since the last save to the
+	 * journal, or by rewriting the complete diagram file if this is the first save
+	 * or the journal has become too large.
+	 *
+	 * @param pDiagram The diagram to save.
+	 * @throws IOException If there is a problem writing the files.
+	 * @pre pDiagram != null
+	 */
+	public void save(Diagram pDiagram) throws IOException
+	{
+		assert pDiagram != null;
+		save(JsonEncoder.encode(pDiagram));
+	}
+	
+	/**
+	 * Saves pDiagram with a cache of its layout, either by appending the changes since 
+	 * the last save and the layout cache to the journal, or by rewriting the complete 
+	 * diagram file if this is the first save or the journal has become too large.
+	 *
+	 * @param pDiagram The diagram to save.
+	 * @param pLayoutHints The layout computed for pDiagram.
+	 * @throws IOException If there is a problem writing the files.
+	 * @pre pDiagram != null && pLayoutHints != null
+	 */
+	public void save(Diagram pDiagram, LayoutHints pLayoutHints) throws IOException
+	{
+		assert pDiagram != null && pLayoutHints != null;
+		save(JsonEncoder.encode(pDiagram, pLayoutHints));
+	}
+	
+	private void save(JsonObject pEncoding) throws IOException
+	{
+		JsonArray nodeEncodings = pEncoding.getJsonArray(PROPERTY_NODES);
+		JsonArray edgeEncodings = pEncoding.getJsonArray(PROPERTY_EDGES);
+		List<String> nodes = toStrings(nodeEncodings);
+		List<String> edges = toStrings(edgeEncodings);
+		if( !aSynchronized || !aFile.exists() || aJournal.length() > pEncoding.toString().length() / COMPACTION_RATIO )
+		{
+			PersistenceService.save(pEncoding, aFile);
+		}
+		else
+		{
+			JsonObject record = new JsonObject();
+			record.put(PROPERTY_NODE_COUNT, nodes.size());
+			record.put(PROPERTY_EDGE_COUNT, edges.size());
+			record.put(PROPERTY_NODES, diff(aNodes, nodes, nodeEncodings));
+			record.put(PROPERTY_EDGES, diff(aEdges, edges, edgeEncodings));
+			if( pEncoding.hasProperty(JsonEncoder.PROPERTY_LAYOUT) )
+			{
+				record.put(JsonEncoder.PROPERTY_LAYOUT, pEncoding.getJsonObject(JsonEncoder.PROPERTY_LAYOUT));
+			}
+			try( Writer out = new OutputStreamWriter(new FileOutputStream(aJournal, true), StandardCharsets.UTF_8) )
+			{
+				out.write(record.toString());
+				out.write('\n');
+			}
+		}
+		aNodes = nodes;
+		aEdges = edges;
+		aSynchronized = true;
+	}
+
+	/**
+	 * Applies the records of the journal that corresponds to pFile, if any, to pEncoding.
+	 * A last record that cannot be parsed is ignored, as it may have been only partially written.
+	 *
+	 * @param pEncoding The content of pFile.
+	 * @param pFile The diagram file.
+	 * @return The encoding of the diagram as it was last saved.
+	 * @throws IOException If the journal exists but cannot be read.
+	 * @throws DeserializationException If the journal is not well-formed.
+	 * @pre pEncoding != null && pFile != null
+	 */
+	public static JsonObject replay(JsonObject pEncoding, File pFile) throws IOException
+	{
+		assert pEncoding != null && pFile != null;
+		File journal = journalFor(pFile);
+		if( !journal.exists() )
+		{
+			return pEncoding;
+		}
+		List<String> lines = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+		try
+		{
+			List<Object> nodes = toList(pEncoding.getJsonArray(PROPERTY_NODES));
+			List<Object> edges = toList(pEncoding.getJsonArray(PROPERTY_EDGES));
+			for( int i = 0; i < lines.size(); i++ )
+			{
+				JsonObject record;
+				try
+				{
+					record = JsonParser.parse(lines.get(i));
+				}
+				catch(JsonException exception)
+				{
+					if( i == lines.size() - 1 )
+					{
+						break;
+					}
+					throw new DeserializationException(Category.SYNTACTIC, exception.getMessage());
+				}
+				apply(nodes, record.getInt(PROPERTY_NODE_COUNT), record.getJsonObject(PROPERTY_NODES));
+				apply(edges, record.getInt(PROPERTY_EDGE_COUNT), record.getJsonObject(PROPERTY_EDGES));
+				if( record.hasProperty(JsonEncoder.PROPERTY_LAYOUT) )
+				{
+					pEncoding.put(JsonEncoder.PROPERTY_LAYOUT, record.getJsonObject(JsonEncoder.PROPERTY_LAYOUT));
+				}
+			}
+			pEncoding.put(PROPERTY_NODES, new JsonArray(nodes));
+			pEncoding.put(PROPERTY_EDGES, new JsonArray(edges));
+			return pEncoding;
+		}
+		catch(JsonException | NumberFormatException exception)
+		{
+			throw new DeserializationException(Category.STRUCTURAL, "Invalid journal: " + exception.getMessage());
+		}
+	}
+
+	private static List<String> toStrings(JsonArray pElements)
+	{
+		List<String> result = new ArrayList<>(pElements.size());
+		pElements.forEach(element -> result.add(element.toString()));
+		return result;
+	}
+
+	/*
+	 * Returns an object that maps the index of each element in pNew
+	 * that is different from the element at the same index in pOld to
+	 * the encoding of that element, obtained from pEncodings.
+	 */
+	private static JsonObject diff(List<String> pOld, List<String> pNew, JsonArray pEncodings)
+	{
+		JsonObject result = new JsonObject();
+		for( int i = 0; i < pNew.size(); i++ )
+		{
+			if( i >= pOld.size() || !pOld.get(i).equals(pNew.get(i)) )
+			{
+				result.put(Integer.toString(i), pEncodings.get(i));
+			}
+		}
+		return result;
+	}
+
+	private static List<Object> toList(JsonArray pArray)
+	{
+		List<Object> result = new ArrayList<>(pArray.size());
+		pArray.forEach(result::add);
+		return result;
+	}
+
+	private static void apply(List<Object> pElements, int pCount, JsonObject pChanges)
+	{
+		while( pElements.size() > pCount )
+		{
+			pElements.remove(pElements.size() - 1);
+		}
+		while( pElements.size() < pCount )
+		{
+			pElements.add(null);
+		}
+		for( String index : pChanges.properties() )
+		{
+			int position = Integer.parseInt(index);
+			if( position < 0 || position >= pCount )
+			{
+				throw new JsonException("Element index out of bounds: " + index);
+			}
+			pElements.set(position, pChanges.getJsonObject(index));
+		}
+		if( pElements.contains(null) )
+		{
+			throw new JsonException("Missing element");
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import java.io.File;
+
+import org.jetuml.diagram.Diagram;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event for the saving of a diagram in a file, 
+ * with the duration of each phase of the saving. An event is only committed
+ * for the files that are saved successfully.
+ */
+@Name("org.jetuml.DiagramSave")
+@Label("Save Diagram")
+@Category({"JetUML", "Persistence"})
+@Description("Saving of a diagram in a file")
+@StackTrace(false)
+final class DiagramSaveEvent extends Event
+{
+	@Name("file")
+	@Label("File")
+	private String aFile;
+	
+	@Name("bytes")
+	@Label("Bytes")
+	@DataAmount
+	private long aBytes;
+	
+	@Name("elements")
+	@Label("Elements")
+	private int aElements;
+	
+	@Name("encodeDuration")
+	@Label("Encode Duration")
+	@Timespan
+	private long aEncodeDuration;
+	
+	@Name("writeDuration")
+	@Label("Write Duration")
+	@Timespan
+	private long aWriteDuration;
+	
+	private transient long aPhaseStart = System.nanoTime();
+	
+	/**
+	 * Marks the end of the encoding of the diagram.
+	 */
+	void encoded()
+	{
+		aEncodeDuration = endPhase();
+	}
+	
+	/**
+	 * Marks the end of the writing of the file.
+	 */
+	void written()
+	{
+		aWriteDuration = endPhase();
+	}
+	
+	private long endPhase()
+	{
+		long now = System.nanoTime();
+		long duration = now - aPhaseStart;
+		aPhaseStart = now;
+		return duration;
+	}
+	
+	/**
+	 * Ends this event and commits it for pDiagram, saved in pFile, 
+	 * if it is enabled and lasted longer than its threshold.
+	 * 
+	 * @param pFile The file written.
+	 * @param pDiagram The diagram saved.
+	 * @pre pFile != null && pDiagram != null
+	 */
+	void commit(File pFile, Diagram pDiagram)
+	{
+		assert pFile != null && pDiagram != null;
+		end();
+		if( shouldCommit() )
+		{
+			aFile = pFile.getPath();
+			aBytes = pFile.length();
+			aElements = pDiagram.allNodes().size() + pDiagram.edges().size();
+			commit();
+		}
+	}
+}
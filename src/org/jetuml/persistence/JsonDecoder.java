@@ -20,6 +20,11 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import org.jetuml.application.Version;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
@@ -27,10 +32,13 @@ import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.Property;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
 import org.jetuml.persistence.DeserializationException.Category;
 import org.jetuml.persistence.json.JsonArray;
 import org.jetuml.persistence.json.JsonException;
 import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.rendering.EdgePath;
+import org.jetuml.rendering.LayoutHints;
 
 /**
  * Converts a JSONObject to a diagram. Instances of this class are intended to be
@@ -102,6 +110,77 @@ public final class JsonDecoder
 		}
 	}
 	
+	/**
+	 * Decodes the layout cache saved with the diagram, if there is one and 
+	 * it corresponds to the diagram and the current font. Because the layout
+	 * can always be recomputed, a layout cache that cannot be decoded is ignored.
+	 * 
+	 * @return The layout hints for the decoded diagram, if available.
+	 * @pre decode() has returned normally.
+	 */
+	public Optional<LayoutHints> decodeLayoutHints()
+	{
+		assert aContext != null;
+		if( !aInputObject.hasProperty(JsonEncoder.PROPERTY_LAYOUT) )
+		{
+			return Optional.empty();
+		}
+		try
+		{
+			JsonObject layout = aInputObject.getJsonObject(JsonEncoder.PROPERTY_LAYOUT);
+			if( !layout.getString(JsonEncoder.PROPERTY_HASH).equals(JsonEncoder.contentHash(aInputObject)) )
+			{
+				return Optional.empty();
+			}
+			JsonArray bounds = layout.getJsonArray(JsonEncoder.PROPERTY_BOUNDS);
+			if( bounds.size() != 4 )
+			{
+				return Optional.empty();
+			}
+			Map<Edge, EdgePath> edgePaths = new IdentityHashMap<>();
+			if( layout.hasProperty(JsonEncoder.PROPERTY_EDGE_PATHS) )
+			{
+				JsonArray paths = layout.getJsonArray(JsonEncoder.PROPERTY_EDGE_PATHS);
+				List<Edge> edges = aContext.diagram().edges();
+				if( paths.size() != edges.size() )
+				{
+					return Optional.empty();
+				}
+				for( int i = 0; i < paths.size(); i++ )
+				{
+					JsonArray coordinates = paths.getJsonArray(i);
+					if( coordinates.size() > 0 )
+					{
+						edgePaths.put(edges.get(i), decodeEdgePath(coordinates));
+					}
+				}
+			}
+			return Optional.of(new LayoutHints(new Rectangle(bounds.getInt(0), bounds.getInt(1), 
+					bounds.getInt(2), bounds.getInt(3)), edgePaths));
+		}
+		catch(JsonException | IllegalArgumentException exception)
+		{
+			return Optional.empty();
+		}
+	}
+	
+	/*
+	 * @throws IllegalArgumentException if pCoordinates do not describe at least two points.
+	 */
+	private static EdgePath decodeEdgePath(JsonArray pCoordinates)
+	{
+		if( pCoordinates.size() < 4 || pCoordinates.size() % 2 != 0 )
+		{
+			throw new IllegalArgumentException("Invalid edge path");
+		}
+		Point[] points = new Point[pCoordinates.size() / 2];
+		for( int i = 0; i < points.length; i++ )
+		{
+			points[i] = new Point(pCoordinates.getInt(2 * i), pCoordinates.getInt(2 * i + 1));
+		}
+		return new EdgePath(points);
+	}
+	
 	private void extractVersion()
 	{
 		try
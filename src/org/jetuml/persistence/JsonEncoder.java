@@ -20,14 +20,31 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
 import org.jetuml.JetUML;
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.IntegerPreference;
+import org.jetuml.application.UserPreferences.StringPreference;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.Properties;
 import org.jetuml.diagram.Property;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
 import org.jetuml.persistence.json.JsonArray;
 import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonWriter;
+import org.jetuml.rendering.EdgePath;
+import org.jetuml.rendering.LayoutHints;
 
 /**
  * Converts a graph to JSON notation. The notation includes:
@@ -35,9 +52,19 @@ import org.jetuml.persistence.json.JsonObject;
  * * The graph type
  * * An array of node encodings
  * * An array of edge encodings
+ * * Optionally, a cache of the layout of the diagram
+ * 
+ * The layout cache includes a hash of the node and edge encodings and of the
+ * font used to compute the layout, so that a cache that does not correspond
+ * to the diagram, for example because the file was edited by hand, is ignored.
  */
 public final class JsonEncoder
 {
+	static final String PROPERTY_LAYOUT = "layout";
+	static final String PROPERTY_HASH = "hash";
+	static final String PROPERTY_BOUNDS = "bounds";
+	static final String PROPERTY_EDGE_PATHS = "edgePaths";
+	
 	private JsonEncoder() {}
 	
 	/**
@@ -57,6 +84,103 @@ public final class JsonEncoder
 		return object;
 	}
 	
+	/**
+	 * @param pDiagram The diagram to serialize.
+	 * @param pLayoutHints The layout computed for pDiagram.
+	 * @return A JSON object that encodes the diagram, with a cache of its layout.
+	 * @pre pDiagram != null && pLayoutHints != null
+	 */
+	public static JsonObject encode(Diagram pDiagram, LayoutHints pLayoutHints)
+	{
+		assert pDiagram != null && pLayoutHints != null;
+		JsonObject object = encode(pDiagram);
+		JsonObject layout = new JsonObject();
+		layout.put(PROPERTY_HASH, contentHash(object));
+		Rectangle bounds = pLayoutHints.bounds();
+		layout.put(PROPERTY_BOUNDS, new JsonArray(List.of(bounds.x(), bounds.y(), bounds.width(), bounds.height())));
+		if( !pLayoutHints.edgePaths().isEmpty() )
+		{
+			JsonArray edgePaths = new JsonArray();
+			for( Edge edge : pDiagram.edges() )
+			{
+				edgePaths.add(encodeEdgePath(pLayoutHints.edgePath(edge)));
+			}
+			layout.put(PROPERTY_EDGE_PATHS, edgePaths);
+		}
+		object.put(PROPERTY_LAYOUT, layout);
+		return object;
+	}
+	
+	/* A path is encoded as the coordinates of its points, and a missing path as an empty array. */
+	private static JsonArray encodeEdgePath(Optional<EdgePath> pPath)
+	{
+		JsonArray coordinates = new JsonArray();
+		pPath.ifPresent(path -> 
+		{
+			for( Point point : path )
+			{
+				coordinates.add(point.x());
+				coordinates.add(point.y());
+			}
+		});
+		return coordinates;
+	}
+	
+	/*
+	 * Returns a hash of the nodes and edges of pEncoding and of the current font. 
+	 * The properties of objects are hashed in alphabetical order, so that the 
+	 * hash does not depend on the order in which they were added.
+	 */
+	static String contentHash(JsonObject pEncoding)
+	{
+		StringBuilder content = new StringBuilder();
+		appendCanonical(pEncoding.get("nodes"), content);
+		appendCanonical(pEncoding.get("edges"), content);
+		content.append(UserPreferences.instance().getString(StringPreference.fontName));
+		content.append(':').append(UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+		}
+		catch(NoSuchAlgorithmException exception)
+		{
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(exception);
+		}
+	}
+	
+	private static void appendCanonical(Object pValue, StringBuilder pContent)
+	{
+		if( pValue instanceof JsonObject object )
+		{
+			List<String> names = new ArrayList<>(object.properties());
+			Collections.sort(names);
+			pContent.append('{');
+			for( String name : names )
+			{
+				pContent.append(JsonWriter.write(name)).append(':');
+				appendCanonical(object.get(name), pContent);
+				pContent.append(',');
+			}
+			pContent.append('}');
+		}
+		else if( pValue instanceof JsonArray array )
+		{
+			pContent.append('[');
+			for( Object element : array )
+			{
+				appendCanonical(element, pContent);
+				pContent.append(',');
+			}
+			pContent.append(']');
+		}
+		else
+		{
+			pContent.append(JsonWriter.write(pValue));
+		}
+	}
+	
 	private static JsonArray encodeNodes(SerializationContext pContext)
 	{
 		JsonArray nodes = new JsonArray();
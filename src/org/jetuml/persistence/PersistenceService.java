@@ -20,29 +20,47 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import org.jetuml.application.FileExtensions;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.validator.DiagramValidator;
 import org.jetuml.diagram.validator.Violation;
 import org.jetuml.persistence.DeserializationException.Category;
 import org.jetuml.persistence.json.JsonException;
+import org.jetuml.persistence.json.JsonObject;
 import org.jetuml.persistence.json.JsonParser;
+import org.jetuml.persistence.json.JsonWriter;
+import org.jetuml.rendering.LayoutHints;
 
 /**
  * Services for saving and loading Diagram objects. The files are encoded
- * in UTF-8.
+ * in UTF-8. Files in the binary form of BinaryFormat can also be loaded.
+ * Files with the compressed extension of FileExtensions are compressed with gzip
+ * on the fly, without holding their content in memory.
  */
 public final class PersistenceService
 {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
 	private PersistenceService() {}
 	
 	/**
@@ -57,15 +75,60 @@ public final class PersistenceService
 	public static void save(Diagram pDiagram, File pFile) throws IOException
 	{
 		assert pDiagram != null && pFile != null;
-		try( PrintWriter out = new PrintWriter(
-				new OutputStreamWriter(new FileOutputStream(pFile), StandardCharsets.UTF_8)))
+		save(pDiagram, () -> JsonEncoder.encode(pDiagram), pFile);
+	}
+	
+	/**
+     * Saves the current diagram in a file, with a cache of its layout
+     * that speeds up opening the file.
+     * 
+     * @param pDiagram The diagram to save
+     * @param pLayoutHints The layout computed for pDiagram
+     * @param pFile The file in which to save the diagram
+     * @throws IOException If there is a problem writing to pFile.
+     * @pre pDiagram != null && pLayoutHints != null && pFile != null
+     */
+	public static void save(Diagram pDiagram, LayoutHints pLayoutHints, File pFile) throws IOException
+	{
+		assert pDiagram != null && pLayoutHints != null && pFile != null;
+		save(pDiagram, () -> JsonEncoder.encode(pDiagram, pLayoutHints), pFile);
+	}
+	
+	/*
+	 * Encodes pDiagram with pEncoder and writes the encoding in pFile, recording
+	 * the duration of each phase in a DiagramSaveEvent.
+	 */
+	private static void save(Diagram pDiagram, Supplier<JsonObject> pEncoder, File pFile) throws IOException
+	{
+		DiagramSaveEvent event = new DiagramSaveEvent();
+		event.begin();
+		JsonObject encoding = pEncoder.get();
+		event.encoded();
+		save(encoding, pFile);
+		event.written();
+		event.commit(pFile, pDiagram);
+	}
+	
+	/*
+	 * Writes the encoding of a diagram in a file. Because the file then contains
+	 * the complete diagram, any journal of changes to a previous version of the 
+	 * file is deleted.
+	 */
+	static void save(JsonObject pEncoding, File pFile) throws IOException
+	{
+		try( OutputStream file = new FileOutputStream(pFile);
+			 OutputStream output = FileExtensions.isCompressed(pFile) ? new GZIPOutputStream(file, BUFFER_SIZE) : file;
+			 Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE) )
 		{
-			out.println(JsonEncoder.encode(pDiagram).toString());
+			JsonWriter.write(pEncoding, out);
+			out.write(System.lineSeparator());
 		}
+		Files.deleteIfExists(DiagramJournal.journalFor(pFile).toPath());
 	}
 	
 	/**
-	 * Reads a diagram from a file.
+	 * Reads a diagram from a file. If changes to the file were saved 
+	 * in a journal, they are applied to the diagram.
 	 * 
 	 * @param pFile The file to read the diagram from.
 	 * @return The diagram that is read in
@@ -75,13 +138,35 @@ public final class PersistenceService
 	 */
 	public static Diagram read(File pFile) throws IOException, DeserializationException
 	{
-		assert pFile != null;
+		return read(pFile, hints -> {});
+	}
+	
+	/**
+	 * Reads a diagram from a file, as well as the layout cache saved
+	 * with the diagram, if it is still valid.
+	 * 
+	 * @param pFile The file to read the diagram from.
+	 * @param pLayoutHints Receives the layout hints for the diagram, if available.
+	 * @return The diagram that is read in
+	 * @throws IOException if the diagram cannot be read.
+	 * @throws DeserializationException if there is a problem decoding the file.
+	 * @pre pFile != null && pLayoutHints != null
+	 */
+	public static Diagram read(File pFile, Consumer<LayoutHints> pLayoutHints) throws IOException, DeserializationException
+	{
+		assert pFile != null && pLayoutHints != null;
 		try
 		{
-			String inputLine = Files.readString(pFile.toPath(), StandardCharsets.UTF_8);
-			Diagram diagram = new JsonDecoder(JsonParser.parse(inputLine)).decode();
+			DiagramReadEvent event = new DiagramReadEvent();
+			event.begin();
+			JsonObject encoding = DiagramJournal.replay(parse(pFile), pFile);
+			event.parsed();
+			JsonDecoder decoder = new JsonDecoder(encoding);
+			Diagram diagram = decoder.decode();
+			event.decoded();
 			DiagramValidator validator = DiagramType.newValidatorInstanceFor(diagram);
 			Optional<Violation> violation = validator.validate();
+			event.validated();
 			if( violation.isPresent() )
 			{
 				if(violation.get().isStructural())
@@ -93,6 +178,8 @@ public final class PersistenceService
 					throw new DeserializationException(Category.SEMANTIC, "Diagram has invalid semantics");
 				}
 			}
+			decoder.decodeLayoutHints().ifPresent(pLayoutHints);
+			event.commit(pFile, diagram);
 			return diagram;
 		}
 		catch(JsonException exception)
@@ -100,4 +187,25 @@ public final class PersistenceService
 			throw new DeserializationException(Category.SYNTACTIC, exception.getMessage());
 		}
 	}
+	
+	/*
+	 * Binary files are recognized by their header. Text files are parsed as
+	 * they are read.
+	 */
+	private static JsonObject parse(File pFile) throws IOException
+	{
+		try( InputStream file = new FileInputStream(pFile);
+			 InputStream input = FileExtensions.isCompressed(pFile) ? new GZIPInputStream(file, BUFFER_SIZE) : file;
+			 BufferedInputStream in = new BufferedInputStream(input, BUFFER_SIZE) )
+		{
+			in.mark(BinaryFormat.HEADER_SIZE);
+			byte[] header = in.readNBytes(BinaryFormat.HEADER_SIZE);
+			in.reset();
+			if( BinaryFormat.isBinary(header) )
+			{
+				return BinaryFormat.toJson(in.readAllBytes());
+			}
+			return JsonParser.parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+		}
+	}
 }
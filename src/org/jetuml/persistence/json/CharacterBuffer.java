@@ -21,6 +21,11 @@ package org.jetuml.persistence.json;
 
 import static java.lang.Character.isWhitespace;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
 /**
  * A sequence of characters with a current position, to facilitate processing
  * character input. Client code is expected to only invoke valid operations,
@@ -30,10 +35,19 @@ import static java.lang.Character.isWhitespace;
  * The position of a character buffer corresponds to the position of the last
  * character read. This position is initialized at -1. A character buffer is
  * only expected to be traversed once.
+ * 
+ * The characters can be supplied by a reader, in which case they are read
+ * in chunks as they are needed, and only the characters from the current 
+ * position onwards are kept in memory.
  */
 class CharacterBuffer
 {
-	private final String aCharacters;
+	private static final int CHUNK_SIZE = 8192;
+	
+	private final Reader aReader; // Null if all characters are in aCharacters
+	private char[] aCharacters;
+	private int aOffset = 0; // The position of aCharacters[0]
+	private int aLength; // The number of characters in aCharacters
 	private int aPosition = -1;
 
 	/**
@@ -45,7 +59,78 @@ class CharacterBuffer
 	CharacterBuffer(String pInput)
 	{
 		assert pInput != null;
-		aCharacters = pInput;
+		aReader = null;
+		aCharacters = pInput.toCharArray();
+		aLength = aCharacters.length;
+	}
+	
+	/**
+	 * Creates a new CharacterBuffer with no character read, whose
+	 * characters are obtained from pInput. The reader is not closed.
+	 * 
+	 * @param pInput The reader that supplies the character sequence.
+	 * @pre pInput != null
+	 */
+	CharacterBuffer(Reader pInput)
+	{
+		assert pInput != null;
+		aReader = pInput;
+		aCharacters = new char[CHUNK_SIZE];
+		aLength = 0;
+	}
+	
+	/*
+	 * Returns true if there is a character at pPosition, reading characters 
+	 * from the reader if necessary.
+	 * 
+	 * @throws UncheckedIOException If the reader throws an IOException
+	 */
+	private boolean isAvailable(int pPosition)
+	{
+		while( pPosition >= aOffset + aLength && aReader != null )
+		{
+			if( !fill() )
+			{
+				return false;
+			}
+		}
+		return pPosition < aOffset + aLength;
+	}
+	
+	/*
+	 * Discards the characters before the current position, which are no
+	 * longer needed, and appends the next chunk of characters from the reader.
+	 * Returns false if the reader has no more characters.
+	 */
+	private boolean fill()
+	{
+		int discarded = Math.max(aPosition, 0) - aOffset;
+		System.arraycopy(aCharacters, discarded, aCharacters, 0, aLength - discarded);
+		aLength -= discarded;
+		aOffset += discarded;
+		if( aLength == aCharacters.length )
+		{
+			aCharacters = Arrays.copyOf(aCharacters, aCharacters.length * 2);
+		}
+		try
+		{
+			int read = aReader.read(aCharacters, aLength, aCharacters.length - aLength);
+			if( read < 0 )
+			{
+				return false;
+			}
+			aLength += read;
+			return true;
+		}
+		catch(IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+	}
+	
+	private char charAt(int pPosition)
+	{
+		return aCharacters[pPosition - aOffset];
 	}
 
 	/**
@@ -53,7 +138,7 @@ class CharacterBuffer
 	 */
 	boolean hasMore()
 	{
-		return aPosition + 1 < aCharacters.length();
+		return isAvailable(aPosition + 1);
 	}
 
 	/**
@@ -72,7 +157,7 @@ class CharacterBuffer
 	boolean hasMore(int pNumberOfCharacters)
 	{
 		assert pNumberOfCharacters > 0;
-		return aPosition + pNumberOfCharacters < aCharacters.length();
+		return isAvailable(aPosition + pNumberOfCharacters);
 	}
 
 	/**
@@ -115,7 +200,7 @@ class CharacterBuffer
 	{
 		assert hasMore();
 		aPosition++;
-		return aCharacters.charAt(aPosition);
+		return charAt(aPosition);
 	}
 
 	/**
@@ -125,15 +210,15 @@ class CharacterBuffer
 	 */
 	boolean isNext(char pCharacter)
 	{
-		return hasMore() && aCharacters.charAt(aPosition + 1) == pCharacter;
+		return hasMore() && charAt(aPosition + 1) == pCharacter;
 	}
 
 	@Override
 	public String toString()
 	{
-		if(aPosition >= 0 && aPosition < aCharacters.length())
+		if(aPosition >= aOffset && aPosition < aOffset + aLength)
 		{
-			return String.format("At position %d [%s]", aPosition, aCharacters.charAt(aPosition));
+			return String.format("At position %d [%s]", aPosition, charAt(aPosition));
 		}
 		else if(aPosition < 0)
 		{
@@ -19,6 +19,10 @@
  *******************************************************************************/
 package org.jetuml.persistence.json;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
 /**
  * Attempts to parse an input text assumed to be in JSON notation
  * into a JsonObject. This implementation supports only a subset of the ECMA-404 2nd
@@ -42,4 +46,25 @@ public final class JsonParser
     {
     	return PARSER.parse(new ParsableCharacterBuffer(pInput));
     }
+    
+    /**
+     * Parses the characters supplied by a reader into a JsonObject. The characters 
+     * are read as they are parsed, so the input is never held in memory as a whole.
+     * The reader is not closed.
+     * 
+     * @param pInput The reader that supplies the input, in JSON.
+     * @return The JsonObject represented by the input.
+     * @throws IOException If the reader cannot be read.
+     */
+    public static JsonObject parse(Reader pInput) throws IOException
+    {
+    	try
+    	{
+    		return PARSER.parse(new ParsableCharacterBuffer(pInput));
+    	}
+    	catch(UncheckedIOException exception)
+    	{
+    		throw exception.getCause();
+    	}
+    }
 }
@@ -19,6 +19,8 @@
  *******************************************************************************/
 package org.jetuml.persistence.json;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -52,4 +54,55 @@ public final class JsonWriter
 		JsonValueValidator.validateType(pJsonValue);
 		return WRITERS.get(pJsonValue.getClass()).apply(pJsonValue);
 	}
+	
+	/**
+	 * Writes a value to pOutput, in the same form as write(Object), but
+	 * without building the text of objects and arrays in memory.
+	 * 
+	 * @param pJsonValue A value to serialize.
+	 * @param pOutput The writer to write the value to. It is not closed.
+	 * @throws IOException If the value cannot be written to pOutput.
+	 * @throws JsonException if pJsonValue is null or not a reference 
+	 * to a valid instance of a JSON value.
+	 * @pre pOutput != null
+	 */
+	public static void write(Object pJsonValue, Writer pOutput) throws IOException
+	{
+		assert pOutput != null;
+		JsonValueValidator.validateType(pJsonValue);
+		if( pJsonValue instanceof JsonObject object )
+		{
+			pOutput.write('{');
+			boolean first = true;
+			for( String property : object.properties() )
+			{
+				if( !first )
+				{
+					pOutput.write(',');
+				}
+				first = false;
+				pOutput.write(JsonStringParser.writeJsonString(property));
+				pOutput.write(':');
+				write(object.get(property), pOutput);
+			}
+			pOutput.write('}');
+		}
+		else if( pJsonValue instanceof JsonArray array )
+		{
+			pOutput.write('[');
+			for( int i = 0; i < array.size(); i++ )
+			{
+				if( i > 0 )
+				{
+					pOutput.write(',');
+				}
+				write(array.get(i), pOutput);
+			}
+			pOutput.write(']');
+		}
+		else
+		{
+			pOutput.write(write(pJsonValue));
+		}
+	}
 }
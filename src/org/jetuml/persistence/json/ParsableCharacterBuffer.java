@@ -19,6 +19,8 @@
  *******************************************************************************/
 package org.jetuml.persistence.json;
 
+import java.io.Reader;
+
 /**
  * An extension of CharacterBuffer that supports basic parsing operations.
  * In contrast to the CharacterBuffer, which has strict preconditions 
@@ -38,6 +40,17 @@ class ParsableCharacterBuffer extends CharacterBuffer
 		super(pInput);
 	}
 	
+	/**
+	 * Creates a new ParsableCharacterBuffer with no character read.
+	 * 
+	 * @param pInput The reader that supplies the character sequence.
+	 * @pre pInput != null
+	 */
+	ParsableCharacterBuffer(Reader pInput)
+	{
+		super(pInput);
+	}
+	
 	/**
 	 * Get the next character.
 	 *
@@ -19,6 +19,7 @@ package org.jetuml.rendering;
 
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 
 import org.jetuml.diagram.Diagram;
@@ -49,6 +50,8 @@ public abstract class AbstractDiagramRenderer implements DiagramRenderer
 {
 	private final IdentityHashMap<Class<? extends DiagramElement>, DiagramElementRenderer> aRenderers = new IdentityHashMap<>();
 	private final Diagram aDiagram;
+	private Optional<LayoutHints> aLayoutHints = Optional.empty(); // Discarded after the first rendering pass
+	private long aLayoutDuration = 0;
 	
 	/*
 	 * Add renderers for elements that are present in all diagrams. 
@@ -116,9 +119,71 @@ public abstract class AbstractDiagramRenderer implements DiagramRenderer
 				.or(() -> Optional.of(pNode).filter(originalNode -> contains(originalNode, pPoint)));
 	}
 
+	@Override
+	public void useLayoutHints(LayoutHints pHints)
+	{
+		assert pHints != null;
+		aLayoutHints = Optional.of(pHints);
+	}
+	
+	/*
+	 * By default, the layout is computed during each rendering pass.
+	 */
+	@Override
+	public void enableBackgroundLayout(Runnable pLayoutCompleted)
+	{
+		assert pLayoutCompleted != null;
+	}
+	
+	/**
+	 * @return The layout hints supplied for the diagram, if the first rendering 
+	 *     pass is not complete.
+	 */
+	protected final Optional<LayoutHints> layoutHints()
+	{
+		return aLayoutHints;
+	}
+	
+	/**
+	 * Discards the layout hints, once the layout has been computed
+	 * by a rendering pass.
+	 */
+	protected final void discardLayoutHints()
+	{
+		aLayoutHints = Optional.empty();
+	}
+	
+	/**
+	 * Records the time taken by a layout of the diagram.
+	 * 
+	 * @param pDuration The duration of the layout, in nanoseconds.
+	 * @pre pDuration >= 0
+	 */
+	protected final void layoutCompleted(long pDuration)
+	{
+		assert pDuration >= 0;
+		aLayoutDuration = pDuration;
+	}
+	
+	@Override
+	public long layoutDuration()
+	{
+		return aLayoutDuration;
+	}
+	
+	@Override
+	public LayoutHints getLayoutHints()
+	{
+		return new LayoutHints(getBounds(), Map.of());
+	}
+	
 	@Override
 	public Rectangle getBounds()
 	{
+		if( aLayoutHints.isPresent() )
+		{
+			return aLayoutHints.get().bounds();
+		}
 		Rectangle bounds = null;
 		for(Node node : aDiagram.rootNodes())
 		{
@@ -160,6 +225,7 @@ public abstract class AbstractDiagramRenderer implements DiagramRenderer
 		aDiagram.rootNodes().forEach(node -> drawNode(node, pContext));
 		aDiagram.edges().forEach(edge -> draw(edge, pContext));
 		deactivateAndClearNodeStorages();
+		discardLayoutHints();
 	}
 
 	@Override
@@ -20,8 +20,14 @@
  *******************************************************************************/
 package org.jetuml.rendering;
 
+import static org.jetuml.application.ApplicationResources.RESOURCES;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import org.jetuml.geom.Alignment;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.gui.ColorScheme;
@@ -38,6 +44,15 @@ public class AccessoriesRenderer
 	private static final Color SELECTION_COLOR = Color.rgb(77, 115, 153);
 	private static final Color SELECTION_FILL_COLOR = Color.rgb(173, 193, 214);
 	private static final Color SELECTION_FILL_TRANSPARENT = Color.rgb(173, 193, 214, 0.75);
+	private static final StringRenderer PERFORMANCE_TEXT = new StringRenderer(Alignment.LEFT);
+	private static final StringRenderer PERFORMANCE_LABEL = new StringRenderer(Alignment.CENTER);
+	private static final int PERFORMANCE_MARGIN = 10; // Between the canvas and the performance panel
+	private static final int PERFORMANCE_PADDING = 6; // Inside the performance panel
+	private static final int HISTOGRAM_HEIGHT = 40;
+	private static final int HISTOGRAM_BAR_GAP = 4;
+	private static final double PERFORMANCE_OPACITY = 0.85;
+	private static final double NANOS_PER_MILLI = 1_000_000;
+	private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
 	
 	private final RenderingContext aContext;
 	
@@ -118,6 +133,78 @@ public class AccessoriesRenderer
 		drawHandle(pBounds.x2(), pBounds.y2());
 	}
 	
+	/**
+	 * Draws a panel at the top left corner of the canvas, that shows the duration 
+	 * of the last paint and layout of the diagram, the number of elements drawn, the 
+	 * heap usage, and a histogram of the durations of the recent paints.
+	 * 
+	 * @param pStatistics The measurements to show.
+	 * @pre pStatistics != null && pStatistics.passes() > 0
+	 */
+	public void drawPerformance(PerformanceStatistics pStatistics)
+	{
+		assert pStatistics != null && pStatistics.passes() > 0;
+		List<String> lines = List.of(
+				String.format(RESOURCES.getString("performance.paint"), pStatistics.paintDuration() / NANOS_PER_MILLI),
+				String.format(RESOURCES.getString("performance.layout"), pStatistics.layoutDuration() / NANOS_PER_MILLI),
+				String.format(RESOURCES.getString("performance.elements"), pStatistics.nodes(), pStatistics.edges()),
+				String.format(RESOURCES.getString("performance.heap"), pStatistics.usedMemory() / BYTES_PER_MEGABYTE, 
+						pStatistics.maxMemory() / BYTES_PER_MEGABYTE),
+				String.format(RESOURCES.getString("performance.histogram"), PerformanceStatistics.window()));
+		List<String> labels = bucketLabels();
+		int barWidth = PERFORMANCE_LABEL.getDimension(labels.get(labels.size() - 1)).width() + HISTOGRAM_BAR_GAP;
+		int width = labels.size() * barWidth;
+		for( String line : lines )
+		{
+			width = Math.max(width, PERFORMANCE_TEXT.getDimension(line).width());
+		}
+		int lineHeight = PERFORMANCE_TEXT.lineHeight();
+		int textHeight = lines.size() * lineHeight;
+		Rectangle panel = new Rectangle(PERFORMANCE_MARGIN, PERFORMANCE_MARGIN, width + PERFORMANCE_PADDING * 2, 
+				textHeight + HISTOGRAM_HEIGHT + lineHeight + PERFORMANCE_PADDING * 2);
+		aContext.drawRectangle(panel, ColorScheme.get().background().deriveColor(0, 1, 1, PERFORMANCE_OPACITY), 
+				SELECTION_COLOR, Optional.empty());
+		int x = panel.x() + PERFORMANCE_PADDING;
+		int y = panel.y() + PERFORMANCE_PADDING;
+		PERFORMANCE_TEXT.draw(String.join("\n", lines), new Rectangle(x, y, width, textHeight), aContext);
+		drawHistogram(pStatistics.histogram(), labels, x, y + textHeight + HISTOGRAM_HEIGHT, barWidth);
+	}
+	
+	/*
+	 * Draws the bars of pHistogram with their bottom at pBaseY, and their labels below.
+	 */
+	private void drawHistogram(int[] pHistogram, List<String> pLabels, int pX, int pBaseY, int pBarWidth)
+	{
+		int highest = Math.max(1, Arrays.stream(pHistogram).max().getAsInt());
+		for( int bucket = 0; bucket < pHistogram.length; bucket++ )
+		{
+			int x = pX + bucket * pBarWidth;
+			int height = pHistogram[bucket] * HISTOGRAM_HEIGHT / highest;
+			if( height > 0 )
+			{
+				aContext.drawRectangle(new Rectangle(x + HISTOGRAM_BAR_GAP / 2, pBaseY - height, 
+						pBarWidth - HISTOGRAM_BAR_GAP, height), SELECTION_FILL_COLOR, SELECTION_COLOR, Optional.empty());
+			}
+			PERFORMANCE_LABEL.draw(pLabels.get(bucket), 
+					new Rectangle(x, pBaseY, pBarWidth, PERFORMANCE_LABEL.lineHeight()), aContext);
+		}
+	}
+	
+	/*
+	 * The upper bound of each bucket of the histogram, and the lower bound of the last one.
+	 */
+	private static List<String> bucketLabels()
+	{
+		int[] limits = PerformanceStatistics.bucketLimits();
+		List<String> labels = new ArrayList<>();
+		for( int limit : limits )
+		{
+			labels.add(Integer.toString(limit));
+		}
+		labels.add(limits[limits.length - 1] + "+");
+		return labels;
+	}
+	
 	/*
 	 * Draws a handle on pGraphics that is centered at the position
 	 * (pX, pY).
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.jetuml.diagram.Edge;
+import org.jetuml.rendering.edges.EdgeStorage;
+
+import javafx.application.Platform;
+
+/**
+ * Computes the layout of the edges of a diagram on a background thread, so that 
+ * rendering passes do not have to wait for it. 
+ * 
+ * Layouts are requested on the JavaFX application thread, with a copy of the geometry
+ * of the nodes and of the list of edges. The labels of the edges are copied when the
+ * layout is requested. A request that is identical to the previous one
+ * is ignored. Otherwise, the layout in progress, if any, is cancelled. The paths computed 
+ * by a layout are delivered on the JavaFX application thread, unless another layout was 
+ * requested or the layout was cancelled in the meantime. 
+ */
+final class BackgroundLayout
+{
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable ->
+	{
+		Thread thread = new Thread(runnable, "JetUML Layout");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private final Layouter aLayouter;
+	private final Consumer<EdgeStorage> aLayoutCompleted;
+	private Optional<Request> aLastRequest = Optional.empty();
+	private AtomicBoolean aCancelled = new AtomicBoolean();
+	private boolean aPending = false;
+	
+	/**
+	 * Computes the paths of edges from the geometry of the nodes they connect.
+	 */
+	interface Layouter
+	{
+		/**
+		 * @param pGeometry The geometry of the nodes.
+		 * @param pEdges The edges to lay out.
+		 * @param pLabels The labels of the edges.
+		 * @param pCancelled Becomes true if the layout is no longer needed.
+		 * @return The paths of the edges.
+		 * @throws CancellationException if the layout stopped because pCancelled became true.
+		 */
+		EdgeStorage layout(NodeGeometry pGeometry, List<Edge> pEdges, EdgeLabels pLabels, AtomicBoolean pCancelled);
+	}
+	
+	/*
+	 * Everything the layout depends on: the geometry of the nodes, the edges, and 
+	 * the properties of the edges that can change their paths. 
+	 */
+	private record Request(NodeGeometry geometry, List<Edge> edges, List<EdgePriority> priorities, 
+			EdgeLabels labels) {}
+	
+	/**
+	 * @param pLayouter Computes the layouts.
+	 * @param pLayoutCompleted Receives the paths computed by each completed layout, 
+	 *     on the JavaFX application thread.
+	 * @pre pLayouter != null && pLayoutCompleted != null
+	 */
+	BackgroundLayout(Layouter pLayouter, Consumer<EdgeStorage> pLayoutCompleted)
+	{
+		assert pLayouter != null && pLayoutCompleted != null;
+		aLayouter = pLayouter;
+		aLayoutCompleted = pLayoutCompleted;
+	}
+	
+	/**
+	 * Requests a layout of pEdges, unless the last request was for the same 
+	 * edges and node geometry.
+	 * 
+	 * @param pGeometry The geometry of the nodes of the diagram.
+	 * @param pEdges The edges to lay out.
+	 * @pre pGeometry != null && pEdges != null
+	 */
+	void request(NodeGeometry pGeometry, List<Edge> pEdges)
+	{
+		assert pGeometry != null && pEdges != null;
+		Request request = createRequest(pGeometry, pEdges);
+		if( aLastRequest.isPresent() && aLastRequest.get().equals(request) )
+		{
+			return;
+		}
+		cancel();
+		aLastRequest = Optional.of(request);
+		aPending = true;
+		AtomicBoolean cancelled = aCancelled;
+		EXECUTOR.execute(() -> layout(request, cancelled));
+	}
+	
+	private void layout(Request pRequest, AtomicBoolean pCancelled)
+	{
+		if( pCancelled.get() )
+		{
+			return;
+		}
+		try
+		{
+			EdgeStorage result = aLayouter.layout(pRequest.geometry(), pRequest.edges(), pRequest.labels(), pCancelled);
+			Platform.runLater(() -> 
+			{
+				if( !pCancelled.get() )
+				{
+					aPending = false;
+					aLayoutCompleted.accept(result);
+				}
+			});
+		}
+		catch(CancellationException exception)
+		{
+			// A newer layout was requested
+		}
+	}
+	
+	/**
+	 * @return True if a layout was requested and its result was not delivered yet.
+	 */
+	boolean isPending()
+	{
+		return aPending;
+	}
+	
+	/**
+	 * Cancels the layout in progress, if any. The next request will 
+	 * start a new layout, even if it is identical to the last one.
+	 */
+	void cancel()
+	{
+		aCancelled.set(true);
+		aCancelled = new AtomicBoolean();
+		aLastRequest = Optional.empty();
+		aPending = false;
+	}
+	
+	private static Request createRequest(NodeGeometry pGeometry, List<Edge> pEdges)
+	{
+		List<Edge> edges = List.copyOf(pEdges);
+		List<EdgePriority> priorities = new ArrayList<>();
+		for( Edge edge : edges )
+		{
+			priorities.add(EdgePriority.priorityOf(edge));
+		}
+		return new Request(pGeometry, edges, priorities, new EdgeLabels(edges));
+	}
+}
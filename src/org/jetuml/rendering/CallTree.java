@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jetuml.annotations.Immutable;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramVersion;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.CallEdge;
+import org.jetuml.diagram.edges.ConstructorEdge;
+import org.jetuml.diagram.nodes.CallNode;
+
+/**
+ * An index of the calls of a sequence diagram at a given time. The index maps
+ * each caller to its outgoing calls, in the order of the call sequence, each call
+ * node to its caller and its incoming edge, and each lifeline to its first call.
+ * It also lists the entries of the call tree that starts at the root call node
+ * in the order in which they are called, which is the order of their
+ * y-coordinates.
+ *
+ * The index records the version of the diagram it was built from, so that renderers
+ * can check whether it still describes the diagram without looking at all its 
+ * elements, and keep it across rendering passes until the diagram changes. Edges
+ * are assumed to be connected before they are added to the diagram.
+ */
+@Immutable
+final class CallTree
+{
+	private final DiagramVersion aVersion;
+
+	private final Map<Node, List<CallEdge>> aCalls = new IdentityHashMap<>();
+	private final Map<Node, CallNode> aCallers = new IdentityHashMap<>();
+	private final Map<Node, Edge> aIncomingEdges = new IdentityHashMap<>();
+	private final Map<Node, Node> aFirstCalls = new IdentityHashMap<>();
+	private final Map<Node, Integer> aNestingDepths = new IdentityHashMap<>();
+
+	/* The entries of the call tree, in call order. A call node appears more than
+	 * once if it has more than one caller. */
+	private final List<Node> aEntries = new ArrayList<>();
+	private final List<Integer> aCallerEntries = new ArrayList<>();
+	private final List<Integer> aSubtreeEnds = new ArrayList<>();
+
+	/**
+	 * Indexes the calls of pDiagram.
+	 *
+	 * @param pDiagram The diagram to index.
+	 * @pre pDiagram != null
+	 */
+	CallTree(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		aVersion = new DiagramVersion(pDiagram);
+		Set<Node> called = Collections.newSetFromMap(new IdentityHashMap<>());
+		for( Edge edge : pDiagram.edges() )
+		{
+			aIncomingEdges.putIfAbsent(edge.end(), edge);
+			if( edge instanceof CallEdge call )
+			{
+				aCalls.computeIfAbsent(edge.start(), key -> new ArrayList<>()).add(call);
+				called.add(edge.end());
+				if( edge.start() instanceof CallNode caller )
+				{
+					aCallers.putIfAbsent(edge.end(), caller);
+				}
+			}
+		}
+		List<Node> roots = pDiagram.allNodes().stream()
+				.filter(node -> node.getClass() == CallNode.class)
+				.filter(node -> !called.contains(node))
+				.toList();
+		assert roots.size() <= 1;
+		if( !roots.isEmpty() )
+		{
+			addEntry(roots.get(0), -1, new IdentityHashMap<>());
+		}
+	}
+
+	/*
+	 * pActiveCalls is the number of calls on each lifeline among the callers of pNode.
+	 */
+	private void addEntry(Node pNode, int pCallerEntry, Map<Node, Integer> pActiveCalls)
+	{
+		int entry = aEntries.size();
+		aEntries.add(pNode);
+		aCallerEntries.add(pCallerEntry);
+		aSubtreeEnds.add(entry + 1);
+		Node lifeline = pNode.hasParent() ? pNode.getParent() : null;
+		if( lifeline != null )
+		{
+			aFirstCalls.putIfAbsent(lifeline, pNode);
+		}
+		aNestingDepths.putIfAbsent(pNode, pActiveCalls.getOrDefault(lifeline, 0));
+		pActiveCalls.merge(lifeline, 1, Integer::sum);
+		for( Node callee : callees(pNode) )
+		{
+			addEntry(callee, entry, pActiveCalls);
+		}
+		pActiveCalls.merge(lifeline, -1, Integer::sum);
+		aSubtreeEnds.set(entry, aEntries.size());
+	}
+
+	/**
+	 * @param pDiagram A diagram.
+	 * @return True if this index was built from pDiagram, and no root node or edge 
+	 *     was added to or removed from pDiagram since then, and no root node changed.
+	 * @pre pDiagram != null
+	 */
+	boolean isCurrent(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		return aVersion.isCurrent(pDiagram);
+	}
+
+	/**
+	 * @param pCaller A node.
+	 * @return The call edges that start at pCaller, in the order of the call sequence.
+	 */
+	List<CallEdge> calls(Node pCaller)
+	{
+		return Collections.unmodifiableList(aCalls.getOrDefault(pCaller, List.of()));
+	}
+
+	/**
+	 * @param pCaller A node.
+	 * @return The nodes called by pCaller, in the order of the call sequence.
+	 */
+	List<Node> callees(Node pCaller)
+	{
+		return calls(pCaller).stream().map(Edge::end).toList();
+	}
+
+	/**
+	 * @param pNode A node.
+	 * @return The call node at the start of the first call edge that ends at pNode, if any.
+	 */
+	Optional<CallNode> caller(Node pNode)
+	{
+		return Optional.ofNullable(aCallers.get(pNode));
+	}
+
+	/**
+	 * @param pNode A node.
+	 * @return The first edge of any type that ends at pNode, if any.
+	 */
+	Optional<Edge> incomingEdge(Node pNode)
+	{
+		return Optional.ofNullable(aIncomingEdges.get(pNode));
+	}
+
+	/**
+	 * @param pNode A call node.
+	 * @return The number of callers of pNode, direct or not, on the same lifeline
+	 *     as pNode, if pNode is in the call tree.
+	 */
+	Optional<Integer> nestingDepth(Node pNode)
+	{
+		return Optional.ofNullable(aNestingDepths.get(pNode));
+	}
+
+	/**
+	 * @param pLifeline An implicit parameter node.
+	 * @return The first call node on pLifeline in the call tree, if any.
+	 */
+	Optional<Node> firstCall(Node pLifeline)
+	{
+		return Optional.ofNullable(aFirstCalls.get(pLifeline));
+	}
+
+	/**
+	 * @return The call node that is not called by any call edge, if any.
+	 */
+	Optional<Node> root()
+	{
+		if( aEntries.isEmpty() )
+		{
+			return Optional.empty();
+		}
+		return Optional.of(aEntries.get(0));
+	}
+
+	/**
+	 * @return The number of entries in the call tree, which is zero if
+	 *     there is no root call node.
+	 */
+	int size()
+	{
+		return aEntries.size();
+	}
+
+	/**
+	 * @param pEntry The index of an entry in call order.
+	 * @return The call node of the entry.
+	 * @pre pEntry >= 0 && pEntry < size()
+	 */
+	Node node(int pEntry)
+	{
+		return aEntries.get(pEntry);
+	}
+
+	/**
+	 * @param pEntry The index of an entry in call order.
+	 * @return The index of the entry that follows all the calls made, directly or
+	 *     not, by the call of pEntry.
+	 * @pre pEntry >= 0 && pEntry < size()
+	 */
+	int subtreeEnd(int pEntry)
+	{
+		return aSubtreeEnds.get(pEntry);
+	}
+
+	/**
+	 * @param pEntry The index of an entry in call order.
+	 * @return True if the node of pEntry is the target of a constructor call.
+	 * @pre pEntry >= 0 && pEntry < size()
+	 */
+	boolean isConstructorCall(int pEntry)
+	{
+		return incomingEdge(node(pEntry)).filter(ConstructorEdge.class::isInstance).isPresent();
+	}
+
+	/**
+	 * Compares the entries of this tree with the ones of pPrevious, in call order.
+	 * Entries are different if they have different call nodes or callers, or if only
+	 * one of them is the target of a constructor call. The y-coordinates of the
+	 * calls that come before the first difference are the same in both trees.
+	 *
+	 * @param pPrevious Another call tree.
+	 * @return The index of the first entry that differs, or the size of the smallest
+	 *     tree if the entries of one tree start with all the entries of the other.
+	 * @pre pPrevious != null
+	 */
+	int firstDifference(CallTree pPrevious)
+	{
+		assert pPrevious != null;
+		int size = Math.min(size(), pPrevious.size());
+		for( int entry = 0; entry < size; entry++ )
+		{
+			if( node(entry) != pPrevious.node(entry) ||
+					!aCallerEntries.get(entry).equals(pPrevious.aCallerEntries.get(entry)) ||
+					isConstructorCall(entry) != pPrevious.isConstructorCall(entry) )
+			{
+				return entry;
+			}
+		}
+		return size;
+	}
+}
@@ -23,14 +23,21 @@ package org.jetuml.rendering;
 import static java.util.stream.Collectors.toList;
 import static org.jetuml.rendering.EdgePriority.priorityOf;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
@@ -63,8 +70,18 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 {
 	private static final int TWENTY_PIXELS = 20;
 	private static final int TEN_PIXELS = 10;
+	private static final int MIN_EDGES_FOR_CONCURRENT_LAYOUT = 100;
 	
-	private final EdgeStorage aEdgeStorage = new EdgeStorage();
+	private EdgeStorage aEdgeStorage = new EdgeStorage();
+	private final Optional<Partition> aPartition;
+	private Optional<BackgroundLayout> aBackgroundLayout = Optional.empty();
+	
+	/*
+	 * A group of edges of a diagram that is laid out independently of the other 
+	 * edges, from the geometry of the nodes and the labels of the edges of the 
+	 * diagram. The layout stops as soon as cancelled becomes true.
+	 */
+	private record Partition(NodeGeometry geometry, EdgeLabels labels, List<Edge> edges, AtomicBoolean cancelled) {}
 	
 	/**
 	 * @param pDiagram The diagram being rendered.
@@ -72,6 +89,7 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	public ClassDiagramRenderer(Diagram pDiagram)
 	{
 		super(pDiagram);
+		aPartition = Optional.empty();
 		addElementRenderer(ClassNode.class, new TypeNodeRenderer(this));
 		addElementRenderer(InterfaceNode.class, new InterfaceNodeRenderer(this));
 		addElementRenderer(PackageNode.class, new PackageNodeRenderer(this));
@@ -84,6 +102,18 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		addElementRenderer(GeneralizationEdge.class, storedEdgeViewer);
 		addElementRenderer(AggregationEdge.class, storedEdgeViewer);
 	}
+	
+	/*
+	 * Creates a renderer that only lays out the edges of pPartition. Such a 
+	 * renderer obtains the positions, bounds and faces of nodes and the labels 
+	 * of edges from the partition, so it does not need the renderers of the 
+	 * diagram elements, and does not read the diagram while it is edited.
+	 */
+	private ClassDiagramRenderer(Diagram pDiagram, Partition pPartition)
+	{
+		super(pDiagram);
+		aPartition = Optional.of(pPartition);
+	}
 
 	@Override
 	public void draw(RenderingContext pContext)
@@ -92,12 +122,20 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		activateNodeStorages();
 		diagram().rootNodes().forEach(node -> drawNode(node, pContext));
 		
-		//plan edge paths using Layouter
-		layout();
+		//plan edge paths using Layouter, unless they were saved with the diagram
+		if( layoutHints().isEmpty() && canLayOutInBackground() )
+		{
+			aBackgroundLayout.get().request(new NodeGeometry(this), diagram().edges());
+		}
+		else if( layoutHints().isEmpty() )
+		{
+			layout();
+		}
 		
 		//draw edges using plan from EdgeStorage
 		diagram().edges().forEach(edge -> draw(edge, pContext));
 		deactivateAndClearNodeStorages();
+		discardLayoutHints();
 	}
 	
 	@Override
@@ -106,29 +144,270 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		// When getBounds(pDiagram) is called to open an existing class diagram
 		// file, aEdgeStorage is initially empty and needs to be filled to
 		// compute the diagram bounds.
-		if( aEdgeStorage.isEmpty() )
+		if( aEdgeStorage.isEmpty() && layoutHints().isEmpty() )
 		{
 			layout();
 		}
 		return super.getBounds();
 	}
+	
+	/*
+	 * The edge paths saved with the diagram are stored as if they had been
+	 * computed by a layout. Edges that are not planned by the layout, such as
+	 * note edges, have no saved path.
+	 */
+	@Override
+	public void useLayoutHints(LayoutHints pHints)
+	{
+		assert pHints != null;
+		aEdgeStorage.clearStorage();
+		for( Edge edge : diagram().edges() )
+		{
+			pHints.edgePath(edge).ifPresent(path -> aEdgeStorage.store(edge, path));
+		}
+		super.useLayoutHints(pHints);
+	}
+	
+	/*
+	 * The edge paths of large diagrams are computed in the background. Until the
+	 * new paths are available, rendering passes use the paths of the last 
+	 * completed layout.
+	 */
+	@Override
+	public void enableBackgroundLayout(Runnable pLayoutCompleted)
+	{
+		assert pLayoutCompleted != null;
+		aBackgroundLayout = Optional.of(new BackgroundLayout(this::layout, edgeStorage ->
+		{
+			aEdgeStorage = edgeStorage;
+			pLayoutCompleted.run();
+		}));
+	}
+	
+	/*
+	 * A layout can only be computed in the background if the paths of the 
+	 * last layout can be drawn in the meantime, that is, if they include
+	 * the paths of all the edges currently in the diagram.
+	 */
+	private boolean canLayOutInBackground()
+	{
+		return aBackgroundLayout.isPresent() && 
+				diagram().edges().size() >= MIN_EDGES_FOR_CONCURRENT_LAYOUT &&
+				diagram().edges().stream()
+					.filter(EdgePriority::isStoredEdge)
+					.allMatch(aEdgeStorage::contains);
+	}
+	
+	@Override
+	public LayoutHints getLayoutHints()
+	{
+		if( aBackgroundLayout.isPresent() && aBackgroundLayout.get().isPending() )
+		{
+			layout();
+		}
+		Rectangle bounds = getBounds();
+		Map<Edge, EdgePath> edgePaths = new IdentityHashMap<>();
+		for( Edge edge : diagram().edges() )
+		{
+			if( aEdgeStorage.contains(edge) )
+			{
+				edgePaths.put(edge, aEdgeStorage.getEdgePath(edge));
+			}
+		}
+		return new LayoutHints(bounds, edgePaths);
+	}
+
+	@Override
+	public Rectangle getBounds(DiagramElement pElement)
+	{
+		if( aPartition.isPresent() && pElement instanceof Node node )
+		{
+			return aPartition.get().geometry().bounds(node);
+		}
+		return super.getBounds(pElement);
+	}
 
 	/**
 	 * Uses positional information of nodes and stored edges to layout and 
 	 * store the EdgePaths of edges in pDiagram.
-	 * @param pDiagram the diagram of interest
-	 * @pre pDiagram.getType() == DiagramType.CLASS
+	 * 
+	 * The edges of large diagrams are partitioned into groups that can be laid 
+	 * out independently, which are laid out concurrently. The resulting EdgePaths 
+	 * are the same as if all the edges were laid out in sequence. Any layout 
+	 * in progress in the background is cancelled.
+	 * @pre diagram().getType() == DiagramType.CLASS
 	 */
 	public void layout()
 	{
 		assert diagram().getType() == DiagramType.CLASS;
-		aEdgeStorage.clearStorage();
+		LayoutEvent event = new LayoutEvent();
+		event.begin();
+		long start = System.nanoTime();
+		aBackgroundLayout.ifPresent(BackgroundLayout::cancel);
+		if( diagram().edges().size() < MIN_EDGES_FOR_CONCURRENT_LAYOUT )
+		{
+			aEdgeStorage.clearStorage();
+			layoutEdges();
+		}
+		else
+		{
+			aEdgeStorage = layout(new NodeGeometry(this), diagram().edges(), new EdgeLabels(diagram().edges()), 
+					new AtomicBoolean());
+		}
+		layoutCompleted(System.nanoTime() - start);
+		event.commit(diagram());
+	}
+	
+	/*
+	 * Lays out pEdges from pGeometry and pLabels and returns their EdgePaths. Groups 
+	 * of edges that do not depend on each other are laid out concurrently, each by 
+	 * its own renderer. This method does not use the state of this renderer, so it 
+	 * can be called from any thread.
+	 */
+	private EdgeStorage layout(NodeGeometry pGeometry, List<Edge> pEdges, EdgeLabels pLabels, AtomicBoolean pCancelled)
+	{
+		List<List<Edge>> groups = independentEdgeGroups(pGeometry, pEdges);
+		List<EdgeStorage> shards = groups.parallelStream()
+				.map(group -> new ClassDiagramRenderer(diagram(), new Partition(pGeometry, pLabels, group, pCancelled))
+						.layoutPartition())
+				.collect(toList());
+		EdgeStorage result = new EdgeStorage();
+		for( int i = 0; i < groups.size(); i++ )
+		{
+			for( Edge edge : groups.get(i) )
+			{
+				if( shards.get(i).contains(edge) )
+				{
+					result.store(edge, shards.get(i).getEdgePath(edge));
+				}
+			}
+		}
+		return result;
+	}
+	
+	/*
+	 * Lays out the edges of the partition of this renderer and returns their EdgePaths.
+	 */
+	private EdgeStorage layoutPartition()
+	{
+		assert aPartition.isPresent();
+		layoutEdges();
+		return aEdgeStorage;
+	}
+	
+	/*
+	 * Stops the layout of a renderer whose partition was cancelled.
+	 */
+	private void checkNotCancelled()
+	{
+		if( aPartition.isPresent() && aPartition.get().cancelled().get() )
+		{
+			throw new CancellationException();
+		}
+	}
+	
+	/*
+	 * The edges that this renderer lays out.
+	 */
+	private List<Edge> edgesToLayout()
+	{
+		return aPartition.map(Partition::edges).orElseGet(diagram()::edges);
+	}
+	
+	/*
+	 * Partitions the edges to lay out into groups whose layouts do not depend 
+	 * on each other. The layout of an edge only depends on the edges in the same 
+	 * connected component of the graph of nodes and edges, and on the connection
+	 * points used by the other edges. Because connection points are on the
+	 * bounds of nodes, connected components whose bounds overlap or touch are placed 
+	 * in the same group. The groups, and the edges within each group, are in the 
+	 * order of pEdges.
+	 */
+	private static List<List<Edge>> independentEdgeGroups(NodeGeometry pGeometry, List<Edge> pEdges)
+	{
+		List<Edge> edges = pEdges.stream()
+				.filter(EdgePriority::isStoredEdge)
+				.collect(toList());
+		Map<Node, Node> parents = new IdentityHashMap<>();
+		for( Edge edge : edges )
+		{
+			union(parents, edge.start(), edge.end());
+		}
+		
+		Map<Node, Rectangle> componentBounds = new IdentityHashMap<>();
+		for( Edge edge : edges )
+		{
+			Node component = find(parents, edge.start());
+			componentBounds.merge(component, pGeometry.bounds(edge.start()), Rectangle::add);
+			componentBounds.merge(component, pGeometry.bounds(edge.end()), Rectangle::add);
+		}
+		List<Node> components = new ArrayList<>(componentBounds.keySet());
+		components.sort(Comparator.comparing(component -> componentBounds.get(component).x()));
+		for( int i = 0; i < components.size(); i++ )
+		{
+			Rectangle bounds = componentBounds.get(components.get(i));
+			for( int j = i + 1; j < components.size() && componentBounds.get(components.get(j)).x() <= bounds.maxX(); j++ )
+			{
+				Rectangle otherBounds = componentBounds.get(components.get(j));
+				if( otherBounds.y() <= bounds.maxY() && bounds.y() <= otherBounds.maxY() )
+				{
+					union(parents, components.get(i), components.get(j));
+				}
+			}
+		}
+		
+		Map<Node, List<Edge>> groups = new IdentityHashMap<>();
+		List<List<Edge>> result = new ArrayList<>();
+		for( Edge edge : edges )
+		{
+			List<Edge> group = groups.computeIfAbsent(find(parents, edge.start()), node -> new ArrayList<>());
+			if( group.isEmpty() )
+			{
+				result.add(group);
+			}
+			group.add(edge);
+		}
+		return result;
+	}
+	
+	/*
+	 * Merges the sets of nodes of pNode1 and pNode2 in the disjoint-set forest pParents.
+	 */
+	private static void union(Map<Node, Node> pParents, Node pNode1, Node pNode2)
+	{
+		pParents.putIfAbsent(pNode1, pNode1);
+		pParents.putIfAbsent(pNode2, pNode2);
+		pParents.put(find(pParents, pNode1), find(pParents, pNode2));
+	}
+	
+	/*
+	 * Returns the node that represents the set of pNode in the disjoint-set forest 
+	 * pParents, and makes it the parent of pNode.
+	 */
+	private static Node find(Map<Node, Node> pParents, Node pNode)
+	{
+		Node root = pNode;
+		while( pParents.get(root) != root )
+		{
+			root = pParents.get(root);
+		}
+		pParents.put(pNode, root);
+		return root;
+	}
+	
+	/*
+	 * Lays out the edges in order of priority.
+	 */
+	private void layoutEdges()
+	{
 		layoutSegmentedEdges(EdgePriority.INHERITANCE);	
 		layoutSegmentedEdges(EdgePriority.IMPLEMENTATION);
 		layoutSegmentedEdges(EdgePriority.AGGREGATION);
 		layoutSegmentedEdges(EdgePriority.COMPOSITION);
 		layoutSegmentedEdges(EdgePriority.ASSOCIATION);
+		checkNotCancelled();
 		layoutDependencyEdges();
+		checkNotCancelled();
 		layoutSelfEdges();
 	}
 	
@@ -143,30 +422,44 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	{
 		assert diagram().getType() == DiagramType.CLASS;
 		assert EdgePriority.isSegmented(pEdgePriority);
-		List<Edge> edgesToProcess = diagram().edges().stream()
+		List<Edge> edges = edgesToLayout().stream()
 				.filter(edge -> priorityOf(edge) == pEdgePriority)
-				.sorted(Comparator.comparing(edge -> edge.start().position().x()))
+				.sorted(Comparator.comparing(edge -> position(edge.start()).x()))
 				.collect(toList());
+		// Edges are compared by identity, and the sets keep the sorted order
+		Set<Edge> edgesToProcess = new LinkedHashSet<>(edges);
+		Map<Node, Set<Edge>> edgesToProcessByStart = new IdentityHashMap<>();
+		Map<Node, Set<Edge>> edgesToProcessByEnd = new IdentityHashMap<>();
+		for( Edge edge : edges )
+		{
+			edgesToProcessByStart.computeIfAbsent(edge.start(), key -> new LinkedHashSet<>()).add(edge);
+			edgesToProcessByEnd.computeIfAbsent(edge.end(), key -> new LinkedHashSet<>()).add(edge);
+		}
 				
 		while( !edgesToProcess.isEmpty() )
 		{
-			Edge currentEdge = edgesToProcess.get(0);
+			checkNotCancelled();
+			Edge currentEdge = edgesToProcess.iterator().next();
 			Side edgeDirection = attachedSide(currentEdge, currentEdge.start());
 			//Get all the edges which will merge with the start or end of currentEdge
-			List<Edge> edgesToMergeStart = getEdgesToMergeStart(currentEdge, edgesToProcess);
-			List<Edge> edgesToMergeEnd = getEdgesToMergeEnd(currentEdge, edgesToProcess);	
+			List<Edge> edgesToMerge = getEdgesToMergeStart(currentEdge, edgesToProcessByStart.get(currentEdge.start()));
 			//Determine if currendEdge should merge with other edges at its start node or end node
-			if( !edgesToMergeStart.isEmpty() )
+			if( !edgesToMerge.isEmpty() )
 			{ 	
-				edgesToMergeStart.add(currentEdge);
-				edgesToProcess.removeAll(edgesToMergeStart);
-				storeMergedStartEdges(edgeDirection, edgesToMergeStart);
+				edgesToMerge.add(currentEdge);
+				storeMergedStartEdges(edgeDirection, edgesToMerge);
 			}
 			else
 			{
-				edgesToMergeEnd.add(currentEdge);
-				edgesToProcess.removeAll(edgesToMergeEnd);
-				storeMergedEndEdges(edgeDirection, edgesToMergeEnd);
+				edgesToMerge = getEdgesToMergeEnd(currentEdge, edgesToProcessByEnd.get(currentEdge.end()));
+				edgesToMerge.add(currentEdge);
+				storeMergedEndEdges(edgeDirection, edgesToMerge);
+			}
+			for( Edge edge : edgesToMerge )
+			{
+				edgesToProcess.remove(edge);
+				edgesToProcessByStart.get(edge.start()).remove(edge);
+				edgesToProcessByEnd.get(edge.end()).remove(edge);
 			}
 		}
 	}
@@ -178,7 +471,7 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	private void layoutDependencyEdges()
 	{
 		assert diagram().getType() == DiagramType.CLASS;
-		for(Edge edge : diagram().edges())
+		for(Edge edge : edgesToLayout())
 		{
 			if(priorityOf(edge)==EdgePriority.DEPENDENCY)
 			{   //Determine the start and end connection points
@@ -196,7 +489,7 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	 */
 	private void layoutSelfEdges()
 	{
-		List<Edge> selfEdges = diagram().edges().stream()
+		List<Edge> selfEdges = edgesToLayout().stream()
 			.filter(edge -> priorityOf(edge) == EdgePriority.SELF_EDGE)
 			.collect(toList());
 		for(Edge edge : selfEdges)
@@ -388,12 +681,12 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	/**
 	 * Gets the edges which should merge to share a common end point with pEdge.
 	 * @param pEdge the edge of interest
-	 * @param pEdges a list of edges in the diagram
+	 * @param pEdges a collection of edges in the diagram
 	 * @return a list containing the edges which should merge with pEdge (not including pEdge itself).
 	 * @pre pEdge != null
 	 * @pre pEdges != null
 	 */
-	private List<Edge> getEdgesToMergeEnd(Edge pEdge, List<Edge> pEdges)
+	private List<Edge> getEdgesToMergeEnd(Edge pEdge, Collection<Edge> pEdges)
 	{
 		assert pEdge != null && pEdges != null;
 		return pEdges.stream()
@@ -409,12 +702,12 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	/**
 	 * Gets the edges which should merge to share a common start point with pEdge.
 	 * @param pEdge the edge of interest
-	 * @param pEdges a list of edges in the diagram
+	 * @param pEdges a collection of edges in the diagram
 	 * @return a list containing the edges which should merge with pEdge (not including pEdge itself).
 	 * @pre pEdge != null
 	 * @pre pEdges != null
 	 */
-	private List<Edge> getEdgesToMergeStart(Edge pEdge, List<Edge> pEdges)
+	private List<Edge> getEdgesToMergeStart(Edge pEdge, Collection<Edge> pEdges)
 	{
 		assert pEdge != null && pEdges != null;
 		return pEdges.stream()
@@ -783,9 +1076,40 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	
 	private Line getFace(Node pNode, Side pSide)
 	{
+		if( aPartition.isPresent() )
+		{
+			return aPartition.get().geometry().face(pNode, pSide);
+		}
 		return ((NodeRenderer)rendererFor(pNode.getClass())).getFace(pNode, pSide);
 	}
 	
+	private Point position(Node pNode)
+	{
+		if( aPartition.isPresent() )
+		{
+			return aPartition.get().geometry().position(pNode);
+		}
+		return pNode.position();
+	}
+	
+	private String startLabel(ThreeLabelEdge pEdge)
+	{
+		if( aPartition.isPresent() )
+		{
+			return aPartition.get().labels().startLabel(pEdge);
+		}
+		return pEdge.getStartLabel();
+	}
+	
+	private String endLabel(ThreeLabelEdge pEdge)
+	{
+		if( aPartition.isPresent() )
+		{
+			return aPartition.get().labels().endLabel(pEdge);
+		}
+		return pEdge.getEndLabel();
+	}
+	
 	/**
 	 * Gets the vertical distance in pixels between the North side of pEndNode and the horizontal middle segment of pEdge.
 	 * @param pEndNode the end node of interest
@@ -801,7 +1125,7 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		assert pEdgeDirection.isHorizontal();	
 		assert EdgePriority.isSegmented(priorityOf(pEdge));
 		assert aEdgeStorage.contains(pEdge);
-		return Math.abs(getEdgePath(pEdge).getPointByIndex(1).y() - pEndNode.position().y());
+		return Math.abs(getEdgePath(pEdge).getPointByIndex(1).y() - position(pEndNode).y());
 	}
 	
 	/**
@@ -818,7 +1142,7 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		assert pEdgeDirection.isVertical();
 		assert EdgePriority.isSegmented(priorityOf(pEdge));
 		assert aEdgeStorage.contains(pEdge);
-		return Math.abs(getEdgePath(pEdge).getPointByIndex(1).x() - pEndNode.position().x());
+		return Math.abs(getEdgePath(pEdge).getPointByIndex(1).x() - position(pEndNode).x());
 	}
 	
 	/**
@@ -862,13 +1186,13 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	 * @return false if the edges are both ThreeLabelEdge edges with different start labels. True otherwise. 
 	 * @pre pEdge1 != null && pEdge2 != null
 	 */
-	private static boolean noConflictingStartLabels(Edge pEdge1, Edge pEdge2)
+	private boolean noConflictingStartLabels(Edge pEdge1, Edge pEdge2)
 	{
 		assert pEdge1 !=null && pEdge2 !=null;
 		if(pEdge1 instanceof ThreeLabelEdge edge1 && pEdge2 instanceof ThreeLabelEdge edge2 &&
 				priorityOf(pEdge1) == priorityOf(pEdge2))
 		{
-			return edge1.getStartLabel().equals(edge2.getStartLabel());
+			return startLabel(edge1).equals(startLabel(edge2));
 		}
 		else
 		{
@@ -883,13 +1207,13 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	 * @return false if the edges are both ThreeLabelEdge edges with different end labels. True otherwise. 
 	 * @pre pEdge1 !=null && pEdge2 !=null
 	 */
-	private static boolean noConflictingEndLabels(Edge pEdge1, Edge pEdge2)
+	private boolean noConflictingEndLabels(Edge pEdge1, Edge pEdge2)
 	{
 		assert pEdge1 !=null && pEdge2 !=null;
 		if(pEdge1 instanceof ThreeLabelEdge edge1 && pEdge2 instanceof ThreeLabelEdge edge2 &&
 				priorityOf(pEdge1) == priorityOf(pEdge2))
 		{
-			return edge1.getEndLabel().equals(edge2.getEndLabel());
+			return endLabel(edge1).equals(endLabel(edge2));
 		}
 		else
 		{
@@ -90,6 +90,42 @@ public interface DiagramRenderer
 	 */
 	Rectangle getBounds();
 	
+	/**
+	 * @return The bounds of the diagram and the paths of the edges computed by its 
+	 *     layout, which can be saved with the diagram.
+	 */
+	LayoutHints getLayoutHints();
+	
+	/**
+	 * Uses the bounds and edge paths in pHints instead of computing the layout of the 
+	 * diagram, until the next rendering pass is complete. This method should only be called
+	 * before the first rendering pass, with hints that correspond to the diagram. 
+	 * 
+	 * @param pHints The layout hints saved with the diagram.
+	 * @pre pHints != null
+	 */
+	void useLayoutHints(LayoutHints pHints);
+	
+	/**
+	 * Allows the renderer to compute the layout of the diagram on a background thread, 
+	 * if this is supported for the diagram. In this case, rendering passes can use the 
+	 * results of a previous layout until the new ones are available, at which point
+	 * pLayoutCompleted is called on the JavaFX application thread. This method should
+	 * only be called for renderers of diagrams that are displayed and edited interactively.
+	 * 
+	 * @param pLayoutCompleted Called when a layout computed in the background is complete,
+	 *     to start a new rendering pass.
+	 * @pre pLayoutCompleted != null
+	 */
+	void enableBackgroundLayout(Runnable pLayoutCompleted);
+	
+	/**
+	 * @return The time, in nanoseconds, taken by the last layout of the diagram 
+	 *     by this renderer, or 0 if it never laid out the diagram. Layouts computed 
+	 *     in the background are not included.
+	 */
+	long layoutDuration();
+	
 	/**
 	 * Tests whether pElement contains a point.
 	 * 
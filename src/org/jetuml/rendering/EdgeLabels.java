@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetuml.annotations.Immutable;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.edges.ThreeLabelEdge;
+
+/**
+ * A copy of the start and end labels of the edges of a diagram at a given time.
+ * Edges only share the segments of their paths if their labels are the same, so
+ * layouts computed on another thread read the labels from this copy rather than
+ * from the edges, which can be edited in the meantime.
+ */
+@Immutable
+final class EdgeLabels
+{
+	private record Labels(String start, String end) {}
+	
+	private final Map<Edge, Labels> aLabels = new IdentityHashMap<>();
+	
+	/**
+	 * Records the start and end labels of the edges in pEdges that have them.
+	 * 
+	 * @param pEdges The edges whose labels to record.
+	 * @pre pEdges != null
+	 */
+	EdgeLabels(List<Edge> pEdges)
+	{
+		assert pEdges != null;
+		for( Edge edge : pEdges )
+		{
+			if( edge instanceof ThreeLabelEdge labeledEdge )
+			{
+				aLabels.put(edge, new Labels(labeledEdge.getStartLabel(), labeledEdge.getEndLabel()));
+			}
+		}
+	}
+	
+	/**
+	 * @param pEdge The edge of interest.
+	 * @return The start label of pEdge.
+	 * @pre contains(pEdge)
+	 */
+	String startLabel(ThreeLabelEdge pEdge)
+	{
+		assert contains(pEdge);
+		return aLabels.get(pEdge).start();
+	}
+	
+	/**
+	 * @param pEdge The edge of interest.
+	 * @return The end label of pEdge.
+	 * @pre contains(pEdge)
+	 */
+	String endLabel(ThreeLabelEdge pEdge)
+	{
+		assert contains(pEdge);
+		return aLabels.get(pEdge).end();
+	}
+	
+	/**
+	 * @param pEdge The edge of interest.
+	 * @return True if the labels of pEdge were recorded.
+	 */
+	boolean contains(Edge pEdge)
+	{
+		return aLabels.containsKey(pEdge);
+	}
+	
+	/*
+	 * Two copies are equal if they record the labels of the same edges, 
+	 * and these labels are equal.
+	 */
+	@Override
+	public boolean equals(Object pObject)
+	{
+		if( this == pObject )
+		{
+			return true;
+		}
+		if( !(pObject instanceof EdgeLabels other) || aLabels.size() != other.aLabels.size() )
+		{
+			return false;
+		}
+		for( Edge edge : aLabels.keySet() )
+		{
+			if( !other.contains(edge) || !aLabels.get(edge).equals(other.aLabels.get(edge)) )
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		int hashCode = 0;
+		for( Edge edge : aLabels.keySet() )
+		{
+			hashCode += System.identityHashCode(edge) ^ aLabels.get(edge).hashCode();
+		}
+		return hashCode;
+	}
+}
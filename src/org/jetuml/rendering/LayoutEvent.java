@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import org.jetuml.diagram.Diagram;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the layout of a diagram by its renderer. The 
+ * elements of the diagram are only counted if the event is recorded.
+ */
+@Name("org.jetuml.Layout")
+@Label("Layout Diagram")
+@Category({"JetUML", "Rendering"})
+@Description("Layout of a diagram by its renderer, with the number of elements of the diagram")
+@StackTrace(false)
+final class LayoutEvent extends Event
+{
+	@Name("diagramType")
+	@Label("Diagram Type")
+	private String aDiagramType;
+	
+	@Name("nodes")
+	@Label("Nodes")
+	private int aNodes;
+	
+	@Name("edges")
+	@Label("Edges")
+	private int aEdges;
+	
+	/**
+	 * Ends this event and commits it with the elements of pDiagram, if it 
+	 * is enabled and lasted longer than its threshold.
+	 * 
+	 * @param pDiagram The diagram laid out.
+	 * @pre pDiagram != null
+	 */
+	void commit(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		end();
+		if( shouldCommit() )
+		{
+			aDiagramType = pDiagram.getType().name();
+			aNodes = pDiagram.allNodes().size();
+			aEdges = pDiagram.edges().size();
+			commit();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetuml.diagram.Edge;
+import org.jetuml.geom.Rectangle;
+
+/**
+ * The results of a layout of a diagram that can be saved with the diagram, 
+ * so that the diagram can be displayed again without computing its layout. 
+ * The hints are only valid for the exact diagram they were computed for, 
+ * rendered with the same font.
+ */
+public final class LayoutHints
+{
+	private final Rectangle aBounds;
+	private final Map<Edge, EdgePath> aEdgePaths;
+	
+	/**
+	 * @param pBounds The bounds of the diagram.
+	 * @param pEdgePaths The paths of the edges whose path is computed by the layout, 
+	 *     if any. The map is copied.
+	 * @pre pBounds != null && pEdgePaths != null
+	 */
+	public LayoutHints(Rectangle pBounds, Map<Edge, EdgePath> pEdgePaths)
+	{
+		assert pBounds != null && pEdgePaths != null;
+		aBounds = pBounds;
+		aEdgePaths = Collections.unmodifiableMap(new IdentityHashMap<>(pEdgePaths));
+	}
+	
+	/**
+	 * @return The bounds of the diagram.
+	 */
+	public Rectangle bounds()
+	{
+		return aBounds;
+	}
+	
+	/**
+	 * @param pEdge The edge to check.
+	 * @return The path of pEdge, if it is known.
+	 * @pre pEdge != null
+	 */
+	public Optional<EdgePath> edgePath(Edge pEdge)
+	{
+		assert pEdge != null;
+		return Optional.ofNullable(aEdgePaths.get(pEdge));
+	}
+	
+	/**
+	 * @return An unmodifiable map of the edge paths, indexed by edge identity.
+	 */
+	public Map<Edge, EdgePath> edgePaths()
+	{
+		return aEdgePaths;
+	}
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jetuml.annotations.Immutable;
+import org.jetuml.diagram.Node;
+import org.jetuml.geom.Line;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+import org.jetuml.rendering.nodes.NodeRenderer;
+
+/**
+ * A copy of the positions, bounds and faces of the nodes of a diagram at a given time. 
+ * Computing the bounds of nodes measures text with objects that are shared by
+ * all renderers, so it can only be done by one thread at a time. The geometry 
+ * is computed once by that thread, after which the edges of the diagram can be
+ * laid out from it by any thread.
+ */
+@Immutable
+final class NodeGeometry
+{
+	private final Map<Node, Point> aPositions = new IdentityHashMap<>();
+	private final Map<Node, Rectangle> aBounds = new IdentityHashMap<>();
+	private final Map<Node, Map<Side, Line>> aFaces = new IdentityHashMap<>();
+	
+	/**
+	 * Records the positions, bounds and faces of all the nodes in the diagram of pRenderer.
+	 * 
+	 * @param pRenderer The renderer of the diagram.
+	 * @pre pRenderer != null
+	 */
+	NodeGeometry(DiagramRenderer pRenderer)
+	{
+		assert pRenderer != null;
+		for( Node node : pRenderer.diagram().allNodes() )
+		{
+			NodeRenderer renderer = (NodeRenderer) pRenderer.rendererFor(node.getClass());
+			Map<Side, Line> faces = new EnumMap<>(Side.class);
+			for( Side side : Side.values() )
+			{
+				faces.put(side, renderer.getFace(node, side));
+			}
+			aPositions.put(node, node.position());
+			aBounds.put(node, pRenderer.getBounds(node));
+			aFaces.put(node, faces);
+		}
+	}
+	
+	/**
+	 * @param pNode The node of interest.
+	 * @return The position of pNode.
+	 * @pre contains(pNode)
+	 */
+	Point position(Node pNode)
+	{
+		assert contains(pNode);
+		return aPositions.get(pNode);
+	}
+	
+	/**
+	 * @param pNode The node of interest.
+	 * @return The bounds of pNode.
+	 * @pre contains(pNode)
+	 */
+	Rectangle bounds(Node pNode)
+	{
+		assert contains(pNode);
+		return aBounds.get(pNode);
+	}
+	
+	/**
+	 * @param pNode The node of interest.
+	 * @param pSide The side of interest.
+	 * @return The face of pNode on pSide.
+	 * @pre contains(pNode) && pSide != null
+	 */
+	Line face(Node pNode, Side pSide)
+	{
+		assert contains(pNode) && pSide != null;
+		return aFaces.get(pNode).get(pSide);
+	}
+	
+	/**
+	 * @param pNode The node of interest.
+	 * @return True if the geometry of pNode was recorded.
+	 */
+	boolean contains(Node pNode)
+	{
+		return aBounds.containsKey(pNode);
+	}
+	
+	/*
+	 * Two geometries are equal if they record the same nodes 
+	 * with equal positions, bounds and faces.
+	 */
+	@Override
+	public boolean equals(Object pObject)
+	{
+		if( this == pObject )
+		{
+			return true;
+		}
+		if( !(pObject instanceof NodeGeometry other) || aBounds.size() != other.aBounds.size() )
+		{
+			return false;
+		}
+		for( Node node : aBounds.keySet() )
+		{
+			if( !other.contains(node) || !aPositions.get(node).equals(other.aPositions.get(node)) ||
+					!aBounds.get(node).equals(other.aBounds.get(node)) ||
+					!aFaces.get(node).equals(other.aFaces.get(node)) )
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		int hashCode = 0;
+		for( Node node : aBounds.keySet() )
+		{
+			hashCode += System.identityHashCode(node) ^ aBounds.get(node).hashCode();
+		}
+		return hashCode;
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.Arrays;
+
+/**
+ * Measurements of the rendering passes of a diagram canvas, which can be shown
+ * as an overlay by AccessoriesRenderer. The durations of the most recent passes 
+ * are kept to compute a histogram of the frame times. All durations are in 
+ * nanoseconds.
+ */
+public final class PerformanceStatistics
+{
+	/* The upper bounds, in milliseconds, of the buckets of the histogram. 
+	 * An additional bucket holds the passes that take longer. */
+	private static final int[] BUCKET_LIMITS = { 1, 2, 4, 8, 16, 33 };
+	private static final int WINDOW = 120; // The number of recent passes in the histogram
+	private static final long NANOS_PER_MILLI = 1_000_000;
+	
+	private final long[] aPaintDurations = new long[WINDOW];
+	private int aPasses = 0;
+	private long aLayoutDuration = 0;
+	private int aNodes = 0;
+	private int aEdges = 0;
+	private long aUsedMemory = 0;
+	private long aMaxMemory = 0;
+	
+	/**
+	 * Records the measurements of a rendering pass, and the current heap usage.
+	 * 
+	 * @param pPaintDuration The time taken to paint the canvas.
+	 * @param pLayoutDuration The time taken by the last layout of the diagram.
+	 * @param pNodes The number of nodes drawn.
+	 * @param pEdges The number of edges drawn.
+	 * @pre pPaintDuration >= 0 && pLayoutDuration >= 0 && pNodes >= 0 && pEdges >= 0
+	 */
+	public void record(long pPaintDuration, long pLayoutDuration, int pNodes, int pEdges)
+	{
+		assert pPaintDuration >= 0 && pLayoutDuration >= 0 && pNodes >= 0 && pEdges >= 0;
+		aPaintDurations[aPasses % WINDOW] = pPaintDuration;
+		aPasses++;
+		aLayoutDuration = pLayoutDuration;
+		aNodes = pNodes;
+		aEdges = pEdges;
+		Runtime runtime = Runtime.getRuntime();
+		aUsedMemory = runtime.totalMemory() - runtime.freeMemory();
+		aMaxMemory = runtime.maxMemory();
+	}
+	
+	/**
+	 * @return The number of rendering passes recorded.
+	 */
+	public int passes()
+	{
+		return aPasses;
+	}
+	
+	/**
+	 * @return The time taken to paint the canvas in the last pass.
+	 * @pre passes() > 0
+	 */
+	public long paintDuration()
+	{
+		assert passes() > 0;
+		return aPaintDurations[(aPasses - 1) % WINDOW];
+	}
+	
+	/**
+	 * @return The time taken by the last layout of the diagram, as of the last pass.
+	 */
+	public long layoutDuration()
+	{
+		return aLayoutDuration;
+	}
+	
+	/**
+	 * @return The number of nodes drawn in the last pass.
+	 */
+	public int nodes()
+	{
+		return aNodes;
+	}
+	
+	/**
+	 * @return The number of edges drawn in the last pass.
+	 */
+	public int edges()
+	{
+		return aEdges;
+	}
+	
+	/**
+	 * @return The number of bytes used in the heap after the last pass.
+	 */
+	public long usedMemory()
+	{
+		return aUsedMemory;
+	}
+	
+	/**
+	 * @return The maximum number of bytes the heap can use.
+	 */
+	public long maxMemory()
+	{
+		return aMaxMemory;
+	}
+	
+	/**
+	 * @return The maximum number of recent passes counted in the histogram.
+	 */
+	public static int window()
+	{
+		return WINDOW;
+	}
+	
+	/**
+	 * @return The upper bounds, in milliseconds, of the buckets of the histogram,
+	 *     except the last bucket, which has no upper bound.
+	 */
+	public static int[] bucketLimits()
+	{
+		return Arrays.copyOf(BUCKET_LIMITS, BUCKET_LIMITS.length);
+	}
+	
+	/**
+	 * @return The number of recent passes whose paint duration falls in each bucket.
+	 *     The passes of bucket i took less than bucketLimits()[i] milliseconds, and 
+	 *     at least as long as the upper bound of the previous bucket.
+	 */
+	public int[] histogram()
+	{
+		int[] result = new int[BUCKET_LIMITS.length + 1];
+		for( int pass = 0; pass < Math.min(aPasses, WINDOW); pass++ )
+		{
+			result[bucket(aPaintDurations[pass])]++;
+		}
+		return result;
+	}
+	
+	private static int bucket(long pDuration)
+	{
+		int bucket = 0;
+		while( bucket < BUCKET_LIMITS.length && pDuration >= BUCKET_LIMITS[bucket] * NANOS_PER_MILLI )
+		{
+			bucket++;
+		}
+		return bucket;
+	}
+}
@@ -20,15 +20,10 @@
  ******************************************************************************/
 package org.jetuml.rendering;
 
-import static java.util.stream.Collectors.toList;
-
-import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramElement;
@@ -84,12 +79,18 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	private final Map<Node, Integer> aCallNodeTopCoordinate = new IdentityHashMap<>();
 	private final Map<Node, Integer> aCallNodeBottomCoordinate = new IdentityHashMap<>();
 	
+	// The index of the current calls, and the one the coordinates were computed from
+	private CallTree aCallTree;
+	private Optional<CallTree> aPositionedCallTree = Optional.empty();
+	private int aDropDistance;
+	
 	/**
 	 * @param pDiagram The diagram being rendered.
 	 */
 	public SequenceDiagramRenderer(Diagram pDiagram)
 	{
 		super(pDiagram);
+		aCallTree = new CallTree(pDiagram);
 		addElementRenderer(CallNode.class, new CallNodeRenderer(this));
 		addElementRenderer(ImplicitParameterNode.class, new ImplicitParameterNodeRenderer(this));
 		addElementRenderer(ReturnEdge.class, new ReturnEdgeRenderer(this));
@@ -109,29 +110,34 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	 */
 	private void layout()
 	{
+		LayoutEvent event = new LayoutEvent();
+		event.begin();
+		long start = System.nanoTime();
 		computeYPositions();
-	}
-	
-	/**
-	 * @return true if no computations of nodes are found. This could be because the 
-	 * diagram is empty, but also because it has been loaded from disk and before a rendering pass 
-	 * has been done.
-	 */
-	private boolean noComputedPositionFound()
-	{
-		return aCallNodeTopCoordinate.isEmpty();
+		layoutCompleted(System.nanoTime() - start);
+		event.commit(diagram());
 	}
 	
 	@Override
 	public Rectangle getBounds()
 	{
 		//When getBounds(pDiagram) is called to open an existing class diagram file,
-		//the positions have not yet been computed and need to be.
-		if(noComputedPositionFound())
+		//or after the diagram changed, the positions have not yet been computed and need to be.
+		//Positions that are still valid are not computed again.
+		layout();
+		return super.getBounds();
+	}
+	
+	/*
+	 * Rebuilds the index of the calls if the diagram changed since it was built.
+	 */
+	private CallTree callTree()
+	{
+		if( !aCallTree.isCurrent(diagram()) )
 		{
-			layout();
+			aCallTree = new CallTree(diagram());
 		}
-		return super.getBounds();
+		return aCallTree;
 	}
 	
 	/**
@@ -158,12 +164,7 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	public Optional<CallNode> getCaller(Node pNode)
 	{
 		assert pNode != null && diagram().contains(pNode);
-		return diagram().edges().stream()
-			.filter(CallEdge.class::isInstance)
-			.filter(edge -> edge.end() == pNode)
-			.map(Edge::start)
-			.map(CallNode.class::cast)
-			.findFirst();
+		return callTree().caller(pNode);
 	}
 	
 	/**
@@ -176,15 +177,21 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	public int getNestingDepth(CallNode pNode)
 	{
 		assert pNode != null;
+		CallTree callTree = callTree();
+		Optional<Integer> indexed = callTree.nestingDepth(pNode);
+		if( indexed.isPresent() )
+		{
+			return indexed.get();
+		}
 		int result = 0;
-		Optional<CallNode> node = getCaller(pNode);
+		Optional<CallNode> node = callTree.caller(pNode);
 		while( node.isPresent() )
 		{
 			if( node.get().getParent() == pNode.getParent() )
 			{
 				result++;
 			}
-			node = getCaller(node.get());
+			node = callTree.caller(node.get());
 		}
 		return result;
 	}
@@ -192,23 +199,46 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	// This method assumes a single root nodes, and traces all call nodes
 	// from this root node. This creates a problem when pasting implicit parameter
 	// nodes that contain a dangling call node.
+	// Only the calls that come after the first call that differs from the previous
+	// rendering pass, and their callers, are positioned again.
 	private void computeYPositions()
 	{
-		aCallNodeTopCoordinate.clear();
-		aCallNodeBottomCoordinate.clear();
-		Optional<Node> root = findRoot();
-		if( root.isEmpty() )
+		CallTree callTree = callTree();
+		int dropDistance = getDropDistance();
+		int firstModified = 0;
+		if( aPositionedCallTree.isPresent() && dropDistance == aDropDistance )
+		{
+			firstModified = callTree.firstDifference(aPositionedCallTree.get());
+			if( firstModified == callTree.size() && firstModified == aPositionedCallTree.get().size() )
+			{
+				return;
+			}
+			for( int entry = firstModified; entry < aPositionedCallTree.get().size(); entry++ )
+			{
+				aCallNodeTopCoordinate.remove(aPositionedCallTree.get().node(entry));
+				aCallNodeBottomCoordinate.remove(aPositionedCallTree.get().node(entry));
+			}
+		}
+		else
+		{
+			aCallNodeTopCoordinate.clear();
+			aCallNodeBottomCoordinate.clear();
+		}
+		Optional<CallTree> previous = aPositionedCallTree;
+		aPositionedCallTree = Optional.of(callTree);
+		aDropDistance = dropDistance;
+		if( callTree.size() == 0 )
 		{
 			return; // Empty call graph, normal case when creating a new diagram
 		}
 		int currentYPosition = INITIAL_Y_POSITION;
 		// Position root node
-		aCallNodeTopCoordinate.put(root.get(), currentYPosition);
-		for( Node callee : getCallees(root.get()))
+		aCallNodeTopCoordinate.put(callTree.node(0), currentYPosition);
+		for( int callee = 1; callee < callTree.size(); callee = callTree.subtreeEnd(callee) )
 		{
-			currentYPosition = computeYPosition(callee, currentYPosition);
+			currentYPosition = computeYPosition(callTree, callee, currentYPosition, previous, firstModified);
 		}
-		aCallNodeBottomCoordinate.put(root.get(), currentYPosition + BOTTOM_PADDING);
+		aCallNodeBottomCoordinate.put(callTree.node(0), currentYPosition + BOTTOM_PADDING);
 	}
 	
 	/**
@@ -234,14 +264,22 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	}
 	
 	/*
-	 * Computes the y position of the pNode call node, and all its callees,
+	 * Computes the y position of the call node of entry pEntry, and all its callees,
 	 * through recursive descent. Also adjust the parent in case it's a constructor call.
+	 * The positions of calls that, with all their callees, come before pFirstModified 
+	 * in both pCallTree and pPrevious are kept.
 	 */
-	private int computeYPosition(Node pNode, int pCurrentPosition)
+	private int computeYPosition(CallTree pCallTree, int pEntry, int pCurrentPosition, 
+			Optional<CallTree> pPrevious, int pFirstModified)
 	{
+		Node node = pCallTree.node(pEntry);
+		if( pCallTree.subtreeEnd(pEntry) <= pFirstModified && pPrevious.get().subtreeEnd(pEntry) <= pFirstModified )
+		{
+			return aCallNodeBottomCoordinate.get(node);
+		}
 		int currentPosition = pCurrentPosition;
 		// If this is a constructor call, also adjust the parent.
-		if( isConstructorCall(pNode) )
+		if( pCallTree.isConstructorCall(pEntry) )
 		{
 			currentPosition += DROP_CONSTRUCTOR;
 		}
@@ -249,40 +287,31 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 		{
 			currentPosition += getDropDistance();
 		}
-		aCallNodeTopCoordinate.put(pNode, currentPosition);
-		List<Node> callees = getCallees(pNode);
-		if( callees.isEmpty() )
+		aCallNodeTopCoordinate.put(node, currentPosition);
+		if( pCallTree.subtreeEnd(pEntry) == pEntry + 1 )
 		{
 			currentPosition += LEAF_NODE_HEIGHT;
 		}
 		else
 		{
-			for( Node callee : callees)
+			for( int callee = pEntry + 1; callee < pCallTree.subtreeEnd(pEntry); callee = pCallTree.subtreeEnd(callee) )
 			{
-				currentPosition = computeYPosition(callee, currentPosition);
+				currentPosition = computeYPosition(pCallTree, callee, currentPosition, pPrevious, pFirstModified);
 			}
 			currentPosition += BOTTOM_PADDING;
 		} 
-		aCallNodeBottomCoordinate.put(pNode, currentPosition);
+		aCallNodeBottomCoordinate.put(node, currentPosition);
 		return currentPosition;
 	}
 	
 	private boolean isConstructorCall(Node pNode)
 	{
 		assert pNode.getClass() == CallNode.class;
-		return getIncomingCall(pNode)
+		return callTree().incomingEdge(pNode)
 					.filter(edge -> edge instanceof ConstructorEdge) // Exists and is a constructor edge
 					.isPresent();
 	}
 	
-	private Optional<Edge> getIncomingCall(Node pNode)
-	{
-		assert pNode.getClass() == CallNode.class;
-		return diagram().edges().stream()
-			.filter(edge -> edge.end() == pNode)
-			.findFirst();
-	}
-	
 	/**
 	 * @param pNode The node whose lifeline we're looking at.
 	 * @return The y-coordinate of the top of this node's lifeline
@@ -290,11 +319,8 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	public int getLifelineTop(ImplicitParameterNode pNode)
 	{
 		// 20 if it's a normal call, 5 if a constructor call
-		Optional<Node> topNode = diagram().allNodes().stream()
-			.filter(CallNode.class::isInstance)
-			.filter(node -> node.getParent() == pNode)
-			.sorted(Comparator.comparing(aCallNodeTopCoordinate::get))
-			.findFirst();
+		// Calls are indexed in call order, so the first one is also the top one
+		Optional<Node> topNode = callTree().firstCall(pNode);
 		if(topNode.isEmpty() || !isConstructorCall(topNode.get()))
 		{
 			return INITIAL_Y_POSITION - DROP_MIN;
@@ -310,21 +336,7 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	 */
 	private Optional<Node> findRoot()
 	{
-		Set<Node> calledNodes = diagram().edges().stream()
-				.filter(edge -> CallEdge.class.isAssignableFrom(edge.getClass())) // Includes subclasses, such as constructor edges
-				.map(Edge::end)
-				.collect(Collectors.toSet());
-		List<Node> rootNode = diagram().allNodes().stream()
-				.filter(node -> node.getClass() == CallNode.class)
-				.filter(node -> !calledNodes.contains(node))
-				.collect(Collectors.toList());
-		assert rootNode.size() <= 1; 
-		Optional<Node> result = Optional.empty();
-		if( !rootNode.isEmpty() )
-		{
-			result = Optional.of(rootNode.get(0));
-		}
-		return result;
+		return callTree().root();
 	}
 	
 	/**
@@ -363,11 +375,7 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	private List<Node> getCallees(Node pNode)
 	{
 		assert pNode != null && diagram().contains(pNode);
-		return diagram().edges().stream()
-				.filter(CallEdge.class::isInstance)
-				.filter(edge -> edge.start() == pNode)
-				.map(Edge::end)
-				.collect(toList());
+		return callTree().callees(pNode);
 	}
 	
 	/*
@@ -463,10 +471,6 @@ public final class SequenceDiagramRenderer extends AbstractDiagramRenderer
 	private List<CallEdge> getCalls(Node pCaller)
 	{
 		assert pCaller != null;
-		return diagram().edges().stream()
-				.filter(CallEdge.class::isInstance)
-				.map(CallEdge.class::cast)
-				.filter(edge -> edge.start() == pCaller)
-				.collect(toList());
+		return callTree().calls(pCaller);
 	}
 }
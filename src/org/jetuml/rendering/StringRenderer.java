@@ -22,6 +22,8 @@ package org.jetuml.rendering;
 
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.jetuml.annotations.Immutable;
 import org.jetuml.application.UserPreferences;
@@ -48,6 +50,12 @@ public final class StringRenderer
 {
 	private static final Text TEXT_NODE = new Text();
 	
+	/*
+	 * The font size that replaces the one of the user preferences while
+	 * something is rendered with withFontSize, on the thread that renders it.
+	 */
+	private static final ThreadLocal<Optional<Integer>> FONT_SIZE = ThreadLocal.withInitial(Optional::empty);
+	
 	/**
 	 * Various text decorations.
 	 */
@@ -152,25 +160,58 @@ public final class StringRenderer
 		return new FontDimension(lineHeight(), lineHeight()- baselineOffset(font()));
 	}
 	
+	/**
+	 * Renders something with all the strings at pFontSize instead of the font 
+	 * size of the user preferences. The preference itself is left unchanged,
+	 * and only the rendering done by the current thread is affected.
+	 * 
+	 * @param <T> The type of the result of the rendering.
+	 * @param pFontSize The font size to use.
+	 * @param pRendering The rendering to do.
+	 * @return The result of pRendering.
+	 * @pre pFontSize > 0 && pRendering != null
+	 */
+	public static <T> T withFontSize(int pFontSize, Supplier<T> pRendering)
+	{
+		assert pFontSize > 0 && pRendering != null;
+		Optional<Integer> previous = FONT_SIZE.get();
+		FONT_SIZE.set(Optional.of(pFontSize));
+		try
+		{
+			return pRendering.get();
+		}
+		finally
+		{
+			FONT_SIZE.set(previous);
+		}
+	}
+	
+	/**
+	 * @return The font size in which strings are rendered by the current thread.
+	 */
+	public static int fontSize()
+	{
+		return FONT_SIZE.get().orElseGet(() -> UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+	}
+	
 	private Font font()
 	{
 		if( aDecorations.contains(Decoration.BOLD) && aDecorations.contains(Decoration.ITALIC) )
 		{
 			return Font.font(UserPreferences.instance().getString(StringPreference.fontName), FontWeight.BOLD,
-					FontPosture.ITALIC, UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+					FontPosture.ITALIC, fontSize());
 		}
 		else if( aDecorations.contains(Decoration.BOLD) )
 		{
 			return Font.font(UserPreferences.instance().getString(StringPreference.fontName), FontWeight.BOLD,
-					UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+					fontSize());
 		}
 		else if( aDecorations.contains(Decoration.ITALIC) )
 		{
 			return Font.font(UserPreferences.instance().getString(StringPreference.fontName), FontPosture.ITALIC,
-					UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+					fontSize());
 		}
-		return Font.font(UserPreferences.instance().getString(StringPreference.fontName),
-				UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+		return Font.font(UserPreferences.instance().getString(StringPreference.fontName), fontSize());
 	}
 	
 	/**
@@ -23,19 +23,21 @@ package org.jetuml.rendering.edges;
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.Edge;
 import org.jetuml.geom.Alignment;
+import org.jetuml.geom.Curve;
 import org.jetuml.geom.Dimension;
 import org.jetuml.geom.Direction;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Polycurve;
+import org.jetuml.geom.Polycurve.Segment;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.rendering.DiagramRenderer;
 import org.jetuml.rendering.StringRenderer;
 
-import javafx.geometry.Bounds;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
-import javafx.scene.shape.Shape;
+import javafx.scene.shape.QuadCurveTo;
 
 /**
  * Provides shared services for viewing an edge.
@@ -49,6 +51,9 @@ public abstract class AbstractEdgeRenderer implements EdgeRenderer
 	private static final StringRenderer SIZE_TESTER = new StringRenderer(Alignment.LEFT);
 	
 	private static final int DEGREES_180 = 180;
+	private static final double STROKE_WIDTH = 1;
+	// The bounds of JavaFX shapes include an extra half pixel around their stroke.
+	private static final double ANTIALIASING_MARGIN = 0.5;
 	
 	private final DiagramRenderer aParent;
 	
@@ -67,17 +72,51 @@ public abstract class AbstractEdgeRenderer implements EdgeRenderer
 	 * the connections points oriented in the direction of each 
 	 * other node.
 	 * 
-	 * @param pEdge The edge whose shape we want
-	 * @return The shape. 
+	 * @param pEdge The edge whose curve we want
+	 * @return The curve along which the edge is drawn. 
 	 * @pre pEdge != null
 	 */
-	protected Shape getShape(Edge pEdge)
+	protected Curve getCurve(Edge pEdge)
+	{
+		return getStraightCurve(pEdge);
+	}
+	
+	/**
+	 * @param pEdge The edge whose curve we want
+	 * @return A straight line between the connection points of pEdge.
+	 * @pre pEdge != null
+	 */
+	protected final Polycurve getStraightCurve(Edge pEdge)
 	{
 		assert pEdge != null;
 		Line endPoints = getConnectionPoints(pEdge);
+		return new Polycurve(endPoints.point1()).lineTo(endPoints.point2());
+	}
+	
+	/**
+	 * Creates the JavaFX path needed to draw a curve.
+	 * 
+	 * @param pCurve The curve to draw.
+	 * @return A path that follows pCurve.
+	 * @pre pCurve != null
+	 */
+	protected static Path toPath(Polycurve pCurve)
+	{
+		assert pCurve != null;
 		Path path = new Path();
-		path.getElements().addAll(new MoveTo(endPoints.x1(), endPoints.y1()), 
-				new LineTo(endPoints.x2(), endPoints.y2()));
+		path.getElements().add(new MoveTo(pCurve.start().x(), pCurve.start().y()));
+		for( Segment segment : pCurve.segments() )
+		{
+			if( segment.isQuadratic() )
+			{
+				path.getElements().add(new QuadCurveTo(segment.control().x(), segment.control().y(), 
+						segment.end().x(), segment.end().y()));
+			}
+			else
+			{
+				path.getElements().add(new LineTo(segment.end().x(), segment.end().y()));
+			}
+		}
 		return path;
 	}
 	
@@ -100,17 +139,16 @@ public abstract class AbstractEdgeRenderer implements EdgeRenderer
 		{
 			return false;
 		}
-
-		Shape fatPath = getShape(edge);
-		fatPath.setStrokeWidth(2 * MAX_DISTANCE);
-		return fatPath.contains(pPoint.x(), pPoint.y());
+		return getCurve(edge).distance(pPoint) <= MAX_DISTANCE;
 	}
 	
+	/*
+	 * The bounds are those of the curve as stroked by JavaFX.
+	 */
 	@Override
 	public Rectangle getBounds(DiagramElement pElement)
 	{
-		Bounds bounds = getShape((Edge)pElement).getBoundsInLocal();
-		return new Rectangle((int)bounds.getMinX(), (int)bounds.getMinY(), (int)bounds.getWidth(), (int)bounds.getHeight());
+		return getCurve((Edge)pElement).strokeExtent(STROKE_WIDTH).padded(ANTIALIASING_MARGIN).toRectangle();
 	}
 	
 	/*
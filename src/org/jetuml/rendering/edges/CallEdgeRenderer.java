@@ -21,6 +21,9 @@
 package org.jetuml.rendering.edges;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
@@ -33,6 +36,7 @@ import org.jetuml.geom.Dimension;
 import org.jetuml.geom.Direction;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Polycurve;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.geom.Alignment;
 import org.jetuml.gui.ColorScheme;
@@ -48,7 +52,6 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
-import javafx.scene.shape.Shape;
 
 /**
  * A renderer to show call edges in a sequence diagrams. These are labeled
@@ -71,20 +74,11 @@ public final class CallEdgeRenderer extends AbstractEdgeRenderer
 	}
 	
 	@Override
-	protected Shape getShape(Edge pEdge)
+	protected Polycurve getCurve(Edge pEdge)
 	{
-		Point[] points = getPoints(pEdge);
-		Path path = new Path();
-		Point point = points[points.length - 1];
-		MoveTo moveTo = new MoveTo(point.x(), point.y());
-		path.getElements().add(moveTo);
-		for(int i = points.length - 2; i >= 0; i--)
-		{
-			point = points[i];
-			LineTo lineTo = new LineTo(point.x(), point.y());
-			path.getElements().add(lineTo);
-		}
-		return path;
+		List<Point> points = Arrays.asList(getPoints(pEdge));
+		Collections.reverse(points);
+		return Polycurve.polyline(points);
 	}
 	
 	@Override
@@ -126,9 +120,9 @@ public final class CallEdgeRenderer extends AbstractEdgeRenderer
 	public void draw(DiagramElement pElement, RenderingContext pContext)
 	{
 		Edge edge = (Edge) pElement;
-		pContext.strokePath((Path) getShape(edge), ColorScheme.get().stroke(), LineStyle.SOLID);
+		pContext.strokePath(toPath(getCurve(edge)), ColorScheme.get().stroke(), LineStyle.SOLID);
 		
-		Point[] points = getPoints(edge); // TODO already called by getShape(), find a way to avoid having to do 2 calls.
+		Point[] points = getPoints(edge); // TODO already called by getCurve(), find a way to avoid having to do 2 calls.
 		ArrowHeadRenderer.draw(pContext, getArrowHead((CallEdge)edge), points[points.length - 2], points[points.length - 1]);
 		drawLabel((CallEdge)edge, pContext);
 	}
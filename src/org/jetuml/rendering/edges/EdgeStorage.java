@@ -21,10 +21,10 @@
 package org.jetuml.rendering.edges;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
@@ -33,10 +33,20 @@ import org.jetuml.rendering.EdgePath;
 
 /**
  * Stores the EdgePaths of Edges for class diagrams.
+ * 
+ * In addition to the EdgePath of each edge, the storage indexes the stored 
+ * edges by the nodes they are attached to, and counts the stored EdgePaths 
+ * that start or end at each point. The layout queries about the edges attached
+ * to a node or about connection points thus only need to look at the edges 
+ * attached to that node, instead of at all the edges in storage. 
  */
 public class EdgeStorage
 {
-	private Map<Edge, EdgePath> aEdgePaths = new IdentityHashMap<>();
+	private final Map<Edge, EdgePath> aEdgePaths = new IdentityHashMap<>();
+	// The stored edges attached to each node, in the order they were first stored
+	private final Map<Node, List<Edge>> aEdgesByNode = new IdentityHashMap<>();
+	// The number of stored EdgePaths which start or end at each point
+	private final Map<Point, Integer> aConnectionPoints = new HashMap<>();
  	
  	/**
  	 * Adds pEdge and pEdgePath into storage.
@@ -48,7 +58,32 @@ public class EdgeStorage
  	public void store(Edge pEdge, EdgePath pEdgePath)
  	{
  		assert pEdge!=null && pEdgePath!=null;
- 		aEdgePaths.put(pEdge, pEdgePath);
+ 		EdgePath previous = aEdgePaths.put(pEdge, pEdgePath);
+ 		if( previous == null )
+ 		{
+ 			index(pEdge.start(), pEdge);
+ 			if( pEdge.end() != pEdge.start() )
+ 			{
+ 				index(pEdge.end(), pEdge);
+ 			}
+ 		}
+ 		else
+ 		{
+ 			releaseConnectionPoint(previous.getStartPoint());
+ 			releaseConnectionPoint(previous.getEndPoint());
+ 		}
+ 		aConnectionPoints.merge(pEdgePath.getStartPoint(), 1, Integer::sum);
+ 		aConnectionPoints.merge(pEdgePath.getEndPoint(), 1, Integer::sum);
+ 	}
+ 	
+ 	private void index(Node pNode, Edge pEdge)
+ 	{
+ 		aEdgesByNode.computeIfAbsent(pNode, node -> new ArrayList<>()).add(pEdge);
+ 	}
+ 	
+ 	private void releaseConnectionPoint(Point pPoint)
+ 	{
+ 		aConnectionPoints.computeIfPresent(pPoint, (point, count) -> count == 1 ? null : count - 1);
  	}
  
  	
@@ -89,7 +124,8 @@ public class EdgeStorage
  	}
 
  	/**
- 	 * Returns a list of edges in storage which are connected to pNode.
+ 	 * Returns a list of edges in storage which are connected to pNode,
+ 	 * in the order in which they were first stored.
 	 * @param pNode The node of interest
 	 * @return All the edges connected to pNode
 	 * @pre pNode != null
@@ -97,15 +133,7 @@ public class EdgeStorage
 	public List<Edge> edgesConnectedTo(Node pNode)
 	{
 		assert pNode != null;
-		List<Edge> result = new ArrayList<>();
-		for( Edge edge : aEdgePaths.keySet() )
-		{
-			if( edge.start() == pNode || edge.end() == pNode )
-			{
-				result.add(edge);
-			}
-		}
-		return result;
+		return new ArrayList<>(aEdgesByNode.getOrDefault(pNode, List.of()));
 	}
 	
 	/**
@@ -117,14 +145,7 @@ public class EdgeStorage
 	public boolean connectionPointIsAvailable(Point pConnectionPoint)
 	{
 		assert pConnectionPoint !=null;
-		for( EdgePath path : aEdgePaths.values() )
-		{
-			if(path.getStartPoint().equals(pConnectionPoint) || path.getEndPoint().equals(pConnectionPoint))
-			{
-				return false;
-			}
-		}
-		return true;
+		return !aConnectionPoints.containsKey(pConnectionPoint);
 	}
 	
 	/**
@@ -135,11 +156,33 @@ public class EdgeStorage
 	 */
 	public List<Edge> getEdgesWithSameNodes(Edge pEdge)
 	{
-		return aEdgePaths.keySet().stream()
-				.filter(edge -> edge.start() == pEdge.start() || edge.start() == pEdge.end())
-				.filter(edge -> edge.end() == pEdge.start() || edge.end() == pEdge.end())
-				.filter(edge -> !edge.equals(pEdge))
-				.collect(Collectors.toList());
+		List<Edge> result = new ArrayList<>();
+		for( Edge edge : aEdgesByNode.getOrDefault(pEdge.start(), List.of()) )
+		{
+			if( isAttachedToNodesOf(edge, pEdge) )
+			{
+				result.add(edge);
+			}
+		}
+		if( pEdge.end() != pEdge.start() )
+		{
+			// Edges attached to the end node only, which can only be self-edges
+			for( Edge edge : aEdgesByNode.getOrDefault(pEdge.end(), List.of()) )
+			{
+				if( edge.start() != pEdge.start() && edge.end() != pEdge.start() && isAttachedToNodesOf(edge, pEdge) )
+				{
+					result.add(edge);
+				}
+			}
+		}
+		return result;
+	}
+	
+	private static boolean isAttachedToNodesOf(Edge pEdge, Edge pReference)
+	{
+		return (pEdge.start() == pReference.start() || pEdge.start() == pReference.end()) &&
+				(pEdge.end() == pReference.start() || pEdge.end() == pReference.end()) &&
+				!pEdge.equals(pReference);
 	}
 	
 	/**
@@ -148,5 +191,7 @@ public class EdgeStorage
 	public void clearStorage()
 	{
 		aEdgePaths.clear();
+		aEdgesByNode.clear();
+		aConnectionPoints.clear();
 	}
 }
@@ -26,6 +26,7 @@ import org.jetuml.diagram.Edge;
 import org.jetuml.geom.Direction;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Polycurve;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.gui.ColorScheme;
 import org.jetuml.rendering.ArrowHead;
@@ -36,11 +37,7 @@ import org.jetuml.rendering.GraphicsRenderingContext;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.shape.LineTo;
-import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
-import javafx.scene.shape.QuadCurveTo;
-import javafx.scene.shape.Shape;
 
 /**
  * A viewer for an S- or C-shaped edge with an arrowhead.
@@ -58,19 +55,19 @@ public final class ObjectReferenceEdgeRenderer extends AbstractEdgeRenderer
 	}
 	
 	@Override
-	protected Shape getShape(Edge pEdge)
+	protected Polycurve getCurve(Edge pEdge)
 	{
 		if(isSShaped(pEdge))
 		{
-			return getSShape(getConnectionPoints(pEdge));
+			return getSCurve(getConnectionPoints(pEdge));
 		}
 		else
 		{
-			return getCShape(getConnectionPoints(pEdge));
+			return getCCurve(getConnectionPoints(pEdge));
 		}			
 	}
 	
-	private static Path getSShape(Line pConnectionPoints)
+	private static Polycurve getSCurve(Line pConnectionPoints)
 	{
 		final int x1 = pConnectionPoints.x1() + ENDSIZE;
 		final int y1 = pConnectionPoints.y1();
@@ -79,18 +76,14 @@ public final class ObjectReferenceEdgeRenderer extends AbstractEdgeRenderer
 		final int xmid = (pConnectionPoints.x1() + pConnectionPoints.x2()) / 2;
 		final int ymid = (pConnectionPoints.y1() + pConnectionPoints.y2()) / 2;
      
-		MoveTo moveTo = new MoveTo(pConnectionPoints.x1(), y1);
-		LineTo lineTo1 = new LineTo(x1, y1);
-		QuadCurveTo quadTo1 = new QuadCurveTo((x1 + xmid) / 2, y1, xmid, ymid);
-		QuadCurveTo quadTo2 = new QuadCurveTo((x2 + xmid) / 2, y2, x2, y2);
-		LineTo lineTo2 = new LineTo(pConnectionPoints.x2(), y2);
-		
-		Path path = new Path();
-		path.getElements().addAll(moveTo, lineTo1, quadTo1, quadTo2, lineTo2);
-		return path;
+		return new Polycurve(pConnectionPoints.point1())
+				.lineTo(new Point(x1, y1))
+				.quadTo(new Point((x1 + xmid) / 2, y1), new Point(xmid, ymid))
+				.quadTo(new Point((x2 + xmid) / 2, y2), new Point(x2, y2))
+				.lineTo(pConnectionPoints.point2());
 	}
 	
-	private static Path getCShape(Line pConnectionPoints)
+	private static Polycurve getCCurve(Line pConnectionPoints)
 	{
 		final int x1 = Math.max(pConnectionPoints.x1(), pConnectionPoints.x2()) + ENDSIZE;
 		final int y1 = pConnectionPoints.y1();
@@ -98,15 +91,11 @@ public final class ObjectReferenceEdgeRenderer extends AbstractEdgeRenderer
 		final int y2 = pConnectionPoints.y2();
 		final int ymid = (pConnectionPoints.y1() + pConnectionPoints.y2()) / 2;
 		
-		MoveTo moveTo = new MoveTo(pConnectionPoints.x1(), y1);
-		LineTo lineTo1 = new LineTo(x1, y1);
-		QuadCurveTo quadTo1 = new QuadCurveTo(x2, y1, x2, ymid);
-		QuadCurveTo quadTo2 = new QuadCurveTo(x2, y2, x1, y2);
-		LineTo lineTo2 = new LineTo(pConnectionPoints.x2(), y2);
-		
-		Path path = new Path();
-		path.getElements().addAll(moveTo, lineTo1, quadTo1, quadTo2, lineTo2);
-		return path;
+		return new Polycurve(pConnectionPoints.point1())
+				.lineTo(new Point(x1, y1))
+				.quadTo(new Point(x2, y1), new Point(x2, ymid))
+				.quadTo(new Point(x2, y2), new Point(x1, y2))
+				.lineTo(pConnectionPoints.point2());
 	}
 	
 	/**
@@ -124,7 +113,7 @@ public final class ObjectReferenceEdgeRenderer extends AbstractEdgeRenderer
 	public void draw(DiagramElement pElement, RenderingContext pContext)
 	{
 		Edge edge = (Edge) pElement;
-		pContext.strokePath((Path) getShape(edge), ColorScheme.get().stroke(), LineStyle.SOLID);
+		pContext.strokePath(toPath(getCurve(edge)), ColorScheme.get().stroke(), LineStyle.SOLID);
 		Line connectionPoints = getConnectionPoints(edge);
 		
 		if(isSShaped(edge))
@@ -161,7 +150,7 @@ public final class ObjectReferenceEdgeRenderer extends AbstractEdgeRenderer
 		Canvas canvas = new Canvas(BUTTON_SIZE, BUTTON_SIZE);
 		GraphicsContext graphics = canvas.getGraphicsContext2D();
 		graphics.scale(0.6, 0.6);
-		Path path = getCShape(new Line(new Point(5, 5), new Point(15,25)));
+		Path path = toPath(getCCurve(new Line(new Point(5, 5), new Point(15,25))));
 		GraphicsRenderingContext context = new GraphicsRenderingContext(graphics);
 		context.strokePath(path, ColorScheme.get().stroke(), LineStyle.SOLID);
 		ArrowHeadRenderer.draw(context, ArrowHead.BLACK_TRIANGLE, new Point(20,25), new Point(15, 25));
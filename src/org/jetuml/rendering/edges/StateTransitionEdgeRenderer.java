@@ -20,16 +20,21 @@
  *******************************************************************************/
 package org.jetuml.rendering.edges;
 
+import java.util.List;
+
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.edges.StateTransitionEdge;
 import org.jetuml.geom.Alignment;
+import org.jetuml.geom.Arc;
+import org.jetuml.geom.Curve;
 import org.jetuml.geom.Dimension;
 import org.jetuml.geom.Direction;
 import org.jetuml.geom.GeomUtils;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Polycurve;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.gui.ColorScheme;
 import org.jetuml.rendering.ArrowHead;
@@ -41,12 +46,9 @@ import org.jetuml.rendering.StringRenderer;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.shape.Arc;
-import javafx.scene.shape.ArcType;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.QuadCurveTo;
-import javafx.scene.shape.Shape;
 
 /**
  * An edge view specialized for state transitions.
@@ -80,14 +82,13 @@ public final class StateTransitionEdgeRenderer extends AbstractEdgeRenderer
 		Edge edge = (Edge) pElement;
 		if (isSelfEdge(edge))
 		{
-			Arc arc = getSelfEdgeShape(edge);
-			pContext.strokeArc((int) arc.getCenterX(), (int) arc.getCenterY(), 
-					(int) arc.getRadiusX(), (int) arc.getStartAngle(), (int) arc.getLength(), 
+			Arc arc = getSelfEdgeCurve(edge);
+			pContext.strokeArc(arc.center().x(), arc.center().y(), arc.radius(), arc.startAngle(), arc.length(), 
 					ColorScheme.get().stroke());
 		}
 		else 
 		{
-			pContext.strokePath(getNormalEdgeShape(edge), ColorScheme.get().stroke(), LineStyle.SOLID);
+			pContext.strokePath(toPath(getNormalEdgeCurve(edge)), ColorScheme.get().stroke(), LineStyle.SOLID);
 		}
 		drawLabel((StateTransitionEdge)edge, pContext);
 		drawArrowHead(edge, pContext);
@@ -251,15 +252,15 @@ public final class StateTransitionEdgeRenderer extends AbstractEdgeRenderer
 	}
 
 	@Override
-	protected Shape getShape(Edge pEdge)
+	protected Curve getCurve(Edge pEdge)
 	{
 		if( isSelfEdge(pEdge) )
 		{
-			return getSelfEdgeShape(pEdge);
+			return getSelfEdgeCurve(pEdge);
 		}
 		else
 		{
-			return getNormalEdgeShape(pEdge);
+			return getNormalEdgeCurve(pEdge);
 		}
 	}
 	
@@ -268,7 +269,7 @@ public final class StateTransitionEdgeRenderer extends AbstractEdgeRenderer
 		return pEdge.start() == pEdge.end();
 	}
 	
-	private Arc getSelfEdgeShape(Edge pEdge)
+	private Arc getSelfEdgeCurve(Edge pEdge)
 	{
 		/*
 		 * The starting position is determined from the bottom middle
@@ -276,37 +277,31 @@ public final class StateTransitionEdgeRenderer extends AbstractEdgeRenderer
 		 * clockwise.
 		 */
 		Line line = getSelfEdgeConnectionPoints(pEdge);
-		Arc arc = new Arc();
-		arc.setRadiusX(SELF_EDGE_OFFSET);
-		arc.setRadiusY(SELF_EDGE_OFFSET);
-		arc.setLength(DEGREES_270);
-		arc.setType(ArcType.OPEN);
 		if( getPosition(pEdge) == 1 )
 		{
-			arc.setCenterX(line.x1() + SELF_EDGE_OFFSET);
-			arc.setCenterY(line.y1());
-			arc.setStartAngle(DEGREES_270);
+			return new Arc(new Point(line.x1() + SELF_EDGE_OFFSET, line.y1()), SELF_EDGE_OFFSET, 
+					DEGREES_270, DEGREES_270);
 		}
 		else
 		{		
-			arc.setCenterX(line.x1());
-			arc.setCenterY(line.y1()-SELF_EDGE_OFFSET);
-			arc.setStartAngle(0);
+			return new Arc(new Point(line.x1(), line.y1() - SELF_EDGE_OFFSET), SELF_EDGE_OFFSET, 
+					0, DEGREES_270);
 		}
-		return arc;
 	}
 	
+	/*
+	 * Self-edges can also be selected from inside their arc.
+	 */
 	@Override
 	public boolean contains(DiagramElement pElement, Point pPoint)
 	{
-		boolean result = super.contains(pElement, pPoint);
-		if(getShape((Edge)pElement) instanceof Arc arc)
+		Edge edge = (Edge) pElement;
+		if( isSelfEdge(edge) )
 		{
-			arc.setRadiusX(arc.getRadiusX() + 2 * MAX_DISTANCE);
-			arc.setRadiusY(arc.getRadiusY() + 2 * MAX_DISTANCE);
-			result = arc.contains(pPoint.x(), pPoint.y());
+			Arc arc = getSelfEdgeCurve(edge);
+			return new Arc(arc.center(), arc.radius() + 2 * MAX_DISTANCE, arc.startAngle(), arc.length()).encloses(pPoint);
 		}
-		return result;
+		return super.contains(pElement, pPoint);
 	}
 	
 	/** 
@@ -316,20 +311,10 @@ public final class StateTransitionEdgeRenderer extends AbstractEdgeRenderer
 	 */
 	private int getPosition(Edge pEdge)
 	{
-		int lReturn = 0;
-		for( Edge edge : parent().diagram().edgesConnectedTo(pEdge.start()))
-		{
-			if( edge.start() == pEdge.start() && edge.end() == pEdge.end())
-			{
-				lReturn++;
-			}
-			if( edge == pEdge )
-			{
-				return lReturn;
-			}
-		}
-		assert lReturn > 0;
-		return lReturn;
+		List<Edge> edges = parent().diagram().edgesFromTo(pEdge.start(), pEdge.end());
+		int position = edges.indexOf(pEdge);
+		assert position >= 0;
+		return position + 1;
 	}
 	
 	/*
@@ -356,15 +341,10 @@ public final class StateTransitionEdgeRenderer extends AbstractEdgeRenderer
 		}
 	}
 	
-	private Path getNormalEdgeShape(Edge pEdge)
+	private Polycurve getNormalEdgeCurve(Edge pEdge)
 	{
 		Line line = getConnectionPoints(pEdge);
-		Path path = new Path();
-		MoveTo moveTo = new MoveTo(line.point1().x(), line.point1().y());
-		QuadCurveTo curveTo = new QuadCurveTo(getControlPoint(pEdge).x(), getControlPoint(pEdge).y(), 
-				line.point2().x(), line.point2().y());
-		path.getElements().addAll(moveTo, curveTo);
-		return path;
+		return new Polycurve(line.point1()).quadTo(getControlPoint(pEdge), line.point2());
 	}
 	
 	
@@ -22,6 +22,8 @@ package org.jetuml.rendering.edges;
 
 import static org.jetuml.rendering.EdgePriority.priorityOf;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.jetuml.diagram.DiagramElement;
@@ -36,9 +38,11 @@ import org.jetuml.diagram.edges.GeneralizationEdge;
 import org.jetuml.diagram.edges.SingleLabelEdge;
 import org.jetuml.diagram.edges.ThreeLabelEdge;
 import org.jetuml.geom.Alignment;
+import org.jetuml.geom.Curve;
 import org.jetuml.geom.Dimension;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Polycurve;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.gui.ColorScheme;
 import org.jetuml.rendering.ArrowHead;
@@ -55,7 +59,6 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
-import javafx.scene.shape.Shape;
 
 /**
  * Renders the path of stored class diagram edges using EdgeStorage.
@@ -167,23 +170,17 @@ public class StoredEdgeRenderer extends AbstractEdgeRenderer
 	}
 
 	/**
-	 * Uses the stored EdgePath of pEdge to create Path representation of its trajectory. 
+	 * Uses the stored EdgePath of pEdge to create a polyline representation of its trajectory. 
 	 * @param pEdge the edge of interest
-	 * @return a Path representing the path of pEdge
+	 * @return a Polycurve representing the path of pEdge
 	 * @pre pEdge!=null;
 	 */
-	private Path getSegmentPath(Edge pEdge) 
+	private Polycurve getSegmentCurve(Edge pEdge) 
 	{
 		assert pEdge != null;
-		Path shape = new Path();
-		EdgePath path = getStoredEdgePath(pEdge);
-		shape.getElements().add(new MoveTo(path.getStartPoint().x(), path.getStartPoint().y()));
-		for(int i = 1; i < path.size(); i++)
-		{
-			Point point = path.getPointByIndex(i);
-			shape.getElements().add(new LineTo(point.x(), point.y()));
-		}
-		return shape;
+		List<Point> points = new ArrayList<>();
+		getStoredEdgePath(pEdge).forEach(points::add);
+		return Polycurve.polyline(points);
 	}
 
 	/**
@@ -403,10 +400,10 @@ public class StoredEdgeRenderer extends AbstractEdgeRenderer
 	}
 
 	@Override
-	protected Shape getShape(Edge pEdge) 
+	protected Curve getCurve(Edge pEdge) 
 	{
 		assert pEdge != null;
-		return getSegmentPath(pEdge);
+		return getSegmentCurve(pEdge);
 	}
 
 	@Override
@@ -415,7 +412,7 @@ public class StoredEdgeRenderer extends AbstractEdgeRenderer
 		assert pElement !=null && pContext != null;
 		Edge edge = (Edge) pElement;
 		EdgePath path = getStoredEdgePath(edge);
-		pContext.strokePath(getSegmentPath(edge), ColorScheme.get().stroke(), getLineStyle(edge));
+		pContext.strokePath(toPath(getSegmentCurve(edge)), ColorScheme.get().stroke(), getLineStyle(edge));
 		ArrowHeadRenderer.draw(pContext, getArrowStart(edge), path.getPointByIndex(1), path.getStartPoint());
 		ArrowHeadRenderer.draw(pContext, getArrowEnd(edge), path.getPointByIndex(path.size()-2), path.getEndPoint());
 
@@ -481,9 +478,7 @@ public class StoredEdgeRenderer extends AbstractEdgeRenderer
 			{
 				return true;
 			}
-			Shape fatPath = getShape((Edge)pElement);
-			fatPath.setStrokeWidth(2 * MAX_DISTANCE);
-			return fatPath.contains(pPoint.x(), pPoint.y());
+			return getCurve((Edge)pElement).distance(pPoint) <= MAX_DISTANCE;
 		}
 	}
 
@@ -25,6 +25,7 @@ import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Polycurve;
 import org.jetuml.geom.Rectangle;
 import org.jetuml.gui.ColorScheme;
 import org.jetuml.rendering.ArrowHead;
@@ -62,12 +63,17 @@ public class StraightEdgeRenderer extends AbstractEdgeRenderer
 		aArrowHead = pArrowHead;
 	}
 	
+	@Override
+	protected Polycurve getCurve(Edge pEdge)
+	{
+		return getStraightCurve(pEdge);
+	}
+	
 	@Override
 	public void draw(DiagramElement pElement, RenderingContext pContext)
 	{
 		Edge edge = (Edge) pElement;
-		Path shape = (Path) getShape(edge);
-		pContext.strokePath(shape, ColorScheme.get().stroke(), aLineStyle);
+		pContext.strokePath(toPath(getCurve(edge)), ColorScheme.get().stroke(), aLineStyle);
 		Line connectionPoints = getConnectionPoints(edge);
 		ArrowHeadRenderer.draw(pContext, aArrowHead, connectionPoints);
 	}
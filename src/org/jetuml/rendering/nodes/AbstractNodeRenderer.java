@@ -44,12 +44,23 @@ public abstract class AbstractNodeRenderer implements NodeRenderer
 	public static final int BUTTON_SIZE = 25;
 	public static final int OFFSET = 3;
 	
-	private NodeStorage aNodeStorage = new NodeStorage();
+	private final NodeStorage aNodeStorage;
 	private final DiagramRenderer aParent;
 	
 	protected AbstractNodeRenderer(DiagramRenderer pParent)
+	{
+		this(pParent, true);
+	}
+	
+	/**
+	 * @param pParent The renderer of the diagram.
+	 * @param pKeepsBounds True if the bounds of nodes can be kept across rendering passes,
+	 *     which requires that they only depend on the nodes in their tree of nodes.
+	 */
+	protected AbstractNodeRenderer(DiagramRenderer pParent, boolean pKeepsBounds)
 	{
 		aParent = pParent;
+		aNodeStorage = new NodeStorage(pKeepsBounds);
 	}
 	
 	protected DiagramRenderer parent()
@@ -106,13 +117,13 @@ public abstract class AbstractNodeRenderer implements NodeRenderer
 	}
 	
 	@Override
-	public final void activateNodeStorage()
+	public void activateNodeStorage()
 	{
 		aNodeStorage.activate();
 	}
 	
 	@Override
-	public final void deactivateAndClearNodeStorage() 
+	public void deactivateAndClearNodeStorage() 
 	{
 		aNodeStorage.deactivateAndClear();
 	}
@@ -52,7 +52,8 @@ public final class CallNodeRenderer extends AbstractNodeRenderer
 	 */
 	public CallNodeRenderer(DiagramRenderer pParent)
 	{
-		super(pParent);
+		// The bounds depend on the layout of the sequence diagram, so they cannot be kept.
+		super(pParent, false);
 	}
 	
 	@Override
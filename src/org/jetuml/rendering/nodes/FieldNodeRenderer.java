@@ -87,12 +87,11 @@ public final class FieldNodeRenderer extends AbstractNodeRenderer
 				pContext);
 	}
 	
-	private static int getSplitPosition(Node pNode)
+	private int getSplitPosition(Node pNode)
 	{
-		ObjectNode parent = (ObjectNode)pNode.getParent();
-		if( parent != null )
+		if( pNode.hasParent() )
 		{
-			return ObjectNodeRenderer.getSplitPosition(parent);
+			return objectNodeViewer().getSplitPosition(pNode.getParent());
 		}
 		else
 		{
@@ -103,15 +102,12 @@ public final class FieldNodeRenderer extends AbstractNodeRenderer
 	@Override
 	protected Rectangle internalGetBounds(Node pNode)
 	{
-		final int leftWidth = leftWidth(pNode);
-		final int height = getHeight(pNode);
 		if( pNode.hasParent() )
 		{
-			int yPosition = ObjectNodeRenderer.getYPosition(pNode.getParent(), (FieldNode) pNode);
-			Rectangle parentBounds = objectNodeViewer().getBounds(pNode.getParent());
-			return new Rectangle(parentBounds.x() + XGAP, yPosition, parentBounds.width() - 2*XGAP, height);
+			return objectNodeViewer().getFieldBounds(pNode.getParent(), (FieldNode) pNode);
 		}
-		return new Rectangle(DEFAULT_WIDTH / 2 - leftWidth, 0, leftWidth + rightWidth(pNode), height);
+		final int leftWidth = leftWidth(pNode);
+		return new Rectangle(DEFAULT_WIDTH / 2 - leftWidth, 0, leftWidth + rightWidth(pNode), getHeight(pNode));
 	}
 	
 	/**
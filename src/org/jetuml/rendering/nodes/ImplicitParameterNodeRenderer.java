@@ -69,7 +69,8 @@ public final class ImplicitParameterNodeRenderer extends AbstractNodeRenderer
 	 */
 	public ImplicitParameterNodeRenderer(DiagramRenderer pParent)
 	{
-		super(pParent);
+		// The bounds depend on the layout of the sequence diagram, so they cannot be kept.
+		super(pParent, false);
 	}
 	
 	@Override
@@ -52,7 +52,8 @@ public interface NodeRenderer extends DiagramElementRenderer
 	void activateNodeStorage();
 	
 	/**
-	 * Deactivates and clears the NodeStorage. 
+	 * Deactivates the NodeStorage, and discards the bounds it cannot reuse
+	 * in the next rendering pass. 
 	 */
 	void deactivateAndClearNodeStorage();
 	
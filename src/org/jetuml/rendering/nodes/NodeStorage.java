@@ -20,59 +20,167 @@
  *******************************************************************************/
 package org.jetuml.rendering.nodes;
 
- import java.util.IdentityHashMap;
- import java.util.Map;
- import java.util.function.Function;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
 
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.StringPreference;
 import org.jetuml.diagram.Node;
 import org.jetuml.geom.Rectangle;
+import org.jetuml.rendering.StringRenderer;
 
- /**
-  * Stores the bounds of nodes. 
-  */
- public class NodeStorage 
- {
- 	private Map<Node, Rectangle> aNodeBounds = new IdentityHashMap<>();
- 	private boolean aIsActivated = false;
+/**
+ * Stores the bounds of nodes. 
+ * 
+ * A NodeStorage can either store bounds only while it is activated, during a 
+ * rendering pass, or keep them across rendering passes. In the latter case, the 
+ * stored bounds of a node are used for as long as the modification stamp of the
+ * root of its tree of nodes and the font preferences remain the same. Because the stamp 
+ * of a node changes whenever one of its descendants changes, the stored bounds of parents 
+ * that depend on their children, and of children that depend on their parent, are 
+ * recomputed when any node in their tree changes. Bounds stored for nodes that 
+ * were not used during a rendering pass are discarded when the storage is deactivated.
+ */
+public class NodeStorage 
+{
+	private final Map<Node, Entry> aNodeBounds = new IdentityHashMap<>();
+	private final boolean aKeepsBounds;
+	private boolean aIsActivated = false;
+	private int aPass = 0;
+	
+	/*
+	 * Bounds, with the state of the node and of the font preferences 
+	 * for which they were computed.
+	 */
+	private static final class Entry
+	{
+		private final Rectangle aBounds;
+		private final long aStamp;
+		private final String aFontName;
+		private final int aFontSize;
+		private int aPass;
+		
+		Entry(Rectangle pBounds, long pStamp, String pFontName, int pFontSize, int pPass)
+		{
+			aBounds = pBounds;
+			aStamp = pStamp;
+			aFontName = pFontName;
+			aFontSize = pFontSize;
+			aPass = pPass;
+		}
+		
+		boolean isValid(long pStamp, String pFontName, int pFontSize)
+		{
+			return aStamp == pStamp && aFontSize == pFontSize && aFontName.equals(pFontName);
+		}
+	}
+	
+	/**
+	 * Creates a storage that only stores bounds while it is activated.
+	 */
+	public NodeStorage()
+	{
+		this(false);
+	}
+	
+	/**
+	 * Creates a storage.
+	 * 
+	 * @param pKeepsBounds True if the storage should keep the bounds of nodes across
+	 *     rendering passes. This is only correct if the bounds of a node only depend
+	 *     on the nodes in its tree of nodes and on the font preferences.
+	 */
+	public NodeStorage(boolean pKeepsBounds)
+	{
+		aKeepsBounds = pKeepsBounds;
+	}
 
- 	/**
- 	 * Returns the bounds of the current node either from the storage or from the calculator.
- 	 * @param pNode the node of interest.
- 	 * @param pBoundCalculator the bound calculator.
- 	 * @return the bounds of pNode. 
- 	 */
- 	public Rectangle getBounds(Node pNode, Function<Node, Rectangle> pBoundCalculator)
- 	{
- 		if(!aIsActivated)
- 		{
- 			return pBoundCalculator.apply(pNode);
- 		}
- 		else if(aIsActivated && aNodeBounds.containsKey(pNode))
- 		{
- 			return aNodeBounds.get(pNode);
- 		}
- 		else
- 		{
- 			Rectangle computedBounds = pBoundCalculator.apply(pNode);
- 			aNodeBounds.put(pNode, computedBounds);
- 			return computedBounds;
- 		}
- 	}
+	/**
+	 * Returns the bounds of the current node either from the storage or from the calculator.
+	 * @param pNode the node of interest.
+	 * @param pBoundCalculator the bound calculator.
+	 * @return the bounds of pNode. 
+	 */
+	public Rectangle getBounds(Node pNode, Function<Node, Rectangle> pBoundCalculator)
+	{
+		if( aKeepsBounds )
+		{
+			return getStoredBounds(pNode, pBoundCalculator);
+		}
+		else if(!aIsActivated)
+		{
+			return pBoundCalculator.apply(pNode);
+		}
+		else if(aNodeBounds.containsKey(pNode))
+		{
+			return aNodeBounds.get(pNode).aBounds;
+		}
+		else
+		{
+			Rectangle computedBounds = pBoundCalculator.apply(pNode);
+			aNodeBounds.put(pNode, new Entry(computedBounds, 0, "", 0, aPass));
+			return computedBounds;
+		}
+	}
+	
+	private Rectangle getStoredBounds(Node pNode, Function<Node, Rectangle> pBoundCalculator)
+	{
+		long stamp = root(pNode).modificationStamp();
+		String fontName = UserPreferences.instance().getString(StringPreference.fontName);
+		int fontSize = StringRenderer.fontSize();
+		Entry entry = aNodeBounds.get(pNode);
+		if( entry == null || !entry.isValid(stamp, fontName, fontSize) )
+		{
+			// The bounds of the node are computed before it is stored, because
+			// computing them can store the bounds of other nodes.
+			Rectangle computedBounds = pBoundCalculator.apply(pNode);
+			entry = new Entry(computedBounds, stamp, fontName, fontSize, aPass);
+			aNodeBounds.put(pNode, entry);
+		}
+		entry.aPass = aPass;
+		return entry.aBounds;
+	}
+	
+	private static Node root(Node pNode)
+	{
+		Node root = pNode;
+		while( root.hasParent() )
+		{
+			root = root.getParent();
+		}
+		return root;
+	}
 
- 	/**
- 	 * Activates the NodeStorage.
- 	 */
- 	public void activate() 
- 	{
- 		aIsActivated = true;
- 	}
+	/**
+	 * Activates the NodeStorage.
+	 */
+	public void activate() 
+	{
+		aIsActivated = true;
+		aPass++;
+	}
 
- 	/**
- 	 * Deactivates and clears the NodeStorage.
- 	 */
- 	public void deactivateAndClear() 
- 	{
- 		aIsActivated = false;
- 		aNodeBounds.clear();
- 	}
- }
\ No newline at end of file
+	/**
+	 * Deactivates the NodeStorage. If the storage keeps bounds across rendering passes,
+	 * discards the bounds of the nodes that were not used since it was activated. 
+	 * Otherwise, discards all bounds.
+	 */
+	public void deactivateAndClear() 
+	{
+		aIsActivated = false;
+		if( !aKeepsBounds )
+		{
+			aNodeBounds.clear();
+			return;
+		}
+		for( Iterator<Entry> iterator = aNodeBounds.values().iterator(); iterator.hasNext(); )
+		{
+			if( iterator.next().aPass != aPass )
+			{
+				iterator.remove();
+			}
+		}
+	}
+}
@@ -20,8 +20,14 @@
  *******************************************************************************/
 package org.jetuml.rendering.nodes;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.StringPreference;
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.nodes.FieldNode;
@@ -39,6 +45,11 @@ import org.jetuml.rendering.StringRenderer.Decoration;
 
 /**
  * An object to render an object in an object diagram.
+ * 
+ * The layout of an object and its fields is computed once for all the fields, 
+ * and kept for as long as the object, its fields, and the font preferences 
+ * do not change. Layouts of objects that were not used during a rendering 
+ * pass are discarded at the end of the pass.
  */
 public final class ObjectNodeRenderer extends AbstractNodeRenderer
 {
@@ -50,6 +61,24 @@ public final class ObjectNodeRenderer extends AbstractNodeRenderer
 	private static final StringRenderer LABEL_RENDERER = new StringRenderer(Alignment.CENTER, 
 			Decoration.BOLD, Decoration.UNDERLINED);
 	
+	private final Map<Node, FieldLayout> aFieldLayouts = new IdentityHashMap<>();
+	private final Set<Node> aUsedFieldLayouts = Collections.newSetFromMap(new IdentityHashMap<>());
+	
+	/*
+	 * The bounds of an object, the height of its name compartment, the position
+	 * of the split between the names and values of its fields, and the bounds of 
+	 * its fields, with the state of the object and of the font preferences for
+	 * which they were computed.
+	 */
+	private record FieldLayout(Rectangle bounds, int topHeight, int split, Map<Node, Rectangle> fieldBounds,
+			long stamp, String fontName, int fontSize)
+	{
+		boolean isValid(long pStamp, String pFontName, int pFontSize)
+		{
+			return stamp == pStamp && fontSize == pFontSize && fontName.equals(pFontName);
+		}
+	}
+	
 	/**
 	 * @param pParent The renderer for the parent diagram.
 	 */
@@ -69,8 +98,8 @@ public final class ObjectNodeRenderer extends AbstractNodeRenderer
 	{
 		final Rectangle bounds = getBounds(pElement);
 		Node node = (Node) pElement;
-		final Rectangle topRectangle = getTopRectangle(node);
-		int dividerPosition = topRectangle.maxY();
+		final int topHeight = fieldLayout(node).topHeight();
+		int dividerPosition = node.position().y() + topHeight;
 		pContext.drawRectangle(bounds, ColorScheme.get().fill(), ColorScheme.get().stroke(),
 				Optional.of(ColorScheme.get().dropShadow()));
 		if( ((ObjectNode)node).getChildren().size() > 0 ) 
@@ -79,7 +108,7 @@ public final class ObjectNodeRenderer extends AbstractNodeRenderer
 					ColorScheme.get().stroke(),
 					LineStyle.SOLID);
 		}
-		Rectangle top = new Rectangle(bounds.x(), bounds.y(), bounds.width(), topRectangle.height());
+		Rectangle top = new Rectangle(bounds.x(), bounds.y(), bounds.width(), topHeight);
 		LABEL_RENDERER.draw(((ObjectNode)node).getName(), 
 				top.centerSlice(LABEL_RENDERER.lineHeight()), pContext);
 	}
@@ -92,41 +121,77 @@ public final class ObjectNodeRenderer extends AbstractNodeRenderer
 				Math.max(DEFAULT_HEIGHT,  bounds.height()));
 	}
 	
-	/**
-	 * @param pNode The node
-	 * @return The position that represents the split between the name and value fields.
+	/*
+	 * Returns the stored layout of pNode, if it is still valid, or a new one.
 	 */
-	public static int getSplitPosition(Node pNode)
+	private FieldLayout fieldLayout(Node pNode)
 	{
 		assert ObjectNode.class.isInstance(pNode);
-		int leftWidth = 0;
-		for(Node field : ((ObjectNode)pNode).getChildren())
+		long stamp = pNode.modificationStamp();
+		String fontName = UserPreferences.instance().getString(StringPreference.fontName);
+		int fontSize = StringRenderer.fontSize();
+		FieldLayout layout = aFieldLayouts.get(pNode);
+		if( layout == null || !layout.isValid(stamp, fontName, fontSize) )
 		{
-			leftWidth = Math.max(leftWidth, FieldNodeRenderer.leftWidth(field));
+			layout = computeFieldLayout(pNode, stamp, fontName, fontSize);
+			aFieldLayouts.put(pNode, layout);
 		}
-		return pNode.position().x() + leftWidth + XGAP;
+		aUsedFieldLayouts.add(pNode);
+		return layout;
 	}
 	
-	@Override
-	protected Rectangle internalGetBounds(Node pNode)
+	/*
+	 * Measures the name of the object and the name, value and height of each field once.
+	 */
+	private static FieldLayout computeFieldLayout(Node pNode, long pStamp, String pFontName, int pFontSize)
 	{
-		Rectangle bounds = getTopRectangle(pNode);
+		Rectangle top = getTopRectangle(pNode);
 		int leftWidth = 0;
 		int rightWidth = 0;
 		int height = 0;
-		if( ((ObjectNode)pNode).getChildren().size() > 0 )
+		if( pNode.getChildren().size() > 0 )
 		{
 			height = YGAP;
 		}
-		for(Node field : ((ObjectNode)pNode).getChildren())
+		Map<Node, Integer> fieldHeights = new IdentityHashMap<>();
+		for( Node field : pNode.getChildren() )
 		{
-			height += FieldNodeRenderer.getHeight(field) + YGAP;   
+			int fieldHeight = FieldNodeRenderer.getHeight(field);
+			fieldHeights.put(field, fieldHeight);
+			height += fieldHeight + YGAP;   
 			leftWidth = Math.max(leftWidth, FieldNodeRenderer.leftWidth(field));
 			rightWidth = Math.max(rightWidth, FieldNodeRenderer.rightWidth(field));
 		}
-		int width = Math.max(bounds.width(), leftWidth + rightWidth + 2 * XGAP);
-		width = GridUtils.toMultiple(width);
-		return new Rectangle(bounds.x(), bounds.y(), width, GridUtils.toMultiple(bounds.height() + height));
+		int width = GridUtils.toMultiple(Math.max(top.width(), leftWidth + rightWidth + 2 * XGAP));
+		Rectangle bounds = new Rectangle(top.x(), top.y(), width, GridUtils.toMultiple(top.height() + height));
+		
+		Map<Node, Rectangle> fieldBounds = new IdentityHashMap<>();
+		int yPosition = top.maxY() + YGAP; 
+		for( Node field : pNode.getChildren() )
+		{
+			yPosition += YGAP;
+			fieldBounds.put(field, new Rectangle(bounds.x() + XGAP, yPosition, bounds.width() - 2 * XGAP, 
+					fieldHeights.get(field)));
+			yPosition += fieldHeights.get(field);
+		}
+		return new FieldLayout(bounds, top.height(), pNode.position().x() + leftWidth + XGAP, 
+				fieldBounds, pStamp, pFontName, pFontSize);
+	}
+	
+	/**
+	 * @param pNode The node
+	 * @return The position that represents the split between the name and value fields.
+	 */
+	public int getSplitPosition(Node pNode)
+	{
+		assert ObjectNode.class.isInstance(pNode);
+		return fieldLayout(pNode).split();
+	}
+	
+	@Override
+	protected Rectangle internalGetBounds(Node pNode)
+	{
+		return fieldLayout(pNode).bounds();
 	}
 	
 	/**
@@ -134,20 +199,35 @@ public final class ObjectNodeRenderer extends AbstractNodeRenderer
 	 * @param pFieldNode The node whose position to compute.
 	 * @return The y position of a child node.
 	 */
-	public static int getYPosition(Node pNode, FieldNode pFieldNode)
+	public int getYPosition(Node pNode, FieldNode pFieldNode)
 	{
 		assert ((ObjectNode)pNode).getChildren().contains(pFieldNode);
-		Rectangle bounds = getTopRectangle(pNode);
-		int yPosition = bounds.maxY() + YGAP; 
-		for( Node field : ((ObjectNode)pNode).getChildren() )
-		{
-			yPosition += YGAP;
-			if( field == pFieldNode )
-			{
-				return yPosition;
-			}
-			yPosition += FieldNodeRenderer.getHeight(field);
-		}
-		return yPosition;
+		return getFieldBounds(pNode, pFieldNode).y();
+	}
+	
+	/**
+	 * @param pNode The object node.
+	 * @param pFieldNode One of its fields.
+	 * @return The bounds of pFieldNode, which span the width of the object.
+	 * @pre pNode.getChildren().contains(pFieldNode)
+	 */
+	public Rectangle getFieldBounds(Node pNode, FieldNode pFieldNode)
+	{
+		assert pFieldNode.hasParent() && pFieldNode.getParent() == pNode;
+		return fieldLayout(pNode).fieldBounds().get(pFieldNode);
+	}
+	
+	@Override
+	public void activateNodeStorage()
+	{
+		super.activateNodeStorage();
+		aUsedFieldLayouts.clear();
+	}
+	
+	@Override
+	public void deactivateAndClearNodeStorage()
+	{
+		super.deactivateAndClearNodeStorage();
+		aFieldLayouts.keySet().retainAll(aUsedFieldLayouts);
 	}
 }
@@ -27,6 +27,7 @@ import static org.jetuml.testutils.CollectionAssertions.hasElementsEqualTo;
 import static org.jetuml.testutils.CollectionAssertions.hasElementsSameAs;
 import static org.jetuml.testutils.CollectionAssertions.hasSize;
 import static org.jetuml.testutils.CollectionAssertions.isEmpty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -44,6 +45,7 @@ import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PositionIndex;
 import org.jetuml.diagram.edges.AssociationEdge;
 import org.jetuml.diagram.edges.DependencyEdge;
 import org.jetuml.diagram.nodes.ClassNode;
@@ -233,6 +235,49 @@ public class TestClipboard
 		assertThat(getClipboardEdges(), isEmpty );
 	}
 	
+	@Test
+	void testCopyEdgeBetweenChildren()
+	{
+		PackageNode package1 = new PackageNode();
+		PackageNode package2 = new PackageNode();
+		package1.addChild(aNode1);
+		package2.addChild(aNode2);
+		DependencyEdge edge = new DependencyEdge();
+		edge.connect(aNode1, aNode2);
+		aClipboard.copy(Arrays.asList(package1, edge, package2));
+		
+		List<Node> nodes = getClipboardNodes();
+		List<Edge> edges = getClipboardEdges();
+		assertThat(edges, hasSize, 1);
+		assertSame(nodes.get(0).getChildren().get(0), edges.get(0).start());
+		assertSame(nodes.get(1).getChildren().get(0), edges.get(0).end());
+	}
+	
+	@Test
+	void testGetElements_NewClonesEachTime()
+	{
+		DependencyEdge edge = new DependencyEdge();
+		edge.connect(aNode1, aNode2);
+		aClipboard.copy(Arrays.asList(aNode1, aNode2, edge));
+		
+		List<DiagramElement> first = new ArrayList<>();
+		aClipboard.getElements().forEach(first::add);
+		List<DiagramElement> second = new ArrayList<>();
+		aClipboard.getElements().forEach(second::add);
+		assertThat(first, hasSize, 3);
+		for( List<DiagramElement> elements : List.of(first, second) )
+		{
+			Edge pastedEdge = (Edge) elements.get(0);
+			assertSame(elements.get(1), pastedEdge.start());
+			assertSame(elements.get(2), pastedEdge.end());
+		}
+		for( int i = 0; i < first.size(); i++ )
+		{
+			assertNotSame(first.get(i), second.get(i));
+			assertThat(getClipboardNodes(), doesNotContain, first.get(i));
+		}
+	}
+	
 	@Test
 	void testCopyNodeMissingParent()
 	{
@@ -321,4 +366,39 @@ public class TestClipboard
 		
 		assertTrue(aClipboard.overlapsWithElementOf(diagram));
 	}
+
+	@Test
+	void testNonOverlappingShift_NoOverlap()
+	{
+		Node selectedNode = new ClassNode();
+		selectedNode.moveTo(new Point(10,20));
+		aClipboard.copy(Arrays.asList(selectedNode));
+		
+		Diagram diagram = new Diagram(null);
+		Node diagramNode = new ClassNode();
+		diagramNode.moveTo(new Point(20,20));
+		diagram.addRootNode(diagramNode);
+		
+		assertEquals(0, aClipboard.nonOverlappingShift(new PositionIndex(diagram), 10));
+	}
+	
+	@Test
+	void testNonOverlappingShift_SkipsSuccessiveOverlaps()
+	{
+		Node selectedNode1 = new ClassNode();
+		selectedNode1.moveTo(new Point(10,20));
+		Node selectedNode2 = new ClassNode();
+		selectedNode2.moveTo(new Point(100,0));
+		aClipboard.copy(Arrays.asList(selectedNode1, selectedNode2));
+		
+		Diagram diagram = new Diagram(null);
+		for( Point position : List.of(new Point(10,20), new Point(110,10), new Point(30,40), new Point(50,60)) )
+		{
+			Node diagramNode = new ClassNode();
+			diagramNode.moveTo(position);
+			diagram.addRootNode(diagramNode);
+		}
+		
+		assertEquals(30, aClipboard.nonOverlappingShift(new PositionIndex(diagram), 10));
+	}
 }
@@ -24,6 +24,7 @@ import static org.jetuml.testutils.CollectionAssertions.assertThat;
 import static org.jetuml.testutils.CollectionAssertions.hasNoNullElements;
 import static org.jetuml.testutils.CollectionAssertions.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -49,7 +50,9 @@ public class TestFileExtensions
 	@Test
 	void all_Values_size()
 	{
-		FileExtensions.all().forEach( ext -> assertEquals(1, ext.getExtensions().size() ));
+		List<ExtensionFilter> filters = FileExtensions.all();
+		filters.subList(0, filters.size() - 1).forEach( ext -> assertEquals(2, ext.getExtensions().size() ));
+		assertEquals(1, filters.get(filters.size() - 1).getExtensions().size());
 	}
 	
 	@Test
@@ -63,6 +66,17 @@ public class TestFileExtensions
 		assertEquals("*.object.jet", filters.get(4).getExtensions().get(0));
 		assertEquals("*.usecase.jet", filters.get(5).getExtensions().get(0));
 		assertEquals("*.*", filters.get(6).getExtensions().get(0));
+		assertEquals("*.jet.gz", filters.get(0).getExtensions().get(1));
+		assertEquals("*.class.jet.gz", filters.get(1).getExtensions().get(1));
+	}
+	
+	@Test
+	void testIsCompressed()
+	{
+		assertTrue(FileExtensions.isCompressed(new File("XXX.class.jet.gz")));
+		assertFalse(FileExtensions.isCompressed(new File("XXX.class.jet")));
+		assertFalse(FileExtensions.isCompressed(new File("XXX.gz")));
+		assertFalse(FileExtensions.isCompressed(new File("XXX.jet.gz.txt")));
 	}
 	
 	@Test
@@ -88,4 +102,11 @@ public class TestFileExtensions
 		assertNotSame(file, FileExtensions.clipApplicationExtension(file));
 		assertEquals(new File("XXX").getAbsolutePath(), FileExtensions.clipApplicationExtension(file).getAbsolutePath());
 	}
+	
+	@Test
+	void testClipApplicationExtension_hasCompressedExtension()
+	{
+		File file = new File("XXX.jet.gz");
+		assertEquals(new File("XXX").getAbsolutePath(), FileExtensions.clipApplicationExtension(file).getAbsolutePath());
+	}
 }
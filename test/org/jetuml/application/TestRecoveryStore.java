@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestRecoveryStore
+{
+	@TempDir
+	Path aRoot;
+
+	@Test
+	void testOpenAndClose() throws Exception
+	{
+		RecoveryStore store = new RecoveryStore(aRoot);
+		assertFalse(store.isOpen());
+		store.open();
+		assertTrue(store.isOpen());
+		store.write("diagram1.class.jet", "{}");
+		store.close();
+		assertFalse(store.isOpen());
+		assertEquals(0, Files.list(aRoot).count());
+	}
+
+	@Test
+	void testWriteReplacesPreviousVersion() throws Exception
+	{
+		RecoveryStore crashed = new RecoveryStore(aRoot);
+		crashed.open();
+		crashed.write("diagram1.class.jet", "first");
+		crashed.write("diagram1.class.jet", "second");
+		crashed.write("diagram2.state.jet", "other");
+		crashed.delete("diagram2.state.jet");
+		List<Path> written = Files.walk(aRoot).filter(Files::isRegularFile)
+				.filter(path -> !path.getFileName().toString().startsWith(".")).toList();
+		assertEquals(1, written.size());
+		assertEquals("diagram1.class.jet", written.get(0).getFileName().toString());
+		assertEquals("second", Files.readString(written.get(0), StandardCharsets.UTF_8));
+
+		RecoveryStore store = new RecoveryStore(aRoot);
+		store.open();
+		// The session of the first store is still locked
+		assertTrue(store.findRecoverableFiles().isEmpty());
+		store.close();
+	}
+
+	@Test
+	void testFindRecoverableFiles() throws Exception
+	{
+		Path session = Files.createDirectory(aRoot.resolve("session-1234"));
+		Files.writeString(session.resolve("diagram2.state.jet"), "state", StandardCharsets.UTF_8);
+		Files.writeString(session.resolve("diagram1.class.jet"), "class", StandardCharsets.UTF_8);
+		Files.writeString(session.resolve("diagram3.class.jet.tmp"), "partial", StandardCharsets.UTF_8);
+		Files.createDirectory(aRoot.resolve("other"));
+
+		RecoveryStore store = new RecoveryStore(aRoot);
+		store.open();
+		store.write("diagram1.class.jet", "current");
+		List<File> files = store.findRecoverableFiles();
+		assertEquals(2, files.size());
+		assertEquals(session.resolve("diagram1.class.jet").toFile(), files.get(0));
+		assertEquals(session.resolve("diagram2.state.jet").toFile(), files.get(1));
+		assertEquals("class", Files.readString(files.get(0).toPath(), StandardCharsets.UTF_8));
+
+		store.discardAbandonedSessions();
+		assertFalse(Files.exists(session));
+		assertTrue(store.findRecoverableFiles().isEmpty());
+		store.close();
+	}
+
+	@Test
+	void testKeep() throws Exception
+	{
+		Path session = Files.createDirectory(aRoot.resolve("session-1234"));
+		Files.writeString(session.resolve("diagram1.class.jet"), "partial", StandardCharsets.UTF_8);
+		Files.writeString(session.resolve("diagram2.class.jet"), "class", StandardCharsets.UTF_8);
+
+		RecoveryStore store = new RecoveryStore(aRoot);
+		store.open();
+		File kept = store.keep(session.resolve("diagram1.class.jet").toFile());
+		assertEquals(List.of(session.resolve("diagram2.class.jet").toFile()), store.findRecoverableFiles());
+		store.discardAbandonedSessions();
+		assertFalse(Files.exists(session));
+		assertEquals("partial", Files.readString(kept.toPath(), StandardCharsets.UTF_8));
+		store.close();
+		assertTrue(kept.exists());
+	}
+
+	@Test
+	void testFindRecoverableFiles_NoRoot()
+	{
+		RecoveryStore store = new RecoveryStore(aRoot.resolve("missing"));
+		assertTrue(store.findRecoverableFiles().isEmpty());
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.jetuml.application.StartupProfile.Phase;
+import org.junit.jupiter.api.Test;
+
+public class TestStartupProfile
+{
+	private long aTime = 0;
+	private final LongSupplier aClock = () -> aTime;
+	
+	@Test
+	void testDisabled()
+	{
+		StartupProfile profile = new StartupProfile(false, aClock);
+		aTime = 5;
+		profile.endPhase("editor");
+		assertFalse(profile.isEnabled());
+		assertTrue(profile.phases().isEmpty());
+		assertEquals("", profile.report());
+	}
+	
+	@Test
+	void testPhases()
+	{
+		aTime = 100;
+		StartupProfile profile = new StartupProfile(true, aClock);
+		aTime = 3_100_000;
+		profile.endPhase("editor");
+		aTime = 4_100_000;
+		profile.endPhase("show");
+		assertEquals(List.of(new Phase("editor", 3_099_900), new Phase("show", 1_000_000)), profile.phases());
+	}
+	
+	@Test
+	void testReport()
+	{
+		StartupProfile profile = new StartupProfile(true, aClock);
+		aTime = 2_500_000;
+		profile.endPhase("editor");
+		aTime = 3_000_000;
+		profile.endPhase("show");
+		String[] lines = profile.report().split("\\R");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("editor"));
+		assertTrue(lines[0].matches(".*2[.,]5 ms\\s+2[.,]5 ms"));
+		assertTrue(lines[1].matches("show\\s.*0[.,]5 ms\\s+3[.,]0 ms"));
+	}
+}
@@ -170,6 +170,26 @@ public class TestDiagram
 		assertThat(diagram.allNodes(), hasSetOfElementsEqualsTo, aNode2, aNode3, aNode4);
 	}
 	
+	@Test
+	void testModificationCount()
+	{
+		long count = aDiagram.modificationCount();
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		assertEquals(count + 2, aDiagram.modificationCount());
+		AssociationEdge edge = new AssociationEdge();
+		edge.connect(aNode1, aNode3);
+		aDiagram.addEdge(edge);
+		aDiagram.removeEdge(edge);
+		aDiagram.addEdge(0, edge);
+		assertEquals(count + 5, aDiagram.modificationCount());
+		aDiagram.placeOnTop(aNode1);
+		aDiagram.removeRootNode(aNode3);
+		assertEquals(count + 8, aDiagram.modificationCount());
+		aNode1.translate(10, 10);
+		assertEquals(count + 8, aDiagram.modificationCount());
+	}
+	
 	@Test
 	void testEdgesConnectedTo_NoEdges()
 	{
@@ -178,6 +198,39 @@ public class TestDiagram
 		assertFalse(aDiagram.edgesConnectedTo(aNode1).iterator().hasNext());
 	}
 	
+	@Test
+	void testEdgesConnecting()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode2);
+		aDiagram.addRootNode(aNode3);
+		Edge edge1 = new DependencyEdge();
+		edge1.connect(aNode1, aNode2);
+		aDiagram.addEdge(edge1);
+		Edge edge2 = new DependencyEdge();
+		edge2.connect(aNode2, aNode3);
+		aDiagram.addEdge(edge2);
+		Edge edge3 = new DependencyEdge();
+		edge3.connect(aNode2, aNode1);
+		aDiagram.addEdge(edge3);
+		Edge edge4 = new DependencyEdge();
+		edge4.connect(aNode1, aNode1);
+		aDiagram.addEdge(edge4);
+		
+		assertThat(aDiagram.edgesConnecting(aNode1, aNode2), hasElementsSameAs, edge1, edge3);
+		assertThat(aDiagram.edgesConnecting(aNode2, aNode1), hasElementsSameAs, edge1, edge3);
+		assertThat(aDiagram.edgesConnecting(aNode1, aNode1), hasElementsSameAs, edge4);
+		assertThat(aDiagram.edgesConnecting(aNode1, aNode3), CollectionAssertions.isEmpty);
+		assertThat(aDiagram.edgesFromTo(aNode1, aNode2), hasElementsSameAs, edge1);
+		assertThat(aDiagram.edgesFromTo(aNode2, aNode1), hasElementsSameAs, edge3);
+		
+		Edge edge5 = new DependencyEdge();
+		edge5.connect(aNode1, aNode2);
+		aDiagram.addEdge(0, edge5);
+		aDiagram.removeEdge(edge1);
+		assertThat(aDiagram.edgesConnecting(aNode2, aNode1), hasElementsSameAs, edge5, edge3);
+	}
+	
 	@Test
 	void testEdgesTo_Empty()
 	{
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestDiagramVersion
+{
+	private final Diagram aDiagram = new Diagram(DiagramType.CLASS);
+	private final PackageNode aPackage = new PackageNode();
+	private final ClassNode aClass = new ClassNode();
+	
+	@BeforeEach
+	void setup()
+	{
+		aDiagram.addRootNode(aPackage);
+		aDiagram.addRootNode(aClass);
+	}
+	
+	@Test
+	void testUnchanged()
+	{
+		assertTrue(new DiagramVersion(aDiagram).isCurrent(aDiagram));
+	}
+	
+	@Test
+	void testOtherDiagram()
+	{
+		assertFalse(new DiagramVersion(aDiagram).isCurrent(new Diagram(DiagramType.CLASS)));
+	}
+	
+	@Test
+	void testRootNodeAdded()
+	{
+		DiagramVersion version = new DiagramVersion(aDiagram);
+		aDiagram.addRootNode(new ClassNode());
+		assertFalse(version.isCurrent(aDiagram));
+	}
+	
+	@Test
+	void testEdgeAdded()
+	{
+		DiagramVersion version = new DiagramVersion(aDiagram);
+		DependencyEdge edge = new DependencyEdge();
+		edge.connect(aPackage, aClass);
+		aDiagram.addEdge(edge);
+		assertFalse(version.isCurrent(aDiagram));
+	}
+	
+	@Test
+	void testRootNodeMoved()
+	{
+		DiagramVersion version = new DiagramVersion(aDiagram);
+		aClass.translate(10, 0);
+		assertFalse(version.isCurrent(aDiagram));
+	}
+	
+	@Test
+	void testChildNodeAdded()
+	{
+		DiagramVersion version = new DiagramVersion(aDiagram);
+		aPackage.addChild(new ClassNode());
+		assertFalse(version.isCurrent(aDiagram));
+	}
+}
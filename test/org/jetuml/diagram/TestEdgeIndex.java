@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import static org.jetuml.testutils.CollectionAssertions.assertThat;
+import static org.jetuml.testutils.CollectionAssertions.hasElementsSameAs;
+import static org.jetuml.testutils.CollectionAssertions.isEmpty;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.edges.AggregationEdge;
+import org.jetuml.diagram.edges.AssociationEdge;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestEdgeIndex
+{
+	private final Diagram aDiagram = new Diagram(DiagramType.CLASS);
+	private final PackageNode aPackage = new PackageNode();
+	private final ClassNode aClass1 = new ClassNode();
+	private final ClassNode aClass2 = new ClassNode();
+	private final Edge aEdge1 = new DependencyEdge();
+	private final Edge aEdge2 = new AssociationEdge();
+	private final Edge aEdge3 = new AggregationEdge();
+	private final Edge aEdge4 = new DependencyEdge();
+	
+	@BeforeEach
+	void setup()
+	{
+		aDiagram.addRootNode(aPackage);
+		aPackage.addChild(aClass1);
+		aDiagram.addRootNode(aClass2);
+		aEdge1.connect(aClass1, aClass2);
+		aEdge2.connect(aClass2, aClass1);
+		aEdge3.connect(aClass1, aClass2);
+		aEdge4.connect(aClass2, aClass2);
+		aDiagram.addEdge(aEdge1);
+		aDiagram.addEdge(aEdge2);
+		aDiagram.addEdge(aEdge3);
+		aDiagram.addEdge(aEdge4);
+	}
+	
+	@Test
+	void testNodes()
+	{
+		assertThat(new EdgeIndex(aDiagram).nodes(), hasElementsSameAs, aPackage, aClass1, aClass2);
+	}
+	
+	@Test
+	void testEdgesConnectedTo()
+	{
+		EdgeIndex index = new EdgeIndex(aDiagram);
+		assertThat(index.edgesConnectedTo(aClass1), hasElementsSameAs, aEdge1, aEdge2, aEdge3);
+		assertThat(index.edgesConnectedTo(aClass2), hasElementsSameAs, aEdge1, aEdge2, aEdge3, aEdge4);
+		assertThat(index.edgesConnectedTo(aPackage), isEmpty);
+	}
+	
+	@Test
+	void testEdgesTo()
+	{
+		EdgeIndex index = new EdgeIndex(aDiagram);
+		assertThat(index.edgesTo(aClass2, Edge.class), hasElementsSameAs, aEdge1, aEdge3, aEdge4);
+		assertThat(index.edgesTo(aClass2, DependencyEdge.class), hasElementsSameAs, aEdge1, aEdge4);
+		assertThat(index.edgesTo(aClass1, DependencyEdge.class), isEmpty);
+	}
+	
+	@Test
+	void testEdgesFromTo()
+	{
+		EdgeIndex index = new EdgeIndex(aDiagram);
+		assertThat(index.edgesFromTo(aClass1, aClass2), hasElementsSameAs, aEdge1, aEdge3);
+		assertThat(index.edgesFromTo(aClass2, aClass1), hasElementsSameAs, aEdge2);
+		assertThat(index.edgesFromTo(aClass2, aClass2), hasElementsSameAs, aEdge4);
+		assertThat(index.edgesFromTo(aClass1, aClass1), isEmpty);
+	}
+	
+	@Test
+	void testEdgesConnecting()
+	{
+		EdgeIndex index = new EdgeIndex(aDiagram);
+		assertThat(index.edgesConnecting(aClass1, aClass2), hasElementsSameAs, aEdge1, aEdge2, aEdge3);
+		assertThat(index.edgesConnecting(aClass2, aClass1), hasElementsSameAs, aEdge1, aEdge2, aEdge3);
+		assertThat(index.edgesConnecting(aClass2, aClass2), hasElementsSameAs, aEdge4);
+		assertThat(index.edgesConnecting(aClass1, aClass1), isEmpty);
+		assertThat(index.edgesConnecting(aPackage, aClass1), isEmpty);
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.geom.Point;
+import org.junit.jupiter.api.Test;
+
+public class TestPositionIndex
+{
+	private final Diagram aDiagram = new Diagram(DiagramType.CLASS);
+	private final PositionIndex aIndex = new PositionIndex(aDiagram);
+	
+	@Test
+	void testEmpty()
+	{
+		assertEquals(0, aIndex.size());
+		assertFalse(aIndex.contains(new Point(0,0)));
+	}
+	
+	@Test
+	void testContainsChildNodes()
+	{
+		PackageNode packageNode = new PackageNode();
+		ClassNode child = new ClassNode();
+		child.moveTo(new Point(10,20));
+		packageNode.addChild(child);
+		aDiagram.addRootNode(packageNode);
+		assertTrue(aIndex.contains(new Point(0,0)));
+		assertTrue(aIndex.contains(new Point(10,20)));
+		assertEquals(2, aIndex.size());
+	}
+	
+	@Test
+	void testFollowsAddedAndRemovedNodes()
+	{
+		ClassNode node = new ClassNode();
+		node.moveTo(new Point(10,20));
+		assertFalse(aIndex.contains(new Point(10,20)));
+		aDiagram.addRootNode(node);
+		assertTrue(aIndex.contains(new Point(10,20)));
+		aDiagram.removeRootNode(node);
+		assertFalse(aIndex.contains(new Point(10,20)));
+	}
+	
+	@Test
+	void testFollowsMovedNodes()
+	{
+		PackageNode packageNode = new PackageNode();
+		ClassNode child = new ClassNode();
+		packageNode.addChild(child);
+		aDiagram.addRootNode(packageNode);
+		assertTrue(aIndex.contains(new Point(0,0)));
+		packageNode.moveTo(new Point(100,100));
+		assertTrue(aIndex.contains(new Point(0,0)));
+		child.moveTo(new Point(30,40));
+		assertFalse(aIndex.contains(new Point(0,0)));
+		assertTrue(aIndex.contains(new Point(30,40)));
+		assertTrue(aIndex.contains(new Point(100,100)));
+	}
+}
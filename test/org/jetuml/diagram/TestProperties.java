@@ -26,26 +26,40 @@ import static org.jetuml.testutils.CollectionAssertions.hasElementsEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import org.jetuml.diagram.nodes.ClassNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 public class TestProperties
 {
-	static class Stub { String aValue = ""; }
+	static class Stub implements DiagramElement
+	{ 
+		String aValue = ""; 
+		
+		@Override
+		public Properties properties()
+		{
+			return null;
+		}
+	}
+	
 	private Stub aStub;
+	private PropertyDescriptors aDescriptors;
 	private Properties aProperties;
 	
 	@BeforeEach
 	public void setup()
 	{
 		aStub = new Stub();
-		aProperties = new Properties();
+		aDescriptors = new PropertyDescriptors();
+		aProperties = new Properties(aStub, aDescriptors);
 	}
 	
 	/* Convenience accessor */
@@ -65,7 +79,7 @@ public class TestProperties
 	@Test
 	public void testAddOne()
 	{
-		aProperties.add(PropertyName.AGGREGATION_TYPE, () -> aStub.aValue, val -> aStub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.AGGREGATION_TYPE, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
 		assertEquals(1, size());
 		Property prop = aProperties.get(PropertyName.AGGREGATION_TYPE);
 		assertEquals(PropertyName.AGGREGATION_TYPE, prop.name());
@@ -75,13 +89,13 @@ public class TestProperties
 	@Test
 	public void testAddTwo()
 	{
-		aProperties.add(PropertyName.AGGREGATION_TYPE, () -> aStub.aValue, val -> aStub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.AGGREGATION_TYPE, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
 		assertEquals(1, size());
 		Property prop = aProperties.get(PropertyName.AGGREGATION_TYPE);
 		assertSame(PropertyName.AGGREGATION_TYPE, prop.name());
 		assertEquals("", prop.get());
 		
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue + "X", val -> aStub.aValue = (String) val + "X");
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue + "X", (stub, val) -> stub.aValue = (String) val + "X");
 		assertEquals(2, size());
 		prop = aProperties.get(PropertyName.ATTRIBUTES);
 		assertSame(PropertyName.ATTRIBUTES, prop.name());
@@ -91,7 +105,7 @@ public class TestProperties
 	@Test
 	public void testAddAt0()
 	{
-		aProperties.addAt(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val, 0);
+		aDescriptors.<Stub>addAt(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 0);
 		assertEquals(1, size());
 		Property prop = aProperties.iterator().next();
 		assertEquals(PropertyName.ATTRIBUTES, prop.name());
@@ -101,56 +115,89 @@ public class TestProperties
 	@Test
 	public void testAddAt0of2()
 	{
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.addAt(PropertyName.CONTENTS, () -> aStub.aValue, val -> aStub.aValue = (String) val, 0);
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>addAt(PropertyName.CONTENTS, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 0);
 		assertThat(extract(getProperties(), Property::name), hasElementsEqualTo, PropertyName.CONTENTS, PropertyName.ATTRIBUTES);
 	}
 	
 	@Test
 	public void testAddAt1of2()
 	{
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.addAt(PropertyName.CONTENTS, () -> aStub.aValue, val -> aStub.aValue = (String) val, 1);
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>addAt(PropertyName.CONTENTS, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 1);
 		assertThat(extract(getProperties(), Property::name), hasElementsEqualTo, PropertyName.ATTRIBUTES, PropertyName.CONTENTS);
 	}
 	
 	@Test
 	public void testAddAt0of3()
 	{
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.add(PropertyName.CONTENTS, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.addAt(PropertyName.DIRECTIONALITY, () -> aStub.aValue, val -> aStub.aValue = (String) val, 0);
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.CONTENTS, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>addAt(PropertyName.DIRECTIONALITY, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 0);
 		assertThat(extract(getProperties(), Property::name), hasElementsEqualTo, PropertyName.DIRECTIONALITY, PropertyName.ATTRIBUTES, PropertyName.CONTENTS);
 	}
 	
 	@Test
 	public void testAddAt1of3()
 	{
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.add(PropertyName.CONTENTS, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.addAt(PropertyName.DIRECTIONALITY, () -> aStub.aValue, val -> aStub.aValue = (String) val, 1);
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.CONTENTS, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>addAt(PropertyName.DIRECTIONALITY, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 1);
 		assertThat(extract(getProperties(), Property::name), hasElementsEqualTo, PropertyName.ATTRIBUTES, PropertyName.DIRECTIONALITY, PropertyName.CONTENTS);
 	}
 	
 	@Test
 	public void testAddAt2of3()
 	{
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.add(PropertyName.CONTENTS, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.addAt(PropertyName.DIRECTIONALITY, () -> aStub.aValue, val -> aStub.aValue = (String) val, 2);
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.CONTENTS, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>addAt(PropertyName.DIRECTIONALITY, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 2);
 		assertThat(extract(getProperties(), Property::name), hasElementsEqualTo, PropertyName.ATTRIBUTES, PropertyName.CONTENTS, PropertyName.DIRECTIONALITY);
 	}
 	
 	@Test
 	public void testAddAt1of3AndSome()
 	{
-		aProperties.add(PropertyName.ATTRIBUTES, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.add(PropertyName.CONTENTS, () -> aStub.aValue, val -> aStub.aValue = (String) val);
-		aProperties.addAt(PropertyName.DIRECTIONALITY, () -> aStub.aValue, val -> aStub.aValue = (String) val, 1);
-		aProperties.add(PropertyName.END_LABEL, () -> aStub.aValue, val -> aStub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.ATTRIBUTES, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>add(PropertyName.CONTENTS, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aDescriptors.<Stub>addAt(PropertyName.DIRECTIONALITY, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val, 1);
+		aDescriptors.<Stub>add(PropertyName.END_LABEL, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
 		assertThat(extract(getProperties(), Property::name), hasElementsEqualTo, PropertyName.ATTRIBUTES, PropertyName.DIRECTIONALITY, PropertyName.CONTENTS, PropertyName.END_LABEL);
 	}
 	
+	@Test
+	public void testSet()
+	{
+		aDescriptors.<Stub>add(PropertyName.NAME, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		aProperties.get(PropertyName.NAME).set("X");
+		assertEquals("X", aStub.aValue);
+		Stub other = new Stub();
+		new Properties(other, aDescriptors).get(PropertyName.NAME).set("Y");
+		assertEquals("X", aStub.aValue);
+		assertEquals("Y", other.aValue);
+	}
+	
+	@Test
+	public void testContains()
+	{
+		assertFalse(aDescriptors.contains(PropertyName.NAME));
+		aDescriptors.<Stub>add(PropertyName.NAME, stub -> stub.aValue, (stub, val) -> stub.aValue = (String) val);
+		assertTrue(aDescriptors.contains(PropertyName.NAME));
+		assertEquals(1, aDescriptors.size());
+	}
+	
+	@Test
+	public void testClonedElement()
+	{
+		ClassNode node = new ClassNode();
+		node.setName("A");
+		ClassNode clone = (ClassNode) node.clone();
+		clone.properties().get(PropertyName.NAME).set("B");
+		assertEquals("A", node.getName());
+		assertEquals("B", clone.getName());
+		assertEquals("A", node.properties().get(PropertyName.NAME).get());
+	}
+	
 	private int size()
 	{
 		int size = 0;
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.diagram.edges.AssociationEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+
+/**
+ * Estimates the heap footprint of diagram elements, by measuring the
+ * heap used before and after creating a large number of class nodes,
+ * association edges, and clones of class nodes. The number of elements
+ * of each kind can be given as argument.
+ */
+public final class TestPropertiesFootprint
+{
+	private static final int DEFAULT_NUMBER_OF_ELEMENTS = 50_000;
+
+	private TestPropertiesFootprint() {}
+
+	/**
+	 * Test method.
+	 */
+	public static void main(String[] pArgs)
+	{
+		int size = pArgs.length > 0 ? Integer.parseInt(pArgs[0]) : DEFAULT_NUMBER_OF_ELEMENTS;
+		// Create one instance of each class first, so that any per-class data is excluded.
+		new ClassNode().clone();
+		new AssociationEdge();
+
+		List<Object> elements = new ArrayList<>(3 * size);
+		long before = usedMemory();
+		for( int i = 0; i < size; i++ )
+		{
+			elements.add(new ClassNode());
+		}
+		long nodes = usedMemory();
+		for( int i = 0; i < size; i++ )
+		{
+			elements.add(new AssociationEdge());
+		}
+		long edges = usedMemory();
+		for( int i = 0; i < size; i++ )
+		{
+			elements.add(((ClassNode) elements.get(i)).clone());
+		}
+		long clones = usedMemory();
+
+		System.out.println("Elements of each kind     : " + size);
+		System.out.println("ClassNode (bytes)         : " + (nodes - before) / size);
+		System.out.println("AssociationEdge (bytes)   : " + (edges - nodes) / size);
+		System.out.println("ClassNode clone (bytes)   : " + (clones - edges) / size);
+		System.out.println("Total (MB)                : " + (clones - before) / (1024 * 1024));
+		Reference.reachabilityFence(elements);
+	}
+
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		for( int i = 0; i < 3; i++ )
+		{
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
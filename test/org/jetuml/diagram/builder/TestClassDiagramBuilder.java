@@ -22,6 +22,7 @@ package org.jetuml.diagram.builder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -32,8 +33,11 @@ import java.util.List;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.AssociationEdge;
 import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.edges.GeneralizationEdge;
 import org.jetuml.diagram.edges.NoteEdge;
 import org.jetuml.diagram.nodes.ClassNode;
 import org.jetuml.diagram.nodes.InterfaceNode;
@@ -42,6 +46,7 @@ import org.jetuml.diagram.nodes.PackageNode;
 import org.jetuml.diagram.nodes.PointNode;
 import org.jetuml.geom.Dimension;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
 import org.junit.jupiter.api.Test;
 
 /* 
@@ -433,4 +438,167 @@ public class TestClassDiagramBuilder
 		assertFalse(aDiagram.contains(edge));
 		assertFalse(aDiagram.contains(pointNode));
 	}
+	
+	private void connect(Edge pEdge, Node pStart, Node pEnd)
+	{
+		pEdge.connect(pStart, pEnd);
+		aDiagram.addEdge(pEdge);
+	}
+	
+	private static boolean overlap(Rectangle pFirst, Rectangle pSecond)
+	{
+		return pFirst.x() < pSecond.maxX() && pSecond.x() < pFirst.maxX() && 
+				pFirst.y() < pSecond.maxY() && pSecond.y() < pFirst.maxY();
+	}
+	
+	private void assertNoOverlaps(List<Node> pNodes)
+	{
+		for( int first = 0; first < pNodes.size(); first++ )
+		{
+			for( int second = first + 1; second < pNodes.size(); second++ )
+			{
+				assertFalse(overlap(aBuilder.renderer().getBounds(pNodes.get(first)), 
+						aBuilder.renderer().getBounds(pNodes.get(second))));
+			}
+		}
+	}
+	
+	/*
+	 * Adds pNumber class nodes at the origin, each associated with the previous one.
+	 */
+	private List<Node> addChainOfClasses(int pNumber)
+	{
+		List<Node> nodes = new ArrayList<>();
+		for( int i = 0; i < pNumber; i++ )
+		{
+			ClassNode node = new ClassNode();
+			node.setName("Class" + i);
+			aDiagram.addRootNode(node);
+			if( !nodes.isEmpty() )
+			{
+				connect(new AssociationEdge(), nodes.get(nodes.size() - 1), node);
+			}
+			nodes.add(node);
+		}
+		return nodes;
+	}
+	
+	@Test
+	void testCreateArrangeOperationEmpty()
+	{
+		DiagramOperation operation = aBuilder.createArrangeOperation();
+		assertTrue(((CompoundOperation)operation).isEmpty());
+	}
+	
+	@Test
+	void testCreateArrangeOperationHierarchy()
+	{
+		ClassNode parent = new ClassNode();
+		aDiagram.addRootNode(parent);
+		List<Node> children = new ArrayList<>();
+		for( int i = 0; i < 3; i++ )
+		{
+			ClassNode child = new ClassNode();
+			aDiagram.addRootNode(child);
+			connect(new GeneralizationEdge(), child, parent);
+			children.add(child);
+		}
+		InterfaceNode grandParent = new InterfaceNode();
+		aDiagram.addRootNode(grandParent);
+		connect(new GeneralizationEdge(GeneralizationEdge.Type.Implementation), parent, grandParent);
+		
+		aBuilder.createArrangeOperation().execute();
+		
+		assertNoOverlaps(aDiagram.rootNodes());
+		Rectangle parentBounds = aBuilder.renderer().getBounds(parent);
+		assertTrue(aBuilder.renderer().getBounds(grandParent).maxY() < parentBounds.y());
+		for( Node child : children )
+		{
+			assertTrue(parentBounds.maxY() < aBuilder.renderer().getBounds(child).y());
+		}
+	}
+	
+	@Test
+	void testCreateArrangeOperationNoOverlaps()
+	{
+		List<Node> nodes = addChainOfClasses(100);
+		aBuilder.createArrangeOperation().execute();
+		assertNoOverlaps(nodes);
+	}
+	
+	@Test
+	void testCreateArrangeOperationUndo()
+	{
+		List<Node> nodes = addChainOfClasses(10);
+		for( int i = 0; i < nodes.size(); i++ )
+		{
+			nodes.get(i).moveTo(new Point(i * 5, i * 3));
+		}
+		DiagramOperation operation = aBuilder.createArrangeOperation();
+		operation.execute();
+		assertNotEquals(new Point(45, 27), nodes.get(9).position());
+		operation.undo();
+		for( int i = 0; i < nodes.size(); i++ )
+		{
+			assertEquals(new Point(i * 5, i * 3), nodes.get(i).position());
+		}
+	}
+	
+	@Test
+	void testCreateArrangeOperationDeterministic()
+	{
+		List<Node> nodes = addChainOfClasses(80);
+		aBuilder.createArrangeOperation().execute();
+		List<Point> positions = nodes.stream().map(Node::position).toList();
+		nodes.forEach(node -> node.moveTo(new Point(0, 0)));
+		aBuilder.createArrangeOperation().execute();
+		assertEquals(positions, nodes.stream().map(Node::position).toList());
+	}
+	
+	@Test
+	void testCreateArrangeOperationPackages()
+	{
+		PackageNode packageNode = new PackageNode();
+		aDiagram.addRootNode(packageNode);
+		List<Node> children = new ArrayList<>();
+		for( int i = 0; i < 4; i++ )
+		{
+			ClassNode child = new ClassNode();
+			packageNode.addChild(child);
+			children.add(child);
+		}
+		connect(new GeneralizationEdge(), children.get(1), children.get(0));
+		List<Node> outside = addChainOfClasses(5);
+		connect(new DependencyEdge(), outside.get(0), children.get(2));
+		
+		aBuilder.createArrangeOperation().execute();
+		
+		assertNoOverlaps(aDiagram.rootNodes());
+		assertNoOverlaps(children);
+		assertTrue(aBuilder.renderer().getBounds(children.get(0)).maxY() < 
+				aBuilder.renderer().getBounds(children.get(1)).y());
+		Rectangle packageBounds = aBuilder.renderer().getBounds(packageNode);
+		for( Node child : children )
+		{
+			assertSame(packageNode, child.getParent());
+			assertTrue(packageBounds.contains(aBuilder.renderer().getBounds(child)));
+		}
+	}
+	
+	@Test
+	void testCreateArrangeOperationMovesPointNodesWithNotes()
+	{
+		NoteNode noteNode = new NoteNode();
+		PointNode pointNode = new PointNode();
+		pointNode.moveTo(new Point(200, 200));
+		aDiagram.addRootNode(noteNode);
+		aDiagram.addRootNode(pointNode);
+		connect(new NoteEdge(), noteNode, pointNode);
+		addChainOfClasses(3);
+		
+		aBuilder.createArrangeOperation().execute();
+		
+		assertNoOverlaps(aDiagram.rootNodes().stream().filter(node -> node != pointNode).toList());
+		assertEquals(new Point(200 + noteNode.position().x(), 200 + noteNode.position().y()), pointNode.position());
+	}
 }
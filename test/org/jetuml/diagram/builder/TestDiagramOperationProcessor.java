@@ -279,4 +279,20 @@ public class TestDiagramOperationProcessor
 		aProcessor.redoLastUndoneOperation();
 		assertFalse(aProcessor.hasUnsavedOperations());
 	}
+	
+	@Test
+	public void testModificationCount()
+	{
+		assertEquals(0, aProcessor.modificationCount());
+		aProcessor.executeNewOperation(createOperation('A'));
+		assertEquals(1, aProcessor.modificationCount());
+		aProcessor.storeAlreadyExecutedOperation(createOperation('B'));
+		assertEquals(2, aProcessor.modificationCount());
+		aProcessor.diagramSaved();
+		assertEquals(2, aProcessor.modificationCount());
+		aProcessor.undoLastExecutedOperation();
+		assertEquals(3, aProcessor.modificationCount());
+		aProcessor.redoLastUndoneOperation();
+		assertEquals(4, aProcessor.modificationCount());
+	}
 }
@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.diagram.validator;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -52,6 +53,8 @@ import org.jetuml.diagram.nodes.NoteNode;
 import org.jetuml.diagram.nodes.ObjectNode;
 import org.jetuml.diagram.nodes.StateNode;
 import org.jetuml.diagram.nodes.UseCaseNode;
+import org.jetuml.diagram.validator.constraints.ConstraintNoDirectCyclesForEdgeType;
+import org.jetuml.diagram.validator.constraints.ConstraintNoSelfEdgeForEdgeType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -272,4 +275,101 @@ public class TestClassDiagramValidator
 		diagram().addEdge(edge2);
 		assertTrue(aValidator.isValid());
 	}
+	
+	@Test
+	void testValidateChanges_AddedEdge()
+	{
+		diagram().addRootNode(aClassNode1);
+		diagram().addRootNode(aClassNode2);
+		aDependencyEdge1.connect(aClassNode1, aClassNode2);
+		diagram().addEdge(aDependencyEdge1);
+		List<Edge> edges = List.copyOf(diagram().edges());
+		aDependencyEdge2.connect(aClassNode2, aClassNode1);
+		diagram().addEdge(aDependencyEdge2);
+		assertTrue(aValidator.validateChanges(edges).get().isSemantic());
+	}
+	
+	@Test
+	void testValidateChanges_OnlyChangedEdges()
+	{
+		diagram().addRootNode(aClassNode1);
+		diagram().addRootNode(aClassNode2);
+		diagram().addRootNode(aClassNode3);
+		aDependencyEdge1.connect(aClassNode1, aClassNode2);
+		aDependencyEdge2.connect(aClassNode1, aClassNode2);
+		diagram().addEdge(aDependencyEdge1);
+		diagram().addEdge(aDependencyEdge2);
+		List<Edge> edges = List.copyOf(diagram().edges());
+		Edge edge = new GeneralizationEdge();
+		edge.connect(aClassNode3, aClassNode3);
+		diagram().addEdge(edge);
+		assertTrue(aValidator.validateChanges(edges).isPresent());
+		diagram().removeEdge(edge);
+		edge.connect(aClassNode3, aClassNode2);
+		diagram().addEdge(edge);
+		// The unchanged edges between aClassNode1 and aClassNode2 share a node with the new edge
+		assertTrue(aValidator.validateChanges(edges).isPresent());
+		diagram().removeEdge(edge);
+		diagram().addRootNode(new ClassNode());
+		assertTrue(aValidator.validateChanges(edges).isEmpty());
+		assertFalse(aValidator.isValid());
+	}
+	
+	/*
+	 * Adds a chain of pLength valid dependencies, then a self-dependency at pSelfEdgeIndex
+	 * and a direct cycle of dependencies starting at pCycleIndex.
+	 */
+	private void createLargeDiagram(int pLength, int pSelfEdgeIndex, int pCycleIndex)
+	{
+		ClassNode previous = new ClassNode();
+		ClassNode beforePrevious = previous;
+		diagram().addRootNode(previous);
+		for( int index = 0; index < pLength; index++ )
+		{
+			ClassNode next = new ClassNode();
+			diagram().addRootNode(next);
+			Edge edge = new DependencyEdge();
+			if( index == pSelfEdgeIndex )
+			{
+				edge.connect(next, next);
+			}
+			else if( index == pCycleIndex + 1 )
+			{
+				edge.connect(previous, beforePrevious);
+			}
+			else
+			{
+				edge.connect(previous, next);
+			}
+			diagram().addEdge(edge);
+			if( index != pCycleIndex + 1 )
+			{
+				beforePrevious = previous;
+				previous = next;
+			}
+		}
+	}
+	
+	@Test
+	void testLargeDiagram_FirstViolationIsSelfEdge()
+	{
+		createLargeDiagram(10000, 6000, 9000);
+		assertEquals(Violation.newSemanticViolation(new ConstraintNoSelfEdgeForEdgeType(DependencyEdge.class)).description(), 
+				aValidator.validate().get().description());
+	}
+	
+	@Test
+	void testLargeDiagram_FirstViolationIsCycle()
+	{
+		createLargeDiagram(10000, 9000, 6000);
+		assertEquals(Violation.newSemanticViolation(new ConstraintNoDirectCyclesForEdgeType(DependencyEdge.class)).description(), 
+				aValidator.validate().get().description());
+	}
+	
+	@Test
+	void testLargeDiagram_Valid()
+	{
+		createLargeDiagram(10000, -1, -2);
+		assertTrue(aValidator.isValid());
+	}
 }
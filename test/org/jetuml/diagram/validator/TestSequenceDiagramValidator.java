@@ -21,6 +21,7 @@
 package org.jetuml.diagram.validator;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
@@ -355,4 +356,36 @@ public class TestSequenceDiagramValidator
 		diagram().addEdge(returnEdge);
 		assertFalse(aValidator.isValid());
 	}
+	
+	@Test
+	void testValidateChanges_ReturnToFormerCaller()
+	{
+		Node node2 = new ImplicitParameterNode();
+		Node node3 = new ImplicitParameterNode();
+		diagram().addRootNode(aImplicitParameterNode);
+		diagram().addRootNode(node2);
+		diagram().addRootNode(node3);
+		CallNode callNode1 = new CallNode();
+		CallNode callNode2 = new CallNode();
+		CallNode callNode3 = new CallNode();
+		aImplicitParameterNode.addChild(callNode1);
+		node2.addChild(callNode2);
+		node3.addChild(callNode3);
+		Edge edge1 = new CallEdge();
+		edge1.connect(callNode1, callNode2);
+		diagram().addEdge(edge1);
+		Edge edge2 = new CallEdge();
+		edge2.connect(callNode2, callNode3);
+		diagram().addEdge(edge2);
+		aReturnEdge.connect(callNode3, callNode2);
+		diagram().addEdge(aReturnEdge);
+		assertTrue(aValidator.isValid());
+		
+		List<Edge> edges = List.copyOf(diagram().edges());
+		diagram().removeEdge(edge2);
+		Edge edge3 = new CallEdge();
+		edge3.connect(callNode1, callNode3);
+		diagram().addEdge(edge3);
+		assertTrue(aValidator.validateChanges(edges).get().isSemantic());
+	}
 }
\ No newline at end of file
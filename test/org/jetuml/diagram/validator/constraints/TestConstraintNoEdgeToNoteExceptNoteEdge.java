@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.EdgeIndex;
 import org.jetuml.diagram.edges.DependencyEdge;
 import org.jetuml.diagram.edges.NoteEdge;
 import org.jetuml.diagram.nodes.ClassNode;
@@ -50,7 +51,7 @@ public class TestConstraintNoEdgeToNoteExceptNoteEdge
 		aDiagram.addRootNode(nodeB);
 		aDiagram.addEdge(edge);
 		
-		assertTrue(CONSTRAINT.satisfied(edge, aDiagram));
+		assertTrue(CONSTRAINT.satisfied(edge, new EdgeIndex(aDiagram)));
 	}
 	
 	@Test
@@ -64,7 +65,7 @@ public class TestConstraintNoEdgeToNoteExceptNoteEdge
 		aDiagram.addRootNode(nodeB);
 		aDiagram.addEdge(edge);
 		
-		assertFalse(CONSTRAINT.satisfied(edge, aDiagram));
+		assertFalse(CONSTRAINT.satisfied(edge, new EdgeIndex(aDiagram)));
 	}
 	
 	@Test
@@ -78,7 +79,7 @@ public class TestConstraintNoEdgeToNoteExceptNoteEdge
 		aDiagram.addRootNode(nodeB);
 		aDiagram.addEdge(edge);
 		
-		assertFalse(CONSTRAINT.satisfied(edge, aDiagram));
+		assertFalse(CONSTRAINT.satisfied(edge, new EdgeIndex(aDiagram)));
 	}
 	
 	@Test
@@ -92,7 +93,7 @@ public class TestConstraintNoEdgeToNoteExceptNoteEdge
 		aDiagram.addRootNode(nodeB);
 		aDiagram.addEdge(edge);
 		
-		assertFalse(CONSTRAINT.satisfied(edge, aDiagram));
+		assertFalse(CONSTRAINT.satisfied(edge, new EdgeIndex(aDiagram)));
 	}
 	
 	@Test
@@ -106,6 +107,6 @@ public class TestConstraintNoEdgeToNoteExceptNoteEdge
 		aDiagram.addRootNode(nodeB);
 		aDiagram.addEdge(edge);
 		
-		assertTrue(CONSTRAINT.satisfied(edge, aDiagram));
+		assertTrue(CONSTRAINT.satisfied(edge, new EdgeIndex(aDiagram)));
 	}
 }
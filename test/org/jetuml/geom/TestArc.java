@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestArc
+{
+	private static final double TOLERANCE = 0.0001;
+	private static final Point CENTER = new Point(100, 50);
+	
+	// Three quarters of a circle, from the bottom counter-clockwise to the left
+	private static final Arc ARC = new Arc(CENTER, 20, 270, 270);
+	
+	private static void assertExtent(Extent pExpected, Extent pActual)
+	{
+		assertEquals(pExpected.minX(), pActual.minX(), TOLERANCE);
+		assertEquals(pExpected.minY(), pActual.minY(), TOLERANCE);
+		assertEquals(pExpected.maxX(), pActual.maxX(), TOLERANCE);
+		assertEquals(pExpected.maxY(), pActual.maxY(), TOLERANCE);
+	}
+	
+	@Test
+	public void testDistance()
+	{
+		assertEquals(20, ARC.distance(CENTER), TOLERANCE);
+		assertEquals(5, ARC.distance(new Point(125, 50)), TOLERANCE);
+		assertEquals(10, ARC.distance(new Point(100, 40)), TOLERANCE);
+		assertEquals(0, ARC.distance(new Point(80, 50)), TOLERANCE);
+		// Closest to the end points, outside of the extent of the arc
+		assertEquals(Math.sqrt(1000), ARC.distance(new Point(70, 80)), TOLERANCE);
+		assertEquals(5, ARC.distance(new Point(100, 75)), TOLERANCE);
+	}
+	
+	@Test
+	public void testEncloses()
+	{
+		assertTrue(ARC.encloses(CENTER));
+		assertTrue(ARC.encloses(new Point(115, 60)));
+		assertTrue(ARC.encloses(new Point(80, 50)));
+		assertFalse(ARC.encloses(new Point(79, 50)));
+		// In the missing quarter of the circle, on either side of the chord
+		assertTrue(ARC.encloses(new Point(88, 55)));
+		assertFalse(ARC.encloses(new Point(86, 62)));
+		// A quarter of a circle only encloses the side of its chord away from the center
+		Arc quarter = new Arc(CENTER, 20, 0, 90);
+		assertFalse(quarter.encloses(CENTER));
+		assertTrue(quarter.encloses(new Point(112, 38)));
+		assertFalse(quarter.encloses(new Point(105, 45)));
+		assertTrue(new Arc(CENTER, 20, 45, 360).encloses(new Point(88, 62)));
+	}
+	
+	@Test
+	public void testExtent()
+	{
+		assertExtent(new Extent(80, 30, 120, 70), ARC.extent());
+		assertExtent(new Extent(100, 30, 120, 50), new Arc(CENTER, 20, 0, 90).extent());
+		assertExtent(new Extent(100, 30, 120, 50), new Arc(CENTER, 20, 90, -90).extent());
+		assertExtent(new Extent(80, 30, 120, 70), new Arc(CENTER, 20, 45, 360).extent());
+	}
+	
+	@Test
+	public void testStrokeExtent()
+	{
+		assertExtent(new Extent(79.5, 29.5, 120.5, 70.5), ARC.strokeExtent(1));
+		// The caps extend beyond the ends of the arc
+		assertExtent(new Extent(99.5, 29.5, 120.5, 50.5), new Arc(CENTER, 20, 0, 90).strokeExtent(1));
+		assertExtent(new Extent(99.5, 29.5, 120.5, 50.5), new Arc(CENTER, 20, 90, -90).strokeExtent(1));
+	}
+}
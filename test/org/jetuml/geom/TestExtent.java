@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class TestExtent
+{
+	@Test
+	public void testOf()
+	{
+		assertEquals(new Extent(1.5, 2, 1.5, 2), Extent.of(1.5, 2));
+		assertEquals(0, Extent.of(1.5, 2).width(), 0);
+		assertEquals(0, Extent.of(1.5, 2).height(), 0);
+	}
+	
+	@Test
+	public void testAddPoint()
+	{
+		Extent extent = Extent.of(0, 0).add(10, -5).add(5, 5);
+		assertEquals(new Extent(0, -5, 10, 5), extent);
+		assertEquals(10, extent.width(), 0);
+		assertEquals(10, extent.height(), 0);
+	}
+	
+	@Test
+	public void testAddExtent()
+	{
+		assertEquals(new Extent(-1, 0, 10, 20), new Extent(0, 0, 10, 10).add(new Extent(-1, 5, 2, 20)));
+		assertEquals(new Extent(0, 0, 10, 10), new Extent(0, 0, 10, 10).add(new Extent(1, 1, 2, 2)));
+	}
+	
+	@Test
+	public void testPadded()
+	{
+		assertEquals(new Extent(-0.5, 0.5, 10.5, 11.5), new Extent(0, 1, 10, 11).padded(0.5));
+		assertEquals(new Extent(0, 1, 10, 11), new Extent(0, 1, 10, 11).padded(0));
+	}
+	
+	@Test
+	public void testToRectangle()
+	{
+		assertEquals(new Rectangle(-1, -1, 102, 52), new Extent(-1.17, -1.17, 101.17, 51.17).toRectangle());
+		assertEquals(new Rectangle(0, 0, 10, 20), new Extent(0.9, 0.2, 10.95, 20.3).toRectangle());
+	}
+	
+	@Test
+	public void testToRectangle_RoundingErrors()
+	{
+		assertEquals(new Rectangle(5, 0, 56, 10), new Extent(4.999999999999999, 0, 61, 10.000000000000002).toRectangle());
+	}
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jetuml.geom.Polycurve.Segment;
+import org.junit.jupiter.api.Test;
+
+/*
+ * The expected stroke extents were obtained from the bounds of the equivalent
+ * JavaFX paths, which are half a pixel larger than the stroke.
+ */
+public class TestPolycurve
+{
+	private static final double TOLERANCE = 0.0001;
+	
+	private static final Point ORIGIN = new Point(0, 0);
+	private static final Polycurve HORIZONTAL = new Polycurve(ORIGIN).lineTo(new Point(100, 0));
+	private static final Polycurve DIAGONAL = new Polycurve(ORIGIN).lineTo(new Point(100, 50));
+	private static final Polycurve ARCH = new Polycurve(ORIGIN).quadTo(new Point(50, 100), new Point(100, 0));
+	
+	private static void assertExtent(Extent pExpected, Extent pActual)
+	{
+		assertEquals(pExpected.minX(), pActual.minX(), TOLERANCE);
+		assertEquals(pExpected.minY(), pActual.minY(), TOLERANCE);
+		assertEquals(pExpected.maxX(), pActual.maxX(), TOLERANCE);
+		assertEquals(pExpected.maxY(), pActual.maxY(), TOLERANCE);
+	}
+	
+	@Test
+	public void testBuild()
+	{
+		Polycurve start = new Polycurve(ORIGIN);
+		Polycurve curve = start.lineTo(new Point(10, 0)).quadTo(new Point(20, 0), new Point(20, 10));
+		assertTrue(start.segments().isEmpty());
+		assertSame(ORIGIN, start.end());
+		assertSame(ORIGIN, curve.start());
+		assertEquals(new Point(20, 10), curve.end());
+		assertEquals(List.of(new Segment(null, new Point(10, 0)), new Segment(new Point(20, 0), new Point(20, 10))),
+				curve.segments());
+		assertFalse(curve.segments().get(0).isQuadratic());
+		assertTrue(curve.segments().get(1).isQuadratic());
+	}
+	
+	@Test
+	public void testPolyline()
+	{
+		Polycurve curve = Polycurve.polyline(List.of(ORIGIN, new Point(10, 0), new Point(10, 10)));
+		assertSame(ORIGIN, curve.start());
+		assertEquals(new Point(10, 10), curve.end());
+		assertEquals(2, curve.segments().size());
+		assertTrue(Polycurve.polyline(List.of(ORIGIN)).segments().isEmpty());
+	}
+	
+	@Test
+	public void testDistance_Lines()
+	{
+		assertEquals(10, HORIZONTAL.distance(new Point(50, 10)), TOLERANCE);
+		assertEquals(0, HORIZONTAL.distance(new Point(100, 0)), TOLERANCE);
+		assertEquals(5, HORIZONTAL.distance(new Point(-3, 4)), TOLERANCE);
+		assertEquals(5, HORIZONTAL.distance(new Point(103, -4)), TOLERANCE);
+		assertEquals(Math.sqrt(500), DIAGONAL.distance(new Point(0, 25)), TOLERANCE);
+		assertEquals(5, new Polycurve(ORIGIN).distance(new Point(3, 4)), TOLERANCE);
+		Polycurve corner = HORIZONTAL.lineTo(new Point(100, 100));
+		assertEquals(5, corner.distance(new Point(95, 50)), TOLERANCE);
+		assertEquals(5, corner.distance(new Point(50, 5)), TOLERANCE);
+	}
+	
+	@Test
+	public void testDistance_Quadratic()
+	{
+		assertEquals(10, ARCH.distance(new Point(50, 60)), TOLERANCE);
+		assertEquals(10, ARCH.distance(new Point(50, 40)), TOLERANCE);
+		assertEquals(0, ARCH.distance(new Point(100, 0)), TOLERANCE);
+		assertEquals(5, ARCH.distance(new Point(-3, -4)), TOLERANCE);
+		// A degenerate curve whose control point is on the line between the ends
+		Polycurve straight = new Polycurve(ORIGIN).quadTo(new Point(50, 0), new Point(100, 0));
+		assertEquals(10, straight.distance(new Point(30, -10)), TOLERANCE);
+	}
+	
+	@Test
+	public void testExtent()
+	{
+		assertExtent(new Extent(0, 0, 100, 0), HORIZONTAL.extent());
+		assertExtent(new Extent(0, 0, 100, 50), DIAGONAL.extent());
+		assertExtent(new Extent(0, 0, 100, 50), ARCH.extent());
+		assertExtent(new Extent(0, 0, 0, 0), new Polycurve(ORIGIN).extent());
+	}
+	
+	@Test
+	public void testStrokeExtent_Lines()
+	{
+		assertExtent(new Extent(-0.5, -0.5, 100.5, 0.5), HORIZONTAL.strokeExtent(1));
+		assertExtent(new Extent(-3, -3, 103, 3), HORIZONTAL.strokeExtent(6));
+		assertExtent(new Extent(-0.67082, -0.67082, 100.67082, 50.67082), DIAGONAL.strokeExtent(1));
+		assertExtent(new Extent(4.5, 4.5, 5.5, 5.5), new Polycurve(new Point(5, 5)).lineTo(new Point(5, 5)).strokeExtent(1));
+	}
+	
+	@Test
+	public void testStrokeExtent_Joins()
+	{
+		assertExtent(new Extent(-0.5, -0.5, 100.5, 100.5), HORIZONTAL.lineTo(new Point(100, 100)).strokeExtent(1));
+		// Mitered
+		assertExtent(new Extent(-0.64993, -0.5, 102.59630, 40.64993), HORIZONTAL.lineTo(new Point(0, 40)).strokeExtent(1));
+		// Beveled, beyond the miter limit
+		assertExtent(new Extent(-0.54727, -0.5, 100.04975, 10.54727), HORIZONTAL.lineTo(new Point(0, 10)).strokeExtent(1));
+	}
+	
+	@Test
+	public void testStrokeExtent_ZeroLengthSegments()
+	{
+		Polycurve curve = new Polycurve(ORIGIN).lineTo(ORIGIN).lineTo(new Point(30, 40));
+		assertExtent(new Extent(-0.5, -0.5, 30.7, 40.7), curve.strokeExtent(1));
+		curve = new Polycurve(ORIGIN).lineTo(new Point(30, 40)).lineTo(new Point(30, 40)).lineTo(new Point(60, 0));
+		assertExtent(new Extent(-0.7, -0.7, 60.7, 40.5), curve.strokeExtent(1));
+	}
+	
+	@Test
+	public void testStrokeExtent_Quadratic()
+	{
+		assertExtent(new Extent(-0.67082, -0.67082, 100.67082, 50.5), ARCH.strokeExtent(1));
+		Polycurve curve = new Polycurve(ORIGIN).lineTo(new Point(10, 0))
+				.quadTo(new Point(15, 0), new Point(15, 20))
+				.quadTo(new Point(15, 40), new Point(10, 40))
+				.lineTo(new Point(0, 40));
+		assertExtent(new Extent(-0.5, -0.5, 15.5, 40.5), curve.strokeExtent(1));
+	}
+}
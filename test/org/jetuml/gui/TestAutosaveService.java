@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import org.jetuml.JavaFXLoader;
+import org.jetuml.application.RecoveryStore;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.builder.DiagramBuilder;
+import org.jetuml.diagram.builder.DiagramOperationProcessor;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.geom.Point;
+import org.jetuml.persistence.JsonEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestAutosaveService
+{
+	@TempDir
+	Path aRoot;
+	private RecoveryStore aStore;
+	private final List<DiagramTab> aTabs = new ArrayList<>();
+	private AutosaveService aService;
+	
+	@BeforeAll
+	public static void setupClass()
+	{
+		JavaFXLoader.load();
+	}
+	
+	@BeforeEach
+	void setup() throws Exception
+	{
+		aStore = new RecoveryStore(aRoot);
+		aStore.open();
+		aService = new AutosaveService(aStore, () -> aTabs);
+	}
+	
+	@AfterEach
+	void tearDown()
+	{
+		aService.stop();
+	}
+	
+	@Test
+	void testUnmodifiedDiagramIsNotSaved() throws Exception
+	{
+		aTabs.add(new DiagramTab(new Diagram(DiagramType.CLASS)));
+		autosave();
+		assertTrue(recoveryFiles().isEmpty());
+	}
+	
+	@Test
+	void testModifiedDiagramIsSaved() throws Exception
+	{
+		DiagramTab tab = new DiagramTab(new Diagram(DiagramType.CLASS));
+		aTabs.add(tab);
+		addNode(tab);
+		autosave();
+		List<Path> files = recoveryFiles();
+		assertEquals(1, files.size());
+		assertEquals("diagram1.class.jet", files.get(0).getFileName().toString());
+		assertEquals(JsonEncoder.encode(tab.getDiagram()).toString(), Files.readString(files.get(0)));
+	}
+	
+	@Test
+	void testUnchangedSnapshotIsNotTakenAgain() throws Exception
+	{
+		DiagramTab tab = new DiagramTab(new Diagram(DiagramType.CLASS));
+		aTabs.add(tab);
+		addNode(tab);
+		autosave();
+		Files.delete(recoveryFiles().get(0));
+		autosave();
+		assertTrue(recoveryFiles().isEmpty());
+		
+		addNode(tab);
+		autosave();
+		assertEquals(1, recoveryFiles().size());
+	}
+	
+	@Test
+	void testOneSnapshotPerPeriod() throws Exception
+	{
+		DiagramTab tab1 = new DiagramTab(new Diagram(DiagramType.CLASS));
+		DiagramTab tab2 = new DiagramTab(new Diagram(DiagramType.CLASS));
+		aTabs.add(tab1);
+		aTabs.add(tab2);
+		addNode(tab1);
+		addNode(tab2);
+		autosave();
+		assertEquals(1, recoveryFiles().size());
+		autosave();
+		assertEquals(2, recoveryFiles().size());
+	}
+	
+	@Test
+	void testBackoff() throws Exception
+	{
+		DiagramTab tab = new DiagramTab(new Diagram(DiagramType.CLASS));
+		aTabs.add(tab);
+		addNode(tab);
+		long before = System.currentTimeMillis();
+		autosave();
+		assertTrue(getNextSnapshotTime() >= before);
+		Path file = recoveryFiles().get(0);
+		String first = Files.readString(file);
+		
+		addNode(tab);
+		setNextSnapshotTime(Long.MAX_VALUE);
+		invokeAutosave();
+		waitForWriter();
+		assertEquals(first, Files.readString(file));
+		
+		autosave();
+		assertEquals(JsonEncoder.encode(tab.getDiagram()).toString(), Files.readString(file));
+	}
+	
+	@Test
+	void testSavedDiagramIsDiscarded() throws Exception
+	{
+		DiagramTab tab = new DiagramTab(new Diagram(DiagramType.CLASS));
+		aTabs.add(tab);
+		addNode(tab);
+		autosave();
+		assertEquals(1, recoveryFiles().size());
+		tab.diagramSaved();
+		autosave();
+		assertTrue(recoveryFiles().isEmpty());
+	}
+	
+	@Test
+	void testClosedDiagramIsDiscarded() throws Exception
+	{
+		DiagramTab tab = new DiagramTab(new Diagram(DiagramType.CLASS));
+		aTabs.add(tab);
+		addNode(tab);
+		autosave();
+		assertEquals(1, recoveryFiles().size());
+		aTabs.clear();
+		autosave();
+		assertTrue(recoveryFiles().isEmpty());
+	}
+	
+	/*
+	 * Runs one period of the service, without waiting for the backoff 
+	 * of previous snapshots, and waits until the files are written.
+	 */
+	private void autosave() throws Exception
+	{
+		setNextSnapshotTime(0);
+		invokeAutosave();
+		waitForWriter();
+	}
+	
+	private void invokeAutosave() throws Exception
+	{
+		Method method = AutosaveService.class.getDeclaredMethod("autosave");
+		method.setAccessible(true);
+		method.invoke(aService);
+	}
+	
+	private void waitForWriter() throws Exception
+	{
+		Field field = AutosaveService.class.getDeclaredField("aWriter");
+		field.setAccessible(true);
+		((ExecutorService) field.get(aService)).submit(() -> {}).get();
+	}
+	
+	private long getNextSnapshotTime() throws Exception
+	{
+		Field field = AutosaveService.class.getDeclaredField("aNextSnapshotTime");
+		field.setAccessible(true);
+		return field.getLong(aService);
+	}
+	
+	private void setNextSnapshotTime(long pTime) throws Exception
+	{
+		Field field = AutosaveService.class.getDeclaredField("aNextSnapshotTime");
+		field.setAccessible(true);
+		field.setLong(aService, pTime);
+	}
+	
+	private static void addNode(DiagramTab pTab)
+	{
+		try
+		{
+			Field canvasField = DiagramTab.class.getDeclaredField("aDiagramCanvas");
+			canvasField.setAccessible(true);
+			Object canvas = canvasField.get(pTab);
+			Field processorField = DiagramCanvas.class.getDeclaredField("aProcessor");
+			processorField.setAccessible(true);
+			Field builderField = DiagramCanvas.class.getDeclaredField("aDiagramBuilder");
+			builderField.setAccessible(true);
+			DiagramBuilder builder = (DiagramBuilder) builderField.get(canvas);
+			((DiagramOperationProcessor) processorField.get(canvas))
+				.executeNewOperation(builder.createAddNodeOperation(new ClassNode(), new Point(0, 0)));
+		}
+		catch( ReflectiveOperationException exception )
+		{
+			fail();
+		}
+	}
+	
+	private List<Path> recoveryFiles() throws Exception
+	{
+		try( Stream<Path> files = Files.walk(aRoot) )
+		{
+			return files.filter(Files::isRegularFile)
+					.filter(path -> !path.getFileName().toString().startsWith("."))
+					.toList();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.jetuml.JavaFXLoader;
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.BooleanPreference;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.geom.Point;
+import org.jetuml.persistence.JsonEncoder;
+import org.jetuml.persistence.PersistenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestDiagramTab
+{
+	@TempDir
+	Path aDirectory;
+	private boolean aIncrementalSave;
+	private boolean aSaveLayout;
+	
+	@BeforeAll
+	public static void setupClass()
+	{
+		JavaFXLoader.load();
+	}
+	
+	@BeforeEach
+	void setup()
+	{
+		aIncrementalSave = UserPreferences.instance().getBoolean(BooleanPreference.incrementalSave);
+		aSaveLayout = UserPreferences.instance().getBoolean(BooleanPreference.saveLayout);
+		UserPreferences.instance().setBoolean(BooleanPreference.saveLayout, false);
+	}
+	
+	@AfterEach
+	void tearDown()
+	{
+		UserPreferences.instance().setBoolean(BooleanPreference.incrementalSave, aIncrementalSave);
+		UserPreferences.instance().setBoolean(BooleanPreference.saveLayout, aSaveLayout);
+	}
+	
+	@Test
+	void testIncrementalSaveAfterCompleteSave() throws Exception
+	{
+		File file = aDirectory.resolve("diagram.class.jet").toFile();
+		Diagram diagram = new Diagram(DiagramType.CLASS);
+		ClassNode node1 = new ClassNode();
+		node1.setName("Node1");
+		diagram.addRootNode(node1);
+		ClassNode node2 = new ClassNode();
+		node2.setName("Node2");
+		node2.moveTo(new Point(200, 0));
+		diagram.addRootNode(node2);
+		DiagramTab tab = new DiagramTab(diagram);
+		tab.setFile(file);
+		
+		UserPreferences.instance().setBoolean(BooleanPreference.incrementalSave, true);
+		tab.save();
+		node1.setName("Changed");
+		UserPreferences.instance().setBoolean(BooleanPreference.incrementalSave, false);
+		tab.save();
+		node1.setName("Node1");
+		node2.translate(10, 10);
+		UserPreferences.instance().setBoolean(BooleanPreference.incrementalSave, true);
+		tab.save();
+		
+		assertEquals(encode(diagram), encode(PersistenceService.read(file)));
+	}
+	
+	private static String encode(Diagram pDiagram)
+	{
+		return JsonEncoder.encode(pDiagram).toString();
+	}
+}
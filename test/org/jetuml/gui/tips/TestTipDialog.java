@@ -31,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.jetuml.JavaFXLoader;
 import org.jetuml.application.UserPreferences;
@@ -39,6 +40,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.Node;
 import javafx.scene.control.CheckBox;
@@ -235,6 +237,7 @@ public class TestTipDialog
 		ImageView node = getImageTipElementAsImageView(aTipDialog, tipElement);
 		
 		assertNotNull(node);
+		waitForImage(node);
 		assertFalse(node.getImage().isError());
 	}
 	
@@ -253,6 +256,7 @@ public class TestTipDialog
 					continue;
 				}
 				ImageView node = getImageTipElementAsImageView(aTipDialog, tipElement);
+				waitForImage(node);
 				double imageWidth = node.getImage().getWidth();
 				boolean imageIsSmallEnough = (imageWidth < TIP_ELEMENT_IMAGE_NODES_MAX_WIDTH);
 				boolean nodeIsFitToValidWidth = (node.getFitWidth() == TIP_ELEMENT_IMAGE_NODES_MAX_WIDTH);
@@ -262,6 +266,28 @@ public class TestTipDialog
 		}
 	}
 	
+	/*
+	 * Waits until the image of pNode is loaded in the background, and until the
+	 * JavaFX application thread has handled the end of the loading.
+	 */
+	private static void waitForImage(ImageView pNode)
+	{
+		try
+		{
+			while( pNode.getImage().getProgress() < 1 && !pNode.getImage().isError() )
+			{
+				Thread.sleep(10);
+			}
+			CountDownLatch latch = new CountDownLatch(1);
+			Platform.runLater(latch::countDown);
+			latch.await();
+		}
+		catch(InterruptedException e)
+		{
+			fail();
+		}
+	}
+	
 	@Test
 	public void testCheckboxInitiallySelectedProperly() throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException
 	{
@@ -29,7 +29,6 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
@@ -38,7 +37,6 @@ import java.nio.file.Paths;
 import org.jetuml.persistence.json.JsonArray;
 import org.jetuml.persistence.json.JsonObject;
 import org.jetuml.persistence.json.JsonParser;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -47,14 +45,7 @@ import org.junit.jupiter.api.Test;
 public class TestTipJsons
 {
 	private static final String TIPS_JSONS_DIR = RESOURCES.getString("tips.jsons.directory");
-	private static String TIP_FILE_PATH_FORMAT;
-
-	@BeforeAll
-	public static void setupClass()
-			throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException
-	{
-		TIP_FILE_PATH_FORMAT = getTipFilePathFormatString();
-	}
+	private static final String TIP_FILE_PATH_FORMAT = TIPS_JSONS_DIR + "/tip-%d.json";
 
 	@Test
 	public void testTipJsons_testCorrectNumberOfTips() throws URISyntaxException
@@ -173,14 +164,6 @@ public class TestTipJsons
 		}
 	}
 
-	private static String getTipFilePathFormatString()
-			throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException
-	{
-		Field field = TipLoader.class.getDeclaredField("TIP_FILE_PATH_FORMAT");
-		field.setAccessible(true);
-		return (String) field.get(null);
-	}
-
 	private static File getTipJsonsDirectoryAsFile() throws URISyntaxException
 	{
 		URI uri = TestTipLoader.class.getResource(TIPS_JSONS_DIR).toURI();
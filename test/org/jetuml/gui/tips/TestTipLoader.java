@@ -21,12 +21,14 @@
 package org.jetuml.gui.tips;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
 
@@ -74,6 +76,28 @@ public class TestTipLoader
 		assertEquals(tip2.getId(), 2);
 	}
 	
+	@Test
+	void testTipLoader_loadTipDecodesEachTipOnce()
+	{
+		assertSame(TipLoader.loadTip(3), TipLoader.loadTip(3));
+	}
+	
+	@Test
+	void testTipLoader_bundleMatchesTipFiles() throws IOException
+	{
+		String[] encodedTips = encodedTips();
+		assertEquals(TipLoader.NUM_TIPS, encodedTips.length);
+		for( int id = 1; id <= TipLoader.NUM_TIPS; id++ )
+		{
+			try(InputStream stream = new FileInputStream("tipdata/tips/tip-%d.json".formatted(id)))
+			{
+				// Run TipBundleGenerator if this fails after a tip is changed
+				assertEquals(JsonParser.parse(inputStreamToString(stream)).toString(), 
+						JsonParser.parse(encodedTips[id - 1]).toString());
+			}
+		}
+	}
+	
 	@Test
 	void testTipConvertJSONObjectToTipElements_listHasRightSize()
 	{
@@ -133,6 +157,21 @@ public class TestTipLoader
 		}
 	}
 	
+	private static String[] encodedTips()
+	{
+		try
+		{
+			Field field = Class.forName(TipLoader.class.getName() + "$Bundle").getDeclaredField("ENCODED_TIPS");
+			field.setAccessible(true);
+			return (String[]) field.get(null);
+		}
+		catch(ReflectiveOperationException e)
+		{
+			fail();
+			return null;
+		}
+	}
+	
 	static String inputStreamToString(InputStream pStream)
 	{
 		try
@@ -28,10 +28,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
 import org.jetuml.diagram.Properties;
 import org.jetuml.diagram.Property;
+import org.jetuml.diagram.PropertyDescriptors;
 import org.jetuml.diagram.PropertyName;
 import org.jetuml.persistence.json.JsonArray;
 import org.jetuml.persistence.json.JsonObject;
@@ -44,18 +46,30 @@ public final class PersistenceTestUtils
 {
 	private PersistenceTestUtils() {}
 	
+	/*
+	 * An element without properties of its own, to which properties can be bound.
+	 */
+	private static final class Element implements DiagramElement
+	{
+		@Override
+		public Properties properties()
+		{
+			return null;
+		}
+	}
+	
 	/**
 	 * Creates a properties object with keys as even arguments and values as odd arguments.
 	 */
 	static Properties build(Object... pInput)
 	{
-		Properties properties = new Properties();
+		PropertyDescriptors descriptors = new PropertyDescriptors();
 		for( int i = 0; i < pInput.length; i+=2 )
 		{
 			final int j = i;
-			properties.add((PropertyName)pInput[i], () -> pInput[j+1], p -> {});
+			descriptors.<Element>add((PropertyName)pInput[i], element -> pInput[j+1], (element, p) -> {});
 		}
-		return properties;
+		return new Properties(new Element(), descriptors);
 	}
 	
 	static void assertHasKeys(JsonObject pObject, String... pKeys)
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetuml.JavaFXLoader;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.persistence.json.JsonArray;
+import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestBinaryFormat
+{
+	private static final Path PATH_TEST_FILES = Path.of("testdata");
+	
+	@TempDir
+	Path aDirectory;
+	
+	@BeforeAll
+	public static void setupClass()
+	{
+		JavaFXLoader.load();
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"testPersistenceService.class.jet",
+							"testPersistenceService2.class.jet",
+							"testPersistenceService.sequence.jet",
+							"testPersistenceService.state.jet",
+							"testPersistenceService.object.jet",
+							"testPersistenceService.usecase.jet",
+							"performanceDiagram.class.jet"})
+	public void testRoundTrip(String pFileName) throws Exception
+	{
+		String text = Files.readString(PATH_TEST_FILES.resolve(pFileName), StandardCharsets.UTF_8);
+		JsonObject original = JsonParser.parse(text);
+		byte[] binary = BinaryFormat.toBinary(original);
+		assertTrue(BinaryFormat.isBinary(binary));
+		assertTrue(binary.length < text.getBytes(StandardCharsets.UTF_8).length);
+		assertEqualJson(original, BinaryFormat.toJson(binary));
+	}
+	
+	@Test
+	public void testRoundTrip_Values()
+	{
+		JsonObject object = new JsonObject();
+		object.put("empty", "");
+		object.put("unicode", "été → 日本");
+		object.put("name", "name");
+		object.put("zero", 0);
+		object.put("negative", -1);
+		object.put("max", Integer.MAX_VALUE);
+		object.put("min", Integer.MIN_VALUE);
+		object.put("true", true);
+		object.put("false", false);
+		object.put("array", new JsonArray(List.of(1, "name", new JsonArray(), new JsonObject())));
+		object.put("object", new JsonObject());
+		assertEqualJson(object, BinaryFormat.toJson(BinaryFormat.toBinary(object)));
+	}
+	
+	@Test
+	public void testIsBinary()
+	{
+		assertFalse(BinaryFormat.isBinary(new byte[0]));
+		assertFalse(BinaryFormat.isBinary("{\"diagram\":\"ClassDiagram\"}".getBytes(StandardCharsets.UTF_8)));
+		assertTrue(BinaryFormat.isBinary(BinaryFormat.toBinary(new JsonObject())));
+	}
+	
+	@Test
+	public void testToJson_Invalid()
+	{
+		JsonObject object = new JsonObject();
+		object.put("name", "value");
+		byte[] binary = BinaryFormat.toBinary(object);
+		assertThrows(DeserializationException.class, () -> BinaryFormat.toJson("{}".getBytes(StandardCharsets.UTF_8)));
+		for( int length = 4; length < binary.length; length++ )
+		{
+			byte[] truncated = Arrays.copyOf(binary, length);
+			assertThrows(DeserializationException.class, () -> BinaryFormat.toJson(truncated));
+		}
+		byte[] extended = Arrays.copyOf(binary, binary.length + 1);
+		assertThrows(DeserializationException.class, () -> BinaryFormat.toJson(extended));
+		byte[] newerVersion = binary.clone();
+		newerVersion[4] = 2;
+		assertThrows(DeserializationException.class, () -> BinaryFormat.toJson(newerVersion));
+	}
+	
+	@Test
+	public void testReadBinaryFile() throws Exception
+	{
+		Path jsonFile = PATH_TEST_FILES.resolve("testPersistenceService.state.jet");
+		byte[] binary = BinaryFormat.toBinary(JsonParser.parse(Files.readString(jsonFile, StandardCharsets.UTF_8)));
+		Path binaryFile = aDirectory.resolve("diagram.state.jet");
+		Files.write(binaryFile, binary);
+		Diagram diagram = PersistenceService.read(binaryFile.toFile());
+		assertEquals(JsonEncoder.encode(PersistenceService.read(jsonFile.toFile())).toString(), 
+				JsonEncoder.encode(diagram).toString());
+		assertArrayEquals(binary, BinaryFormat.toBinary(BinaryFormat.toJson(binary)));
+	}
+	
+	private static void assertEqualJson(Object pExpected, Object pActual)
+	{
+		assertEquals(pExpected.getClass(), pActual.getClass());
+		if( pExpected instanceof JsonObject expected )
+		{
+			JsonObject actual = (JsonObject) pActual;
+			assertEquals(expected.properties(), actual.properties());
+			for( String name : expected.properties() )
+			{
+				assertEqualJson(expected.get(name), actual.get(name));
+			}
+		}
+		else if( pExpected instanceof JsonArray expected )
+		{
+			JsonArray actual = (JsonArray) pActual;
+			assertEquals(expected.size(), actual.size());
+			for( int i = 0; i < expected.size(); i++ )
+			{
+				assertEqualJson(expected.get(i), actual.get(i));
+			}
+		}
+		else
+		{
+			assertEquals(pExpected, pActual);
+		}
+	}
+}
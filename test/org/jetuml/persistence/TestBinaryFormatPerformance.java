@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonParser;
+
+/**
+ * Compares the size of a diagram and the time to load its encoding
+ * in the JSON and binary formats. The name of a diagram file can be 
+ * given as argument.
+ */
+public final class TestBinaryFormatPerformance
+{
+	private static final int NUMBER_OF_TRIALS = 20;
+	private static final Path DEFAULT_FILE = Path.of("testdata", "performanceDiagram.class.jet");
+	
+	private TestBinaryFormatPerformance() {}
+	
+	/**
+	 * Test method.
+	 */
+	public static void main(String[] pArgs) throws Exception
+	{
+		Path file = pArgs.length > 0 ? Path.of(pArgs[0]) : DEFAULT_FILE;
+		byte[] json = Files.readAllBytes(file);
+		byte[] binary = BinaryFormat.toBinary(JsonParser.parse(new String(json, StandardCharsets.UTF_8)));
+		
+		double jsonTime = averageMillis(() -> JsonParser.parse(new String(json, StandardCharsets.UTF_8)));
+		double binaryTime = averageMillis(() -> BinaryFormat.toJson(binary));
+		
+		System.out.println("File: " + file);
+		System.out.println("JSON size (bytes)   : " + json.length);
+		System.out.println("Binary size (bytes) : " + binary.length);
+		System.out.println("Average JsonParser.parse (ms) of " + NUMBER_OF_TRIALS + " trials : " + jsonTime);
+		System.out.println("Average BinaryFormat.toJson (ms) of " + NUMBER_OF_TRIALS + " trials : " + binaryTime);
+	}
+	
+	/* The first trial is excluded to let the JIT compiler warm up. */
+	private static double averageMillis(Loader pLoader)
+	{
+		double total = 0;
+		for( int i = 0; i < NUMBER_OF_TRIALS + 1; i++ )
+		{
+			long start = System.nanoTime();
+			pLoader.load();
+			long stop = System.nanoTime();
+			if( i > 0 )
+			{
+				total += (stop - start) / 1_000_000.0;
+			}
+		}
+		return total / NUMBER_OF_TRIALS;
+	}
+	
+	private interface Loader
+	{
+		JsonObject load();
+	}
+}
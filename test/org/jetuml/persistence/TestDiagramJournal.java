@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.JavaFXLoader;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.geom.Point;
+import org.jetuml.rendering.LayoutHints;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestDiagramJournal
+{
+	private static final Path PATH_TEST_FILE = Path.of("testdata", "testPersistenceService.class.jet");
+	
+	@TempDir
+	Path aDirectory;
+	private File aFile;
+	private File aJournalFile;
+	private Diagram aDiagram;
+	private DiagramJournal aJournal;
+	
+	@BeforeAll
+	public static void setupClass()
+	{
+		JavaFXLoader.load();
+	}
+	
+	@BeforeEach
+	public void setup() throws Exception
+	{
+		aFile = aDirectory.resolve("diagram.class.jet").toFile();
+		aJournalFile = DiagramJournal.journalFor(aFile);
+		Files.copy(PATH_TEST_FILE, aFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		aDiagram = PersistenceService.read(aFile);
+		aJournal = new DiagramJournal(aFile);
+	}
+	
+	@Test
+	public void testFirstSaveIsComplete() throws Exception
+	{
+		aJournal.save(aDiagram);
+		assertFalse(aJournalFile.exists());
+		assertEquals(encode(aDiagram), encode(PersistenceService.read(aFile)));
+	}
+	
+	@Test
+	public void testChangesAreAppended() throws Exception
+	{
+		aJournal.save(aDiagram);
+		String original = Files.readString(aFile.toPath(), StandardCharsets.UTF_8);
+		
+		aDiagram.rootNodes().get(0).translate(10, 20);
+		aJournal.save(aDiagram);
+		ClassNode node = new ClassNode();
+		node.setName("Added");
+		node.moveTo(new Point(500, 500));
+		aDiagram.addRootNode(node);
+		aJournal.save(aDiagram);
+		
+		assertEquals(original, Files.readString(aFile.toPath(), StandardCharsets.UTF_8));
+		assertEquals(2, Files.readAllLines(aJournalFile.toPath()).size());
+		assertEquals(encode(aDiagram), encode(PersistenceService.read(aFile)));
+	}
+	
+	@Test
+	public void testRemovedElements() throws Exception
+	{
+		aJournal.save(aDiagram);
+		Node node = aDiagram.rootNodes().get(aDiagram.rootNodes().size() - 1);
+		aDiagram.edges().stream()
+			.filter(edge -> edge.start() == node || edge.end() == node)
+			.toList()
+			.forEach(aDiagram::removeEdge);
+		aDiagram.removeRootNode(node);
+		aJournal.save(aDiagram);
+		
+		assertTrue(aJournalFile.exists());
+		assertEquals(encode(aDiagram), encode(PersistenceService.read(aFile)));
+	}
+	
+	@Test
+	public void testIncompleteLastRecordIsIgnored() throws Exception
+	{
+		aJournal.save(aDiagram);
+		aDiagram.rootNodes().get(0).translate(10, 20);
+		aJournal.save(aDiagram);
+		String expected = encode(aDiagram);
+		Files.writeString(aJournalFile.toPath(), "{\"nodeCount\":", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		
+		assertEquals(expected, encode(PersistenceService.read(aFile)));
+	}
+	
+	@Test
+	public void testCompaction() throws Exception
+	{
+		aJournal.save(aDiagram);
+		aDiagram.rootNodes().get(0).translate(10, 0);
+		while( aJournalFile.length() <= encode(aDiagram).length() / 2 )
+		{
+			aJournal.save(aDiagram);
+			aDiagram.rootNodes().get(0).translate(10, 0);
+		}
+		aJournal.save(aDiagram);
+		
+		assertFalse(aJournalFile.exists());
+		assertEquals(encode(aDiagram), encode(PersistenceService.read(aFile)));
+	}
+	
+	@Test
+	public void testCompactionOfCompressedFile() throws Exception
+	{
+		File file = aDirectory.resolve("diagram.class.jet.gz").toFile();
+		File journalFile = DiagramJournal.journalFor(file);
+		DiagramJournal journal = new DiagramJournal(file);
+		journal.save(aDiagram);
+		while( journalFile.length() <= file.length() / 2 )
+		{
+			aDiagram.rootNodes().get(0).translate(10, 0);
+			journal.save(aDiagram);
+		}
+		
+		assertTrue(journalFile.exists());
+		assertEquals(encode(aDiagram), encode(PersistenceService.read(file)));
+	}
+	
+	@Test
+	public void testLayoutIsAppended() throws Exception
+	{
+		aJournal.save(aDiagram, DiagramType.newRendererInstanceFor(aDiagram).getLayoutHints());
+		aDiagram.rootNodes().get(0).translate(10, 20);
+		LayoutHints hints = DiagramType.newRendererInstanceFor(aDiagram).getLayoutHints();
+		aJournal.save(aDiagram, hints);
+		assertTrue(aJournalFile.exists());
+		
+		List<LayoutHints> loaded = new ArrayList<>();
+		Diagram diagram = PersistenceService.read(aFile, loaded::add);
+		assertEquals(encode(aDiagram), encode(diagram));
+		assertEquals(1, loaded.size());
+		assertEquals(hints.bounds(), loaded.get(0).bounds());
+	}
+	
+	@Test
+	public void testStaleLayoutIsIgnored() throws Exception
+	{
+		aJournal.save(aDiagram, DiagramType.newRendererInstanceFor(aDiagram).getLayoutHints());
+		aDiagram.rootNodes().get(0).translate(10, 20);
+		aJournal.save(aDiagram);
+		assertTrue(aJournalFile.exists());
+		
+		List<LayoutHints> loaded = new ArrayList<>();
+		PersistenceService.read(aFile, loaded::add);
+		assertTrue(loaded.isEmpty());
+	}
+	
+	@Test
+	public void testCompleteSaveDeletesJournal() throws Exception
+	{
+		aJournal.save(aDiagram);
+		aDiagram.rootNodes().get(0).translate(10, 20);
+		aJournal.save(aDiagram);
+		assertTrue(aJournalFile.exists());
+		
+		PersistenceService.save(aDiagram, aFile);
+		assertFalse(aJournalFile.exists());
+		assertEquals(encode(aDiagram), encode(PersistenceService.read(aFile)));
+	}
+	
+	private static String encode(Diagram pDiagram)
+	{
+		return JsonEncoder.encode(pDiagram).toString();
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.JavaFXLoader;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.edges.NoteEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.rendering.DiagramRenderer;
+import org.jetuml.rendering.LayoutHints;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestLayoutHints
+{
+	private static final Path PATH_TEST_FILES = Path.of("testdata");
+	
+	@TempDir
+	Path aDirectory;
+	
+	@BeforeAll
+	public static void setupClass()
+	{
+		JavaFXLoader.load();
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"testPersistenceService.class.jet",
+							"testPersistenceService2.class.jet",
+							"testPersistenceService.sequence.jet",
+							"testPersistenceService.state.jet"})
+	public void testRoundTrip(String pFileName) throws Exception
+	{
+		Diagram diagram = PersistenceService.read(PATH_TEST_FILES.resolve(pFileName).toFile());
+		DiagramRenderer renderer = DiagramType.newRendererInstanceFor(diagram);
+		LayoutHints hints = renderer.getLayoutHints();
+		File file = aDirectory.resolve(pFileName).toFile();
+		PersistenceService.save(diagram, hints, file);
+		
+		List<LayoutHints> loadedHints = new ArrayList<>();
+		Diagram loaded = PersistenceService.read(file, loadedHints::add);
+		assertEquals(1, loadedHints.size());
+		LayoutHints loadedHint = loadedHints.get(0);
+		assertEquals(hints.bounds(), loadedHint.bounds());
+		assertEquals(hints.edgePaths().size(), loadedHint.edgePaths().size());
+		for( int i = 0; i < diagram.edges().size(); i++ )
+		{
+			assertEquals(hints.edgePath(diagram.edges().get(i)), loadedHint.edgePath(loaded.edges().get(i)));
+		}
+		
+		DiagramRenderer hintedRenderer = DiagramType.newRendererInstanceFor(loaded);
+		hintedRenderer.useLayoutHints(loadedHint);
+		assertEquals(renderer.getBounds(), hintedRenderer.getBounds());
+		for( int i = 0; i < diagram.edges().size(); i++ )
+		{
+			Edge original = diagram.edges().get(i);
+			Edge edge = loaded.edges().get(i);
+			assertEquals(renderer.getConnectionPoints(original), hintedRenderer.getConnectionPoints(edge));
+		}
+	}
+	
+	@Test
+	public void testClassDiagramEdgePaths() throws Exception
+	{
+		Diagram diagram = PersistenceService.read(PATH_TEST_FILES.resolve("testPersistenceService.class.jet").toFile());
+		LayoutHints hints = DiagramType.newRendererInstanceFor(diagram).getLayoutHints();
+		assertFalse(diagram.edges().isEmpty());
+		diagram.edges().forEach(edge -> assertEquals(!(edge instanceof NoteEdge), hints.edgePath(edge).isPresent()));
+	}
+	
+	@Test
+	public void testNoLayout() throws Exception
+	{
+		File file = aDirectory.resolve("diagram.class.jet").toFile();
+		Diagram diagram = PersistenceService.read(PATH_TEST_FILES.resolve("testPersistenceService.class.jet").toFile());
+		PersistenceService.save(diagram, file);
+		List<LayoutHints> hints = new ArrayList<>();
+		PersistenceService.read(file, hints::add);
+		assertTrue(hints.isEmpty());
+	}
+	
+	@Test
+	public void testModifiedDiagram()
+	{
+		Diagram diagram = new Diagram(DiagramType.CLASS);
+		diagram.addRootNode(new ClassNode());
+		JsonObject encoding = JsonEncoder.encode(diagram, DiagramType.newRendererInstanceFor(diagram).getLayoutHints());
+		JsonDecoder decoder = new JsonDecoder(encoding);
+		decoder.decode();
+		assertTrue(decoder.decodeLayoutHints().isPresent());
+		
+		encoding.getJsonArray("nodes").getJsonObject(0).put("x", 100);
+		decoder = new JsonDecoder(encoding);
+		decoder.decode();
+		assertTrue(decoder.decodeLayoutHints().isEmpty());
+	}
+	
+	@Test
+	public void testMalformedLayout()
+	{
+		Diagram diagram = new Diagram(DiagramType.CLASS);
+		JsonObject encoding = JsonEncoder.encode(diagram, DiagramType.newRendererInstanceFor(diagram).getLayoutHints());
+		encoding.getJsonObject("layout").put("bounds", "invalid");
+		JsonDecoder decoder = new JsonDecoder(encoding);
+		decoder.decode();
+		assertTrue(decoder.decodeLayoutHints().isEmpty());
+	}
+}
@@ -21,13 +21,19 @@
 package org.jetuml.persistence;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.jetuml.JavaFXLoader;
 import org.jetuml.diagram.Diagram;
@@ -43,9 +49,15 @@ import org.jetuml.geom.Rectangle;
 import org.jetuml.rendering.DiagramRenderer;
 import org.jetuml.rendering.SequenceDiagramRenderer;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 /*
  * This class tests that the PersistenceService works by loading a 
  * number of elaborate test diagrams, storing the bounds of each diagram
@@ -63,12 +75,81 @@ public class TestPersistenceService
 	private static final Path PATH_TEST_FILES = Path.of("testdata");
 	private static final Path PATH_TEMPORARY_FILE = PATH_TEST_FILES.resolve("tmp");
 	
+	@TempDir
+	Path aTemporaryDirectory;
+	
 	@BeforeAll
 	public static void setupClass()
 	{
 		JavaFXLoader.load();
 	}
 	
+	@Test
+	public void testCompressed() throws Exception
+	{
+		File original = PATH_TEST_FILES.resolve("testPersistenceService.class.jet").toFile();
+		Diagram diagram = PersistenceService.read(original);
+		File compressed = aTemporaryDirectory.resolve("diagram.class.jet.gz").toFile();
+		PersistenceService.save(diagram, compressed);
+		
+		assertTrue(compressed.length() < original.length());
+		try( InputStream input = new GZIPInputStream(Files.newInputStream(compressed.toPath())) )
+		{
+			assertEquals('{', input.read());
+		}
+		assertEquals(JsonEncoder.encode(diagram).toString(), 
+				JsonEncoder.encode(PersistenceService.read(compressed)).toString());
+	}
+	
+	@Test
+	public void testCompressedBinary() throws Exception
+	{
+		File original = PATH_TEST_FILES.resolve("testPersistenceService.state.jet").toFile();
+		Diagram diagram = PersistenceService.read(original);
+		File compressed = aTemporaryDirectory.resolve("diagram.state.jet.gz").toFile();
+		try( OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed.toPath())) )
+		{
+			output.write(BinaryFormat.toBinary(JsonEncoder.encode(diagram)));
+		}
+		assertEquals(JsonEncoder.encode(diagram).toString(), 
+				JsonEncoder.encode(PersistenceService.read(compressed)).toString());
+	}
+	
+	@Test
+	public void testFlightRecorderEvents() throws Exception
+	{
+		File original = PATH_TEST_FILES.resolve("testPersistenceService.class.jet").toFile();
+		File copy = aTemporaryDirectory.resolve("diagram.class.jet").toFile();
+		Path recordingFile = aTemporaryDirectory.resolve("recording.jfr");
+		Diagram diagram;
+		try( Recording recording = new Recording() )
+		{
+			recording.enable("org.jetuml.DiagramRead");
+			recording.enable("org.jetuml.DiagramSave");
+			recording.start();
+			diagram = PersistenceService.read(original);
+			PersistenceService.save(diagram, copy);
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+		int elements = diagram.allNodes().size() + diagram.edges().size();
+		Map<String, RecordedEvent> events = new HashMap<>();
+		for( RecordedEvent event : RecordingFile.readAllEvents(recordingFile) )
+		{
+			events.put(event.getEventType().getName(), event);
+		}
+		RecordedEvent read = events.get("org.jetuml.DiagramRead");
+		assertEquals(original.getPath(), read.getString("file"));
+		assertEquals(original.length(), read.getLong("bytes"));
+		assertEquals(elements, read.getInt("elements"));
+		assertTrue(read.getDuration("parseDuration").toNanos() > 0);
+		RecordedEvent save = events.get("org.jetuml.DiagramSave");
+		assertEquals(copy.getPath(), save.getString("file"));
+		assertEquals(copy.length(), save.getLong("bytes"));
+		assertEquals(elements, save.getInt("elements"));
+		assertTrue(save.getDuration("writeDuration").toNanos() > 0);
+	}
+	
 	@ParameterizedTest
 	@ValueSource(strings = {"testPersistenceService.class.jet",
 							"testPersistenceService2.class.jet",
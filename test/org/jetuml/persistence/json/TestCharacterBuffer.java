@@ -24,6 +24,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
 import org.junit.jupiter.api.Test;
 
 public class TestCharacterBuffer
@@ -156,4 +160,77 @@ public class TestCharacterBuffer
 		aBuffer1.next();
 		assertFalse(aBuffer1.hasMore());
 	}
+	
+	@Test
+	void testReader_LongInput()
+	{
+		StringBuilder input = new StringBuilder();
+		for( int i = 0; i < 20000; i++ )
+		{
+			input.append((char)('a' + i % 26));
+		}
+		CharacterBuffer buffer = new CharacterBuffer(new OneCharacterReader(input.toString()));
+		for( int i = 0; i < input.length(); i++ )
+		{
+			assertTrue(buffer.hasMore());
+			assertTrue(buffer.isNext(input.charAt(i)));
+			assertEquals(input.charAt(i), buffer.next());
+			if( i % 1000 == 0 )
+			{
+				buffer.backUp();
+				assertEquals(input.charAt(i), buffer.next());
+			}
+		}
+		assertFalse(buffer.hasMore());
+	}
+	
+	@Test
+	void testReader_HasMoreSeveral()
+	{
+		CharacterBuffer buffer = new CharacterBuffer(new OneCharacterReader("abcdef"));
+		assertTrue(buffer.hasMore(6));
+		assertFalse(buffer.hasMore(7));
+		assertEquals('a', buffer.next());
+		assertTrue(buffer.hasMore(5));
+		assertFalse(buffer.hasMore(6));
+	}
+	
+	@Test
+	void testReader_SkipBlanks()
+	{
+		CharacterBuffer buffer = new CharacterBuffer(new StringReader("a  r  "));
+		buffer.next();
+		buffer.skipBlanks();
+		assertEquals('r', buffer.next());
+		buffer.skipBlanks();
+		assertFalse(buffer.hasMore());
+	}
+	
+	/*
+	 * Supplies a single character at a time, to exercise the buffering.
+	 */
+	private static final class OneCharacterReader extends Reader
+	{
+		private final StringReader aReader;
+		
+		OneCharacterReader(String pInput)
+		{
+			aReader = new StringReader(pInput);
+		}
+		
+		@Override
+		public int read(char[] pBuffer, int pOffset, int pLength) throws IOException
+		{
+			int character = aReader.read(); 
+			if( character < 0 )
+			{
+				return -1;
+			}
+			pBuffer[pOffset] = (char) character;
+			return 1;
+		}
+		
+		@Override
+		public void close() {}
+	}
 }
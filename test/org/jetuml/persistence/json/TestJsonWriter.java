@@ -23,6 +23,9 @@ package org.jetuml.persistence.json;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.StringWriter;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 /*
@@ -67,5 +70,20 @@ public class TestJsonWriter
 	void testWrite_Null()
 	{
 		assertThrows(JsonException.class, () -> JsonWriter.write(null));
+		assertThrows(JsonException.class, () -> JsonWriter.write(null, new StringWriter()));
+	}
+	
+	@Test
+	void testWrite_Writer() throws Exception
+	{
+		JsonObject object = new JsonObject();
+		object.put("name", "a \"b\"");
+		object.put("count", -3);
+		object.put("flag", true);
+		object.put("empty", new JsonObject());
+		object.put("elements", new JsonArray(List.of(1, "x", new JsonArray(), object.getJsonObject("empty"))));
+		StringWriter output = new StringWriter();
+		JsonWriter.write(object, output);
+		assertEquals(JsonWriter.write(object), output.toString());
 	}
 }
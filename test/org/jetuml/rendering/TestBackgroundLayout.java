@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jetuml.JavaFXLoader;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.geom.Point;
+import org.jetuml.rendering.edges.EdgeStorage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javafx.application.Platform;
+
+public class TestBackgroundLayout
+{
+	private static final long TIMEOUT_SECONDS = 10;
+	
+	private final Diagram aDiagram = new Diagram(DiagramType.CLASS);
+	private final ClassDiagramRenderer aRenderer = new ClassDiagramRenderer(aDiagram);
+	private final Node aNode = new ClassNode();
+	private final Edge aEdge = new DependencyEdge();
+	private final List<AtomicBoolean> aLayouts = new ArrayList<>();
+	private final List<EdgeStorage> aResults = new ArrayList<>();
+	private final Semaphore aCompleted = new Semaphore(0);
+	
+	@BeforeAll
+	public static void setupClass()
+	{
+		JavaFXLoader.load();
+	}
+	
+	TestBackgroundLayout()
+	{
+		aDiagram.addRootNode(aNode);
+		aEdge.connect(aNode, aNode);
+		aDiagram.addEdge(aEdge);
+	}
+	
+	private BackgroundLayout createLayout(CountDownLatch pRelease)
+	{
+		return new BackgroundLayout((geometry, edges, labels, cancelled) -> 
+		{
+			synchronized(aLayouts)
+			{
+				aLayouts.add(cancelled);
+			}
+			awaitQuietly(pRelease);
+			return new EdgeStorage();
+		}, result -> 
+		{
+			aResults.add(result);
+			aCompleted.release();
+		});
+	}
+	
+	private static void awaitQuietly(CountDownLatch pLatch)
+	{
+		try
+		{
+			pLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/*
+	 * Runs pRunnable on the JavaFX application thread and waits for it to complete.
+	 */
+	private static void runOnFXThread(Runnable pRunnable) throws InterruptedException
+	{
+		Semaphore semaphore = new Semaphore(0);
+		Platform.runLater(() -> 
+		{
+			pRunnable.run();
+			semaphore.release();
+		});
+		assertTrue(semaphore.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+	}
+	
+	private int numberOfLayouts()
+	{
+		synchronized(aLayouts)
+		{
+			return aLayouts.size();
+		}
+	}
+	
+	@Test
+	void testRequest() throws InterruptedException
+	{
+		BackgroundLayout layout = createLayout(new CountDownLatch(0));
+		runOnFXThread(() -> 
+		{
+			layout.request(new NodeGeometry(aRenderer), aDiagram.edges());
+			assertTrue(layout.isPending());
+		});
+		assertTrue(aCompleted.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		runOnFXThread(() -> assertFalse(layout.isPending()));
+		assertEquals(1, aResults.size());
+	}
+	
+	@Test
+	void testIdenticalRequestIsIgnored() throws InterruptedException
+	{
+		BackgroundLayout layout = createLayout(new CountDownLatch(0));
+		runOnFXThread(() -> layout.request(new NodeGeometry(aRenderer), aDiagram.edges()));
+		assertTrue(aCompleted.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		runOnFXThread(() -> 
+		{
+			layout.request(new NodeGeometry(aRenderer), aDiagram.edges());
+			assertFalse(layout.isPending());
+		});
+		assertEquals(1, numberOfLayouts());
+	}
+	
+	@Test
+	void testNewerRequestCancelsLayoutInProgress() throws InterruptedException
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		BackgroundLayout layout = createLayout(release);
+		runOnFXThread(() -> layout.request(new NodeGeometry(aRenderer), aDiagram.edges()));
+		while( numberOfLayouts() == 0 )
+		{
+			Thread.sleep(1);
+		}
+		aNode.moveTo(new Point(100, 100));
+		runOnFXThread(() -> layout.request(new NodeGeometry(aRenderer), aDiagram.edges()));
+		release.countDown();
+		assertTrue(aCompleted.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		runOnFXThread(() -> {});
+		assertEquals(1, aResults.size());
+		assertEquals(2, numberOfLayouts());
+		assertTrue(aLayouts.get(0).get());
+		assertFalse(aLayouts.get(1).get());
+	}
+	
+	@Test
+	void testCancel() throws InterruptedException
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		BackgroundLayout layout = createLayout(release);
+		runOnFXThread(() -> 
+		{
+			layout.request(new NodeGeometry(aRenderer), aDiagram.edges());
+			layout.cancel();
+			assertFalse(layout.isPending());
+		});
+		release.countDown();
+		assertFalse(aCompleted.tryAcquire(1, TimeUnit.SECONDS));
+		assertTrue(aResults.isEmpty());
+	}
+}
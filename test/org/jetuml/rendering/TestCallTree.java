@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.CallEdge;
+import org.jetuml.diagram.edges.ConstructorEdge;
+import org.jetuml.diagram.edges.ReturnEdge;
+import org.jetuml.diagram.nodes.CallNode;
+import org.jetuml.diagram.nodes.ImplicitParameterNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestCallTree
+{
+	private Diagram aDiagram = new Diagram(DiagramType.SEQUENCE);
+	private ImplicitParameterNode aLifeline1 = new ImplicitParameterNode();
+	private ImplicitParameterNode aLifeline2 = new ImplicitParameterNode();
+	private CallNode aRoot = new CallNode();
+	private CallNode aCall1 = new CallNode();
+	private CallNode aCall2 = new CallNode();
+	private CallNode aCall3 = new CallNode();
+	
+	/*
+	 * aRoot calls aCall1, which calls aCall2, then aRoot calls aCall3.
+	 */
+	@BeforeEach
+	void setup()
+	{
+		aDiagram.addRootNode(aLifeline1);
+		aDiagram.addRootNode(aLifeline2);
+		aLifeline1.addChild(aRoot);
+		aLifeline2.addChild(aCall1);
+		aLifeline1.addChild(aCall2);
+		aLifeline2.addChild(aCall3);
+		connect(new CallEdge(), aRoot, aCall1);
+		connect(new CallEdge(), aCall1, aCall2);
+		connect(new ReturnEdge(), aCall1, aRoot);
+		connect(new CallEdge(), aRoot, aCall3);
+	}
+	
+	private void connect(Edge pEdge, Node pStart, Node pEnd)
+	{
+		pEdge.connect(pStart, pEnd);
+		aDiagram.addEdge(pEdge);
+	}
+	
+	@Test
+	void testEntries()
+	{
+		CallTree tree = new CallTree(aDiagram);
+		assertSame(aRoot, tree.root().get());
+		assertEquals(4, tree.size());
+		assertEquals(List.of(aRoot, aCall1, aCall2, aCall3), 
+				List.of(tree.node(0), tree.node(1), tree.node(2), tree.node(3)));
+		assertEquals(4, tree.subtreeEnd(0));
+		assertEquals(3, tree.subtreeEnd(1));
+		assertEquals(3, tree.subtreeEnd(2));
+		assertEquals(4, tree.subtreeEnd(3));
+	}
+	
+	@Test
+	void testIndex()
+	{
+		CallTree tree = new CallTree(aDiagram);
+		assertEquals(List.of(aCall1, aCall3), tree.callees(aRoot));
+		assertTrue(tree.callees(aCall3).isEmpty());
+		assertSame(aCall1, tree.caller(aCall2).get());
+		assertTrue(tree.caller(aRoot).isEmpty());
+		assertTrue(tree.incomingEdge(aRoot).get() instanceof ReturnEdge);
+		assertSame(aRoot, tree.firstCall(aLifeline1).get());
+		assertSame(aCall1, tree.firstCall(aLifeline2).get());
+		assertEquals(0, tree.nestingDepth(aCall1).get());
+		assertEquals(1, tree.nestingDepth(aCall2).get());
+		assertEquals(0, tree.nestingDepth(aCall3).get());
+	}
+	
+	@Test
+	void testEmpty()
+	{
+		CallTree tree = new CallTree(new Diagram(DiagramType.SEQUENCE));
+		assertEquals(0, tree.size());
+		assertTrue(tree.root().isEmpty());
+	}
+	
+	@Test
+	void testIsCurrent()
+	{
+		CallTree tree = new CallTree(aDiagram);
+		assertTrue(tree.isCurrent(aDiagram));
+		CallNode call = new CallNode();
+		aLifeline2.addChild(call);
+		assertFalse(tree.isCurrent(aDiagram));
+		connect(new CallEdge(), aCall3, call);
+		tree = new CallTree(aDiagram);
+		assertTrue(tree.isCurrent(aDiagram));
+		connect(new ReturnEdge(), call, aCall3);
+		assertFalse(tree.isCurrent(aDiagram));
+		tree = new CallTree(aDiagram);
+		assertTrue(tree.isCurrent(aDiagram));
+		aLifeline2.translate(100, 0);
+		assertFalse(tree.isCurrent(aDiagram));
+	}
+	
+	@Test
+	void testFirstDifference()
+	{
+		CallTree previous = new CallTree(aDiagram);
+		assertEquals(4, new CallTree(aDiagram).firstDifference(previous));
+		
+		CallNode call = new CallNode();
+		aLifeline1.addChild(call);
+		connect(new CallEdge(), aCall3, call);
+		assertEquals(4, new CallTree(aDiagram).firstDifference(previous));
+		
+		aDiagram.removeEdge(aDiagram.edges().get(1));
+		ConstructorEdge create = new ConstructorEdge();
+		create.connect(aCall1, aCall2);
+		aDiagram.addEdge(1, create);
+		assertEquals(2, new CallTree(aDiagram).firstDifference(previous));
+	}
+}
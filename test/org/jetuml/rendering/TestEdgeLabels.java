@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jetuml.diagram.edges.AssociationEdge;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.junit.jupiter.api.Test;
+
+public class TestEdgeLabels
+{
+	private final AssociationEdge aAssociation = new AssociationEdge();
+	private final DependencyEdge aDependency = new DependencyEdge();
+	
+	TestEdgeLabels()
+	{
+		aAssociation.setStartLabel("start");
+		aAssociation.setEndLabel("end");
+	}
+	
+	@Test
+	void testLabels()
+	{
+		EdgeLabels labels = new EdgeLabels(List.of(aAssociation, aDependency));
+		assertTrue(labels.contains(aAssociation));
+		assertFalse(labels.contains(aDependency));
+		assertEquals("start", labels.startLabel(aAssociation));
+		assertEquals("end", labels.endLabel(aAssociation));
+	}
+	
+	@Test
+	void testLabelsAreACopy()
+	{
+		EdgeLabels labels = new EdgeLabels(List.of(aAssociation));
+		aAssociation.setStartLabel("other");
+		assertEquals("start", labels.startLabel(aAssociation));
+	}
+	
+	@Test
+	void testEquals()
+	{
+		EdgeLabels labels = new EdgeLabels(List.of(aAssociation, aDependency));
+		assertEquals(labels, new EdgeLabels(List.of(aAssociation)));
+		assertEquals(labels.hashCode(), new EdgeLabels(List.of(aAssociation)).hashCode());
+		aAssociation.setEndLabel("other");
+		assertNotEquals(labels, new EdgeLabels(List.of(aAssociation)));
+		assertNotEquals(labels, new EdgeLabels(List.of(new AssociationEdge())));
+	}
+}
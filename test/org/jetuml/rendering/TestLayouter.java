@@ -2245,6 +2245,54 @@ public class TestLayouter
 		assertEquals(Side.RIGHT, eastOrWestSide(aRectangleA, aRectangleA));
 	}
 	
+	@Test
+	public void testLayoutGroupsConcurrently()
+	{
+		for( int i = 0; i < 24; i++ )
+		{
+			// Every fourth group of nodes overlaps the previous one
+			Point origin = i % 4 == 3 ? new Point((i - 1) % 6 * 500 + 50, (i - 1) / 6 * 400 + 50) : 
+				new Point(i % 6 * 500, i / 6 * 400);
+			addGroupOfNodes(origin);
+		}
+		aRenderer.layout();
+		ClassDiagramRenderer sequentialRenderer = new ClassDiagramRenderer(aDiagram);
+		layoutEdges(sequentialRenderer);
+		for( Edge edge : aDiagram.edges() )
+		{
+			assertEquals(sequentialRenderer.getStoredEdgePath(edge), aRenderer.getStoredEdgePath(edge));
+		}
+	}
+	
+	/*
+	 * Adds three nodes with two generalization edges, an association edge, a dependency 
+	 * edge and a self-edge between them.
+	 */
+	private void addGroupOfNodes(Point pOrigin)
+	{
+		Node top = new ClassNode();
+		Node left = new ClassNode();
+		Node right = new ClassNode();
+		top.moveTo(new Point(pOrigin.x() + 100, pOrigin.y()));
+		left.moveTo(new Point(pOrigin.x(), pOrigin.y() + 200));
+		right.moveTo(new Point(pOrigin.x() + 250, pOrigin.y() + 200));
+		for( Node node : List.of(top, left, right) )
+		{
+			aDiagram.addRootNode(node);
+		}
+		connect(new GeneralizationEdge(), left, top);
+		connect(new GeneralizationEdge(), right, top);
+		connect(new AssociationEdge(), left, right);
+		connect(new DependencyEdge(), right, top);
+		connect(new DependencyEdge(), top, top);
+	}
+	
+	private void connect(Edge pEdge, Node pStart, Node pEnd)
+	{
+		pEdge.connect(pStart, pEnd);
+		aDiagram.addEdge(pEdge);
+	}
+	
 	
 	
 	
@@ -2252,6 +2300,20 @@ public class TestLayouter
 	
 	/// REFLECTIVE HELPER METHODS ///
 	
+	private static void layoutEdges(ClassDiagramRenderer pRenderer)
+	{
+		try
+		{
+			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutEdges");
+			method.setAccessible(true);
+			method.invoke(pRenderer);
+		}
+		catch(ReflectiveOperationException e)
+		{
+			fail();
+		}
+	}
+	
 	/*
 	 * Stores an edge path in the layouter of the active classdiagramrenderer
 	 */
@@ -2376,7 +2438,7 @@ public class TestLayouter
 	{
 		try
 		{
-			Method method = ClassDiagramRenderer.class.getDeclaredMethod("getEdgesToMergeStart", Edge.class, List.class);
+			Method method = ClassDiagramRenderer.class.getDeclaredMethod("getEdgesToMergeStart", Edge.class, Collection.class);
 			method.setAccessible(true);
 			return (Collection<Edge>) method.invoke(aRenderer, pEdge, pEdges);
 		}
@@ -2392,7 +2454,7 @@ public class TestLayouter
 	{
 		try
 		{
-			Method method = ClassDiagramRenderer.class.getDeclaredMethod("getEdgesToMergeEnd", Edge.class, List.class);
+			Method method = ClassDiagramRenderer.class.getDeclaredMethod("getEdgesToMergeEnd", Edge.class, Collection.class);
 			method.setAccessible(true);
 			return (Collection<Edge>) method.invoke(aRenderer, pEdge, pEdges);
 		}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.rendering.nodes.NodeRenderer;
+import org.junit.jupiter.api.Test;
+
+public class TestNodeGeometry
+{
+	private final Diagram aDiagram = new Diagram(DiagramType.CLASS);
+	private final ClassDiagramRenderer aRenderer = new ClassDiagramRenderer(aDiagram);
+	private final PackageNode aPackage = new PackageNode();
+	private final ClassNode aClass = new ClassNode();
+	
+	TestNodeGeometry()
+	{
+		aClass.translate(20, 40);
+		aPackage.addChild(aClass);
+		aDiagram.addRootNode(aPackage);
+	}
+	
+	@Test
+	void testBoundsAndFaces()
+	{
+		NodeGeometry geometry = new NodeGeometry(aRenderer);
+		assertEquals(aRenderer.getBounds(aPackage), geometry.bounds(aPackage));
+		assertEquals(aRenderer.getBounds(aClass), geometry.bounds(aClass));
+		for( Side side : Side.values() )
+		{
+			assertEquals(((NodeRenderer) aRenderer.rendererFor(PackageNode.class)).getFace(aPackage, side), 
+					geometry.face(aPackage, side));
+		}
+	}
+	
+	@Test
+	void testPositions()
+	{
+		NodeGeometry geometry = new NodeGeometry(aRenderer);
+		assertEquals(aPackage.position(), geometry.position(aPackage));
+		assertEquals(aClass.position(), geometry.position(aClass));
+	}
+	
+	@Test
+	void testContains()
+	{
+		NodeGeometry geometry = new NodeGeometry(aRenderer);
+		assertTrue(geometry.contains(aPackage));
+		assertTrue(geometry.contains(aClass));
+		assertFalse(geometry.contains(new ClassNode()));
+	}
+	
+	@Test
+	void testGeometryIsACopy()
+	{
+		NodeGeometry geometry = new NodeGeometry(aRenderer);
+		aClass.translate(100, 100);
+		assertEquals(20, geometry.bounds(aClass).x());
+		assertEquals(20, geometry.position(aClass).x());
+	}
+}
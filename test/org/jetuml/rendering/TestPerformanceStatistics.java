@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2025 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestPerformanceStatistics
+{
+	private static final long MILLI = 1_000_000;
+	
+	private final PerformanceStatistics aStatistics = new PerformanceStatistics();
+	
+	@Test
+	void testRecord()
+	{
+		aStatistics.record(3 * MILLI, 2 * MILLI, 10, 20);
+		aStatistics.record(5 * MILLI, 1 * MILLI, 11, 21);
+		assertEquals(2, aStatistics.passes());
+		assertEquals(5 * MILLI, aStatistics.paintDuration());
+		assertEquals(1 * MILLI, aStatistics.layoutDuration());
+		assertEquals(11, aStatistics.nodes());
+		assertEquals(21, aStatistics.edges());
+		assertTrue(aStatistics.usedMemory() > 0);
+		assertTrue(aStatistics.maxMemory() >= aStatistics.usedMemory());
+	}
+	
+	@Test
+	void testHistogram()
+	{
+		assertArrayEquals(new int[] {0, 0, 0, 0, 0, 0, 0}, aStatistics.histogram());
+		aStatistics.record(0, 0, 0, 0);
+		aStatistics.record(MILLI - 1, 0, 0, 0);
+		aStatistics.record(MILLI, 0, 0, 0);
+		aStatistics.record(3 * MILLI, 0, 0, 0);
+		aStatistics.record(33 * MILLI, 0, 0, 0);
+		aStatistics.record(1000 * MILLI, 0, 0, 0);
+		assertArrayEquals(new int[] {2, 1, 1, 0, 0, 0, 2}, aStatistics.histogram());
+	}
+	
+	@Test
+	void testHistogramOfRecentPasses()
+	{
+		aStatistics.record(100 * MILLI, 0, 0, 0);
+		for( int pass = 0; pass < PerformanceStatistics.window(); pass++ )
+		{
+			aStatistics.record(0, 0, 0, 0);
+		}
+		assertEquals(PerformanceStatistics.window() + 1, aStatistics.passes());
+		assertEquals(0, aStatistics.paintDuration());
+		assertArrayEquals(new int[] {PerformanceStatistics.window(), 0, 0, 0, 0, 0, 0}, aStatistics.histogram());
+	}
+}
@@ -20,11 +20,14 @@
  *******************************************************************************/
 package org.jetuml.rendering;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.jetuml.application.UserPreferences;
@@ -227,6 +230,108 @@ public class TestSequenceDiagramRenderer
 		assertSame(callNode1, reflectivelyCallFindRoot().get());
 	}
 	
+	/*
+	 * Creates pNumber lifelines, each with a call node that calls the
+	 * call node on the next lifeline, and returns the call nodes.
+	 */
+	private List<CallNode> createCallChain(int pNumber)
+	{
+		List<CallNode> calls = new ArrayList<>();
+		for( int i = 0; i < pNumber; i++ )
+		{
+			ImplicitParameterNode lifeline = new ImplicitParameterNode();
+			lifeline.translate(100 * i, 0);
+			aDiagram.addRootNode(lifeline);
+			CallNode call = new CallNode();
+			lifeline.addChild(call);
+			if( !calls.isEmpty() )
+			{
+				CallEdge edge = new CallEdge();
+				edge.connect(calls.get(calls.size() - 1), call);
+				aDiagram.addEdge(edge);
+			}
+			calls.add(call);
+		}
+		return calls;
+	}
+	
+	/*
+	 * Checks that the coordinates of all the call nodes are the ones
+	 * computed from scratch by a new renderer.
+	 */
+	private void assertSameAsNewRenderer()
+	{
+		SequenceDiagramRenderer expected = new SequenceDiagramRenderer(aDiagram);
+		expected.getBounds();
+		triggerRenderingPass();
+		for( Node node : aDiagram.allNodes() )
+		{
+			if( node instanceof CallNode )
+			{
+				assertEquals(expected.getY(node), ((SequenceDiagramRenderer)aRenderer).getY(node));
+				assertEquals(expected.getMaxY(node), ((SequenceDiagramRenderer)aRenderer).getMaxY(node));
+			}
+		}
+	}
+	
+	@Test
+	void testLayout_AddCallInTheMiddle()
+	{
+		List<CallNode> calls = createCallChain(5);
+		triggerRenderingPass();
+		CallNode call = new CallNode();
+		calls.get(1).getParent().addChild(call);
+		CallEdge edge = new CallEdge();
+		edge.connect(calls.get(1), call);
+		aDiagram.addEdge(edge);
+		assertSameAsNewRenderer();
+	}
+	
+	@Test
+	void testLayout_RemoveCall()
+	{
+		List<CallNode> calls = createCallChain(5);
+		triggerRenderingPass();
+		aDiagram.removeEdge(aDiagram.edges().get(3));
+		calls.get(4).getParent().removeChild(calls.get(4));
+		assertSameAsNewRenderer();
+	}
+	
+	@Test
+	void testLayout_ChangeToConstructorCall()
+	{
+		List<CallNode> calls = createCallChain(4);
+		triggerRenderingPass();
+		int before = ((SequenceDiagramRenderer)aRenderer).getY(calls.get(3));
+		aDiagram.removeEdge(aDiagram.edges().get(1));
+		ConstructorEdge create = new ConstructorEdge();
+		create.connect(calls.get(1), calls.get(2));
+		aDiagram.addEdge(1, create);
+		assertSameAsNewRenderer();
+		assertTrue(((SequenceDiagramRenderer)aRenderer).getY(calls.get(3)) > before);
+		assertEquals(((SequenceDiagramRenderer)aRenderer).getY(calls.get(2)) - 5, 
+				((SequenceDiagramRenderer)aRenderer).getLifelineTop((ImplicitParameterNode)calls.get(2).getParent()));
+	}
+	
+	@Test
+	void testLayout_CallsInsertedBeforeExistingCalls()
+	{
+		List<CallNode> calls = createCallChain(3);
+		CallNode second = new CallNode();
+		calls.get(1).getParent().addChild(second);
+		CallEdge edge = new CallEdge();
+		edge.connect(calls.get(0), second);
+		aDiagram.addEdge(edge);
+		triggerRenderingPass();
+		CallNode first = new CallNode();
+		calls.get(2).getParent().addChild(first);
+		CallEdge firstEdge = new CallEdge();
+		firstEdge.connect(calls.get(0), first);
+		aDiagram.addEdge(1, firstEdge);
+		assertSameAsNewRenderer();
+		assertTrue(((SequenceDiagramRenderer)aRenderer).getY(first) < ((SequenceDiagramRenderer)aRenderer).getY(second));
+	}
+	
 	private void triggerRenderingPass()
 	{
 		aRenderer.getBounds();
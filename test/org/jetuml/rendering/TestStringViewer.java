@@ -97,4 +97,15 @@ public class TestStringViewer
 		assertEquals(new Dimension(158, 32), topCenterBold.getDimension("Display String"));
 		UserPreferences.instance().setInteger(IntegerPreference.fontSize, UserPreferences.DEFAULT_FONT_SIZE);
 	}
+	
+	@Test
+	void testWithFontSize()
+	{
+		UserPreferences.instance().setInteger(IntegerPreference.fontSize, 24);
+		assertEquals(24, StringRenderer.fontSize());
+		assertEquals(8, StringRenderer.withFontSize(8, StringRenderer::fontSize));
+		assertEquals(24, UserPreferences.instance().getInteger(IntegerPreference.fontSize));
+		assertEquals(24, StringRenderer.fontSize());
+		UserPreferences.instance().setInteger(IntegerPreference.fontSize, UserPreferences.DEFAULT_FONT_SIZE);
+	}
 }
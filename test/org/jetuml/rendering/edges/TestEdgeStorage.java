@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.rendering.edges;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -129,6 +130,20 @@ public class TestEdgeStorage
 		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(100,100)));
 	}
 	
+	@Test
+	void testConnectionPointIsAvailableAfterUpdate()
+	{
+		aEdgeStorage.store(edge1, path1);
+		aEdgeStorage.store(edge3, path3);
+		aEdgeStorage.store(edge1, path2);
+		assertTrue(aEdgeStorage.connectionPointIsAvailable(new Point(0,0)));
+		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(100,100)));
+		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(300,300)));
+		aEdgeStorage.store(edge3, path2);
+		assertTrue(aEdgeStorage.connectionPointIsAvailable(new Point(100,100)));
+		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(300,350)));
+	}
+	
 	@Test
 	void testEdgesWithSameNodes()
 	{
@@ -145,6 +160,19 @@ public class TestEdgeStorage
 		assertTrue(sameNodes.contains(edge2));
 	}
 	
+	@Test
+	void testEdgesWithSameNodesSelfEdge()
+	{
+		edge1.connect(nodeA, nodeB);
+		edge2.connect(nodeB, nodeB);
+		edge3.connect(nodeA, nodeC);
+		aEdgeStorage.store(edge1, path1);
+		aEdgeStorage.store(edge2, path2);
+		aEdgeStorage.store(edge3, path3);
+		assertEquals(List.of(edge2), aEdgeStorage.getEdgesWithSameNodes(edge1));
+		assertTrue(aEdgeStorage.getEdgesWithSameNodes(edge2).isEmpty());
+	}
+	
 	@Test
 	void testClearStorage()
 	{
@@ -20,13 +20,20 @@
  *******************************************************************************/
 package org.jetuml.rendering.nodes;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.function.Function;
 
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.IntegerPreference;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.PropertyName;
+import org.jetuml.diagram.nodes.ClassNode;
 import org.jetuml.diagram.nodes.NoteNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.geom.Point;
 import org.jetuml.geom.Rectangle;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -85,6 +92,103 @@ public class TestNodeStorage
 		assertNotSame(boundsBeforeDeactivation, boundsAfterDeactivation);
 	}
 
+	@Test
+	public void testKeptBoundsAcrossPasses()
+	{
+		NodeStorage storage = new NodeStorage(true);
+		Node node = new NoteNode();
+		Rectangle bounds = storage.getBounds(node, createDefaultBoundCalculator());
+		storage.activate();
+		assertSame(bounds, storage.getBounds(node, createDefaultBoundCalculator()));
+		storage.deactivateAndClear();
+		assertSame(bounds, storage.getBounds(node, createDefaultBoundCalculator()));
+	}
+	
+	@Test
+	public void testKeptBoundsRecomputedWhenNodeChanges()
+	{
+		NodeStorage storage = new NodeStorage(true);
+		ClassNode node = new ClassNode();
+		Rectangle bounds = storage.getBounds(node, createDefaultBoundCalculator());
+		node.translate(10, 0);
+		Rectangle translated = storage.getBounds(node, createDefaultBoundCalculator());
+		assertEquals(new Rectangle(10, 0, 100, 100), translated);
+		node.moveTo(new Point(20, 20));
+		assertEquals(new Rectangle(20, 20, 100, 100), storage.getBounds(node, createDefaultBoundCalculator()));
+		bounds = storage.getBounds(node, createDefaultBoundCalculator());
+		node.properties().get(PropertyName.NAME).set("Name");
+		assertNotSame(bounds, storage.getBounds(node, createDefaultBoundCalculator()));
+		bounds = storage.getBounds(node, createDefaultBoundCalculator());
+		node.setMethods("foo()");
+		assertNotSame(bounds, storage.getBounds(node, createDefaultBoundCalculator()));
+	}
+	
+	@Test
+	public void testKeptBoundsRecomputedWhenTreeChanges()
+	{
+		NodeStorage storage = new NodeStorage(true);
+		PackageNode parent = new PackageNode();
+		ClassNode child = new ClassNode();
+		ClassNode sibling = new ClassNode();
+		parent.addChild(child);
+		Rectangle parentBounds = storage.getBounds(parent, createDefaultBoundCalculator());
+		Rectangle childBounds = storage.getBounds(child, createDefaultBoundCalculator());
+		
+		child.setName("Name");
+		assertNotSame(parentBounds, storage.getBounds(parent, createDefaultBoundCalculator()));
+		parentBounds = storage.getBounds(parent, createDefaultBoundCalculator());
+		assertNotSame(childBounds, storage.getBounds(child, createDefaultBoundCalculator()));
+		childBounds = storage.getBounds(child, createDefaultBoundCalculator());
+		
+		parent.setName("Parent");
+		assertNotSame(childBounds, storage.getBounds(child, createDefaultBoundCalculator()));
+		childBounds = storage.getBounds(child, createDefaultBoundCalculator());
+		parentBounds = storage.getBounds(parent, createDefaultBoundCalculator());
+		
+		parent.addChild(sibling);
+		assertNotSame(parentBounds, storage.getBounds(parent, createDefaultBoundCalculator()));
+		parentBounds = storage.getBounds(parent, createDefaultBoundCalculator());
+		
+		parent.removeChild(child);
+		assertNotSame(parentBounds, storage.getBounds(parent, createDefaultBoundCalculator()));
+		assertNotSame(childBounds, storage.getBounds(child, createDefaultBoundCalculator()));
+	}
+	
+	@Test
+	public void testKeptBoundsRecomputedWhenFontChanges()
+	{
+		NodeStorage storage = new NodeStorage(true);
+		Node node = new NoteNode();
+		int fontSize = UserPreferences.instance().getInteger(IntegerPreference.fontSize);
+		Rectangle bounds = storage.getBounds(node, createDefaultBoundCalculator());
+		try
+		{
+			UserPreferences.instance().setInteger(IntegerPreference.fontSize, fontSize + 1);
+			assertNotSame(bounds, storage.getBounds(node, createDefaultBoundCalculator()));
+		}
+		finally
+		{
+			UserPreferences.instance().setInteger(IntegerPreference.fontSize, fontSize);
+		}
+	}
+	
+	@Test
+	public void testKeptBoundsDiscardedWhenNotUsed()
+	{
+		NodeStorage storage = new NodeStorage(true);
+		Node used = new NoteNode();
+		Node unused = new NoteNode();
+		storage.activate();
+		Rectangle usedBounds = storage.getBounds(used, createDefaultBoundCalculator());
+		Rectangle unusedBounds = storage.getBounds(unused, createDefaultBoundCalculator());
+		storage.deactivateAndClear();
+		storage.activate();
+		storage.getBounds(used, createDefaultBoundCalculator());
+		storage.deactivateAndClear();
+		assertSame(usedBounds, storage.getBounds(used, createDefaultBoundCalculator()));
+		assertNotSame(unusedBounds, storage.getBounds(unused, createDefaultBoundCalculator()));
+	}
+
 	private static Function<Node, Rectangle> createDefaultBoundCalculator()
 	{
 		return new Function<>()
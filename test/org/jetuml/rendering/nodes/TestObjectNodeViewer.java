@@ -32,6 +32,7 @@ import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.nodes.FieldNode;
 import org.jetuml.diagram.nodes.ObjectNode;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -80,7 +81,7 @@ public class TestObjectNodeViewer
 	@Test
 	public void testGetSplitPosition_NoField()
 	{
-		assertEquals(5, ObjectNodeRenderer.getSplitPosition(aNode));
+		assertEquals(5, aViewer.getSplitPosition(aNode));
 	}
 	
 	@Test
@@ -88,7 +89,7 @@ public class TestObjectNodeViewer
 	public void testGetSplitPosition_OneField()
 	{
 		aNode.addChild(aField1);
-		assertEquals(12, ObjectNodeRenderer.getSplitPosition(aNode));
+		assertEquals(12, aViewer.getSplitPosition(aNode));
 	}
 	
 	@Test
@@ -98,14 +99,14 @@ public class TestObjectNodeViewer
 		aNode.addChild(aField1);
 		aNode.addChild(aField2);
 		aField2.setName("XXXXX");
-		assertEquals(47, ObjectNodeRenderer.getSplitPosition(aNode));
+		assertEquals(47, aViewer.getSplitPosition(aNode));
 	}
 	
 	@Test
 	public void testGetYPosition_OneField()
 	{
 		aNode.addChild(aField1);
-		assertEquals(70, ObjectNodeRenderer.getYPosition(aNode, aField1));
+		assertEquals(70, aViewer.getYPosition(aNode, aField1));
 	}
 	
 	@Test
@@ -114,8 +115,8 @@ public class TestObjectNodeViewer
 	{
 		aNode.addChild(aField1);
 		aNode.addChild(aField2);
-		assertEquals(70, ObjectNodeRenderer.getYPosition(aNode, aField1));
-		assertEquals(95, ObjectNodeRenderer.getYPosition(aNode, aField2));
+		assertEquals(70, aViewer.getYPosition(aNode, aField1));
+		assertEquals(95, aViewer.getYPosition(aNode, aField2));
 	}
 	
 	@Test
@@ -165,4 +166,41 @@ public class TestObjectNodeViewer
 		assertEquals(80, aViewer.getBounds(aNode).width());
 		assertEquals(120, aViewer.getBounds(aNode).height());
 	}
+	
+	@Test
+	public void testGetFieldBounds_TwoFields()
+	{
+		aNode.addChild(aField1);
+		aNode.addChild(aField2);
+		Rectangle bounds = aViewer.getBounds(aNode);
+		Rectangle field1 = aViewer.getFieldBounds(aNode, aField1);
+		Rectangle field2 = aViewer.getFieldBounds(aNode, aField2);
+		assertEquals(new Rectangle(5, 70, bounds.width() - 10, 20), field1);
+		assertEquals(field1.maxY() + 5, field2.y());
+		assertEquals(aViewer.getYPosition(aNode, aField2), field2.y());
+	}
+	
+	@Test
+	public void testGetSplitPosition_FieldChanged()
+	{
+		aNode.addChild(aField1);
+		aNode.addChild(aField2);
+		int split = aViewer.getSplitPosition(aNode);
+		aField2.setName("XXXXX");
+		assertTrue(aViewer.getSplitPosition(aNode) > split);
+		aField2.setName("");
+		assertEquals(split, aViewer.getSplitPosition(aNode));
+	}
+	
+	@Test
+	public void testGetBounds_FieldAddedAndMoved()
+	{
+		aNode.addChild(aField1);
+		Rectangle bounds = aViewer.getBounds(aNode);
+		aNode.addChild(aField2);
+		assertEquals(bounds.height() + 30, aViewer.getBounds(aNode).height());
+		aNode.translate(10, 20);
+		assertEquals(new Point(10, 20), aViewer.getBounds(aNode).origin());
+		assertEquals(new Point(15, 90), aViewer.getFieldBounds(aNode, aField1).origin());
+	}
 }